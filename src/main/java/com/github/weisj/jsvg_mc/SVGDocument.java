@@ -24,6 +24,7 @@ package com.github.weisj.jsvg_mc;
 import java.awt.*;
 import java.awt.geom.Area;
 import java.awt.geom.Path2D;
+import java.awt.geom.Rectangle2D;
 
 import javax.swing.*;
 
@@ -42,13 +43,31 @@ import com.github.weisj.jsvg_mc.renderer.awt.AwtComponentPlatformSupport;
 import com.github.weisj.jsvg_mc.renderer.awt.NullPlatformSupport;
 import com.github.weisj.jsvg_mc.renderer.awt.PlatformSupport;
 
+/**
+ * A parsed svg document.
+ * <p>
+ * A single instance may be rendered from multiple threads at the same time without external synchronization, e.g.
+ * to rasterize an icon at different scales in parallel. Each concurrent render needs its own {@link Graphics2D} or
+ * {@link Output}.
+ */
 public final class SVGDocument {
     private static final boolean DEBUG = false;
     private final @NotNull SVG root;
     private final @NotNull FloatSize size;
+    private final @NotNull AnimatedNodes animatedNodes;
+    private final @NotNull RasterCache rasterCache;
+    private final @NotNull CullingIndex cullingIndex;
 
     public SVGDocument(@NotNull SVG root) {
+        this(root, AnimatedNodes.unknown(), RasterCache.empty());
+    }
+
+    @ApiStatus.Internal
+    public SVGDocument(@NotNull SVG root, @NotNull AnimatedNodes animatedNodes, @NotNull RasterCache rasterCache) {
         this.root = root;
+        this.animatedNodes = animatedNodes;
+        this.rasterCache = rasterCache;
+        this.cullingIndex = new CullingIndex(animatedNodes);
         float em = SVGFont.defaultFontSize();
         this.size = root.sizeForTopLevel(em, SVGFont.exFromEm(em));
     }
@@ -71,6 +90,41 @@ public final class SVGDocument {
         return accumulator;
     }
 
+    /**
+     * Computes the painted shape of the document by collecting the outlines of all painted elements and computing
+     * their union once at the end. This scales much better with the number of elements than
+     * {@link #computeShape(ViewBox)}.
+     *
+     * @param viewBox the bounds the document is rendered in.
+     * @param flatness if {@code > 0} curves are approximated by line segments, which deviate at most by the given
+     *        amount from the curve. This reduces the cost of the union further.
+     * @return the painted shape.
+     */
+    public @NotNull Shape computeShape(@Nullable ViewBox viewBox, double flatness) {
+        Path2D outline = new Path2D.Double();
+        renderWithPlatform(NullPlatformSupport.INSTANCE, new ShapeOutput(outline, flatness), viewBox);
+        return new Area(outline);
+    }
+
+    /**
+     * Computes the bounds of the painted shape of the document without computing the shape itself.
+     *
+     * @param viewBox the bounds the document is rendered in.
+     * @return the bounds of the painted shape. Empty if nothing is painted.
+     */
+    public @NotNull Rectangle2D computeShapeBounds(@Nullable ViewBox viewBox) {
+        Rectangle2D bounds = new Rectangle2D.Double();
+        renderWithPlatform(NullPlatformSupport.INSTANCE, new ShapeOutput(bounds), viewBox);
+        return bounds;
+    }
+
+    /**
+     * The rasters retained for this document if {@link SVGRenderingHints#KEY_RASTER_CACHE} is enabled.
+     */
+    public @NotNull RasterCache rasterCache() {
+        return rasterCache;
+    }
+
     public boolean isAnimated() {
         return root.animationPeriod().duration() > 0;
     }
@@ -89,10 +143,60 @@ public final class SVGDocument {
     }
 
     public void render(@Nullable Component component, @NotNull Graphics2D graphics2D, @Nullable ViewBox bounds) {
-        PlatformSupport platformSupport = component != null
+        renderWithPlatform(platformSupport(component), graphics2D, bounds);
+    }
+
+    private static @NotNull PlatformSupport platformSupport(@Nullable Component component) {
+        return component != null
                 ? new AwtComponentPlatformSupport(component)
                 : NullPlatformSupport.INSTANCE;
-        renderWithPlatform(platformSupport, graphics2D, bounds);
+    }
+
+    /**
+     * Compiles the document into a plan which can be rendered repeatedly without traversing the document.
+     * The plan has to be recompiled if the bounds or the font size of the graphics change.
+     *
+     * @param component the component the document is painted on.
+     * @param graphics2D the graphics whose transform and rendering hints the plan is optimized for.
+     * @param bounds the bounds the document is rendered in.
+     * @return the compiled plan.
+     * @see RenderPlan
+     */
+    public @NotNull RenderPlan compileRenderPlan(@Nullable Component component, @NotNull Graphics2D graphics2D,
+            @Nullable ViewBox bounds) {
+        Graphics2D g = (Graphics2D) graphics2D.create();
+        setupSVGRenderingHints(g);
+        Output output = new Graphics2DOutput(g);
+        RenderPlan plan = compileRenderPlan(platformSupport(component), output, bounds);
+        output.dispose();
+        return plan;
+    }
+
+    public @NotNull RenderPlan compileRenderPlan(@NotNull PlatformSupport platformSupport, @NotNull Output output,
+            @Nullable ViewBox bounds) {
+        return RenderPlan.compile(output, root, animatedNodes,
+                recorder -> renderWithPlatform(platformSupport, recorder, bounds, null),
+                (out, animationState) -> renderWithPlatform(platformSupport, out, bounds, animationState));
+    }
+
+    /**
+     * Creates an index of the painted geometry of the document which can be used to find the elements at a point
+     * or inside a region. Query coordinates are in the coordinate system the document is rendered in by
+     * {@link #render(Component, Graphics2D, ViewBox)} with the same bounds.
+     * The index has to be recreated if the bounds or the font size change.
+     *
+     * @param component the component the document is painted on.
+     * @param bounds the bounds the document is rendered in.
+     * @return the element index.
+     * @see ElementIndex
+     */
+    public @NotNull ElementIndex createElementIndex(@Nullable Component component, @Nullable ViewBox bounds) {
+        return createElementIndex(platformSupport(component), bounds);
+    }
+
+    public @NotNull ElementIndex createElementIndex(@NotNull PlatformSupport platformSupport,
+            @Nullable ViewBox bounds) {
+        return ElementIndex.record(output -> renderWithPlatform(platformSupport, output, bounds));
     }
 
     private float computePlatformFontSize(@NotNull PlatformSupport platformSupport, @NotNull Output output) {
@@ -101,10 +205,16 @@ public final class SVGDocument {
 
     public void renderWithPlatform(@NotNull PlatformSupport platformSupport, @NotNull Graphics2D graphics2D,
             @Nullable ViewBox bounds) {
+        renderWithPlatform(platformSupport, graphics2D, bounds, null);
+    }
+
+    @ApiStatus.Experimental
+    public void renderWithPlatform(@NotNull PlatformSupport platformSupport, @NotNull Graphics2D graphics2D,
+            @Nullable ViewBox bounds, @Nullable AnimationState animationState) {
         Graphics2D g = (Graphics2D) graphics2D.create();
         setupSVGRenderingHints(g);
         Output output = new Graphics2DOutput(g);
-        renderWithPlatform(platformSupport, output, bounds);
+        renderWithPlatform(platformSupport, output, bounds, animationState);
         output.dispose();
     }
 
@@ -147,7 +257,15 @@ public final class SVGDocument {
                 ? MeasureContext.createInitial(bounds.size(), defaultEm, defaultEx, animState)
                 : MeasureContext.createInitial(root.sizeForTopLevel(defaultEm, defaultEx),
                         defaultEm, defaultEx, animState);
-        RenderContext context = RenderContext.createInitial(platformSupport, initialMeasure);
+        RasterCache cache = output.renderingHint(SVGRenderingHints.KEY_RASTER_CACHE)
+                == SVGRenderingHints.VALUE_RASTER_CACHE_ON
+                        ? rasterCache
+                        : null;
+        CullingIndex culling = output.renderingHint(SVGRenderingHints.KEY_CULLING)
+                == SVGRenderingHints.VALUE_CULLING_ON
+                        ? cullingIndex
+                        : null;
+        RenderContext context = RenderContext.createInitial(platformSupport, initialMeasure, cache, culling);
 
         root.applyTransform(output, context, new ElementBounds(root, context));
         return context;
@@ -170,6 +288,9 @@ public final class SVGDocument {
         setSVGRenderingHint(g,
                 SVGRenderingHints.KEY_MASK_CLIP_RENDERING,
                 SVGRenderingHints.VALUE_MASK_CLIP_RENDERING_DEFAULT);
+        setSVGRenderingHint(g,
+                SVGRenderingHints.KEY_CULLING,
+                SVGRenderingHints.VALUE_CULLING_DEFAULT);
     }
 
     private void setSVGRenderingHint(@NotNull Graphics2D g, @NotNull RenderingHints.Key key, @NotNull Object o) {
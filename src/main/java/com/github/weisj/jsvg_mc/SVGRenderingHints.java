@@ -23,6 +23,7 @@ package com.github.weisj.jsvg_mc;
 
 import java.awt.*;
 
+import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
 public final class SVGRenderingHints {
@@ -32,6 +33,11 @@ public final class SVGRenderingHints {
     private static final int P_KEY_SOFT_CLIPPING = 2;
     private static final int P_KEY_CACHE_OFFSCREEN_IMAGE = 3;
     private static final int P_KEY_MASK_CLIP_RENDERING = 4;
+    private static final int P_KEY_FILTER_EXECUTION = 5;
+    private static final int P_KEY_FILTER_PARALLELISM = 6;
+    private static final int P_KEY_RASTER_CACHE = 7;
+    private static final int P_KEY_CULLING = 8;
+    private static final int P_KEY_FILTER_LINEAR_WORKING_SPACE = 9;
 
     public static final RenderingHints.Key KEY_IMAGE_ANTIALIASING = new Key(P_KEY_IMAGE_ANTIALIASING);
     public static final Object VALUE_IMAGE_ANTIALIASING_ON = Value.ON;
@@ -50,7 +56,59 @@ public final class SVGRenderingHints {
     public static final Object VALUE_USE_CACHE = Value.ON;
     public static final Object VALUE_NO_CACHE = Value.OFF;
 
+    /**
+     * Controls whether filter primitives may split their work into tiles which are processed on a
+     * {@link java.util.concurrent.ForkJoinPool}. The calling thread still waits for the filter to finish.
+     */
+    public static final RenderingHints.Key KEY_FILTER_EXECUTION = new Key(P_KEY_FILTER_EXECUTION);
+    public static final Object VALUE_FILTER_EXECUTION_PARALLEL = Value.ON;
+    public static final Object VALUE_FILTER_EXECUTION_SERIAL = Value.OFF;
+    public static final Object VALUE_FILTER_EXECUTION_DEFAULT = VALUE_FILTER_EXECUTION_SERIAL;
+
+    /**
+     * The number of threads used for parallel filter execution as a positive {@link Integer}.
+     * If not set the common {@link java.util.concurrent.ForkJoinPool} is used. Otherwise, threads of a dedicated
+     * pool are used, which terminate after being idle for some time.
+     */
+    public static final RenderingHints.Key KEY_FILTER_PARALLELISM =
+            new Key(P_KEY_FILTER_PARALLELISM, Integer.class);
+
+    /**
+     * Controls whether groups and {@code <use>} elements without animated content are rasterized once and reused
+     * in subsequent renders of the same document. Cached rasters are only reused for an equal transform,
+     * clip and set of rendering hints.
+     */
+    public static final RenderingHints.Key KEY_RASTER_CACHE = new Key(P_KEY_RASTER_CACHE);
+    public static final Object VALUE_RASTER_CACHE_ON = Value.ON;
+    public static final Object VALUE_RASTER_CACHE_OFF = Value.OFF;
+    public static final Object VALUE_RASTER_CACHE_DEFAULT = VALUE_RASTER_CACHE_OFF;
+
+    /**
+     * Controls whether elements which lie completely outside the current clip are skipped without being rendered.
+     * Enabled by default when rendering to a {@link Graphics2D}.
+     */
+    public static final RenderingHints.Key KEY_CULLING = new Key(P_KEY_CULLING);
+    public static final Object VALUE_CULLING_ON = Value.ON;
+    public static final Object VALUE_CULLING_OFF = Value.OFF;
+    public static final Object VALUE_CULLING_DEFAULT = VALUE_CULLING_ON;
+
+    /**
+     * Controls whether filter results stay in the linearRGB color space between primitives which operate in
+     * linearRGB. The source graphic is then converted once and only the final result is converted back to sRGB,
+     * instead of converting in every primitive. With this enabled feGaussianBlur and feMerge also honor
+     * {@code color-interpolation-filters}.
+     * <p>
+     * Channels in linearRGB store a float per component, i.e. they take four times the memory of an sRGB channel.
+     */
+    public static final RenderingHints.Key KEY_FILTER_LINEAR_WORKING_SPACE =
+            new Key(P_KEY_FILTER_LINEAR_WORKING_SPACE);
+    public static final Object VALUE_FILTER_LINEAR_WORKING_SPACE_ON = Value.ON;
+    public static final Object VALUE_FILTER_LINEAR_WORKING_SPACE_OFF = Value.OFF;
+    public static final Object VALUE_FILTER_LINEAR_WORKING_SPACE_DEFAULT = VALUE_FILTER_LINEAR_WORKING_SPACE_OFF;
+
     private static final class Key extends RenderingHints.Key {
+        private final @NotNull Class<?> valueType;
+
         /**
          * Construct a key using the indicated private key.  Each
          * subclass of Key maintains its own unique domain of integer
@@ -63,12 +121,17 @@ public final class SVGRenderingHints {
          * @param privateKey the specified key
          */
         private Key(int privateKey) {
+            this(privateKey, Value.class);
+        }
+
+        private Key(int privateKey, @NotNull Class<?> valueType) {
             super(privateKey);
+            this.valueType = valueType;
         }
 
         @Override
         public boolean isCompatibleValue(@Nullable Object val) {
-            return val instanceof Value;
+            return valueType.isInstance(val);
         }
     }
 
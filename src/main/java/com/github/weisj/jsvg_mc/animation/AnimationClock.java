@@ -0,0 +1,276 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2025 Jannis Weis
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and
+ * associated documentation files (the "Software"), to deal in the Software without restriction,
+ * including without limitation the rights to use, copy, modify, merge, publish, distribute,
+ * sublicense, and/or sell copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or
+ * substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT
+ * NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ *
+ */
+package com.github.weisj.jsvg_mc.animation;
+
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongSupplier;
+
+import org.jetbrains.annotations.ApiStatus;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import com.github.weisj.jsvg_mc.renderer.AnimationState;
+
+/**
+ * Paces the frames of an animation without depending on a specific ui toolkit.
+ * <p>
+ * The clock is either driven externally by calling {@link #tick()} from a render loop, or runs on a
+ * {@link ScheduledExecutorService} using {@link #runOn(ScheduledExecutorService)}. Frames are only produced if they
+ * are due with respect to the target frame rate and only if the animation actually changes the document. The
+ * elapsed time passed to the {@link FrameAction} is measured in milliseconds, as expected by {@link AnimationState}.
+ * <p>
+ * This class is thread safe. The frame action is invoked without holding any locks of the clock.
+ */
+@ApiStatus.Experimental
+public final class AnimationClock {
+    private static final AnimationPeriod NO_ANIMATION = new AnimationPeriod(0, 0, false);
+    private static final double DEFAULT_FRAME_RATE = 60;
+    private static final long NANOS_PER_MILLI = TimeUnit.MILLISECONDS.toNanos(1);
+
+    @FunctionalInterface
+    public interface FrameAction {
+        void runFrame(long elapsedTime);
+    }
+
+    private final @NotNull FrameAction action;
+    private final @NotNull LongSupplier nanoTime;
+
+    private @NotNull AnimationPeriod animationPeriod = NO_ANIMATION;
+    private long frameIntervalNanos;
+
+    private boolean running;
+    private long resumeNanos;
+    private long elapsedNanosAtResume;
+    private long nextFrameNanos;
+    private long lastFrameTime = -1;
+    private @Nullable ScheduledFuture<?> scheduledTask;
+
+    private long frameCount;
+    private long droppedFrameCount;
+    private long totalFrameTimeNanos;
+    private long maxFrameTimeNanos;
+
+    public AnimationClock(@NotNull FrameAction action) {
+        this(action, System::nanoTime);
+    }
+
+    /**
+     * @param action the action invoked for each frame.
+     * @param nanoTime the time source of the clock. It must behave like {@link System#nanoTime()}.
+     */
+    public AnimationClock(@NotNull FrameAction action, @NotNull LongSupplier nanoTime) {
+        this.action = action;
+        this.nanoTime = nanoTime;
+        setTargetFrameRate(DEFAULT_FRAME_RATE);
+    }
+
+    public synchronized void setAnimationPeriod(@Nullable AnimationPeriod animationPeriod) {
+        this.animationPeriod = animationPeriod != null
+                ? animationPeriod
+                : NO_ANIMATION;
+        lastFrameTime = -1;
+    }
+
+    public synchronized @NotNull AnimationPeriod animationPeriod() {
+        return animationPeriod;
+    }
+
+    public synchronized void setTargetFrameRate(double framesPerSecond) {
+        if (!(framesPerSecond > 0) || Double.isInfinite(framesPerSecond)) {
+            throw new IllegalArgumentException("Invalid frame rate " + framesPerSecond);
+        }
+        frameIntervalNanos = Math.max(1, (long) (TimeUnit.SECONDS.toNanos(1) / framesPerSecond));
+    }
+
+    public synchronized double targetFrameRate() {
+        return TimeUnit.SECONDS.toNanos(1) / (double) frameIntervalNanos;
+    }
+
+    public synchronized boolean isRunning() {
+        return running;
+    }
+
+    public synchronized @NotNull AnimationState animationState() {
+        return new AnimationState(0, elapsedTime(nanoTime.getAsLong()));
+    }
+
+    public synchronized void start() {
+        elapsedNanosAtResume = 0;
+        lastFrameTime = -1;
+        resume();
+    }
+
+    public void stop() {
+        synchronized (this) {
+            pauseClock();
+            elapsedNanosAtResume = 0;
+            lastFrameTime = -1;
+        }
+        action.runFrame(0);
+    }
+
+    public void pause() {
+        long time;
+        synchronized (this) {
+            if (!running) return;
+            pauseClock();
+            time = elapsedTime(nanoTime.getAsLong());
+            lastFrameTime = time;
+        }
+        action.runFrame(time);
+    }
+
+    public synchronized void resume() {
+        if (running) return;
+        if (elapsedNanosAtResume / NANOS_PER_MILLI >= animationPeriod.endTime()) return;
+        running = true;
+        resumeNanos = nanoTime.getAsLong();
+        nextFrameNanos = resumeNanos;
+    }
+
+    /**
+     * Runs the clock on the given executor until it is paused or stopped, or the animation has ended.
+     * The clock is started if it isn't running yet.
+     *
+     * @param executor the executor to schedule the frames on.
+     */
+    public synchronized void runOn(@NotNull ScheduledExecutorService executor) {
+        if (!running) resume();
+        if (!running) return;
+        cancelScheduledTask();
+        scheduledTask = executor.scheduleAtFixedRate(this::tick, 0, frameIntervalNanos, TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * Advances the clock to the current time of its time source.
+     *
+     * @return whether a frame was produced.
+     * @see #tick(long)
+     */
+    public boolean tick() {
+        return tick(nanoTime.getAsLong());
+    }
+
+    /**
+     * Advances the clock to the given time and runs the frame action if a new frame is due. Frames are skipped if
+     * the target frame time hasn't been reached yet or the animation wouldn't change compared to the last frame,
+     * e.g. because it hasn't begun yet or already ended. If the clock is ticked too late, the missed frames are
+     * counted as dropped.
+     *
+     * @param nanoTime the current time in the time base of the clocks time source.
+     * @return whether a frame was produced.
+     */
+    public boolean tick(long nanoTime) {
+        long time;
+        synchronized (this) {
+            if (!running || nanoTime < nextFrameNanos) return false;
+            long missedFrames = (nanoTime - nextFrameNanos) / frameIntervalNanos;
+            droppedFrameCount += missedFrames;
+            nextFrameNanos += (missedFrames + 1) * frameIntervalNanos;
+
+            time = elapsedTime(nanoTime);
+            long endTime = animationPeriod.endTime();
+            if (time >= endTime) {
+                time = endTime;
+                pauseClock();
+                elapsedNanosAtResume = endTime * NANOS_PER_MILLI;
+            }
+            if (isStatic(time)) return false;
+            lastFrameTime = time;
+        }
+        long frameStart = System.nanoTime();
+        action.runFrame(time);
+        long frameTime = System.nanoTime() - frameStart;
+        synchronized (this) {
+            frameCount++;
+            totalFrameTimeNanos += frameTime;
+            maxFrameTimeNanos = Math.max(maxFrameTimeNanos, frameTime);
+        }
+        return true;
+    }
+
+    private boolean isStatic(long time) {
+        if (lastFrameTime < 0) return false;
+        if (time == lastFrameTime || animationPeriod.duration() <= 0) return true;
+        // Before the animation begins the document doesn't change.
+        long startTime = animationPeriod.startTime();
+        return time <= startTime && lastFrameTime <= startTime;
+    }
+
+    private long elapsedTime(long nanoTime) {
+        long elapsedNanos = elapsedNanosAtResume;
+        if (running) elapsedNanos += nanoTime - resumeNanos;
+        return elapsedNanos / NANOS_PER_MILLI;
+    }
+
+    private void pauseClock() {
+        if (running) {
+            elapsedNanosAtResume += nanoTime.getAsLong() - resumeNanos;
+            running = false;
+        }
+        cancelScheduledTask();
+    }
+
+    private void cancelScheduledTask() {
+        if (scheduledTask != null) {
+            scheduledTask.cancel(false);
+            scheduledTask = null;
+        }
+    }
+
+    /**
+     * @return the number of frames produced since the statistics were last reset.
+     */
+    public synchronized long frameCount() {
+        return frameCount;
+    }
+
+    /**
+     * @return the number of frames which were due but missed because the clock wasn't ticked in time.
+     */
+    public synchronized long droppedFrameCount() {
+        return droppedFrameCount;
+    }
+
+    /**
+     * @return the average time spent in the frame action in nanoseconds.
+     */
+    public synchronized long averageFrameTimeNanos() {
+        return frameCount > 0 ? totalFrameTimeNanos / frameCount : 0;
+    }
+
+    /**
+     * @return the longest time spent in the frame action in nanoseconds.
+     */
+    public synchronized long maxFrameTimeNanos() {
+        return maxFrameTimeNanos;
+    }
+
+    public synchronized void resetStatistics() {
+        frameCount = 0;
+        droppedFrameCount = 0;
+        totalFrameTimeNanos = 0;
+        maxFrameTimeNanos = 0;
+    }
+}
@@ -0,0 +1,225 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2025 Jannis Weis
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and
+ * associated documentation files (the "Software"), to deal in the Software without restriction,
+ * including without limitation the rights to use, copy, modify, merge, publish, distribute,
+ * sublicense, and/or sell copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or
+ * substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT
+ * NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ *
+ */
+package com.github.weisj.jsvg_mc.animation;
+
+import java.awt.*;
+import java.awt.image.BufferedImage;
+import java.awt.image.DataBufferInt;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+
+import org.jetbrains.annotations.ApiStatus;
+import org.jetbrains.annotations.NotNull;
+
+import com.github.weisj.jsvg_mc.SVGDocument;
+import com.github.weisj.jsvg_mc.attributes.ViewBox;
+import com.github.weisj.jsvg_mc.renderer.AnimationState;
+import com.github.weisj.jsvg_mc.renderer.awt.NullPlatformSupport;
+import com.github.weisj.jsvg_mc.renderer.awt.PlatformSupport;
+
+/**
+ * All frames of an animated document rendered ahead of time and packed into a single image.
+ * <p>
+ * Frames are sampled at a fixed frame rate. Consecutive frames with identical content are only stored once.
+ * Looking up and painting a frame doesn't depend on the complexity of the document, which makes the atlas suitable
+ * for small animations shown many times, like animated icons.
+ */
+@ApiStatus.Experimental
+public final class FrameAtlas {
+    private final @NotNull BufferedImage atlas;
+    private final @NotNull BufferedImage @NotNull [] frames;
+    private final int @NotNull [] frameIndices;
+    private final int frameWidth;
+    private final int frameHeight;
+    private final long startTime;
+    private final long duration;
+    private final double framesPerSecond;
+
+    private FrameAtlas(@NotNull BufferedImage atlas, @NotNull BufferedImage @NotNull [] frames,
+            int @NotNull [] frameIndices, int frameWidth, int frameHeight, long startTime, long duration,
+            double framesPerSecond) {
+        this.atlas = atlas;
+        this.frames = frames;
+        this.frameIndices = frameIndices;
+        this.frameWidth = frameWidth;
+        this.frameHeight = frameHeight;
+        this.startTime = startTime;
+        this.duration = duration;
+        this.framesPerSecond = framesPerSecond;
+    }
+
+    public static @NotNull FrameAtlas bake(@NotNull SVGDocument document, @NotNull AnimationPeriod period,
+            int width, int height, double framesPerSecond) {
+        return bake(document, NullPlatformSupport.INSTANCE, period, width, height, framesPerSecond,
+                ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Renders all frames of the given period. The frames are rendered concurrently on the executor.
+     *
+     * @param document the document to render.
+     * @param platformSupport the platform support used for rendering.
+     * @param period the period to render. It has to be finite. For looping animations this should be a single
+     *        iteration of the loop.
+     * @param width the width of a frame in pixels.
+     * @param height the height of a frame in pixels.
+     * @param framesPerSecond the rate at which frames are sampled.
+     * @param executor the executor to render the frames on.
+     * @return the atlas containing all frames.
+     */
+    public static @NotNull FrameAtlas bake(@NotNull SVGDocument document, @NotNull PlatformSupport platformSupport,
+            @NotNull AnimationPeriod period, int width, int height, double framesPerSecond,
+            @NotNull Executor executor) {
+        if (width <= 0 || height <= 0) {
+            throw new IllegalArgumentException("Invalid frame size " + width + "x" + height);
+        }
+        if (!(framesPerSecond > 0) || Double.isInfinite(framesPerSecond)) {
+            throw new IllegalArgumentException("Invalid frame rate " + framesPerSecond);
+        }
+        long duration = period.duration();
+        if (duration < 0 || period.endTime() == Long.MAX_VALUE) {
+            throw new IllegalArgumentException("Animation period has to be finite");
+        }
+        long startTime = period.startTime();
+        int sampleCount = (int) Math.ceil(duration * framesPerSecond / 1000) + 1;
+
+        List<CompletableFuture<BufferedImage>> renders = new ArrayList<>(sampleCount);
+        for (int i = 0; i < sampleCount; i++) {
+            long time = Math.min(startTime + Math.round(i * 1000 / framesPerSecond), period.endTime());
+            renders.add(CompletableFuture.supplyAsync(
+                    () -> renderFrame(document, platformSupport, width, height, time), executor));
+        }
+
+        List<int[]> uniqueFrames = new ArrayList<>();
+        int[] frameIndices = new int[sampleCount];
+        int[] previous = null;
+        int previousHash = 0;
+        for (int i = 0; i < sampleCount; i++) {
+            int[] pixels = pixels(renders.get(i).join());
+            int hash = Arrays.hashCode(pixels);
+            if (previous == null || hash != previousHash || !Arrays.equals(pixels, previous)) {
+                uniqueFrames.add(pixels);
+                previous = pixels;
+                previousHash = hash;
+            }
+            frameIndices[i] = uniqueFrames.size() - 1;
+        }
+
+        int columns = (int) Math.ceil(Math.sqrt(uniqueFrames.size()));
+        int rows = (uniqueFrames.size() + columns - 1) / columns;
+        BufferedImage atlas = new BufferedImage(columns * width, rows * height, BufferedImage.TYPE_INT_ARGB_PRE);
+        int[] atlasPixels = pixels(atlas);
+        int atlasWidth = atlas.getWidth();
+        BufferedImage[] frames = new BufferedImage[uniqueFrames.size()];
+        for (int i = 0; i < frames.length; i++) {
+            int x = (i % columns) * width;
+            int y = (i / columns) * height;
+            int[] pixels = uniqueFrames.get(i);
+            for (int row = 0; row < height; row++) {
+                System.arraycopy(pixels, row * width, atlasPixels, (y + row) * atlasWidth + x, width);
+            }
+            frames[i] = atlas.getSubimage(x, y, width, height);
+        }
+        return new FrameAtlas(atlas, frames, frameIndices, width, height, startTime, duration, framesPerSecond);
+    }
+
+    private static @NotNull BufferedImage renderFrame(@NotNull SVGDocument document,
+            @NotNull PlatformSupport platformSupport, int width, int height, long time) {
+        BufferedImage image = new BufferedImage(width, height, BufferedImage.TYPE_INT_ARGB_PRE);
+        Graphics2D g = image.createGraphics();
+        g.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
+        document.renderWithPlatform(platformSupport, g, new ViewBox(width, height), new AnimationState(0, time));
+        g.dispose();
+        return image;
+    }
+
+    private static int @NotNull [] pixels(@NotNull BufferedImage image) {
+        return ((DataBufferInt) image.getRaster().getDataBuffer()).getData();
+    }
+
+    /**
+     * @return the image containing all distinct frames.
+     */
+    public @NotNull BufferedImage atlas() {
+        return atlas;
+    }
+
+    public int frameWidth() {
+        return frameWidth;
+    }
+
+    public int frameHeight() {
+        return frameHeight;
+    }
+
+    public double framesPerSecond() {
+        return framesPerSecond;
+    }
+
+    /**
+     * @return the number of distinct frames stored in the atlas.
+     */
+    public int frameCount() {
+        return frames.length;
+    }
+
+    /**
+     * Returns the frame shown at the given time. Times outside the baked period show the first or last frame.
+     *
+     * @param elapsedTime the time in milliseconds.
+     * @return the index of the frame.
+     */
+    public int frameIndex(long elapsedTime) {
+        long sample = Math.round((elapsedTime - startTime) * framesPerSecond / 1000);
+        return frameIndices[(int) Math.max(0, Math.min(sample, frameIndices.length - 1))];
+    }
+
+    /**
+     * Returns the frame shown at the given time if the baked period is repeated indefinitely.
+     *
+     * @param elapsedTime the time in milliseconds.
+     * @return the index of the frame.
+     */
+    public int loopedFrameIndex(long elapsedTime) {
+        if (duration == 0) return frameIndices[0];
+        long time = Math.floorMod(elapsedTime - startTime, duration);
+        // The last sample is at the end of the period, which coincides with the start of the next iteration.
+        long sample = Math.round(time * framesPerSecond / 1000);
+        return frameIndices[(int) Math.min(sample, frameIndices.length - 2)];
+    }
+
+    /**
+     * @param index the index of the frame.
+     * @return the frame. The image shares its pixels with the atlas.
+     */
+    public @NotNull BufferedImage frame(int index) {
+        return frames[index];
+    }
+
+    public void paintFrame(@NotNull Graphics g, int index, int x, int y) {
+        g.drawImage(frames[index], x, y, null);
+    }
+}
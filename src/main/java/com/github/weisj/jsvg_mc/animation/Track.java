@@ -38,6 +38,7 @@ public final class Track {
     private final float repeatCount;
     private final Fill fill;
     private final DefaultInterpolator interpolator;
+    private volatile @Nullable ProgressEntry lastProgress;
 
     private Track(@NotNull List<@NotNull Interval> intervals, float repeatCount, Fill fill,
             AnimationValuesType valuesType, Additive additive) {
@@ -113,17 +114,33 @@ public final class Track {
     }
 
     private @Nullable Interval currentInterval(long timestamp) {
-        ListIterator<@NotNull Interval> iterator = intervals.listIterator();
-        while (iterator.hasPrevious()) {
-            Interval interval = iterator.previous();
-            if (interval.end().milliseconds() <= timestamp) {
-                return interval;
+        // Intervals are sorted by their begin. The current interval is the last one which has already begun.
+        int low = 0;
+        int high = intervals.size() - 1;
+        Interval current = null;
+        while (low <= high) {
+            int mid = (low + high) >>> 1;
+            Interval interval = intervals.get(mid);
+            if (interval.begin().milliseconds() <= timestamp) {
+                current = interval;
+                low = mid + 1;
+            } else {
+                high = mid - 1;
             }
         }
-        return null;
+        return current;
     }
 
     public @NotNull InterpolationProgress interpolationProgress(long timestamp, int valueCount) {
+        // All values animated by this track are usually evaluated for the same timestamp during a frame.
+        ProgressEntry entry = lastProgress;
+        if (entry != null && entry.timestamp == timestamp && entry.valueCount == valueCount) return entry.progress;
+        InterpolationProgress progress = computeInterpolationProgress(timestamp, valueCount);
+        lastProgress = new ProgressEntry(timestamp, valueCount, progress);
+        return progress;
+    }
+
+    private @NotNull InterpolationProgress computeInterpolationProgress(long timestamp, int valueCount) {
         if (valueCount == 0) return InterpolationProgress.INITIAL;
         Interval currentInterval = currentInterval(timestamp);
         if (currentInterval == null) return InterpolationProgress.INITIAL;
@@ -147,6 +164,20 @@ public final class Track {
         return new InterpolationProgress(i, t);
     }
 
+    /**
+     * Checks whether a value animated by this track is the same at both timestamps.
+     *
+     * @param since the timestamp the value was last evaluated at.
+     * @param timestamp the current timestamp.
+     * @param valueCount the number of values of the animation.
+     * @return true if the interpolation progress is the same for both timestamps.
+     */
+    public boolean isClean(long since, long timestamp, int valueCount) {
+        if (since == timestamp) return true;
+        return computeInterpolationProgress(since, valueCount)
+                .equals(interpolationProgress(timestamp, valueCount));
+    }
+
     public @NotNull FloatInterpolator floatInterpolator() {
         return interpolator;
     }
@@ -199,4 +230,16 @@ public final class Track {
             return Objects.hash(iterationIndex, indexProgress);
         }
     }
+
+    private static final class ProgressEntry {
+        private final long timestamp;
+        private final int valueCount;
+        private final @NotNull InterpolationProgress progress;
+
+        private ProgressEntry(long timestamp, int valueCount, @NotNull InterpolationProgress progress) {
+            this.timestamp = timestamp;
+            this.valueCount = valueCount;
+            this.progress = progress;
+        }
+    }
 }
@@ -37,7 +37,7 @@ public final class Interval {
     }
 
     public @NotNull Duration end() {
-        return begin;
+        return end;
     }
 
     public @NotNull Duration duration() {
@@ -37,14 +37,13 @@ import com.github.weisj.jsvg_mc.geometry.size.MeasureContext;
 import com.github.weisj.jsvg_mc.renderer.Output;
 import com.github.weisj.jsvg_mc.renderer.RenderContext;
 
-public final class AnimatedColor implements SVGPaint, ColorValue {
+public final class AnimatedColor implements SVGPaint, ColorValue, AnimatedValue {
 
     private final @NotNull Track track;
     private final @NotNull ColorValue initial;
     private final @NotNull RGBColor @NotNull [] values;
 
-    private Color current;
-    private long currentTimestamp = -1;
+    private final @NotNull TimestampedCache<Color> current = new TimestampedCache<>();
 
     public AnimatedColor(@NotNull Track track, @NotNull ColorValue initial, @NotNull RGBColor @NotNull [] values) {
         this.track = track;
@@ -78,10 +77,9 @@ public final class AnimatedColor implements SVGPaint, ColorValue {
 
     private @NotNull Color current(@NotNull MeasureContext context) {
         long timestamp = context.timestamp();
-        if (currentTimestamp == timestamp) return current;
-        currentTimestamp = timestamp;
-        current = computeCurrent(context, timestamp);
-        return current;
+        Color value = current.get(timestamp);
+        if (value != null) return value;
+        return current.put(timestamp, computeCurrent(context, timestamp));
     }
 
     private @NotNull Color computeCurrent(@NotNull MeasureContext context, long timestamp) {
@@ -119,4 +117,9 @@ public final class AnimatedColor implements SVGPaint, ColorValue {
     public boolean isVisible(@NotNull RenderContext context) {
         return RGBColor.isVisible(current(context.measureContext()));
     }
+
+    @Override
+    public boolean isClean(long since, long timestamp) {
+        return track.isClean(since, timestamp, values.length) && AnimatedValue.isClean(initial, since, timestamp);
+    }
 }
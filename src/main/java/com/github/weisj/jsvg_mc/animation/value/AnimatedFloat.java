@@ -27,12 +27,14 @@ import com.github.weisj.jsvg_mc.animation.Track;
 import com.github.weisj.jsvg_mc.attributes.value.FloatValue;
 import com.github.weisj.jsvg_mc.geometry.size.MeasureContext;
 
-public final class AnimatedFloat implements FloatValue {
+public final class AnimatedFloat implements FloatValue, AnimatedValue {
 
     private final @NotNull Track track;
     private final @NotNull FloatValue initial;
     private final float @NotNull [] values;
 
+    private final @NotNull TimestampedCache<Float> current = new TimestampedCache<>();
+
     AnimatedFloat(@NotNull Track track, @NotNull FloatValue initial, float @NotNull [] values) {
         this.track = track;
         this.initial = initial;
@@ -42,6 +44,12 @@ public final class AnimatedFloat implements FloatValue {
     @Override
     public float get(@NotNull MeasureContext context) {
         long timestamp = context.timestamp();
+        Float value = current.get(timestamp);
+        if (value != null) return value;
+        return current.put(timestamp, computeCurrent(context, timestamp));
+    }
+
+    private float computeCurrent(@NotNull MeasureContext context, long timestamp) {
         Track.InterpolationProgress progress = track.interpolationProgress(timestamp, values.length);
 
         if (progress.isInitial()) return initial.get(context);
@@ -58,4 +66,9 @@ public final class AnimatedFloat implements FloatValue {
 
         return track.floatInterpolator().interpolate(initial.get(context), start, end, progress.indexProgress());
     }
+
+    @Override
+    public boolean isClean(long since, long timestamp) {
+        return track.isClean(since, timestamp, values.length) && AnimatedValue.isClean(initial, since, timestamp);
+    }
 }
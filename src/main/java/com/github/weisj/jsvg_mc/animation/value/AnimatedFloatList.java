@@ -23,21 +23,19 @@ package com.github.weisj.jsvg_mc.animation.value;
 
 
 import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
 
 import com.github.weisj.jsvg_mc.animation.Track;
 import com.github.weisj.jsvg_mc.attributes.value.FloatListValue;
 import com.github.weisj.jsvg_mc.geometry.size.MeasureContext;
 
-public final class AnimatedFloatList implements FloatListValue {
+public final class AnimatedFloatList implements FloatListValue, AnimatedValue {
 
     private final @NotNull Track track;
 
     private final @NotNull FloatListValue initial;
     private final float @NotNull [] @NotNull [] values;
-    private float[] cache;
-
-    private long timestamp = 0;
-    private Track.InterpolationProgress progressCacheKey = null;
+    private volatile @Nullable Entry current;
 
     public AnimatedFloatList(@NotNull Track track, @NotNull FloatListValue initial,
             float @NotNull [] @NotNull [] values) {
@@ -50,34 +48,45 @@ public final class AnimatedFloatList implements FloatListValue {
         return initial;
     }
 
-    public boolean isDirty(long timestamp) {
-        return this.timestamp != timestamp;
-    }
-
     @Override
     public float @NotNull [] get(@NotNull MeasureContext context) {
         long ts = context.timestamp();
-        if (ts != this.timestamp) {
-            this.timestamp = ts;
-            Track.InterpolationProgress progress = track.interpolationProgress(ts, values.length);
-
-            if (progress.equals(progressCacheKey)) {
-                return cache;
-            }
-            progressCacheKey = progress;
-
-            if (progress.isInitial()) {
-                cache = initial.get(context);
-                return cache;
-            }
+        Entry entry = current;
+        if (entry != null && entry.timestamp == ts) return entry.values;
 
+        Track.InterpolationProgress progress = track.interpolationProgress(ts, values.length);
+        float[] result;
+        if (entry != null && progress.equals(entry.progress)) {
+            result = entry.values;
+        } else if (progress.isInitial()) {
+            result = initial.get(context);
+        } else {
             int index = progress.iterationIndex();
             float[] start = values[index];
             float[] end = index == values.length - 1 ? null : values[index + 1];
 
             float fraction = progress.indexProgress();
-            cache = track.floatListInterpolator().interpolate(initial.get(context), start, end, fraction, cache);
+            // Always interpolate into a fresh array. The previous one may still be in use by another render.
+            result = track.floatListInterpolator().interpolate(initial.get(context), start, end, fraction, null);
+        }
+        current = new Entry(ts, progress, result);
+        return result;
+    }
+
+    private static final class Entry {
+        private final long timestamp;
+        private final @NotNull Track.InterpolationProgress progress;
+        private final float @NotNull [] values;
+
+        private Entry(long timestamp, @NotNull Track.InterpolationProgress progress, float @NotNull [] values) {
+            this.timestamp = timestamp;
+            this.progress = progress;
+            this.values = values;
         }
-        return cache;
+    }
+
+    @Override
+    public boolean isClean(long since, long timestamp) {
+        return track.isClean(since, timestamp, values.length) && AnimatedValue.isClean(initial, since, timestamp);
     }
 }
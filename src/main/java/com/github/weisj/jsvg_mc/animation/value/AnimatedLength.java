@@ -28,7 +28,7 @@ import com.github.weisj.jsvg_mc.attributes.value.LengthValue;
 import com.github.weisj.jsvg_mc.geometry.size.Length;
 import com.github.weisj.jsvg_mc.geometry.size.MeasureContext;
 
-public final class AnimatedLength implements LengthValue {
+public final class AnimatedLength implements LengthValue, AnimatedValue {
     private final @NotNull Track track;
     private final @NotNull LengthValue initial;
     private final @NotNull Length @NotNull [] values;
@@ -90,4 +90,9 @@ public final class AnimatedLength implements LengthValue {
         }
         return initial.isConstantlyNonNegative();
     }
+
+    @Override
+    public boolean isClean(long since, long timestamp) {
+        return track.isClean(since, timestamp, values.length) && AnimatedValue.isClean(initial, since, timestamp);
+    }
 }
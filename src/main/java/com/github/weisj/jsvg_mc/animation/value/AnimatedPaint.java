@@ -34,14 +34,13 @@ import com.github.weisj.jsvg_mc.geometry.size.MeasureContext;
 import com.github.weisj.jsvg_mc.renderer.Output;
 import com.github.weisj.jsvg_mc.renderer.RenderContext;
 
-public class AnimatedPaint implements SVGPaint {
+public class AnimatedPaint implements SVGPaint, AnimatedValue {
 
     private final @NotNull Track track;
     private final @NotNull SVGPaint initial;
     private final @NotNull SVGPaint @NotNull [] values;
 
-    private SVGPaint current;
-    private long currentTimestamp = -1;
+    private final @NotNull TimestampedCache<SVGPaint> current = new TimestampedCache<>();
 
     public AnimatedPaint(@NotNull Track track, @NotNull SVGPaint initial, @NotNull SVGPaint @NotNull [] values) {
         this.track = track;
@@ -56,10 +55,9 @@ public class AnimatedPaint implements SVGPaint {
 
     private @NotNull SVGPaint current(@NotNull MeasureContext context) {
         long timestamp = context.timestamp();
-        if (currentTimestamp == timestamp) return current;
-        currentTimestamp = timestamp;
-        current = computeCurrent(timestamp);
-        return current;
+        SVGPaint value = current.get(timestamp);
+        if (value != null) return value;
+        return current.put(timestamp, computeCurrent(timestamp));
     }
 
     private @NotNull SVGPaint computeCurrent(long timestamp) {
@@ -95,4 +93,9 @@ public class AnimatedPaint implements SVGPaint {
     public boolean isVisible(@NotNull RenderContext context) {
         return current(context.measureContext()).isVisible(context);
     }
+
+    @Override
+    public boolean isClean(long since, long timestamp) {
+        return track.isClean(since, timestamp, values.length) && AnimatedValue.isClean(initial, since, timestamp);
+    }
 }
@@ -30,10 +30,10 @@ import com.github.weisj.jsvg_mc.attributes.value.Value;
 import com.github.weisj.jsvg_mc.geometry.size.MeasureContext;
 import com.github.weisj.jsvg_mc.util.PathUtil;
 
-public final class AnimatedPath implements Value<@NotNull Path2D> {
+public final class AnimatedPath implements Value<@NotNull Path2D>, AnimatedValue {
 
     private final @NotNull AnimatedFloatList list;
-    private @Nullable Path2D cache;
+    private volatile @Nullable Entry cache;
     private final boolean closed;
 
     public AnimatedPath(@NotNull AnimatedFloatList list, boolean closed) {
@@ -43,9 +43,27 @@ public final class AnimatedPath implements Value<@NotNull Path2D> {
 
     @Override
     public @NotNull Path2D get(@NotNull MeasureContext context) {
-        if (cache == null || list.isDirty(context.timestamp())) {
-            cache = PathUtil.setPolyLine(cache, list.get(context), closed);
+        float[] points = list.get(context);
+        Entry entry = cache;
+        // The list returns the same array as long as the interpolated values don't change.
+        if (entry != null && entry.points == points) return entry.path;
+        Path2D path = PathUtil.setPolyLine(null, points, closed);
+        cache = new Entry(points, path);
+        return path;
+    }
+
+    private static final class Entry {
+        private final float @NotNull [] points;
+        private final @NotNull Path2D path;
+
+        private Entry(float @NotNull [] points, @NotNull Path2D path) {
+            this.points = points;
+            this.path = path;
         }
-        return cache;
+    }
+
+    @Override
+    public boolean isClean(long since, long timestamp) {
+        return list.isClean(since, timestamp);
     }
 }
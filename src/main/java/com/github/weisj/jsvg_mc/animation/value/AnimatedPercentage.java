@@ -28,13 +28,15 @@ import com.github.weisj.jsvg_mc.attributes.value.PercentageValue;
 import com.github.weisj.jsvg_mc.geometry.size.MeasureContext;
 import com.github.weisj.jsvg_mc.geometry.size.Percentage;
 
-public final class AnimatedPercentage implements PercentageValue {
+public final class AnimatedPercentage implements PercentageValue, AnimatedValue {
 
     private final @NotNull Track track;
     private final @NotNull PercentageValue initial;
     private final float @NotNull [] values;
     private final PercentageValue multiplier;
 
+    private final @NotNull TimestampedCache<Float> currentBase = new TimestampedCache<>();
+
     public AnimatedPercentage(@NotNull Track track, @NotNull PercentageValue initial, float @NotNull [] values,
             PercentageValue multiplier) {
         this.track = track;
@@ -59,6 +61,12 @@ public final class AnimatedPercentage implements PercentageValue {
 
     private float getBase(@NotNull MeasureContext context) {
         long timestamp = context.timestamp();
+        Float value = currentBase.get(timestamp);
+        if (value != null) return value;
+        return currentBase.put(timestamp, computeBase(context, timestamp));
+    }
+
+    private float computeBase(@NotNull MeasureContext context, long timestamp) {
         Track.InterpolationProgress progress = track.interpolationProgress(timestamp, values.length);
 
         if (progress.isInitial()) return initial.get(context);
@@ -81,4 +89,10 @@ public final class AnimatedPercentage implements PercentageValue {
         return getBase(context) * multiplier.get(context);
     }
 
+    @Override
+    public boolean isClean(long since, long timestamp) {
+        return track.isClean(since, timestamp, values.length)
+                && AnimatedValue.isClean(initial, since, timestamp)
+                && AnimatedValue.isClean(multiplier, since, timestamp);
+    }
 }
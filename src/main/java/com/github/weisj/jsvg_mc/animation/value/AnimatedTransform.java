@@ -32,14 +32,13 @@ import com.github.weisj.jsvg_mc.attributes.value.ConstantLengthTransform;
 import com.github.weisj.jsvg_mc.attributes.value.TransformValue;
 import com.github.weisj.jsvg_mc.geometry.size.MeasureContext;
 
-public final class AnimatedTransform implements TransformValue {
+public final class AnimatedTransform implements TransformValue, AnimatedValue {
 
     private final @NotNull Track track;
     private final @NotNull TransformValue initial;
     private final @NotNull TransformPart @NotNull [] values;
 
-    private AffineTransform current;
-    private long currentTimestamp = -1;
+    private final @NotNull TimestampedCache<AffineTransform> current = new TimestampedCache<>();
 
     public AnimatedTransform(@NotNull Track track, @NotNull TransformValue initial,
             @NotNull TransformPart @NotNull [] values) {
@@ -59,10 +58,9 @@ public final class AnimatedTransform implements TransformValue {
 
     private @NotNull AffineTransform current(@NotNull MeasureContext context) {
         long timestamp = context.timestamp();
-        if (currentTimestamp == timestamp) return current;
-        currentTimestamp = timestamp;
-        current = computeCurrent(context, timestamp);
-        return current;
+        AffineTransform value = current.get(timestamp);
+        if (value != null) return value;
+        return current.put(timestamp, computeCurrent(context, timestamp));
     }
 
     private @NotNull AffineTransform computeCurrent(@NotNull MeasureContext context, long timestamp) {
@@ -88,4 +86,9 @@ public final class AnimatedTransform implements TransformValue {
     public @NotNull AffineTransform get(@NotNull MeasureContext context) {
         return current(context);
     }
+
+    @Override
+    public boolean isClean(long since, long timestamp) {
+        return track.isClean(since, timestamp, values.length) && AnimatedValue.isClean(initial, since, timestamp);
+    }
 }
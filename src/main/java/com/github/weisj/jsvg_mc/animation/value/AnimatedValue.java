@@ -0,0 +1,44 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2025 Jannis Weis
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and
+ * associated documentation files (the "Software"), to deal in the Software without restriction,
+ * including without limitation the rights to use, copy, modify, merge, publish, distribute,
+ * sublicense, and/or sell copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or
+ * substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT
+ * NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ *
+ */
+package com.github.weisj.jsvg_mc.animation.value;
+
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * A value which changes with the timestamp of the animation.
+ */
+public interface AnimatedValue {
+
+    /**
+     * Checks whether the value has changed between two timestamps. Caches holding a value evaluated at
+     * {@code since} can keep using it for {@code timestamp} if the value is clean.
+     *
+     * @param since the timestamp the value was evaluated at.
+     * @param timestamp the current timestamp.
+     * @return true if the value is the same at both timestamps.
+     */
+    boolean isClean(long since, long timestamp);
+
+    static boolean isClean(@NotNull Object value, long since, long timestamp) {
+        return !(value instanceof AnimatedValue) || ((AnimatedValue) value).isClean(since, timestamp);
+    }
+}
@@ -0,0 +1,76 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2025 Jannis Weis
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and
+ * associated documentation files (the "Software"), to deal in the Software without restriction,
+ * including without limitation the rights to use, copy, modify, merge, publish, distribute,
+ * sublicense, and/or sell copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or
+ * substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT
+ * NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ *
+ */
+package com.github.weisj.jsvg_mc.attributes;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import com.github.weisj.jsvg_mc.parser.AttributeNode;
+
+/**
+ * Determines which parts of an element can be the target of a hit test.
+ * <p>
+ * Elements which aren't rendered due to their visibility are never hit, hence the {@code visible*} values behave
+ * like their unqualified counterparts.
+ */
+public enum PointerEvents implements HasMatchName {
+    @Default
+    VisiblePainted("visiblePainted", true, true, true),
+    VisibleFill("visibleFill", true, false, false),
+    VisibleStroke("visibleStroke", false, true, false),
+    Visible("visible", true, true, false),
+    Painted("painted", true, true, true),
+    Fill("fill", true, false, false),
+    Stroke("stroke", false, true, false),
+    All("all", true, true, false),
+    BoundingBox("bounding-box", true, false, false),
+    None("none", false, false, false);
+
+    private final @NotNull String matchName;
+    private final boolean fill;
+    private final boolean stroke;
+    private final boolean onlyPainted;
+
+    PointerEvents(@NotNull String matchName, boolean fill, boolean stroke, boolean onlyPainted) {
+        this.matchName = matchName;
+        this.fill = fill;
+        this.stroke = stroke;
+        this.onlyPainted = onlyPainted;
+    }
+
+    public static @Nullable PointerEvents parse(@NotNull AttributeNode attributeNode) {
+        return attributeNode.getEnumNullable("pointer-events", PointerEvents.class);
+    }
+
+    @Override
+    public @NotNull String matchName() {
+        return matchName;
+    }
+
+    public boolean hitsFill(boolean fillPainted) {
+        return fill && (fillPainted || !onlyPainted);
+    }
+
+    public boolean hitsStroke(boolean strokePainted) {
+        return stroke && (strokePainted || !onlyPainted);
+    }
+}
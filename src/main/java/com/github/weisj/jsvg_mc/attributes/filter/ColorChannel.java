@@ -34,6 +34,13 @@ public enum ColorChannel {
     }
 
     public int value(int pixelData) {
-        return (pixelData >> (index * 8)) & 0xFF;
+        return (pixelData >> shift()) & 0xFF;
+    }
+
+    /**
+     * @return the bit offset of the channel in a packed argb pixel.
+     */
+    public int shift() {
+        return index * 8;
     }
 }
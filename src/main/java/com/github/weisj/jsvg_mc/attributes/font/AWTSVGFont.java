@@ -23,32 +23,30 @@ package com.github.weisj.jsvg_mc.attributes.font;
 
 import java.awt.*;
 import java.awt.font.FontRenderContext;
-import java.awt.font.GlyphMetrics;
-import java.awt.font.GlyphVector;
 import java.awt.font.LineMetrics;
-import java.util.HashMap;
+import java.util.concurrent.ConcurrentHashMap;
 
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
 import com.github.weisj.jsvg_mc.geometry.size.Length;
-import com.github.weisj.jsvg_mc.nodes.text.EmojiGlyph;
 import com.github.weisj.jsvg_mc.nodes.text.Glyph;
 
 public final class AWTSVGFont implements SVGFont {
 
     private final @NotNull Font font;
     private final FontRenderContext frc = new FontRenderContext(null, true, true);
-    private final HashMap<String, Glyph> glyphCache;
+    private final ConcurrentHashMap<String, Glyph> glyphCache;
 
-    private @Nullable LineMetrics lineMetrics;
-    private float[] baselineOffsets;
+    private volatile @Nullable Font referenceFont;
+    private volatile @Nullable LineMetrics lineMetrics;
+    private volatile float[] baselineOffsets;
     private float exHeight = Length.UNSPECIFIED_RAW;
     private float mathBaseline = Length.UNSPECIFIED_RAW;
 
     public AWTSVGFont(@NotNull Font font) {
         this.font = font;
-        this.glyphCache = new HashMap<>();
+        this.glyphCache = new ConcurrentHashMap<>();
     }
 
     public @NotNull Font font() {
@@ -59,9 +57,9 @@ public final class AWTSVGFont implements SVGFont {
     public @NotNull Glyph codepointGlyph(@NotNull String codepoint) {
         Glyph glyph = glyphCache.get(codepoint);
         if (glyph != null) return glyph;
-        glyph = createGlyph(codepoint.toCharArray());
-        glyphCache.put(codepoint, glyph);
-        return glyph;
+        glyph = createGlyph(codepoint);
+        Glyph concurrentlyCreatedGlyph = glyphCache.putIfAbsent(codepoint, glyph);
+        return concurrentlyCreatedGlyph != null ? concurrentlyCreatedGlyph : glyph;
     }
 
     @Override
@@ -138,25 +136,12 @@ public final class AWTSVGFont implements SVGFont {
     }
 
     @NotNull
-    private Glyph createGlyph(char @NotNull [] codepoint) {
-        GlyphVector glyphVector = font.createGlyphVector(frc, codepoint);
-        GlyphMetrics gm = glyphVector.getGlyphMetrics(0);
-        float advance = gm.getAdvanceX();
-
-        if (isPossibleEmoji(codepoint)) {
-            return new EmojiGlyph(String.valueOf(codepoint), advance);
-        }
-
-        Shape shape = glyphVector.getOutline(0, 0);
-        return new Glyph(shape, advance, gm.getBounds2D().isEmpty());
-    }
-
-    private static boolean isPossibleEmoji(char @NotNull [] codepoint) {
-        for (char c : codepoint) {
-            if (Character.isHighSurrogate(c) || Character.isLowSurrogate(c)) {
-                return true;
-            }
+    private Glyph createGlyph(@NotNull String codepoint) {
+        Font reference = referenceFont;
+        if (reference == null) {
+            reference = GlyphOutlineCache.referenceFont(font);
+            referenceFont = reference;
         }
-        return false;
+        return GlyphOutlineCache.INSTANCE.glyph(reference, font.getSize2D(), codepoint, frc);
     }
 }
@@ -0,0 +1,86 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2025 Jannis Weis
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and
+ * associated documentation files (the "Software"), to deal in the Software without restriction,
+ * including without limitation the rights to use, copy, modify, merge, publish, distribute,
+ * sublicense, and/or sell copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or
+ * substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT
+ * NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ *
+ */
+package com.github.weisj.jsvg_mc.attributes.font;
+
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * A snapshot of the usage counters of the font cache used by {@link FontResolver}.
+ */
+public final class FontCacheStatistics {
+    private final long hitCount;
+    private final long missCount;
+    private final long evictionCount;
+    private final int size;
+    private final int maximumSize;
+
+    FontCacheStatistics(long hitCount, long missCount, long evictionCount, int size, int maximumSize) {
+        this.hitCount = hitCount;
+        this.missCount = missCount;
+        this.evictionCount = evictionCount;
+        this.size = size;
+        this.maximumSize = maximumSize;
+    }
+
+    public long hitCount() {
+        return hitCount;
+    }
+
+    public long missCount() {
+        return missCount;
+    }
+
+    public long evictionCount() {
+        return evictionCount;
+    }
+
+    public long requestCount() {
+        return hitCount + missCount;
+    }
+
+    public double hitRate() {
+        long requests = requestCount();
+        return requests == 0 ? 1 : (double) hitCount / requests;
+    }
+
+    /**
+     * @return the number of fonts currently in the cache.
+     */
+    public int size() {
+        return size;
+    }
+
+    public int maximumSize() {
+        return maximumSize;
+    }
+
+    @Override
+    public @NotNull String toString() {
+        return "FontCacheStatistics{" +
+                "hitCount=" + hitCount +
+                ", missCount=" + missCount +
+                ", evictionCount=" + evictionCount +
+                ", size=" + size +
+                ", maximumSize=" + maximumSize +
+                '}';
+    }
+}
@@ -27,8 +27,12 @@ import java.awt.geom.AffineTransform;
 import java.text.AttributedCharacterIterator;
 import java.util.*;
 import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
 
 import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
 
 import com.github.weisj.jsvg_mc.geometry.size.MeasureContext;
 
@@ -36,47 +40,35 @@ public final class FontResolver {
     private FontResolver() {}
 
     public static void clearFontCache() {
-        FontCache.INSTANCE.cache.clear();
+        FontCache.INSTANCE.clear();
+        GlyphOutlineCache.INSTANCE.clear();
+    }
+
+    /**
+     * Sets the maximum number of fonts retained by the font cache. Least recently used fonts are evicted first.
+     *
+     * @param maximumSize the maximum number of cached fonts. A value of 0 disables caching.
+     */
+    public static void setFontCacheMaximumSize(int maximumSize) {
+        if (maximumSize < 0) throw new IllegalArgumentException("Negative cache size " + maximumSize);
+        FontCache.INSTANCE.setMaximumSize(maximumSize);
+    }
+
+    public static @NotNull FontCacheStatistics fontCacheStatistics() {
+        return FontCache.INSTANCE.statistics();
     }
 
     public static @NotNull SVGFont resolve(@NotNull MeasurableFontSpec fontSpec,
             @NotNull MeasureContext measureContext) {
-        FontCache.CacheKey key = new FontCache.CacheKey(fontSpec, measureContext);
-        SVGFont cachedFont = FontCache.INSTANCE.cache.get(key);
+        FontKey key = FontKey.of(fontSpec, measureContext);
+        SVGFont cachedFont = FontCache.INSTANCE.get(key);
         if (cachedFont != null) return cachedFont;
-        SVGFont resolvedFont = resolveWithoutCache(fontSpec, measureContext);
-        FontCache.INSTANCE.cache.put(key, resolvedFont);
-        return resolvedFont;
+        return FontCache.INSTANCE.putIfAbsent(key, key.createFont());
     }
 
     public static @NotNull SVGFont resolveWithoutCache(@NotNull MeasurableFontSpec fontSpec,
             @NotNull MeasureContext measureContext) {
-        String family = findSupportedFontFamily(fontSpec);
-
-        FontStyle style = fontSpec.style();
-
-        float weight = cssWeightToAwtWeight(fontSpec.currentWeight());
-        float size = fontSpec.effectiveSize(measureContext);
-        float stretch = fontSpec.stretch().orElseIfUnspecified(1).value();
-
-        Map<AttributedCharacterIterator.Attribute, Object> attributes = new HashMap<>(5, 1f);
-        attributes.put(TextAttribute.FAMILY, family);
-        attributes.put(TextAttribute.SIZE, size);
-        attributes.put(TextAttribute.WEIGHT, weight);
-        attributes.put(TextAttribute.WIDTH, stretch);
-
-
-        if (style instanceof FontStyle.Normal) {
-            attributes.put(TextAttribute.POSTURE, TextAttribute.POSTURE_REGULAR);
-        } else if (style instanceof FontStyle.Italic) {
-            attributes.put(TextAttribute.POSTURE, TextAttribute.POSTURE_OBLIQUE);
-        } else {
-            AffineTransform transform = style.transform();
-            if (transform != null) attributes.put(TextAttribute.TRANSFORM, transform);
-        }
-
-        Font font = new Font(attributes);
-        return new AWTSVGFont(font);
+        return FontKey.of(fontSpec, measureContext).createFont();
     }
 
     private static float cssWeightToAwtWeight(float weight) {
@@ -110,16 +102,97 @@ public final class FontResolver {
         INSTANCE;
 
         private final @NotNull String[] supportedFonts;
+        // Lower case names of the supported fonts. Only read after construction, hence safe to share.
+        private final @NotNull Set<String> supportedFontKeys;
 
         FontFamiliesCache() {
             supportedFonts = GraphicsEnvironment.getLocalGraphicsEnvironment().getAvailableFontFamilyNames();
+            supportedFontKeys = new HashSet<>(2 * supportedFonts.length);
+            for (String supportedFont : supportedFonts) {
+                supportedFontKeys.add(supportedFont.toLowerCase(Locale.ROOT));
+            }
         }
 
         boolean isSupportedFontFamily(final @NotNull String fontName) {
-            for (String supportedFont : supportedFonts) {
-                if (supportedFont.equalsIgnoreCase(fontName)) return true;
+            return supportedFontKeys.contains(fontName.toLowerCase(Locale.ROOT));
+        }
+    }
+
+    /*
+     * The inputs which determine the resolved font. In particular this doesn't include the animation state of the
+     * measure context, which would otherwise create a new font for every animation frame.
+     */
+    private static final class FontKey {
+        private final @NotNull String family;
+        private final @NotNull FontStyle style;
+        private final float weight;
+        private final float size;
+        private final float stretch;
+
+        private FontKey(@NotNull String family, @NotNull FontStyle style, float weight, float size, float stretch) {
+            this.family = family;
+            this.style = style;
+            this.weight = weight;
+            this.size = size;
+            this.stretch = stretch;
+        }
+
+        private static @NotNull FontKey of(@NotNull MeasurableFontSpec fontSpec,
+                @NotNull MeasureContext measureContext) {
+            return new FontKey(
+                    findSupportedFontFamily(fontSpec),
+                    fontSpec.style(),
+                    cssWeightToAwtWeight(fontSpec.currentWeight()),
+                    fontSpec.effectiveSize(measureContext),
+                    fontSpec.stretch().orElseIfUnspecified(1).value());
+        }
+
+        private @NotNull SVGFont createFont() {
+            Map<AttributedCharacterIterator.Attribute, Object> attributes = new HashMap<>(5, 1f);
+            attributes.put(TextAttribute.FAMILY, family);
+            attributes.put(TextAttribute.SIZE, size);
+            attributes.put(TextAttribute.WEIGHT, weight);
+            attributes.put(TextAttribute.WIDTH, stretch);
+
+            if (style instanceof FontStyle.Normal) {
+                attributes.put(TextAttribute.POSTURE, TextAttribute.POSTURE_REGULAR);
+            } else if (style instanceof FontStyle.Italic) {
+                attributes.put(TextAttribute.POSTURE, TextAttribute.POSTURE_OBLIQUE);
+            } else {
+                AffineTransform transform = style.transform();
+                if (transform != null) attributes.put(TextAttribute.TRANSFORM, transform);
             }
-            return false;
+
+            Font font = new Font(attributes);
+            return new AWTSVGFont(font);
+        }
+
+        @Override
+        public String toString() {
+            return "FontKey{" +
+                    "family='" + family + '\'' +
+                    ", style=" + style +
+                    ", weight=" + weight +
+                    ", size=" + size +
+                    ", stretch=" + stretch +
+                    '}';
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (!(o instanceof FontKey)) return false;
+            FontKey fontKey = (FontKey) o;
+            return Float.compare(weight, fontKey.weight) == 0
+                    && Float.compare(size, fontKey.size) == 0
+                    && Float.compare(stretch, fontKey.stretch) == 0
+                    && family.equals(fontKey.family)
+                    && style.equals(fontKey.style);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(family, style, weight, size, stretch);
         }
     }
 
@@ -127,36 +200,75 @@ public final class FontResolver {
     private enum FontCache {
         INSTANCE;
 
-        private final HashMap<CacheKey, SVGFont> cache = new HashMap<>();
+        private static final int DEFAULT_MAXIMUM_SIZE = 256;
 
-        private static final class CacheKey {
-            private final @NotNull MeasurableFontSpec spec;
-            private final @NotNull MeasureContext context;
+        private final ConcurrentHashMap<FontKey, CachedFont> cache = new ConcurrentHashMap<>();
+        // Orders accesses for the least recently used eviction.
+        private final AtomicLong clock = new AtomicLong();
+        private final LongAdder hitCount = new LongAdder();
+        private final LongAdder missCount = new LongAdder();
+        private final LongAdder evictionCount = new LongAdder();
+        // Only guards eviction. Lookups and insertions don't lock.
+        private final Object evictionLock = new Object();
+        private volatile int maximumSize = DEFAULT_MAXIMUM_SIZE;
 
-            private CacheKey(@NotNull MeasurableFontSpec spec, @NotNull MeasureContext context) {
-                this.spec = spec;
-                this.context = context;
+        private @Nullable SVGFont get(@NotNull FontKey key) {
+            CachedFont cached = cache.get(key);
+            if (cached == null) {
+                missCount.increment();
+                return null;
             }
+            hitCount.increment();
+            cached.lastAccess = clock.incrementAndGet();
+            return cached.font;
+        }
 
-            @Override
-            public String toString() {
-                return "CacheKey{" +
-                        "spec=" + spec +
-                        ", context=" + context +
-                        '}';
-            }
+        private @NotNull SVGFont putIfAbsent(@NotNull FontKey key, @NotNull SVGFont font) {
+            if (maximumSize <= 0) return font;
+            CachedFont cached = new CachedFont(font, clock.incrementAndGet());
+            // Another thread may have resolved the same font in the meantime.
+            CachedFont existing = cache.putIfAbsent(key, cached);
+            if (existing != null) return existing.font;
+            if (cache.size() > maximumSize) evict();
+            return font;
+        }
 
-            @Override
-            public boolean equals(Object o) {
-                if (this == o) return true;
-                if (!(o instanceof CacheKey)) return false;
-                CacheKey cacheKey = (CacheKey) o;
-                return spec.equals(cacheKey.spec) && context.equals(cacheKey.context);
+        private void evict() {
+            synchronized (evictionLock) {
+                while (cache.size() > maximumSize) {
+                    Map.Entry<FontKey, CachedFont> eldest = null;
+                    for (Map.Entry<FontKey, CachedFont> entry : cache.entrySet()) {
+                        if (eldest == null || entry.getValue().lastAccess < eldest.getValue().lastAccess) {
+                            eldest = entry;
+                        }
+                    }
+                    if (eldest == null) break;
+                    if (cache.remove(eldest.getKey(), eldest.getValue())) evictionCount.increment();
+                }
             }
+        }
+
+        private void setMaximumSize(int maximumSize) {
+            this.maximumSize = maximumSize;
+            evict();
+        }
+
+        private void clear() {
+            cache.clear();
+        }
+
+        private @NotNull FontCacheStatistics statistics() {
+            return new FontCacheStatistics(hitCount.sum(), missCount.sum(), evictionCount.sum(),
+                    cache.size(), maximumSize);
+        }
+
+        private static final class CachedFont {
+            private final @NotNull SVGFont font;
+            private volatile long lastAccess;
 
-            @Override
-            public int hashCode() {
-                return Objects.hash(spec, context);
+            private CachedFont(@NotNull SVGFont font, long lastAccess) {
+                this.font = font;
+                this.lastAccess = lastAccess;
             }
         }
     }
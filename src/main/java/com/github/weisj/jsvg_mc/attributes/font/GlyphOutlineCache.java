@@ -0,0 +1,243 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2025 Jannis Weis
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and
+ * associated documentation files (the "Software"), to deal in the Software without restriction,
+ * including without limitation the rights to use, copy, modify, merge, publish, distribute,
+ * sublicense, and/or sell copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or
+ * substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT
+ * NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ *
+ */
+package com.github.weisj.jsvg_mc.attributes.font;
+
+import java.awt.*;
+import java.awt.font.FontRenderContext;
+import java.awt.font.GlyphMetrics;
+import java.awt.font.GlyphVector;
+import java.awt.geom.Path2D;
+import java.awt.geom.PathIterator;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import org.jetbrains.annotations.NotNull;
+
+import com.github.weisj.jsvg_mc.nodes.text.EmojiGlyph;
+import com.github.weisj.jsvg_mc.nodes.text.Glyph;
+
+/**
+ * Size independent store of glyph outlines.
+ * <p>
+ * Outlines are extracted once at {@link #REFERENCE_SIZE} and scaled to the requested font size. As glyphs are laid
+ * out using fractional metrics without hinting, outlines and advances scale linearly with the font size.
+ * The store is bounded by the total number of path segments it retains. Least recently used outlines are evicted
+ * first.
+ */
+@SuppressWarnings("ImmutableEnumChecker")
+enum GlyphOutlineCache {
+    INSTANCE;
+
+    static final float REFERENCE_SIZE = 256;
+    private static final int MAXIMUM_SEGMENT_COUNT = 1 << 18;
+
+    private final Object lock = new Object();
+    private final LinkedHashMap<Key, Outline> cache = new LinkedHashMap<>(64, 0.75f, true);
+    private long segmentCount;
+
+    static @NotNull Font referenceFont(@NotNull Font font) {
+        return font.getSize2D() == REFERENCE_SIZE ? font : font.deriveFont(REFERENCE_SIZE);
+    }
+
+    /**
+     * Creates the glyph for the given codepoint.
+     *
+     * @param referenceFont the font at {@link #REFERENCE_SIZE}. See {@link #referenceFont(Font)}.
+     * @param size the size of the font the glyph is created for.
+     * @param codepoint the codepoint.
+     * @param frc the font render context used to create the outline.
+     * @return the glyph scaled to the given size.
+     */
+    @NotNull
+    Glyph glyph(@NotNull Font referenceFont, float size, @NotNull String codepoint, @NotNull FontRenderContext frc) {
+        Key key = new Key(referenceFont, codepoint);
+        Outline outline;
+        synchronized (lock) {
+            outline = cache.get(key);
+        }
+        if (outline == null) {
+            outline = Outline.create(referenceFont, codepoint, frc);
+            synchronized (lock) {
+                Outline existing = cache.putIfAbsent(key, outline);
+                if (existing != null) {
+                    outline = existing;
+                } else {
+                    segmentCount += outline.segmentCount();
+                    evict();
+                }
+            }
+        }
+        float scale = size / REFERENCE_SIZE;
+        float advance = outline.advance * scale;
+        if (outline.isEmoji) return new EmojiGlyph(codepoint, advance);
+        return new Glyph(outline.createShape(scale), advance, outline.isEmpty);
+    }
+
+    void clear() {
+        synchronized (lock) {
+            cache.clear();
+            segmentCount = 0;
+        }
+    }
+
+    private void evict() {
+        Iterator<Outline> it = cache.values().iterator();
+        // Always keep the most recently added outline, even if it exceeds the bound on its own.
+        while (segmentCount > MAXIMUM_SEGMENT_COUNT && cache.size() > 1) {
+            segmentCount -= it.next().segmentCount();
+            it.remove();
+        }
+    }
+
+    private static final class Key {
+        private final @NotNull Font font;
+        private final @NotNull String codepoint;
+
+        private Key(@NotNull Font font, @NotNull String codepoint) {
+            this.font = font;
+            this.codepoint = codepoint;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (!(o instanceof Key)) return false;
+            Key key = (Key) o;
+            return codepoint.equals(key.codepoint) && font.equals(key.font);
+        }
+
+        @Override
+        public int hashCode() {
+            return 31 * font.hashCode() + codepoint.hashCode();
+        }
+    }
+
+    private static final class Outline {
+        private static final byte[] NO_SEGMENTS = new byte[0];
+        private static final float[] NO_COORDS = new float[0];
+
+        private final float advance;
+        private final boolean isEmpty;
+        private final boolean isEmoji;
+        private final int windingRule;
+        private final byte @NotNull [] segmentTypes;
+        private final float @NotNull [] coords;
+
+        private Outline(float advance, boolean isEmpty, boolean isEmoji, int windingRule,
+                byte @NotNull [] segmentTypes, float @NotNull [] coords) {
+            this.advance = advance;
+            this.isEmpty = isEmpty;
+            this.isEmoji = isEmoji;
+            this.windingRule = windingRule;
+            this.segmentTypes = segmentTypes;
+            this.coords = coords;
+        }
+
+        private static @NotNull Outline create(@NotNull Font font, @NotNull String codepoint,
+                @NotNull FontRenderContext frc) {
+            char[] chars = codepoint.toCharArray();
+            GlyphVector glyphVector = font.createGlyphVector(frc, chars);
+            GlyphMetrics gm = glyphVector.getGlyphMetrics(0);
+            float advance = gm.getAdvanceX();
+            if (isPossibleEmoji(chars)) {
+                return new Outline(advance, false, true, PathIterator.WIND_NON_ZERO, NO_SEGMENTS, NO_COORDS);
+            }
+
+            PathIterator iterator = glyphVector.getOutline(0, 0).getPathIterator(null);
+            byte[] types = new byte[16];
+            float[] coords = new float[64];
+            int segments = 0;
+            int coordCount = 0;
+            float[] segment = new float[6];
+            while (!iterator.isDone()) {
+                int type = iterator.currentSegment(segment);
+                int count = coordinateCount(type);
+                if (segments == types.length) types = Arrays.copyOf(types, 2 * segments);
+                if (coordCount + count > coords.length) coords = Arrays.copyOf(coords, 2 * coords.length);
+                types[segments++] = (byte) type;
+                System.arraycopy(segment, 0, coords, coordCount, count);
+                coordCount += count;
+                iterator.next();
+            }
+            return new Outline(advance, gm.getBounds2D().isEmpty(), false, iterator.getWindingRule(),
+                    Arrays.copyOf(types, segments), Arrays.copyOf(coords, coordCount));
+        }
+
+        private int segmentCount() {
+            // Account for outlines without segments, such that empty glyphs also count towards the bound.
+            return Math.max(1, segmentTypes.length);
+        }
+
+        private @NotNull Shape createShape(float scale) {
+            Path2D.Float path = new Path2D.Float(windingRule, segmentTypes.length);
+            float[] c = coords;
+            int i = 0;
+            for (byte type : segmentTypes) {
+                switch (type) {
+                    case PathIterator.SEG_MOVETO:
+                        path.moveTo(c[i] * scale, c[i + 1] * scale);
+                        break;
+                    case PathIterator.SEG_LINETO:
+                        path.lineTo(c[i] * scale, c[i + 1] * scale);
+                        break;
+                    case PathIterator.SEG_QUADTO:
+                        path.quadTo(c[i] * scale, c[i + 1] * scale, c[i + 2] * scale, c[i + 3] * scale);
+                        break;
+                    case PathIterator.SEG_CUBICTO:
+                        path.curveTo(c[i] * scale, c[i + 1] * scale, c[i + 2] * scale, c[i + 3] * scale,
+                                c[i + 4] * scale, c[i + 5] * scale);
+                        break;
+                    default:
+                        path.closePath();
+                        break;
+                }
+                i += coordinateCount(type);
+            }
+            return path;
+        }
+
+        private static int coordinateCount(int segmentType) {
+            switch (segmentType) {
+                case PathIterator.SEG_MOVETO:
+                case PathIterator.SEG_LINETO:
+                    return 2;
+                case PathIterator.SEG_QUADTO:
+                    return 4;
+                case PathIterator.SEG_CUBICTO:
+                    return 6;
+                default:
+                    return 0;
+            }
+        }
+
+        private static boolean isPossibleEmoji(char @NotNull [] codepoint) {
+            for (char c : codepoint) {
+                if (Character.isHighSurrogate(c) || Character.isLowSurrogate(c)) {
+                    return true;
+                }
+            }
+            return false;
+        }
+    }
+}
@@ -25,19 +25,21 @@ import java.awt.*;
 import java.awt.geom.*;
 
 import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
 
+import com.github.weisj.jsvg_mc.animation.value.AnimatedValue;
 import com.github.weisj.jsvg_mc.attributes.value.ConstantValue;
 import com.github.weisj.jsvg_mc.attributes.value.Value;
+import com.github.weisj.jsvg_mc.geometry.size.MeasureContext;
 import com.github.weisj.jsvg_mc.geometry.util.GeometryUtil;
 import com.github.weisj.jsvg_mc.renderer.RenderContext;
 
 public class AWTSVGShape<T extends Shape> implements MeasurableShape {
     public static final Rectangle2D EMPTY_SHAPE = new Rectangle();
     protected final @NotNull Value<@NotNull T> shapeValue;
-    private Rectangle2D boundsCache;
-    private T shapeCache;
+    private volatile @Nullable CachedShape<T> cache;
 
-    private double pathLength;
+    private volatile double pathLength;
 
     public AWTSVGShape(@NotNull T shape) {
         this(new ConstantValue<>(shape));
@@ -54,19 +56,37 @@ public class AWTSVGShape<T extends Shape> implements MeasurableShape {
 
     @Override
     public @NotNull T shape(@NotNull RenderContext context, boolean validate) {
-        if (shapeCache == null || validate) {
-            shapeCache = shapeValue.get(context.measureContext());
-        }
-        return shapeCache;
+        return cachedShape(context, validate).shape;
     }
 
     @Override
     public @NotNull Rectangle2D bounds(@NotNull RenderContext context, boolean validate) {
-        if (boundsCache == null || validate) {
-            Shape shape = shape(context, validate);
-            boundsCache = shape.getBounds2D();
+        return cachedShape(context, validate).bounds();
+    }
+
+    @Override
+    public @NotNull Rectangle2D boundsOf(@NotNull Shape shape) {
+        CachedShape<T> cached = cache;
+        if (cached != null && cached.shape == shape) return cached.bounds();
+        return shape.getBounds2D();
+    }
+
+    private @NotNull CachedShape<T> cachedShape(@NotNull RenderContext context, boolean validate) {
+        // The cached shape is only replaced as a whole and never modified, which allows the same shape
+        // to be rendered concurrently with different contexts.
+        MeasureContext measureContext = context.measureContext();
+        CachedShape<T> cached = cache;
+        if (cached == null || (validate && !isValid(cached.measureContext, measureContext))) {
+            cached = new CachedShape<>(measureContext, shapeValue.get(measureContext));
+            cache = cached;
         }
-        return boundsCache;
+        return cached;
+    }
+
+    private boolean isValid(@NotNull MeasureContext cachedContext, @NotNull MeasureContext measureContext) {
+        if (cachedContext.equals(measureContext)) return true;
+        return cachedContext.equalsIgnoringAnimationState(measureContext)
+                && AnimatedValue.isClean(shapeValue, cachedContext.timestamp(), measureContext.timestamp());
     }
 
     @Override
@@ -106,4 +126,24 @@ public class AWTSVGShape<T extends Shape> implements MeasurableShape {
             return GeometryUtil.isSingleClosedPath(shape);
         }
     }
+
+    private static final class CachedShape<T extends Shape> {
+        private final @NotNull MeasureContext measureContext;
+        private final @NotNull T shape;
+        private volatile @Nullable Rectangle2D bounds;
+
+        private CachedShape(@NotNull MeasureContext measureContext, @NotNull T shape) {
+            this.measureContext = measureContext;
+            this.shape = shape;
+        }
+
+        private @NotNull Rectangle2D bounds() {
+            Rectangle2D b = bounds;
+            if (b == null) {
+                b = shape.getBounds2D();
+                bounds = b;
+            }
+            return b;
+        }
+    }
 }
@@ -33,7 +33,7 @@ import com.github.weisj.jsvg_mc.renderer.RenderContext;
 
 public final class SVGCircle implements MeasurableShape {
 
-    private final @NotNull Ellipse2D.Float circle = new Ellipse2D.Float();
+    private volatile @NotNull Ellipse2D.Float circle = new Ellipse2D.Float();
     private final @NotNull LengthValue cx;
     private final @NotNull LengthValue cy;
     private final @NotNull LengthValue r;
@@ -44,23 +44,26 @@ public final class SVGCircle implements MeasurableShape {
         this.r = r;
     }
 
-    private void validateShape(@NotNull MeasureContext measureContext) {
+    private @NotNull Ellipse2D.Float validateShape(@NotNull MeasureContext measureContext) {
+        Ellipse2D.Float circle = new Ellipse2D.Float();
         float x = cx.resolve(measureContext);
         float y = cy.resolve(measureContext);
         float rr = r.resolve(measureContext);
         circle.setFrame(x - rr, y - rr, 2 * rr, 2 * rr);
+        this.circle = circle;
+        return circle;
     }
 
     @Override
     public @NotNull Shape shape(@NotNull RenderContext context, boolean validate) {
-        if (validate) validateShape(context.measureContext());
+        if (validate) return validateShape(context.measureContext());
         return circle;
     }
 
     @Override
     public @NotNull Rectangle2D bounds(@NotNull RenderContext context, boolean validate) {
-        if (validate) validateShape(context.measureContext());
-        return circle.getBounds2D();
+        Ellipse2D.Float current = validate ? validateShape(context.measureContext()) : circle;
+        return current.getBounds2D();
     }
 
     @Override
@@ -33,7 +33,7 @@ import com.github.weisj.jsvg_mc.renderer.RenderContext;
 
 public final class SVGEllipse implements MeasurableShape {
 
-    private final @NotNull Ellipse2D.Float ellipse = new Ellipse2D.Float();
+    private volatile @NotNull Ellipse2D.Float ellipse = new Ellipse2D.Float();
     private final @NotNull LengthValue cx;
     private final @NotNull LengthValue cy;
     private final @NotNull LengthValue rx;
@@ -47,24 +47,27 @@ public final class SVGEllipse implements MeasurableShape {
         this.ry = ry;
     }
 
-    private void validateShape(@NotNull MeasureContext measureContext) {
+    private @NotNull Ellipse2D.Float validateShape(@NotNull MeasureContext measureContext) {
+        Ellipse2D.Float ellipse = new Ellipse2D.Float();
         float x = cx.resolve(measureContext);
         float y = cy.resolve(measureContext);
         float rrx = rx.resolve(measureContext);
         float rry = ry.resolve(measureContext);
         ellipse.setFrame(x - rrx, y - rry, 2 * rrx, 2 * rry);
+        this.ellipse = ellipse;
+        return ellipse;
     }
 
     @Override
     public @NotNull Shape shape(@NotNull RenderContext context, boolean validate) {
-        if (validate) validateShape(context.measureContext());
+        if (validate) return validateShape(context.measureContext());
         return ellipse;
     }
 
     @Override
     public @NotNull Rectangle2D bounds(@NotNull RenderContext context, boolean validate) {
-        if (validate) validateShape(context.measureContext());
-        return ellipse.getBounds2D();
+        Ellipse2D.Float current = validate ? validateShape(context.measureContext()) : ellipse;
+        return current.getBounds2D();
     }
 
     @Override
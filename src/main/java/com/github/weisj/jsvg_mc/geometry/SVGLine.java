@@ -34,7 +34,7 @@ import com.github.weisj.jsvg_mc.renderer.RenderContext;
 
 public final class SVGLine implements MeasurableShape {
 
-    private final @NotNull Line2D.Float line = new Line2D.Float();
+    private volatile @NotNull Line2D.Float line = new Line2D.Float();
     private final LengthValue x1;
     private final LengthValue y1;
     private final LengthValue x2;
@@ -52,22 +52,25 @@ public final class SVGLine implements MeasurableShape {
         return false;
     }
 
-    private void validateShape(@NotNull MeasureContext measureContext) {
+    private @NotNull Line2D.Float validateShape(@NotNull MeasureContext measureContext) {
+        Line2D.Float line = new Line2D.Float();
         line.setLine(
                 x1.resolve(measureContext), y1.resolve(measureContext),
                 x2.resolve(measureContext), y2.resolve(measureContext));
+        this.line = line;
+        return line;
     }
 
     @Override
     public @NotNull Shape shape(@NotNull RenderContext context, boolean validate) {
-        if (validate) validateShape(context.measureContext());
+        if (validate) return validateShape(context.measureContext());
         return line;
     }
 
     @Override
     public @NotNull Rectangle2D bounds(@NotNull RenderContext context, boolean validate) {
-        if (validate) validateShape(context.measureContext());
-        return line.getBounds2D();
+        Line2D.Float current = validate ? validateShape(context.measureContext()) : line;
+        return current.getBounds2D();
     }
 
     @Override
@@ -32,7 +32,7 @@ import com.github.weisj.jsvg_mc.renderer.RenderContext;
 
 public final class SVGRectangle implements MeasurableShape {
 
-    private final @NotNull Rectangle2D.Float rect = new Rectangle2D.Float();
+    private volatile @NotNull Rectangle2D.Float rect = new Rectangle2D.Float();
     private final @NotNull LengthValue x;
     private final @NotNull LengthValue y;
     private final @NotNull LengthValue w;
@@ -46,23 +46,26 @@ public final class SVGRectangle implements MeasurableShape {
         this.h = h;
     }
 
-    private void validateShape(@NotNull MeasureContext measureContext) {
+    private @NotNull Rectangle2D.Float validateShape(@NotNull MeasureContext measureContext) {
+        Rectangle2D.Float rect = new Rectangle2D.Float();
         rect.setRect(
                 x.resolve(measureContext),
                 y.resolve(measureContext),
                 w.resolve(measureContext),
                 h.resolve(measureContext));
+        this.rect = rect;
+        return rect;
     }
 
     @Override
     public @NotNull Shape shape(@NotNull RenderContext context, boolean validate) {
-        if (validate) validateShape(context.measureContext());
+        if (validate) return validateShape(context.measureContext());
         return rect;
     }
 
     @Override
     public @NotNull Rectangle2D bounds(@NotNull RenderContext context, boolean validate) {
-        if (validate) validateShape(context.measureContext());
+        if (validate) return validateShape(context.measureContext());
         return rect;
     }
 
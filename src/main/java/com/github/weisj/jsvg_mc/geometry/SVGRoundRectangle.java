@@ -33,7 +33,7 @@ import com.github.weisj.jsvg_mc.renderer.RenderContext;
 
 public final class SVGRoundRectangle implements MeasurableShape {
 
-    private final @NotNull RoundRectangle2D.Float rect = new RoundRectangle2D.Float();
+    private volatile @NotNull RoundRectangle2D.Float rect = new RoundRectangle2D.Float();
     private final @NotNull LengthValue x;
     private final @NotNull LengthValue y;
     private final @NotNull LengthValue w;
@@ -52,7 +52,8 @@ public final class SVGRoundRectangle implements MeasurableShape {
         this.ry = ry;
     }
 
-    private void validateShape(@NotNull MeasureContext measureContext) {
+    private @NotNull RoundRectangle2D.Float validateShape(@NotNull MeasureContext measureContext) {
+        RoundRectangle2D.Float rect = new RoundRectangle2D.Float();
         rect.setRoundRect(
                 x.resolve(measureContext),
                 y.resolve(measureContext),
@@ -60,18 +61,20 @@ public final class SVGRoundRectangle implements MeasurableShape {
                 h.resolve(measureContext),
                 Math.max(0, rx.resolve(measureContext) * 2),
                 Math.max(0, ry.resolve(measureContext) * 2));
+        this.rect = rect;
+        return rect;
     }
 
     @Override
     public @NotNull Shape shape(@NotNull RenderContext context, boolean validate) {
-        if (validate) validateShape(context.measureContext());
+        if (validate) return validateShape(context.measureContext());
         return rect;
     }
 
     @Override
     public @NotNull Rectangle2D bounds(@NotNull RenderContext context, boolean validate) {
-        if (validate) validateShape(context.measureContext());
-        return rect.getBounds2D();
+        RoundRectangle2D.Float current = validate ? validateShape(context.measureContext()) : rect;
+        return current.getBounds2D();
     }
 
     @Override
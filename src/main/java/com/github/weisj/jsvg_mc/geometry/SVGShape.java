@@ -44,6 +44,15 @@ public interface SVGShape {
     @NotNull
     Rectangle2D bounds(@NotNull RenderContext context, boolean validate);
 
+    /**
+     * Returns the bounds of a shape previously returned by {@link #shape(RenderContext, boolean)}. Unlike
+     * {@link #bounds(RenderContext, boolean)} without validation this is unaffected by concurrent renders
+     * validating the shape for a different context.
+     */
+    default @NotNull Rectangle2D boundsOf(@NotNull Shape shape) {
+        return shape.getBounds2D();
+    }
+
     double pathLength(@NotNull RenderContext context);
 
     default boolean usesOptimizedBoundsCalculation() {
@@ -48,6 +48,16 @@ public class Bezier {
         p.curveTo(b.x, b.y, c.x, c.y, d.x, d.y);
     }
 
+    public void evaluate(float t, @NotNull Point2D.Float out) {
+        float s = 1 - t;
+        float w0 = s * s * s;
+        float w1 = 3 * s * s * t;
+        float w2 = 3 * s * t * t;
+        float w3 = t * t * t;
+        out.x = w0 * a.x + w1 * b.x + w2 * c.x + w3 * d.x;
+        out.y = w0 * a.y + w1 * b.y + w2 * c.y + w3 * d.y;
+    }
+
     public @NotNull Bezier inverse() {
         return new Bezier(d, c, b, a);
     }
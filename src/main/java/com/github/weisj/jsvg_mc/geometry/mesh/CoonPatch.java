@@ -66,6 +66,37 @@ public final class CoonPatch {
         return p;
     }
 
+    /**
+     * Evaluates the patch at the given parameters. {@code (0, 0)} corresponds to the start of the north curve and
+     * {@code (1, 1)} to the start of the south curve.
+     *
+     * @param u the parameter along the north and south curve.
+     * @param v the parameter along the east and west curve.
+     * @param out the point to store the result in.
+     */
+    public void evaluate(float u, float v, @NotNull Point2D.Float out) {
+        Point2D.Float p = new Point2D.Float();
+        north.evaluate(u, p);
+        float x = (1 - v) * p.x;
+        float y = (1 - v) * p.y;
+        south.evaluate(1 - u, p);
+        x += v * p.x;
+        y += v * p.y;
+        west.evaluate(1 - v, p);
+        x += (1 - u) * p.x;
+        y += (1 - u) * p.y;
+        east.evaluate(v, p);
+        x += u * p.x;
+        y += u * p.y;
+
+        float w00 = (1 - u) * (1 - v);
+        float w10 = u * (1 - v);
+        float w11 = u * v;
+        float w01 = (1 - u) * v;
+        out.x = x - (w00 * north.a.x + w10 * north.d.x + w11 * south.a.x + w01 * south.d.x);
+        out.y = y - (w00 * north.a.y + w10 * north.d.y + w11 * south.a.y + w01 * south.d.y);
+    }
+
     public Subdivided<CoonPatch> subdivide() {
         Point2D.Float midNorthLinear = midPoint(north.a, north.d);
         Point2D.Float midSouthLinear = midPoint(south.d, south.a);
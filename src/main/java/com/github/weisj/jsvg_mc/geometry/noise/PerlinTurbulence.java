@@ -22,7 +22,9 @@
 package com.github.weisj.jsvg_mc.geometry.noise;
 
 import java.awt.geom.Rectangle2D;
+import java.util.Arrays;
 
+import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
 /*
@@ -62,11 +64,44 @@ public final class PerlinTurbulence {
         init(seed);
     }
 
+    /**
+     * Lattice adjustments which make the noise tile seamlessly with the given tile size.
+     */
     public static final class StitchInfo {
-        private int width;
-        private int height;
-        private int wrapX;
-        private int wrapY;
+        private final double frequencyX;
+        private final double frequencyY;
+        private final int width;
+        private final int height;
+        private final int wrapX;
+        private final int wrapY;
+
+        private StitchInfo(double frequencyX, double frequencyY, @NotNull Rectangle2D tile) {
+            this.frequencyX = frequencyX;
+            this.frequencyY = frequencyY;
+            width = (int) (tile.getWidth() * frequencyX + 0.5f);
+            wrapX = (int) (tile.getX() * frequencyX + PerlinN + width);
+            height = (int) (tile.getHeight() * frequencyY + 0.5f);
+            wrapY = (int) (tile.getY() * frequencyY + PerlinN + height);
+        }
+    }
+
+    /**
+     * Creates the stitching information for the given tile. The base frequencies are adjusted such that an integral
+     * number of lattice cells fits into the tile.
+     *
+     * @param tile the tile in the coordinate system of the noise.
+     * @return the stitch info.
+     */
+    public @NotNull StitchInfo stitchInfo(@NotNull Rectangle2D tile) {
+        double baseFrequencyX = xFrequency;
+        double baseFrequencyY = yFrequency;
+        if (baseFrequencyX != 0) {
+            baseFrequencyX = adjustFrequency(baseFrequencyX, tile.getWidth());
+        }
+        if (baseFrequencyY != 0) {
+            baseFrequencyY = adjustFrequency(baseFrequencyY, tile.getHeight());
+        }
+        return new StitchInfo(baseFrequencyX, baseFrequencyY, tile);
     }
 
     private static int setupSeed(int seed) {
@@ -133,7 +168,8 @@ public final class PerlinTurbulence {
         return a + t * (b - a);
     }
 
-    private void noise2(double[] noiseChannels, double vec0, double vec1, @Nullable StitchInfo stitchInfo) {
+    private void noise2(double[] noiseChannels, double vec0, double vec1, boolean stitch,
+            int stitchWidth, int stitchHeight, int wrapX, int wrapY) {
         double t = vec0 + PerlinN;
         int bx0 = (int) t;
         int bx1 = bx0 + 1;
@@ -149,16 +185,16 @@ public final class PerlinTurbulence {
         final double sy = curve(ry0);
 
         // If stitching, adjust lattice points accordingly.
-        if (stitchInfo != null) {
-            if (bx0 >= stitchInfo.wrapX)
-                bx0 -= stitchInfo.width;
-            if (bx1 >= stitchInfo.wrapX)
-                bx1 -= stitchInfo.width;
-
-            if (by0 >= stitchInfo.wrapY)
-                by0 -= stitchInfo.height;
-            if (by1 >= stitchInfo.wrapY)
-                by1 -= stitchInfo.height;
+        if (stitch) {
+            if (bx0 >= wrapX)
+                bx0 -= stitchWidth;
+            if (bx1 >= wrapX)
+                bx1 -= stitchWidth;
+
+            if (by0 >= wrapY)
+                by0 -= stitchHeight;
+            if (by1 >= wrapY)
+                by1 -= stitchHeight;
         }
 
         bx0 &= BM;
@@ -188,28 +224,32 @@ public final class PerlinTurbulence {
     }
 
     public void turbulence(double[] turbulenceChannels, double pointX, double pointY,
-            boolean fractalSum, @Nullable StitchInfo stitchInfo, @Nullable Rectangle2D.Double tile) {
-        double baseFrequencyX = xFrequency;
-        double baseFrequencyY = yFrequency;
-        if (stitchInfo != null) {
-            assert tile != null;
-            if (baseFrequencyX != 0) {
-                baseFrequencyX = adjustFrequency(baseFrequencyX, tile.width);
-            }
-            if (baseFrequencyY != 0) {
-                baseFrequencyY = adjustFrequency(baseFrequencyY, tile.height);
-            }
-
-            stitchInfo.width = (int) (tile.width * baseFrequencyX + 0.5f);
-            stitchInfo.wrapX = (int) (tile.x * baseFrequencyX + PerlinN + stitchInfo.width);
-
-            stitchInfo.height = (int) (tile.height * baseFrequencyY + 0.5f);
-            stitchInfo.wrapY = (int) (tile.y * baseFrequencyY + PerlinN + stitchInfo.height);
-        }
+            boolean fractalSum, @Nullable StitchInfo stitchInfo) {
+        turbulence(turbulenceChannels, new double[turbulenceChannels.length], pointX, pointY, fractalSum,
+                stitchInfo);
+    }
 
-        final double[] fSum = fractalSum
-                ? new double[] {127.5, 127.5, 127.5, 127.5}
-                : new double[] {0, 0, 0, 0};
+    /**
+     * Computes the turbulence at the given point without allocating.
+     *
+     * @param turbulenceChannels receives the rgba values of the turbulence in the range [0, 255].
+     * @param scratch a scratch buffer of the same length as {@code turbulenceChannels}.
+     * @param pointX the x coordinate.
+     * @param pointY the y coordinate.
+     * @param fractalSum whether to compute fractal noise instead of turbulence.
+     * @param stitchInfo the stitch info if the noise should be stitchable.
+     */
+    public void turbulence(double[] turbulenceChannels, double[] scratch, double pointX, double pointY,
+            boolean fractalSum, @Nullable StitchInfo stitchInfo) {
+        double baseFrequencyX = stitchInfo != null ? stitchInfo.frequencyX : xFrequency;
+        double baseFrequencyY = stitchInfo != null ? stitchInfo.frequencyY : yFrequency;
+        boolean stitch = stitchInfo != null;
+        int stitchWidth = stitch ? stitchInfo.width : 0;
+        int stitchHeight = stitch ? stitchInfo.height : 0;
+        int wrapX = stitch ? stitchInfo.wrapX : 0;
+        int wrapY = stitch ? stitchInfo.wrapY : 0;
+
+        Arrays.fill(turbulenceChannels, fractalSum ? 127.5 : 0);
 
         double vec0 = pointX * baseFrequencyX;
         double vec1 = pointY * baseFrequencyY;
@@ -217,33 +257,117 @@ public final class PerlinTurbulence {
         double ratio = fractalSum ? 127.5 : 255;
 
         for (int nOctave = 0; nOctave < numOctaves; nOctave++) {
-            noise2(turbulenceChannels, vec0, vec1, stitchInfo);
+            noise2(scratch, vec0, vec1, stitch, stitchWidth, stitchHeight, wrapX, wrapY);
             if (fractalSum) {
                 for (int i = 0; i < turbulenceChannels.length; i++) {
-                    fSum[i] += turbulenceChannels[i] * ratio;
+                    turbulenceChannels[i] += scratch[i] * ratio;
                 }
             } else {
                 for (int i = 0; i < turbulenceChannels.length; i++) {
-                    fSum[i] += Math.abs(turbulenceChannels[i]) * ratio;
+                    turbulenceChannels[i] += Math.abs(scratch[i]) * ratio;
                 }
             }
             vec0 *= 2;
             vec1 *= 2;
             ratio *= 0.5;
-            if (stitchInfo != null) {
+            if (stitch) {
                 // Update stitch values. Subtracting PerlinN before the multiplication and
                 // adding it afterward simplifies to subtracting it once.
-                stitchInfo.width *= 2;
-                stitchInfo.wrapX *= 2;
-                stitchInfo.wrapX += (int) PerlinN;
+                stitchWidth *= 2;
+                wrapX = 2 * wrapX - (int) PerlinN;
 
-                stitchInfo.height *= 2;
-                stitchInfo.wrapY *= 2;
-                stitchInfo.wrapY += (int) PerlinN;
+                stitchHeight *= 2;
+                wrapY = 2 * wrapY - (int) PerlinN;
             }
         }
+    }
+
+    /**
+     * Computes the four channel turbulence for a row of points sharing the same y coordinate. This yields the same
+     * values as {@link #turbulence(double[], double[], double, double, boolean, StitchInfo)} but only computes the
+     * parts of the lattice lookup depending on y once per octave.
+     *
+     * @param xs the x coordinates of the points.
+     * @param count the number of points.
+     * @param pointY the y coordinate of the row.
+     * @param fractalSum whether to compute fractal noise instead of turbulence.
+     * @param stitchInfo the stitch info if the noise should be stitchable.
+     * @param result receives the rgba values of point {@code i} at {@code 4 * i}.
+     */
+    public void turbulenceRow(double @NotNull [] xs, int count, double pointY, boolean fractalSum,
+            @Nullable StitchInfo stitchInfo, double @NotNull [] result) {
+        double baseFrequencyX = stitchInfo != null ? stitchInfo.frequencyX : xFrequency;
+        double baseFrequencyY = stitchInfo != null ? stitchInfo.frequencyY : yFrequency;
+        boolean stitch = stitchInfo != null;
+        int stitchWidth = stitch ? stitchInfo.width : 0;
+        int stitchHeight = stitch ? stitchInfo.height : 0;
+        int wrapX = stitch ? stitchInfo.wrapX : 0;
+        int wrapY = stitch ? stitchInfo.wrapY : 0;
+
+        Arrays.fill(result, 0, 4 * count, fractalSum ? 127.5 : 0);
+
+        double vec1 = pointY * baseFrequencyY;
+        double ratio = fractalSum ? 127.5 : 255;
+        double octaveScale = 1;
 
-        System.arraycopy(fSum, 0, turbulenceChannels, 0, fSum.length);
+        for (int nOctave = 0; nOctave < numOctaves; nOctave++) {
+            double t = vec1 + PerlinN;
+            int by0 = (int) t;
+            int by1 = by0 + 1;
+            final double ry0 = t - (int) t;
+            final double ry1 = ry0 - 1.0f;
+            final double sy = curve(ry0);
+            if (stitch) {
+                if (by0 >= wrapY) by0 -= stitchHeight;
+                if (by1 >= wrapY) by1 -= stitchHeight;
+            }
+            by0 &= BM;
+            by1 &= BM;
+
+            for (int p = 0; p < count; p++) {
+                // Scaling by a power of two is exact, hence this matches the repeated doubling of the scalar path.
+                t = xs[p] * baseFrequencyX * octaveScale + PerlinN;
+                int bx0 = (int) t;
+                int bx1 = bx0 + 1;
+                final double rx0 = t - bx0;
+                final double rx1 = rx0 - 1.0f;
+                final double sx = curve(rx0);
+                if (stitch) {
+                    if (bx0 >= wrapX) bx0 -= stitchWidth;
+                    if (bx1 >= wrapX) bx1 -= stitchWidth;
+                }
+                final int i = uLatticeSelector[bx0 & BM];
+                final int j = uLatticeSelector[bx1 & BM];
+
+                final int b00 = ((i + by0) & BM) << 3;
+                final int b10 = ((j + by0) & BM) << 3;
+                final int b01 = ((i + by1) & BM) << 3;
+                final int b11 = ((j + by1) & BM) << 3;
+
+                int r = 4 * p;
+                for (int offset = 0; offset < 8; offset += 2) {
+                    double noise = lerp(sy,
+                            lerp(sx,
+                                    rx0 * fGradient[b00 + offset] + ry0 * fGradient[b00 + offset + 1],
+                                    rx1 * fGradient[b10 + offset] + ry0 * fGradient[b10 + offset + 1]),
+                            lerp(sx,
+                                    rx0 * fGradient[b01 + offset] + ry1 * fGradient[b01 + offset + 1],
+                                    rx1 * fGradient[b11 + offset] + ry1 * fGradient[b11 + offset + 1]));
+                    result[r++] += (fractalSum ? noise : Math.abs(noise)) * ratio;
+                }
+            }
+
+            vec1 *= 2;
+            octaveScale *= 2;
+            ratio *= 0.5;
+            if (stitch) {
+                stitchWidth *= 2;
+                wrapX = 2 * wrapX - (int) PerlinN;
+
+                stitchHeight *= 2;
+                wrapY = 2 * wrapY - (int) PerlinN;
+            }
+        }
     }
 
     private double adjustFrequency(double frequency, double tileSize) {
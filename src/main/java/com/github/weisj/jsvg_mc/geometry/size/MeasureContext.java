@@ -61,6 +61,10 @@ public final class MeasureContext {
         return new MeasureContext(viewWidth, viewHeight, em, ex, rem, animationState);
     }
 
+    public @NotNull MeasureContext derive(@NotNull AnimationState animationState) {
+        return new MeasureContext(vw, vh, em, ex, rem, animationState);
+    }
+
     public @NotNull MeasureContext derive(@Nullable ViewBox viewBox, float em, float ex) {
         if (viewBox == null && Length.isUnspecified(em) && Length.isUnspecified(ex)) return this;
         float newVw = vw;
@@ -120,12 +124,19 @@ public final class MeasureContext {
         if (this == o) return true;
         if (!(o instanceof MeasureContext)) return false;
         MeasureContext that = (MeasureContext) o;
+        return equalsIgnoringAnimationState(that) && animationState.equals(that.animationState);
+    }
+
+    /**
+     * @param that the context to compare with.
+     * @return whether both contexts resolve non-animated values the same way.
+     */
+    public boolean equalsIgnoringAnimationState(@NotNull MeasureContext that) {
         return Float.compare(that.vw, vw) == 0
                 && Float.compare(that.vh, vh) == 0
                 && Float.compare(that.em, em) == 0
                 && Float.compare(that.rem, rem) == 0
-                && Float.compare(that.ex, ex) == 0
-                && animationState.equals(that.animationState);
+                && Float.compare(that.ex, ex) == 0;
     }
 
     @Override
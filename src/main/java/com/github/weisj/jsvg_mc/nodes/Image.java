@@ -63,7 +63,7 @@ public final class Image extends RenderableSVGNode {
     private PreserveAspectRatio preserveAspectRatio;
     private Overflow overflow;
 
-    private UIFuture<RenderableResource> imgResource;
+    private volatile UIFuture<RenderableResource> imgResource;
 
 
     @Override
@@ -101,10 +101,11 @@ public final class Image extends RenderableSVGNode {
     }
 
     private @Nullable RenderableResource fetchImage(@NotNull RenderContext context) {
-        if (imgResource == null) return null;
-        if (imgResource instanceof ValueUIFuture) return imgResource.get();
-        if (!imgResource.checkIfReady(context.platformSupport())) return null;
-        RenderableResource resource = imgResource.get();
+        UIFuture<RenderableResource> future = imgResource;
+        if (future == null) return null;
+        if (future instanceof ValueUIFuture) return future.get();
+        if (!future.checkIfReady(context.platformSupport())) return null;
+        RenderableResource resource = future.get();
         if (resource != null) imgResource = new ValueUIFuture<>(resource);
         return resource;
     }
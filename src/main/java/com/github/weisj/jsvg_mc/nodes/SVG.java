@@ -66,7 +66,8 @@ public final class SVG extends CommonInnerViewContainer {
     private static final float FALLBACK_HEIGHT = 150;
 
     private boolean isTopLevel;
-    private boolean inNonRootMode;
+    // Set while the element redispatches its own rendering as a child node on the current thread.
+    private final ThreadLocal<Boolean> inNonRootMode = ThreadLocal.withInitial(() -> false);
     private AnimationPeriod animationPeriod;
 
     @Override
@@ -75,7 +76,7 @@ public final class SVG extends CommonInnerViewContainer {
     }
 
     public boolean isTopLevel() {
-        return isTopLevel && !inNonRootMode;
+        return isTopLevel && !inNonRootMode.get();
     }
 
     public @NotNull AnimationPeriod animationPeriod() {
@@ -141,7 +142,7 @@ public final class SVG extends CommonInnerViewContainer {
     @Override
     public boolean shouldEstablishChildContext() {
         // If we redispatch we can skip creating a new child context. All values have already been resolved.
-        return !isTopLevel || !inNonRootMode;
+        return !isTopLevel || !inNonRootMode.get();
     }
 
     @Override
@@ -151,9 +152,12 @@ public final class SVG extends CommonInnerViewContainer {
                 || super.clipPath() != null;
         if (needsHandlingAsChildNode) {
             // TODO: Handle this more elegantly
-            inNonRootMode = true;
-            NodeRenderer.renderNode(this, context, output);
-            inNonRootMode = false;
+            inNonRootMode.set(true);
+            try {
+                NodeRenderer.renderNode(this, context, output);
+            } finally {
+                inNonRootMode.remove();
+            }
         } else {
             super.renderWithCurrentViewBox(context, output);
         }
@@ -161,7 +165,7 @@ public final class SVG extends CommonInnerViewContainer {
 
     @Override
     public void render(@NotNull RenderContext context, @NotNull Output output) {
-        if (inNonRootMode) {
+        if (inNonRootMode.get()) {
             super.renderWithCurrentViewBox(context, output);
         } else {
             renderWithSize(size(context), viewBox(context), null, context, output);
@@ -82,6 +82,10 @@ public abstract class ShapeNode extends RenderableSVGNode
         return vectorEffects;
     }
 
+    public boolean hasMarkers() {
+        return markerStart != null || markerMid != null || markerEnd != null;
+    }
+
     @Override
     public final void build(@NotNull AttributeNode attributeNode) {
         super.build(attributeNode);
@@ -169,7 +173,7 @@ public abstract class ShapeNode extends RenderableSVGNode
     public final void render(@NotNull RenderContext context, @NotNull Output output) {
         Shape paintShape = shape.shape(context);
         @Nullable Rectangle2D bounds = shape.usesOptimizedBoundsCalculation()
-                ? shape.bounds(context, false)
+                ? shape.boundsOf(paintShape)
                 : null;
 
         Stroke effectiveStroke = computeEffectiveStroke(context);
@@ -77,9 +77,7 @@ public abstract class CommonRenderableContainerNode extends BaseContainerNode<SV
 
     @Override
     public void render(@NotNull RenderContext context, @NotNull Output output) {
-        for (SVGNode child : children()) {
-            NodeRenderer.renderNode(child, context, output);
-        }
+        NodeRenderer.renderChildren(this, children(), context, output);
     }
 
     @Override
@@ -53,9 +53,9 @@ import java.awt.*;
 import java.awt.image.*;
 
 import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
 
 import com.github.weisj.jsvg_mc.util.ColorUtil;
-import com.github.weisj.jsvg_mc.util.ImageUtil;
 
 /**
  * <p>A blend composite defines the rule according to which a drawing primitive
@@ -85,7 +85,11 @@ public abstract class AbstractBlendComposite implements Composite {
 
     protected abstract @NotNull Blender blender();
 
-    private boolean convertToLinearRGB;
+    /**
+     * Returns the blender used if the content is kept in a {@link LinearRGBChannel}. If it is {@code null} the
+     * channels are blended as sRGB rasters converting to linearRGB on the fly.
+     */
+    protected abstract @Nullable LinearRGBChannel.Blender linearRGBBlender();
 
     private static boolean isColorModelInvalid(ColorModel cm) {
         if (cm instanceof DirectColorModel && cm.getTransferType() == DataBuffer.TYPE_INT) {
@@ -99,22 +103,67 @@ public abstract class AbstractBlendComposite implements Composite {
         return true;
     }
 
-    public void setConvertToLinearRGB(boolean convertToLinearRGB) {
-        this.convertToLinearRGB = convertToLinearRGB;
+    public @NotNull Composite withConvertToLinearRGB(boolean convertToLinearRGB) {
+        if (!convertToLinearRGB) return this;
+        return (srcColorModel, dstColorModel, hints) -> createContext(srcColorModel, dstColorModel, true);
     }
 
     @Override
     public CompositeContext createContext(ColorModel srcColorModel, ColorModel dstColorModel, RenderingHints hints) {
+        return createContext(srcColorModel, dstColorModel, false);
+    }
+
+    private @NotNull CompositeContext createContext(ColorModel srcColorModel, ColorModel dstColorModel,
+            boolean convertToLinearRGB) {
         if (isColorModelInvalid(srcColorModel) || isColorModelInvalid(dstColorModel)) {
             throw new RasterFormatException("Incompatible color models");
         }
         return new BlendingContext(blender(), srcColorModel, dstColorModel, convertToLinearRGB);
     }
 
+    /**
+     * Blends {@code src} onto {@code dst} without going through a {@link Graphics2D}. Both channels need to have the
+     * same size.
+     *
+     * @param src the source channel.
+     * @param dst the destination channel. It is modified in place.
+     * @param convertToLinearRGB whether to blend in the linearRGB color space.
+     * @param executor the executor to process the rows with.
+     */
+    void blend(@NotNull RasterChannel src, @NotNull RasterChannel dst, boolean convertToLinearRGB,
+            @NotNull TiledFilterExecutor executor) {
+        if (src.width() != dst.width() || src.height() != dst.height()) {
+            throw new IllegalArgumentException("Channels have different sizes");
+        }
+        Blender blender = blender();
+        int width = dst.width();
+        int[] srcData = src.data();
+        int[] dstData = dst.data();
+        executor.forEachBand(dst.height(), width, (startRow, endRow) -> {
+            int[] srcRow = convertToLinearRGB ? new int[width] : null;
+            for (int y = startRow; y < endRow; y++) {
+                int sp = src.offset() + y * src.scanlineStride();
+                int dp = dst.offset() + y * dst.scanlineStride();
+                if (srcRow != null) {
+                    for (int x = 0; x < width; x++) {
+                        srcRow[x] = ColorUtil.sRGBtoLinearRGBPre(srcData[sp + x]);
+                        dstData[dp + x] = ColorUtil.sRGBtoLinearRGBPre(dstData[dp + x]);
+                    }
+                    blender.blend(srcRow, 0, dstData, dp, width);
+                    for (int x = 0; x < width; x++) {
+                        dstData[dp + x] = ColorUtil.linearRGBtoSRGBPre(dstData[dp + x]);
+                    }
+                } else {
+                    blender.blend(srcData, sp, dstData, dp, width);
+                }
+            }
+        });
+    }
+
     private static final class BlendingContext implements CompositeContext {
         private final @NotNull Blender blender;
-        private final @NotNull ColorModel sourceColorModel;
-        private final @NotNull ColorModel destinationColorModel;
+        private final boolean sourcePremultiplied;
+        private final boolean destinationPremultiplied;
         private final boolean convertToLinearRGB;
 
         private BlendingContext(@NotNull Blender blender, @NotNull ColorModel sourceColorModel,
@@ -122,8 +171,8 @@ public abstract class AbstractBlendComposite implements Composite {
                 boolean convertToLinearRGB) {
             this.blender = blender;
             this.convertToLinearRGB = convertToLinearRGB;
-            this.sourceColorModel = sourceColorModel;
-            this.destinationColorModel = destinationColorModel;
+            this.sourcePremultiplied = sourceColorModel.isAlphaPremultiplied();
+            this.destinationPremultiplied = destinationColorModel.isAlphaPremultiplied();
         }
 
         @Override
@@ -133,82 +182,60 @@ public abstract class AbstractBlendComposite implements Composite {
 
         @Override
         public void compose(@NotNull Raster src, @NotNull Raster dstIn, @NotNull WritableRaster dstOut) {
-            ColorModel srcPre = sourceColorModel;
-            if (!sourceColorModel.isAlphaPremultiplied()) {
-                srcPre = ImageUtil.coerceData((WritableRaster) src, sourceColorModel, true);
-            }
-            ColorModel dstInPre = destinationColorModel;
-            if (!destinationColorModel.isAlphaPremultiplied()) {
-                dstInPre = ImageUtil.coerceData((WritableRaster) dstIn, destinationColorModel, true);
-            }
-
             int width = Math.min(src.getWidth(), dstIn.getWidth());
             int height = Math.min(src.getHeight(), dstIn.getHeight());
 
-            int[] result = new int[4];
-            int[] srcPixel = new int[4];
-            int[] dstPixel = new int[4];
             int[] srcPixels = new int[width];
             int[] dstPixels = new int[width];
 
-            int minY = dstOut.getMinY();
-            int maxY = minY + height;
-
-            for (int y = minY; y < maxY; y++) {
-                src.getDataElements(dstOut.getMinX(), y, width, 1, srcPixels);
-                dstIn.getDataElements(dstOut.getMinX(), y, width, 1, dstPixels);
-
-                for (int x = 0; x < width; x++) {
-                    // pixels are stored as INT_ARGB
-                    // our arrays are [R, G, B, A]
-                    int pixel = srcPixels[x];
-                    srcPixel[0] = (pixel >> 16) & 0xFF;
-                    srcPixel[1] = (pixel >> 8) & 0xFF;
-                    srcPixel[2] = pixel & 0xFF;
-                    srcPixel[3] = (pixel >> 24) & 0xFF;
-
-                    pixel = dstPixels[x];
-                    dstPixel[0] = (pixel >> 16) & 0xFF;
-                    dstPixel[1] = (pixel >> 8) & 0xFF;
-                    dstPixel[2] = pixel & 0xFF;
-                    dstPixel[3] = (pixel >> 24) & 0xFF;
-
-                    if (convertToLinearRGB) {
-                        ColorUtil.sRGBtoLinearRGBPreInPlace(srcPixel);
-                        ColorUtil.sRGBtoLinearRGBPreInPlace(dstPixel);
-
-                        blender.blend(srcPixel, dstPixel, result);
-
-                        ColorUtil.linearRGBtoSRGBPreInPlace(result);
-                    } else {
-                        blender.blend(srcPixel, dstPixel, result);
-                    }
+            for (int y = 0; y < height; y++) {
+                src.getDataElements(src.getMinX(), src.getMinY() + y, width, 1, srcPixels);
+                dstIn.getDataElements(dstIn.getMinX(), dstIn.getMinY() + y, width, 1, dstPixels);
+
+                // Pixels are packed argb values. Blending happens on premultiplied values in a single pass over
+                // the row. The rasters themselves are left untouched.
+                prepare(srcPixels, width, sourcePremultiplied);
+                prepare(dstPixels, width, destinationPremultiplied);
+
+                blender.blend(srcPixels, 0, dstPixels, 0, width);
 
-                    dstPixels[x] = ((result[3] & 0xFF) << 24)
-                            | ((result[0] & 0xFF) << 16)
-                            | ((result[1] & 0xFF) << 8)
-                            | (result[2] & 0xFF);
+                if (convertToLinearRGB) {
+                    for (int x = 0; x < width; x++) {
+                        dstPixels[x] = ColorUtil.linearRGBtoSRGBPre(dstPixels[x]);
+                    }
+                }
+                if (!destinationPremultiplied) {
+                    for (int x = 0; x < width; x++) {
+                        dstPixels[x] = ColorUtil.unpremultiply(dstPixels[x]);
+                    }
                 }
-                dstOut.setDataElements(0, y, width, 1, dstPixels);
+                dstOut.setDataElements(dstOut.getMinX(), dstOut.getMinY() + y, width, 1, dstPixels);
             }
+        }
 
-            if (!sourceColorModel.isAlphaPremultiplied()) {
-                ImageUtil.coerceData((WritableRaster) src, srcPre, false);
+        private void prepare(int @NotNull [] pixels, int length, boolean premultiplied) {
+            if (!premultiplied) {
+                for (int x = 0; x < length; x++) {
+                    pixels[x] = ColorUtil.premultiply(pixels[x]);
+                }
             }
-
-            if (!destinationColorModel.isAlphaPremultiplied()) {
-                ImageUtil.coerceData(dstOut, dstInPre, false);
-
-                if (dstIn != dstOut) {
-                    ImageUtil.coerceData((WritableRaster) dstIn, dstInPre, false);
+            if (convertToLinearRGB) {
+                for (int x = 0; x < length; x++) {
+                    pixels[x] = ColorUtil.sRGBtoLinearRGBPre(pixels[x]);
                 }
             }
         }
     }
 
+    /**
+     * Blends rows of premultiplied argb pixels.
+     */
     @FunctionalInterface
     public interface Blender {
-        void blend(int @NotNull [] src, int @NotNull [] dst, int @NotNull [] result);
-
+        /**
+         * Blends {@code length} pixels of {@code src} starting at {@code srcOffset} onto the pixels of {@code dst}
+         * starting at {@code dstOffset}. The result is stored in {@code dst}.
+         */
+        void blend(int @NotNull [] src, int srcOffset, int @NotNull [] dst, int dstOffset, int length);
     }
 }
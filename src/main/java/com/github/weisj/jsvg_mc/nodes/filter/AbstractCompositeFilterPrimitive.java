@@ -22,7 +22,6 @@
 package com.github.weisj.jsvg_mc.nodes.filter;
 
 import java.awt.*;
-import java.awt.image.BufferedImage;
 
 import org.jetbrains.annotations.MustBeInvokedByOverriders;
 import org.jetbrains.annotations.NotNull;
@@ -32,7 +31,6 @@ import com.github.weisj.jsvg_mc.attributes.filter.DefaultFilterChannel;
 import com.github.weisj.jsvg_mc.attributes.filter.FilterChannelKey;
 import com.github.weisj.jsvg_mc.attributes.filter.LayoutBounds;
 import com.github.weisj.jsvg_mc.parser.AttributeNode;
-import com.github.weisj.jsvg_mc.renderer.GraphicsUtil;
 import com.github.weisj.jsvg_mc.renderer.RenderContext;
 
 abstract class AbstractCompositeFilterPrimitive extends AbstractFilterPrimitive {
@@ -66,22 +64,60 @@ abstract class AbstractCompositeFilterPrimitive extends AbstractFilterPrimitive
     @Override
     public void applyFilter(@NotNull RenderContext context, @NotNull FilterContext filterContext) {
         FilterPrimitiveBase impl = impl();
-        BufferedImage dst = destinationChannel(impl, filterContext).toBufferedImageNonAliased(context);
+        if (filterContext.storesLinearRGB(colorInterpolation(filterContext))
+                && applyLinearRGBFilter(context, filterContext)) {
+            return;
+        }
+        RasterChannel dst = RasterChannel.writableCopyOf(destinationChannel(impl, filterContext), context);
+        Channel src = sourceChannel(impl, filterContext);
+
+        Composite comp = composite();
+        if (comp instanceof AbstractBlendComposite) {
+            RasterChannel srcRaster = RasterChannel.of(src, context);
+            if (srcRaster.width() == dst.width() && srcRaster.height() == dst.height()) {
+                // Blend the rasters directly. Drawing with a custom composite goes through the slow generic loops.
+                ((AbstractBlendComposite) comp).blend(srcRaster, dst,
+                        colorInterpolation(filterContext) == ColorInterpolation.LinearRGB, filterContext.executor());
+                impl.saveResult(dst, filterContext);
+                return;
+            }
+        }
 
-        Image other = context.platformSupport().createImage(sourceChannel(impl, filterContext).producer());
-        Graphics2D imgGraphics = GraphicsUtil.createGraphics(dst);
+        Image other = src.toImage(context);
+        Graphics2D imgGraphics = dst.createGraphics();
         imgGraphics.setComposite(computeComposite(filterContext));
         imgGraphics.drawImage(other, null, context.platformSupport().imageObserver());
         imgGraphics.dispose();
 
-        impl.saveResult(new ImageProducerChannel(dst.getSource()), filterContext);
+        impl.saveResult(dst, filterContext);
+    }
+
+    private boolean applyLinearRGBFilter(@NotNull RenderContext context, @NotNull FilterContext filterContext) {
+        Composite comp = composite();
+        LinearRGBChannel.Blender blender = null;
+        if (comp instanceof AbstractBlendComposite) {
+            blender = ((AbstractBlendComposite) comp).linearRGBBlender();
+        } else if (comp instanceof AlphaComposite) {
+            blender = LinearRGBChannel.alphaCompositeBlender((AlphaComposite) comp);
+        }
+        if (blender == null) return false;
+
+        FilterPrimitiveBase impl = impl();
+        LinearRGBChannel src = impl.linearRGBInputChannel(filterContext, context);
+        LinearRGBChannel dst = impl.linearRGBChannel(inputChannel2, filterContext, context);
+        if (src.width() != dst.width() || src.height() != dst.height()) return false;
+        dst = dst.copy();
+        dst.blend(src, blender, filterContext.executor());
+        impl.saveResult(dst, filterContext);
+        return true;
     }
 
     private @NotNull Composite computeComposite(@NotNull FilterContext filterContext) {
         Composite comp = composite();
         if (comp instanceof AbstractBlendComposite) {
             ColorInterpolation colorInterpolation = colorInterpolation(filterContext);
-            ((AbstractBlendComposite) comp).setConvertToLinearRGB(colorInterpolation == ColorInterpolation.LinearRGB);
+            return ((AbstractBlendComposite) comp).withConvertToLinearRGB(
+                    colorInterpolation == ColorInterpolation.LinearRGB);
         }
         return comp;
     }
@@ -21,11 +21,17 @@
  */
 package com.github.weisj.jsvg_mc.nodes.filter;
 
+import static com.github.weisj.jsvg_mc.nodes.filter.LinearRGBChannel.A;
+import static com.github.weisj.jsvg_mc.nodes.filter.LinearRGBChannel.B;
+import static com.github.weisj.jsvg_mc.nodes.filter.LinearRGBChannel.COMPONENTS;
+import static com.github.weisj.jsvg_mc.nodes.filter.LinearRGBChannel.G;
+import static com.github.weisj.jsvg_mc.nodes.filter.LinearRGBChannel.R;
 import static com.github.weisj.jsvg_mc.util.ColorUtil.div255;
 
 import java.awt.*;
 
 import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
 
 import com.github.weisj.jsvg_mc.attributes.filter.BlendMode;
 import com.github.weisj.jsvg_mc.util.ColorUtil;
@@ -33,9 +39,11 @@ import com.github.weisj.jsvg_mc.util.ColorUtil;
 public final class BlendModeComposite extends AbstractBlendComposite {
 
     private final @NotNull Blender blender;
+    private final @Nullable LinearRGBChannel.Blender linearRGBBlender;
 
     private BlendModeComposite(BlendMode blendMode) {
         this.blender = createBlender(blendMode);
+        this.linearRGBBlender = createLinearRGBBlender(blendMode);
     }
 
     public static @NotNull Composite create(BlendMode mode) {
@@ -48,6 +56,11 @@ public final class BlendModeComposite extends AbstractBlendComposite {
         return blender;
     }
 
+    @Override
+    protected @Nullable LinearRGBChannel.Blender linearRGBBlender() {
+        return linearRGBBlender;
+    }
+
     /**
      * <pre>
      * Small letters: Premultiplied values
@@ -106,15 +119,25 @@ public final class BlendModeComposite extends AbstractBlendComposite {
      *      B(Cb, Cs) = Cb * Cs
      * </pre
      */
-    private static void blendMultiply(int @NotNull [] src, int @NotNull [] dst, int @NotNull [] result) {
-        int srcA = src[3];
-        int dstA = dst[3];
-        int srcM = 255 - dstA;
-        int dstM = 255 - srcA;
-        result[0] = div255(src[0] * srcM + dst[0] * dstM + src[0] * dst[0]);
-        result[1] = div255(src[1] * srcM + dst[1] * dstM + src[1] * dst[1]);
-        result[2] = div255(src[2] * srcM + dst[2] * dstM + src[2] * dst[2]);
-        result[3] = srcA + dstA - div255(srcA * dstA);
+    private static void blendMultiply(int @NotNull [] src, int srcOffset, int @NotNull [] dst, int dstOffset,
+            int length) {
+        for (int i = 0; i < length; i++) {
+            int s = src[srcOffset + i];
+            if (s == 0) continue;
+            int d = dst[dstOffset + i];
+            int srcA = s >>> 24;
+            int dstA = d >>> 24;
+            int srcM = 255 - dstA;
+            int dstM = 255 - srcA;
+            dst[dstOffset + i] = pack(srcA + dstA - div255(srcA * dstA),
+                    multiply((s >> 16) & 0xFF, (d >> 16) & 0xFF, srcM, dstM),
+                    multiply((s >> 8) & 0xFF, (d >> 8) & 0xFF, srcM, dstM),
+                    multiply(s & 0xFF, d & 0xFF, srcM, dstM));
+        }
+    }
+
+    private static int multiply(int src, int dst, int srcM, int dstM) {
+        return div255(src * srcM + dst * dstM + src * dst);
     }
 
     /**
@@ -122,13 +145,22 @@ public final class BlendModeComposite extends AbstractBlendComposite {
      *     B(Cb, Cs) = 1 - (1 - Cb) * (1 - Cs) = Cb + Cs - (Cb*Cs)
      * </pre
      */
-    private static void blendScreen(int @NotNull [] src, int @NotNull [] dst, int @NotNull [] result) {
-        int srcA = src[3];
-        int dstA = dst[3];
-        result[0] = src[0] + dst[0] - div255(src[0] * dst[0]);
-        result[1] = src[1] + dst[1] - div255(src[1] * dst[1]);
-        result[2] = src[2] + dst[2] - div255(src[2] * dst[2]);
-        result[3] = srcA + dstA - div255(srcA * dstA);
+    private static void blendScreen(int @NotNull [] src, int srcOffset, int @NotNull [] dst, int dstOffset,
+            int length) {
+        for (int i = 0; i < length; i++) {
+            int s = src[srcOffset + i];
+            if (s == 0) continue;
+            int d = dst[dstOffset + i];
+            dst[dstOffset + i] = pack(
+                    screen(s >>> 24, d >>> 24),
+                    screen((s >> 16) & 0xFF, (d >> 16) & 0xFF),
+                    screen((s >> 8) & 0xFF, (d >> 8) & 0xFF),
+                    screen(s & 0xFF, d & 0xFF));
+        }
+    }
+
+    private static int screen(int src, int dst) {
+        return src + dst - div255(src * dst);
     }
 
     /**
@@ -141,25 +173,21 @@ public final class BlendModeComposite extends AbstractBlendComposite {
      *          B(Cb, Cs) = Screen(2 x Cb - 1, Cs)
      * </pre
      */
-    private static void blendOverlay(int @NotNull [] src, int @NotNull [] dst, int @NotNull [] result) {
-        int srcA = src[3];
-        int dstA = dst[3];
-        int srcM = 255 - dstA;
-        int dstM = 255 - srcA;
-        int dstComp = (dstA * 255) / 2;
-        result[0] = (src[0] <= dstComp)
-                ? div255((src[0] * srcM + 2 * dst[0] * dstM + 2 * src[0] * dst[0]))
-                : src[0] + dst[0]
-                        + div255(dstA * src[0] + srcA * dst[0] - srcA * dstA - 2 * src[0] * dst[0]);
-        result[1] = (src[1] <= dstComp)
-                ? div255((src[1] * srcM + 2 * dst[1] * dstM + 2 * src[1] * dst[1]))
-                : src[1] + dst[1]
-                        + div255(dstA * src[1] + srcA * dst[1] - srcA * dstA - 2 * src[1] * dst[1]);
-        result[2] = (src[2] <= dstComp)
-                ? div255((src[2] * srcM + 2 * dst[2] * dstM + 2 * src[2] * dst[2]))
-                : src[2] + dst[2]
-                        + div255(dstA * src[2] + srcA * dst[2] - srcA * dstA - 2 * src[2] * dst[2]);
-        result[3] = srcA + dstA - div255(srcA * dstA);
+    private static void blendOverlay(int @NotNull [] src, int srcOffset, int @NotNull [] dst, int dstOffset,
+            int length) {
+        for (int i = 0; i < length; i++) {
+            int s = src[srcOffset + i];
+            if (s == 0) continue;
+            int d = dst[dstOffset + i];
+            int srcA = s >>> 24;
+            int dstA = d >>> 24;
+            int srcM = 255 - dstA;
+            int dstM = 255 - srcA;
+            dst[dstOffset + i] = pack(srcA + dstA - div255(srcA * dstA),
+                    hardLight((d >> 16) & 0xFF, (s >> 16) & 0xFF, dstA, srcA, dstM, srcM),
+                    hardLight((d >> 8) & 0xFF, (s >> 8) & 0xFF, dstA, srcA, dstM, srcM),
+                    hardLight(d & 0xFF, s & 0xFF, dstA, srcA, dstM, srcM));
+        }
     }
 
     /**
@@ -167,21 +195,25 @@ public final class BlendModeComposite extends AbstractBlendComposite {
      *     B(Cb, Cs) = min(Cb, Cs)
      * </pre
      */
-    private static void blendDarken(int @NotNull [] src, int @NotNull [] dst, int @NotNull [] result) {
-        int srcA = src[3];
-        int dstA = dst[3];
-        int srcM = 255 - dstA;
-        int dstM = 255 - srcA;
-        result[0] = Math.min(
-                div255(srcM * src[0]) + dst[0],
-                div255(dstM * dst[0]) + src[0]);
-        result[1] = Math.min(
-                div255(srcM * src[1]) + dst[1],
-                div255(dstM * dst[1]) + src[1]);
-        result[2] = Math.min(
-                div255(srcM * src[2]) + dst[2],
-                div255(dstM * dst[2]) + src[2]);
-        result[3] = srcA + dstA - div255(srcA * dstA);
+    private static void blendDarken(int @NotNull [] src, int srcOffset, int @NotNull [] dst, int dstOffset,
+            int length) {
+        for (int i = 0; i < length; i++) {
+            int s = src[srcOffset + i];
+            if (s == 0) continue;
+            int d = dst[dstOffset + i];
+            int srcA = s >>> 24;
+            int dstA = d >>> 24;
+            int srcM = 255 - dstA;
+            int dstM = 255 - srcA;
+            dst[dstOffset + i] = pack(srcA + dstA - div255(srcA * dstA),
+                    darken((s >> 16) & 0xFF, (d >> 16) & 0xFF, srcM, dstM),
+                    darken((s >> 8) & 0xFF, (d >> 8) & 0xFF, srcM, dstM),
+                    darken(s & 0xFF, d & 0xFF, srcM, dstM));
+        }
+    }
+
+    private static int darken(int src, int dst, int srcM, int dstM) {
+        return Math.min(div255(srcM * src) + dst, div255(dstM * dst) + src);
     }
 
     /**
@@ -189,21 +221,25 @@ public final class BlendModeComposite extends AbstractBlendComposite {
      *     B(Cb, Cs) = max(Cb, Cs)
      * </pre
      */
-    private static void blendLighten(int @NotNull [] src, int @NotNull [] dst, int @NotNull [] result) {
-        int srcA = src[3];
-        int dstA = dst[3];
-        int srcM = 255 - dstA;
-        int dstM = 255 - srcA;
-        result[0] = Math.max(
-                div255(srcM * src[0]) + dst[0],
-                div255(dstM * dst[0]) + src[0]);
-        result[1] = Math.max(
-                div255(srcM * src[1]) + dst[1],
-                div255(dstM * dst[1]) + src[1]);
-        result[2] = Math.max(
-                div255(srcM * src[2]) + dst[2],
-                div255(dstM * dst[2]) + src[2]);
-        result[3] = srcA + dstA - div255(srcA * dstA);
+    private static void blendLighten(int @NotNull [] src, int srcOffset, int @NotNull [] dst, int dstOffset,
+            int length) {
+        for (int i = 0; i < length; i++) {
+            int s = src[srcOffset + i];
+            if (s == 0) continue;
+            int d = dst[dstOffset + i];
+            int srcA = s >>> 24;
+            int dstA = d >>> 24;
+            int srcM = 255 - dstA;
+            int dstM = 255 - srcA;
+            dst[dstOffset + i] = pack(srcA + dstA - div255(srcA * dstA),
+                    lighten((s >> 16) & 0xFF, (d >> 16) & 0xFF, srcM, dstM),
+                    lighten((s >> 8) & 0xFF, (d >> 8) & 0xFF, srcM, dstM),
+                    lighten(s & 0xFF, d & 0xFF, srcM, dstM));
+        }
+    }
+
+    private static int lighten(int src, int dst, int srcM, int dstM) {
+        return Math.max(div255(srcM * src) + dst, div255(dstM * dst) + src);
     }
 
     /**
@@ -216,15 +252,21 @@ public final class BlendModeComposite extends AbstractBlendComposite {
      *          B(Cb, Cs) = min(1, Cb / (1 - Cs))
      * </pre
      */
-    private static void blendColorDodge(int @NotNull [] src, int @NotNull [] dst, int @NotNull [] result) {
-        int srcA = src[3];
-        int dstA = dst[3];
-        int srcM = 255 - dstA;
-        int dstM = 255 - srcA;
-        result[0] = colorDodge(src[0], dst[0], srcM, srcA, dstM, dstA);
-        result[1] = colorDodge(src[1], dst[1], srcM, srcA, dstM, dstA);
-        result[2] = colorDodge(src[2], dst[2], srcM, srcA, dstM, dstA);
-        result[3] = srcA + dstA - div255(srcA * dstA);
+    private static void blendColorDodge(int @NotNull [] src, int srcOffset, int @NotNull [] dst, int dstOffset,
+            int length) {
+        for (int i = 0; i < length; i++) {
+            int s = src[srcOffset + i];
+            if (s == 0) continue;
+            int d = dst[dstOffset + i];
+            int srcA = s >>> 24;
+            int dstA = d >>> 24;
+            int srcM = 255 - dstA;
+            int dstM = 255 - srcA;
+            dst[dstOffset + i] = pack(srcA + dstA - div255(srcA * dstA),
+                    colorDodge((s >> 16) & 0xFF, (d >> 16) & 0xFF, srcM, srcA, dstM, dstA),
+                    colorDodge((s >> 8) & 0xFF, (d >> 8) & 0xFF, srcM, srcA, dstM, dstA),
+                    colorDodge(s & 0xFF, d & 0xFF, srcM, srcA, dstM, dstA));
+        }
     }
 
     private static int colorDodge(int src, int dst, int srcM, int srcA, int dstM, int dstA) {
@@ -245,15 +287,21 @@ public final class BlendModeComposite extends AbstractBlendComposite {
      *          B(Cb, Cs) = 1 - min(1, (1 - Cb) / Cs)
      * </pre
      */
-    private static void blendColorBurn(int @NotNull [] src, int @NotNull [] dst, int @NotNull [] result) {
-        int srcA = src[3];
-        int dstA = dst[3];
-        int srcM = 255 - dstA;
-        int dstM = 255 - srcA;
-        result[0] = colorBurn(src[0], dst[0], srcM, srcA, dstM, dstA);
-        result[1] = colorBurn(src[1], dst[1], srcM, srcA, dstM, dstA);
-        result[2] = colorBurn(src[2], dst[2], srcM, srcA, dstM, dstA);
-        result[3] = srcA + dstA - div255(srcA * dstA);
+    private static void blendColorBurn(int @NotNull [] src, int srcOffset, int @NotNull [] dst, int dstOffset,
+            int length) {
+        for (int i = 0; i < length; i++) {
+            int s = src[srcOffset + i];
+            if (s == 0) continue;
+            int d = dst[dstOffset + i];
+            int srcA = s >>> 24;
+            int dstA = d >>> 24;
+            int srcM = 255 - dstA;
+            int dstM = 255 - srcA;
+            dst[dstOffset + i] = pack(srcA + dstA - div255(srcA * dstA),
+                    colorBurn((s >> 16) & 0xFF, (d >> 16) & 0xFF, srcM, srcA, dstM, dstA),
+                    colorBurn((s >> 8) & 0xFF, (d >> 8) & 0xFF, srcM, srcA, dstM, dstA),
+                    colorBurn(s & 0xFF, d & 0xFF, srcM, srcA, dstM, dstA));
+        }
     }
 
     private static int colorBurn(int src, int dst, int srcM, int srcA, int dstM, int dstA) {
@@ -273,25 +321,33 @@ public final class BlendModeComposite extends AbstractBlendComposite {
      *          B(Cb, Cs) = Screen(Cb, 2 x Cs -1)
      * </pre
      */
-    private static void blendHardLight(int @NotNull [] src, int @NotNull [] dst, int @NotNull [] result) {
-        int srcA = src[3];
-        int dstA = dst[3];
-        int srcM = 255 - dstA;
-        int dstM = 255 - srcA;
-        int srcComp = (srcA * 255) / 2;
-        result[0] = (src[0] <= srcComp)
-                ? div255((2 * src[0] * srcM + dst[0] * dstM + 2 * src[0] * dst[0]))
-                : src[0] + dst[0]
-                        + div255(dstA * src[0] + srcA * dst[0] - srcA * dstA - 2 * src[0] * dst[0]);
-        result[1] = (src[1] <= srcComp)
-                ? div255((2 * src[1] * srcM + dst[1] * dstM + 2 * src[1] * dst[1]))
-                : src[1] + dst[1]
-                        + div255(dstA * src[1] + srcA * dst[1] - srcA * dstA - 2 * src[1] * dst[1]);
-        result[2] = (src[2] <= srcComp)
-                ? div255((2 * src[2] * srcM + dst[2] * dstM + 2 * src[2] * dst[2]))
-                : src[2] + dst[2]
-                        + div255(dstA * src[2] + srcA * dst[2] - srcA * dstA - 2 * src[2] * dst[2]);
-        result[3] = srcA + dstA - div255(srcA * dstA);
+    private static void blendHardLight(int @NotNull [] src, int srcOffset, int @NotNull [] dst, int dstOffset,
+            int length) {
+        for (int i = 0; i < length; i++) {
+            int s = src[srcOffset + i];
+            if (s == 0) continue;
+            int d = dst[dstOffset + i];
+            int srcA = s >>> 24;
+            int dstA = d >>> 24;
+            int srcM = 255 - dstA;
+            int dstM = 255 - srcA;
+            dst[dstOffset + i] = pack(srcA + dstA - div255(srcA * dstA),
+                    hardLight((s >> 16) & 0xFF, (d >> 16) & 0xFF, srcA, dstA, srcM, dstM),
+                    hardLight((s >> 8) & 0xFF, (d >> 8) & 0xFF, srcA, dstA, srcM, dstM),
+                    hardLight(s & 0xFF, d & 0xFF, srcA, dstA, srcM, dstM));
+        }
+    }
+
+    /**
+     * Computes {@code co = (1 - Ab) * cs + (1 - As) * cb + As * Ab * HardLight(Cb, Cs)} for premultiplied colors.
+     * Overlay uses the same formula with source and backdrop swapped.
+     */
+    private static int hardLight(int src, int dst, int srcA, int dstA, int srcM, int dstM) {
+        if (2 * src <= srcA) {
+            return div255(src * srcM + dst * dstM + 2 * src * dst);
+        } else {
+            return div255(src * srcM + dst * dstM + srcA * dstA - 2 * (dstA - dst) * (srcA - src));
+        }
     }
 
     /**
@@ -309,15 +365,21 @@ public final class BlendModeComposite extends AbstractBlendComposite {
      *          D(Cb) = sqrt(Cb)
      * </pre
      */
-    private static void blendSoftLight(int @NotNull [] src, int @NotNull [] dst, int @NotNull [] result) {
-        int srcA = src[3];
-        int dstA = dst[3];
-        int srcM = 255 - dstA;
-        int dstM = 255 - srcA;
-        result[0] = softLight(src[0], dst[0], srcM, srcA, dstM, dstA);
-        result[1] = softLight(src[1], dst[1], srcM, srcA, dstM, dstA);
-        result[2] = softLight(src[2], dst[2], srcM, srcA, dstM, dstA);
-        result[3] = srcA + dstA - div255(srcA * dstA);
+    private static void blendSoftLight(int @NotNull [] src, int srcOffset, int @NotNull [] dst, int dstOffset,
+            int length) {
+        for (int i = 0; i < length; i++) {
+            int s = src[srcOffset + i];
+            if (s == 0) continue;
+            int d = dst[dstOffset + i];
+            int srcA = s >>> 24;
+            int dstA = d >>> 24;
+            int srcM = 255 - dstA;
+            int dstM = 255 - srcA;
+            dst[dstOffset + i] = pack(srcA + dstA - div255(srcA * dstA),
+                    softLight((s >> 16) & 0xFF, (d >> 16) & 0xFF, srcM, srcA, dstM, dstA),
+                    softLight((s >> 8) & 0xFF, (d >> 8) & 0xFF, srcM, srcA, dstM, dstA),
+                    softLight(s & 0xFF, d & 0xFF, srcM, srcA, dstM, dstA));
+        }
     }
 
     private static int softLight(int src, int dst, int srcM, int srcA, int dstM, int dstA) {
@@ -345,15 +407,25 @@ public final class BlendModeComposite extends AbstractBlendComposite {
      *     B(Cb, Cs) = | Cb - Cs |
      * </pre
      */
-    private static void blendDifference(int @NotNull [] src, int @NotNull [] dst, int @NotNull [] result) {
-        int srcA = src[3];
-        int dstA = dst[3];
-        int srcM = 255 - dstA;
-        int dstM = 255 - srcA;
-        result[0] = div255(srcM * src[0] + dstM * dst[0] + Math.abs(dstA * src[0] - srcA * dst[0]));
-        result[1] = div255(srcM * src[1] + dstM * dst[1] + Math.abs(dstA * src[1] - srcA * dst[1]));
-        result[2] = div255(srcM * src[2] + dstM * dst[2] + Math.abs(dstA * src[2] - srcA * dst[2]));
-        result[3] = srcA + dstA - div255(srcA * dstA);
+    private static void blendDifference(int @NotNull [] src, int srcOffset, int @NotNull [] dst, int dstOffset,
+            int length) {
+        for (int i = 0; i < length; i++) {
+            int s = src[srcOffset + i];
+            if (s == 0) continue;
+            int d = dst[dstOffset + i];
+            int srcA = s >>> 24;
+            int dstA = d >>> 24;
+            int srcM = 255 - dstA;
+            int dstM = 255 - srcA;
+            dst[dstOffset + i] = pack(srcA + dstA - div255(srcA * dstA),
+                    difference((s >> 16) & 0xFF, (d >> 16) & 0xFF, srcM, srcA, dstM, dstA),
+                    difference((s >> 8) & 0xFF, (d >> 8) & 0xFF, srcM, srcA, dstM, dstA),
+                    difference(s & 0xFF, d & 0xFF, srcM, srcA, dstM, dstA));
+        }
+    }
+
+    private static int difference(int src, int dst, int srcM, int srcA, int dstM, int dstA) {
+        return div255(srcM * src + dstM * dst + Math.abs(dstA * src - srcA * dst));
     }
 
     /**
@@ -361,105 +433,220 @@ public final class BlendModeComposite extends AbstractBlendComposite {
      *     B(Cb, Cs) = Cb + Cs - 2 x Cb x Cs
      * </pre
      */
-    private static void blendExclusion(int @NotNull [] src, int @NotNull [] dst, int @NotNull [] result) {
-        int srcA = src[3];
-        int dstA = dst[3];
-        int srcM = 255 - dstA;
-        int dstM = 255 - srcA;
-        result[0] = div255(srcM * src[0] + dstM * dst[0] + dstA * src[0] + srcA * dst[0]
-                - 2 * div255(src[0] * dst[0]));
-        result[1] = div255(srcM * src[1] + dstM * dst[1] + dstA * src[1] + srcA * dst[1]
-                - 2 * div255(src[1] * dst[1]));
-        result[2] = div255(srcM * src[2] + dstM * dst[2] + dstA * src[2] + srcA * dst[2]
-                - 2 * div255(src[2] * dst[2]));
-        result[3] = srcA + dstA - div255(srcA * dstA);
+    private static void blendExclusion(int @NotNull [] src, int srcOffset, int @NotNull [] dst, int dstOffset,
+            int length) {
+        for (int i = 0; i < length; i++) {
+            int s = src[srcOffset + i];
+            if (s == 0) continue;
+            int d = dst[dstOffset + i];
+            int srcA = s >>> 24;
+            int dstA = d >>> 24;
+            int srcM = 255 - dstA;
+            int dstM = 255 - srcA;
+            dst[dstOffset + i] = pack(srcA + dstA - div255(srcA * dstA),
+                    exclusion((s >> 16) & 0xFF, (d >> 16) & 0xFF, srcM, srcA, dstM, dstA),
+                    exclusion((s >> 8) & 0xFF, (d >> 8) & 0xFF, srcM, srcA, dstM, dstA),
+                    exclusion(s & 0xFF, d & 0xFF, srcM, srcA, dstM, dstA));
+        }
     }
 
-    /**
-     * <pre>
-     * </pre
-     */
-    private static void blendHue(int @NotNull [] src, int @NotNull [] dst, int @NotNull [] result) {
-        int srcA = src[3];
-        int dstA = dst[3];
-        int srcM = 255 - dstA;
-        int dstM = 255 - srcA;
-        float[] srcHSL = new float[3];
-        ColorUtil.RGBPretoHSL(src[0], src[1], src[2], srcA, srcHSL);
-        float[] dstHSL = new float[3];
-        ColorUtil.RGBPretoHSL(dst[0], dst[1], dst[2], dstA, dstHSL);
+    private static int exclusion(int src, int dst, int srcM, int srcA, int dstM, int dstA) {
+        return div255(srcM * src + dstM * dst + dstA * src + srcA * dst - 2 * src * dst);
+    }
 
-        ColorUtil.HSLtoRGB(srcHSL[0], dstHSL[1], dstHSL[2], result);
+    private static void blendHue(int @NotNull [] src, int srcOffset, int @NotNull [] dst, int dstOffset,
+            int length) {
+        blendNonSeparable(src, srcOffset, dst, dstOffset, length, NonSeparableMode.Hue);
+    }
 
-        result[0] = div255(srcM * src[0] + dstM * dst[0] + div255(srcA * dstA) * result[0]);
-        result[1] = div255(srcM * src[1] + dstM * dst[1] + div255(srcA * dstA) * result[1]);
-        result[2] = div255(srcM * src[2] + dstM * dst[2] + div255(srcA * dstA) * result[2]);
-        result[3] = srcA + dstA - div255(srcA * dstA);
+    private static void blendSaturation(int @NotNull [] src, int srcOffset, int @NotNull [] dst, int dstOffset,
+            int length) {
+        blendNonSeparable(src, srcOffset, dst, dstOffset, length, NonSeparableMode.Saturation);
     }
 
-    /**
-     * <pre>
-     * </pre
-     */
-    private static void blendSaturation(int @NotNull [] src, int @NotNull [] dst, int @NotNull [] result) {
-        int srcA = src[3];
-        int dstA = dst[3];
-        int srcM = 255 - dstA;
-        int dstM = 255 - srcA;
-        float[] srcHSL = new float[3];
-        ColorUtil.RGBPretoHSL(src[0], src[1], src[2], srcA, srcHSL);
-        float[] dstHSL = new float[3];
-        ColorUtil.RGBPretoHSL(dst[0], dst[1], dst[2], dstA, dstHSL);
+    private static void blendColor(int @NotNull [] src, int srcOffset, int @NotNull [] dst, int dstOffset,
+            int length) {
+        blendNonSeparable(src, srcOffset, dst, dstOffset, length, NonSeparableMode.Color);
+    }
 
-        ColorUtil.HSLtoRGB(dstHSL[0], srcHSL[1], dstHSL[2], result);
+    private static void blendLuminosity(int @NotNull [] src, int srcOffset, int @NotNull [] dst, int dstOffset,
+            int length) {
+        blendNonSeparable(src, srcOffset, dst, dstOffset, length, NonSeparableMode.Luminosity);
+    }
 
-        result[0] = div255(srcM * src[0] + dstM * dst[0] + div255(srcA * dstA) * result[0]);
-        result[1] = div255(srcM * src[1] + dstM * dst[1] + div255(srcA * dstA) * result[1]);
-        result[2] = div255(srcM * src[2] + dstM * dst[2] + div255(srcA * dstA) * result[2]);
-        result[3] = srcA + dstA - div255(srcA * dstA);
+    private enum NonSeparableMode {
+        Hue,
+        Saturation,
+        Color,
+        Luminosity
     }
 
-    /**
-     * <pre>
-     * </pre
-     */
-    private static void blendColor(int @NotNull [] src, int @NotNull [] dst, int @NotNull [] result) {
-        int srcA = src[3];
-        int dstA = dst[3];
-        int srcM = 255 - dstA;
-        int dstM = 255 - srcA;
+    private static void blendNonSeparable(int @NotNull [] src, int srcOffset, int @NotNull [] dst, int dstOffset,
+            int length, @NotNull NonSeparableMode mode) {
         float[] srcHSL = new float[3];
-        ColorUtil.RGBPretoHSL(src[0], src[1], src[2], srcA, srcHSL);
         float[] dstHSL = new float[3];
-        ColorUtil.RGBPretoHSL(dst[0], dst[1], dst[2], dstA, dstHSL);
-
-        ColorUtil.HSLtoRGB(srcHSL[0], srcHSL[1], dstHSL[2], result);
+        int[] rgb = new int[3];
+        for (int i = 0; i < length; i++) {
+            int s = src[srcOffset + i];
+            if (s == 0) continue;
+            int d = dst[dstOffset + i];
+            int srcA = s >>> 24;
+            int dstA = d >>> 24;
+            int srcM = 255 - dstA;
+            int dstM = 255 - srcA;
+            int srcR = (s >> 16) & 0xFF;
+            int srcG = (s >> 8) & 0xFF;
+            int srcB = s & 0xFF;
+            int dstR = (d >> 16) & 0xFF;
+            int dstG = (d >> 8) & 0xFF;
+            int dstB = d & 0xFF;
+            ColorUtil.RGBPretoHSL(srcR, srcG, srcB, srcA, srcHSL);
+            ColorUtil.RGBPretoHSL(dstR, dstG, dstB, dstA, dstHSL);
+
+            switch (mode) {
+                case Hue:
+                    ColorUtil.HSLtoRGB(srcHSL[0], dstHSL[1], dstHSL[2], rgb);
+                    break;
+                case Saturation:
+                    ColorUtil.HSLtoRGB(dstHSL[0], srcHSL[1], dstHSL[2], rgb);
+                    break;
+                case Color:
+                    ColorUtil.HSLtoRGB(srcHSL[0], srcHSL[1], dstHSL[2], rgb);
+                    break;
+                case Luminosity:
+                    ColorUtil.HSLtoRGB(dstHSL[0], dstHSL[1], srcHSL[2], rgb);
+                    break;
+            }
 
-        result[0] = div255(srcM * src[0] + dstM * dst[0] + div255(srcA * dstA) * result[0]);
-        result[1] = div255(srcM * src[1] + dstM * dst[1] + div255(srcA * dstA) * result[1]);
-        result[2] = div255(srcM * src[2] + dstM * dst[2] + div255(srcA * dstA) * result[2]);
-        result[3] = srcA + dstA - div255(srcA * dstA);
+            int both = div255(srcA * dstA);
+            dst[dstOffset + i] = pack(srcA + dstA - both,
+                    div255(srcM * srcR + dstM * dstR + both * rgb[0]),
+                    div255(srcM * srcG + dstM * dstG + both * rgb[1]),
+                    div255(srcM * srcB + dstM * dstB + both * rgb[2]));
+        }
     }
 
     /**
-     * <pre>
-     * </pre
+     * Creates a blender for the same modes operating on {@link LinearRGBChannel}s. The blend functions are
+     * evaluated on non-premultiplied components and composited as described in {@link #createBlender(BlendMode)}.
+     * Color dodge and color burn don't follow the formulas above on int rasters, hence they have no float
+     * counterpart.
+     *
+     * @param blendMode the blend mode
      */
-    private static void blendLuminosity(int @NotNull [] src, int @NotNull [] dst, int @NotNull [] result) {
-        int srcA = src[3];
-        int dstA = dst[3];
-        int srcM = 255 - dstA;
-        int dstM = 255 - srcA;
-        float[] srcHSL = new float[3];
-        ColorUtil.RGBPretoHSL(src[0], src[1], src[2], srcA, srcHSL);
-        float[] dstHSL = new float[3];
-        ColorUtil.RGBPretoHSL(dst[0], dst[1], dst[2], dstA, dstHSL);
+    private static @Nullable LinearRGBChannel.Blender createLinearRGBBlender(BlendMode blendMode) {
+        switch (blendMode) {
+            case Normal:
+                throw new IllegalStateException("Use AlphaComposite.SrcOver instead");
+            case Multiply:
+                return separable((cb, cs) -> cb * cs);
+            case Screen:
+                return separable(BlendModeComposite::screen);
+            case Overlay:
+                return separable((cb, cs) -> hardLight(cs, cb));
+            case Darken:
+                return separable(Math::min);
+            case Lighten:
+                return separable(Math::max);
+            case ColorDodge:
+            case ColorBurn:
+                return null;
+            case HardLight:
+                return separable(BlendModeComposite::hardLight);
+            case SoftLight:
+                return separable(BlendModeComposite::softLight);
+            case Difference:
+                return separable((cb, cs) -> Math.abs(cb - cs));
+            case Exclusion:
+                return separable((cb, cs) -> cb + cs - 2 * cb * cs);
+            case Hue:
+            case Saturation:
+            case Color:
+            case Luminosity:
+                return nonSeparable(NonSeparableMode.valueOf(blendMode.name()));
+        }
+        throw new IllegalStateException("Mode not recognized " + blendMode);
+    }
+
+    private static float screen(float cb, float cs) {
+        return cb + cs - cb * cs;
+    }
 
-        ColorUtil.HSLtoRGB(dstHSL[0], dstHSL[1], srcHSL[2], result);
+    private static float hardLight(float cb, float cs) {
+        if (cs <= 0.5f) return cb * 2 * cs;
+        return screen(cb, 2 * cs - 1);
+    }
+
+    private static float softLight(float cb, float cs) {
+        if (cs <= 0.5f) return cb - (1 - 2 * cs) * cb * (1 - cb);
+        float d = cb <= 0.25f
+                ? ((16 * cb - 12) * cb + 4) * cb
+                : (float) Math.sqrt(cb);
+        return cb + (2 * cs - 1) * (d - cb);
+    }
+
+    @FunctionalInterface
+    private interface SeparableBlendFunction {
+        float blend(float cb, float cs);
+    }
+
+    private static @NotNull LinearRGBChannel.Blender separable(@NotNull SeparableBlendFunction function) {
+        return (src, dst, offset, length) -> {
+            for (int i = offset, end = offset + length * COMPONENTS; i < end; i += COMPONENTS) {
+                float srcA = src[i + A];
+                if (srcA <= 0) continue;
+                float dstA = dst[i + A];
+                float both = srcA * dstA;
+                for (int c = R; c <= B; c++) {
+                    float cs = src[i + c];
+                    float cb = dst[i + c];
+                    float blended = both > 0
+                            ? function.blend(Math.min(1, cb / dstA), Math.min(1, cs / srcA))
+                            : 0;
+                    dst[i + c] = (1 - dstA) * cs + (1 - srcA) * cb + both * blended;
+                }
+                dst[i + A] = srcA + dstA - both;
+            }
+        };
+    }
+
+    private static @NotNull LinearRGBChannel.Blender nonSeparable(@NotNull NonSeparableMode mode) {
+        return (src, dst, offset, length) -> {
+            float[] srcHSL = new float[3];
+            float[] dstHSL = new float[3];
+            float[] rgb = new float[3];
+            for (int i = offset, end = offset + length * COMPONENTS; i < end; i += COMPONENTS) {
+                float srcA = src[i + A];
+                if (srcA <= 0) continue;
+                float dstA = dst[i + A];
+                float both = srcA * dstA;
+                if (both > 0) {
+                    ColorUtil.RGBtoHSL(src[i + R] / srcA, src[i + G] / srcA, src[i + B] / srcA, srcHSL);
+                    ColorUtil.RGBtoHSL(dst[i + R] / dstA, dst[i + G] / dstA, dst[i + B] / dstA, dstHSL);
+                    switch (mode) {
+                        case Hue:
+                            ColorUtil.HSLtoRGB(srcHSL[0], dstHSL[1], dstHSL[2], rgb);
+                            break;
+                        case Saturation:
+                            ColorUtil.HSLtoRGB(dstHSL[0], srcHSL[1], dstHSL[2], rgb);
+                            break;
+                        case Color:
+                            ColorUtil.HSLtoRGB(srcHSL[0], srcHSL[1], dstHSL[2], rgb);
+                            break;
+                        case Luminosity:
+                            ColorUtil.HSLtoRGB(dstHSL[0], dstHSL[1], srcHSL[2], rgb);
+                            break;
+                    }
+                }
+                for (int c = R; c <= B; c++) {
+                    dst[i + c] = (1 - dstA) * src[i + c] + (1 - srcA) * dst[i + c] + (both > 0 ? both * rgb[c] : 0);
+                }
+                dst[i + A] = srcA + dstA - both;
+            }
+        };
+    }
 
-        result[0] = div255(srcM * src[0] + dstM * dst[0] + div255(srcA * dstA) * result[0]);
-        result[1] = div255(srcM * src[1] + dstM * dst[1] + div255(srcA * dstA) * result[1]);
-        result[2] = div255(srcM * src[2] + dstM * dst[2] + div255(srcA * dstA) * result[2]);
-        result[3] = srcA + dstA - div255(srcA * dstA);
+    static int pack(int a, int r, int g, int b) {
+        return ((a & 0xFF) << 24) | ((r & 0xFF) << 16) | ((g & 0xFF) << 8) | (b & 0xFF);
     }
 }
@@ -21,6 +21,11 @@
  */
 package com.github.weisj.jsvg_mc.nodes.filter;
 
+import static com.github.weisj.jsvg_mc.nodes.filter.LinearRGBChannel.A;
+import static com.github.weisj.jsvg_mc.nodes.filter.LinearRGBChannel.B;
+import static com.github.weisj.jsvg_mc.nodes.filter.LinearRGBChannel.COMPONENTS;
+import static com.github.weisj.jsvg_mc.nodes.filter.LinearRGBChannel.R;
+
 import java.awt.*;
 
 import org.jetbrains.annotations.NotNull;
@@ -57,10 +62,10 @@ public final class CompositeModeComposite {
                 return new LighterComposite();
             case Arithmetic:
                 return new ArithmeticComposite(
-                        attributeNode.getInt("k1", 0),
-                        attributeNode.getInt("k2", 0),
-                        attributeNode.getInt("k3", 0),
-                        attributeNode.getInt("k4", 0));
+                        attributeNode.getFloat("k1", 0),
+                        attributeNode.getFloat("k2", 0),
+                        attributeNode.getFloat("k3", 0),
+                        attributeNode.getFloat("k4", 0));
             default:
                 throw new IllegalStateException();
         }
@@ -69,12 +74,12 @@ public final class CompositeModeComposite {
     private static final class ArithmeticComposite extends AbstractBlendComposite
             implements AbstractBlendComposite.Blender {
 
-        private final int k1;
-        private final int k2;
-        private final int k3;
-        private final int k4;
+        private final float k1;
+        private final float k2;
+        private final float k3;
+        private final float k4;
 
-        private ArithmeticComposite(int k1, int k2, int k3, int k4) {
+        private ArithmeticComposite(float k1, float k2, float k3, float k4) {
             this.k1 = k1;
             this.k2 = k2;
             this.k3 = k3;
@@ -86,12 +91,49 @@ public final class CompositeModeComposite {
             return this;
         }
 
+        /**
+         * <pre>
+         *     result = k1 * i1 * i2 + k2 * i1 + k3 * i2 + k4
+         * </pre>
+         * Computed on premultiplied values, where {@code i1} is the source and {@code i2} the destination.
+         */
+        @Override
+        public void blend(int @NotNull [] src, int srcOffset, int @NotNull [] dst, int dstOffset, int length) {
+            // Scale the coefficients such that the formula can be evaluated on values in the range [0, 255].
+            float c1 = k1 / 255f;
+            float c4 = k4 * 255f;
+            for (int i = 0; i < length; i++) {
+                int s = src[srcOffset + i];
+                int d = dst[dstOffset + i];
+                int a = arithmetic(s >>> 24, d >>> 24, c1, c4, 255);
+                dst[dstOffset + i] = BlendModeComposite.pack(a,
+                        arithmetic((s >> 16) & 0xFF, (d >> 16) & 0xFF, c1, c4, a),
+                        arithmetic((s >> 8) & 0xFF, (d >> 8) & 0xFF, c1, c4, a),
+                        arithmetic(s & 0xFF, d & 0xFF, c1, c4, a));
+            }
+        }
+
+        private int arithmetic(int src, int dst, float c1, float c4, int max) {
+            // Color values can't exceed the alpha value in premultiplied form.
+            int value = Math.round(c1 * src * dst + k2 * src + k3 * dst + c4);
+            return Math.max(0, Math.min(max, value));
+        }
+
         @Override
-        public void blend(int @NotNull [] src, int @NotNull [] dst, int @NotNull [] result) {
-            result[0] = Math.max(0, Math.min(255, k1 * src[0] * dst[0] + k2 * src[0] + k3 * dst[0] + k4));
-            result[1] = Math.max(0, Math.min(255, k1 * src[1] * dst[1] + k2 * src[1] + k3 * dst[1] + k4));
-            result[2] = Math.max(0, Math.min(255, k1 * src[2] * dst[2] + k2 * src[2] + k3 * dst[2] + k4));
-            result[3] = Math.max(0, Math.min(255, k1 * src[3] * dst[3] + k2 * src[3] + k3 * dst[3] + k4));
+        protected @NotNull LinearRGBChannel.Blender linearRGBBlender() {
+            return (src, dst, offset, length) -> {
+                for (int i = offset, end = offset + length * COMPONENTS; i < end; i += COMPONENTS) {
+                    float a = arithmetic(src[i + A], dst[i + A], 1);
+                    for (int c = R; c <= B; c++) {
+                        dst[i + c] = arithmetic(src[i + c], dst[i + c], a);
+                    }
+                    dst[i + A] = a;
+                }
+            };
+        }
+
+        private float arithmetic(float src, float dst, float max) {
+            return Math.max(0, Math.min(max, k1 * src * dst + k2 * src + k3 * dst + k4));
         }
     }
 
@@ -104,11 +146,26 @@ public final class CompositeModeComposite {
         }
 
         @Override
-        public void blend(int @NotNull [] src, int @NotNull [] dst, int @NotNull [] result) {
-            result[0] = Math.min(255, src[0] + dst[0]);
-            result[1] = Math.min(255, src[1] + dst[1]);
-            result[2] = Math.min(255, src[2] + dst[2]);
-            result[3] = Math.min(255, src[3] + dst[3]);
+        public void blend(int @NotNull [] src, int srcOffset, int @NotNull [] dst, int dstOffset, int length) {
+            for (int i = 0; i < length; i++) {
+                int s = src[srcOffset + i];
+                if (s == 0) continue;
+                int d = dst[dstOffset + i];
+                dst[dstOffset + i] = BlendModeComposite.pack(
+                        Math.min(255, (s >>> 24) + (d >>> 24)),
+                        Math.min(255, ((s >> 16) & 0xFF) + ((d >> 16) & 0xFF)),
+                        Math.min(255, ((s >> 8) & 0xFF) + ((d >> 8) & 0xFF)),
+                        Math.min(255, (s & 0xFF) + (d & 0xFF)));
+            }
+        }
+
+        @Override
+        protected @NotNull LinearRGBChannel.Blender linearRGBBlender() {
+            return (src, dst, offset, length) -> {
+                for (int i = offset, end = offset + length * COMPONENTS; i < end; i++) {
+                    dst[i] = Math.min(1, src[i] + dst[i]);
+                }
+            };
         }
     }
 
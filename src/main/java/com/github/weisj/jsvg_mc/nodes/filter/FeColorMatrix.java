@@ -119,16 +119,25 @@ public final class FeColorMatrix extends AbstractFilterPrimitive {
 
     @Override
     public void applyFilter(@NotNull RenderContext context, @NotNull FilterContext filterContext) {
-        @Nullable AffineRGBImageFilter f = filter;
-        if (f == null) {
+        if (filter == null) {
             impl().noop(filterContext);
             return;
         }
-        f.setConvertToLinear(colorInterpolation(filterContext) == ColorInterpolation.LinearRGB);
-        impl().saveResult(impl().inputChannel(filterContext).applyFilter(f), filterContext);
+        ColorInterpolation colorInterpolation = colorInterpolation(filterContext);
+        if (filterContext.storesLinearRGB(colorInterpolation)) {
+            LinearRGBChannel input = impl().linearRGBInputChannel(filterContext, context);
+            impl().saveResult(input.filterColors(filter, filterContext.executor()), filterContext);
+            return;
+        }
+        // Work on a copy as the same primitive may be applied concurrently with a different color interpolation.
+        AffineRGBImageFilter f = (AffineRGBImageFilter) filter.clone();
+        f.setConvertToLinear(colorInterpolation == ColorInterpolation.LinearRGB);
+        RasterChannel input = RasterChannel.of(impl().inputChannel(filterContext), context);
+        impl().saveResult(input.filterRGB(f, filterContext.executor()), filterContext);
     }
 
-    private static abstract class AffineRGBImageFilter extends ColorSpaceAwareRGBImageFilter {
+    private static abstract class AffineRGBImageFilter extends ColorSpaceAwareRGBImageFilter
+            implements LinearRGBChannel.ColorFilter {
 
         abstract boolean isLinear();
     }
@@ -187,6 +196,19 @@ public final class FeColorMatrix extends AbstractFilterPrimitive {
 
             return pack(argb);
         }
+
+        @Override
+        public void filter(float @NotNull [] rgba) {
+            float r = rgba[0];
+            float g = rgba[1];
+            float b = rgba[2];
+            float a = rgba[3];
+
+            rgba[0] = (float) (r1 * r + r2 * g + r3 * b + r4 * a + r5);
+            rgba[1] = (float) (g1 * r + g2 * g + g3 * b + g4 * a + g5);
+            rgba[2] = (float) (b1 * r + b2 * g + b3 * b + b4 * a + b5);
+            rgba[3] = (float) (a1 * r + a2 * g + a3 * b + a4 * a + a5);
+        }
     }
 
     private static final class NoAlphaMatrixRGBFilter extends AffineRGBImageFilter {
@@ -228,6 +250,17 @@ public final class FeColorMatrix extends AbstractFilterPrimitive {
 
             return pack(argb);
         }
+
+        @Override
+        public void filter(float @NotNull [] rgba) {
+            float r = rgba[0];
+            float g = rgba[1];
+            float b = rgba[2];
+
+            rgba[0] = (float) (r1 * r + r2 * g + r3 * b);
+            rgba[1] = (float) (g1 * r + g2 * g + g3 * b);
+            rgba[2] = (float) (b1 * r + b2 * g + b3 * b);
+        }
     }
 
     public static final class LuminanceToAlphaFilter extends AffineRGBImageFilter {
@@ -243,5 +276,13 @@ public final class FeColorMatrix extends AbstractFilterPrimitive {
             int na = ColorUtil.computeLuminance(argb[2], argb[1], argb[0]);
             return (na & 0xFF) << 24;
         }
+
+        @Override
+        public void filter(float @NotNull [] rgba) {
+            rgba[3] = ColorUtil.computeLuminance(rgba[0], rgba[1], rgba[2]);
+            rgba[0] = 0;
+            rgba[1] = 0;
+            rgba[2] = 0;
+        }
     }
 }
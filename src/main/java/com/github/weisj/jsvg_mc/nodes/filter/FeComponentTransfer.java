@@ -21,7 +21,7 @@
  */
 package com.github.weisj.jsvg_mc.nodes.filter;
 
-import java.awt.image.*;
+import java.awt.image.RGBImageFilter;
 import java.util.List;
 
 import org.jetbrains.annotations.NotNull;
@@ -50,8 +50,9 @@ public class FeComponentTransfer extends ContainerNode implements FilterPrimitiv
     public static final String TAG = "fecomponenttransfer";
 
     private FilterPrimitiveBase filterPrimitiveBase;
-    private ByteLookupTable sRGBlookupTable;
-    private ByteLookupTable linearRGBlookupTable;
+    private LookupRGBFilter sRGBlookupFilter;
+    private volatile LookupRGBFilter linearRGBlookupFilter;
+    private TransferFunctionElement[] transferFunctions;
 
     @Override
     public @NotNull String tagName() {
@@ -75,30 +76,35 @@ public class FeComponentTransfer extends ContainerNode implements FilterPrimitiv
                 TransferFunctionElement.IDENTITY_LOOKUP_TABLE,
                 TransferFunctionElement.IDENTITY_LOOKUP_TABLE
         };
+        transferFunctions = new TransferFunctionElement[4];
 
         for (TransferFunctionElement node : nodes) {
             switch (node.channel()) {
                 case Red:
                     redValid = node.type() != TransferFunctionType.Identity;
                     tables[0] = node.lookupTable();
+                    transferFunctions[0] = redValid ? node : null;
                     break;
                 case Green:
                     greenValid = node.type() != TransferFunctionType.Identity;
                     tables[1] = node.lookupTable();
+                    transferFunctions[1] = greenValid ? node : null;
                     break;
                 case Blue:
                     blueValid = node.type() != TransferFunctionType.Identity;
                     tables[2] = node.lookupTable();
+                    transferFunctions[2] = blueValid ? node : null;
                     break;
                 case Alpha:
                     alphaValid = node.type() != TransferFunctionType.Identity;
                     tables[3] = node.lookupTable();
+                    transferFunctions[3] = alphaValid ? node : null;
                     break;
             }
         }
 
         if (redValid || greenValid || blueValid || alphaValid) {
-            sRGBlookupTable = new ByteLookupTable(0, tables);
+            sRGBlookupFilter = new LookupRGBFilter(tables);
         }
         children().clear();
     }
@@ -136,13 +142,13 @@ public class FeComponentTransfer extends ContainerNode implements FilterPrimitiv
         filterPrimitiveBase.saveLayoutResult(bounds, filterLayoutContext);
     }
 
-    private @Nullable LookupTable lookupTable(@NotNull FilterContext filterContext) {
-        if (sRGBlookupTable == null) return null;
+    private @Nullable LookupRGBFilter lookupFilter(@NotNull FilterContext filterContext) {
+        if (sRGBlookupFilter == null) return null;
         if (filterPrimitiveBase.colorInterpolation(filterContext) != ColorInterpolation.LinearRGB) {
-            return sRGBlookupTable;
+            return sRGBlookupFilter;
         }
-        if (linearRGBlookupTable == null) {
-            byte[][] tables = sRGBlookupTable.getTable();
+        if (linearRGBlookupFilter == null) {
+            byte[][] tables = sRGBlookupFilter.tables.clone();
             for (int j = 0; j < tables.length; j++) {
                 byte[] table = tables[j];
                 if (table == TransferFunctionElement.IDENTITY_LOOKUP_TABLE) continue;
@@ -152,19 +158,51 @@ public class FeComponentTransfer extends ContainerNode implements FilterPrimitiv
                 }
                 tables[j] = lRGBtable;
             }
-            linearRGBlookupTable = new ByteLookupTable(0, tables);
+            linearRGBlookupFilter = new LookupRGBFilter(tables);
         }
-        return linearRGBlookupTable;
+        return linearRGBlookupFilter;
     }
 
     @Override
     public void applyFilter(@NotNull RenderContext context, @NotNull FilterContext filterContext) {
-        LookupTable lookup = lookupTable(filterContext);
+        LookupRGBFilter lookup = lookupFilter(filterContext);
         if (lookup == null) {
             filterPrimitiveBase.noop(filterContext);
             return;
         }
-        ImageFilter f = new BufferedImageFilter(new LookupOp(lookup, filterContext.renderingHints()));
-        filterPrimitiveBase.saveResult(filterPrimitiveBase.inputChannel(filterContext).applyFilter(f), filterContext);
+        if (filterContext.storesLinearRGB(filterPrimitiveBase.colorInterpolation(filterContext))) {
+            LinearRGBChannel input = filterPrimitiveBase.linearRGBInputChannel(filterContext, context);
+            filterPrimitiveBase.saveResult(input.filterColors(this::transfer, filterContext.executor()),
+                    filterContext);
+            return;
+        }
+        RasterChannel input = RasterChannel.of(filterPrimitiveBase.inputChannel(filterContext), context);
+        filterPrimitiveBase.saveResult(input.filterRGB(lookup, filterContext.executor()), filterContext);
+    }
+
+    private void transfer(float @NotNull [] rgba) {
+        for (int i = 0; i < transferFunctions.length; i++) {
+            TransferFunctionElement function = transferFunctions[i];
+            if (function != null) rgba[i] = function.transfer(rgba[i]);
+        }
+    }
+
+    private static final class LookupRGBFilter extends RGBImageFilter {
+        // Tables in order red, green, blue, alpha
+        private final byte[][] tables;
+
+        private LookupRGBFilter(byte[][] tables) {
+            this.tables = tables;
+            canFilterIndexColorModel = true;
+        }
+
+        @Override
+        public int filterRGB(int x, int y, int rgb) {
+            int a = tables[3][rgb >>> 24] & 0xFF;
+            int r = tables[0][(rgb >> 16) & 0xFF] & 0xFF;
+            int g = tables[1][(rgb >> 8) & 0xFF] & 0xFF;
+            int b = tables[2][rgb & 0xFF] & 0xFF;
+            return (a << 24) | (r << 16) | (g << 8) | b;
+        }
     }
 }
@@ -22,12 +22,11 @@
 package com.github.weisj.jsvg_mc.nodes.filter;
 
 import java.awt.*;
-import java.awt.color.ColorSpace;
-import java.awt.geom.Point2D;
 import java.awt.geom.Rectangle2D;
-import java.awt.image.*;
+import java.util.Arrays;
 
 import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
 
 import com.github.weisj.jsvg_mc.attributes.UnitType;
 import com.github.weisj.jsvg_mc.attributes.filter.ColorChannel;
@@ -42,7 +41,7 @@ import com.github.weisj.jsvg_mc.nodes.prototype.spec.ElementCategories;
 import com.github.weisj.jsvg_mc.nodes.prototype.spec.PermittedContent;
 import com.github.weisj.jsvg_mc.parser.AttributeNode;
 import com.github.weisj.jsvg_mc.renderer.RenderContext;
-import com.github.weisj.jsvg_mc.util.ImageUtil;
+import com.github.weisj.jsvg_mc.util.ColorUtil;
 
 @ElementCategories(Category.FilterPrimitive)
 @PermittedContent(
@@ -99,111 +98,163 @@ public final class FeDisplacementMap extends AbstractFilterPrimitive {
             displacementScaleY *= elementBounds.getHeight();
         }
 
-        ImageFilter displacementFilter = new BufferedImageFilter(
-                new DisplacementOp(displacementInput.pixels(context), filterContext.info().tile(),
-                        displacementScaleX, displacementScaleY));
-        impl().saveResult(input.applyFilter(displacementFilter), filterContext);
+        RasterChannel source = RasterChannel.of(input, context);
+        RasterChannel result = RasterChannel.create(source.width(), source.height());
+        Rectangle2D tile = filterContext.info().tile();
+        DisplacementMap map = DisplacementMap.of(displacementInput, context);
+        // Displacements are given in user space. Convert them to pixel offsets once for each channel value.
+        double[] xOffsets = pixelOffsets(displacementScaleX, tile.getWidth() / source.width());
+        double[] yOffsets = pixelOffsets(displacementScaleY, tile.getHeight() / source.height());
+        boolean bilinear = isBilinear(filterContext.renderingHints());
+        int xShift = xChannelSelector.shift();
+        int yShift = yChannelSelector.shift();
+
+        filterContext.executor().forEachBand(result.height(), result.width(), (startY, endY) -> {
+            int[] displacementRow = new int[result.width()];
+            for (int y = startY; y < endY; y++) {
+                map.row(y, displacementRow);
+                if (bilinear) {
+                    displaceRowBilinear(source, result, y, displacementRow, xShift, yShift, xOffsets, yOffsets);
+                } else {
+                    displaceRow(source, result, y, displacementRow, xShift, yShift, xOffsets, yOffsets);
+                }
+            }
+        });
+        impl().saveResult(result, filterContext);
     }
 
-    private final class DisplacementOp implements BufferedImageOp {
+    private static double @NotNull [] pixelOffsets(double displacementScale, double pixelSize) {
+        double[] offsets = new double[256];
+        for (int i = 0; i < 256; i++) {
+            double displacement = i / 255.0 - 0.5f;
+            offsets[i] = displacementScale * displacement / pixelSize;
+        }
+        return offsets;
+    }
 
-        private final @NotNull PixelProvider displacementChannel;
-        private final @NotNull Rectangle2D sourceBounds;
-        private final double displacementScaleX;
-        private final double displacementScaleY;
+    private static boolean isBilinear(@Nullable RenderingHints hints) {
+        if (hints == null) return false;
+        Object interpolation = hints.get(RenderingHints.KEY_INTERPOLATION);
+        return interpolation == RenderingHints.VALUE_INTERPOLATION_BILINEAR
+                || interpolation == RenderingHints.VALUE_INTERPOLATION_BICUBIC;
+    }
 
-        public DisplacementOp(@NotNull PixelProvider displacementChannel, @NotNull Rectangle2D sourceBounds,
-                double displacementScaleX, double displacementScaleY) {
-            this.displacementChannel = displacementChannel;
-            this.sourceBounds = sourceBounds;
-            this.displacementScaleX = displacementScaleX;
-            this.displacementScaleY = displacementScaleY;
+    private static void displaceRow(@NotNull RasterChannel source, @NotNull RasterChannel result, int y,
+            int @NotNull [] displacementRow, int xShift, int yShift, double @NotNull [] xOffsets,
+            double @NotNull [] yOffsets) {
+        int[] src = source.data();
+        int srcOffset = source.offset();
+        int srcStride = source.scanlineStride();
+        int width = source.width();
+        int height = source.height();
+        int[] dst = result.data();
+        int dp = result.offset() + y * result.scanlineStride();
+        for (int x = 0; x < displacementRow.length; x++) {
+            int displacement = displacementRow[x];
+            int xSrc = (int) (x + xOffsets[(displacement >> xShift) & 0xFF]);
+            int ySrc = (int) (y + yOffsets[(displacement >> yShift) & 0xFF]);
+            if (xSrc >= 0 && ySrc >= 0 && xSrc < width && ySrc < height) {
+                dst[dp + x] = src[srcOffset + ySrc * srcStride + xSrc];
+            }
         }
+    }
 
-        @Override
-        public BufferedImage createCompatibleDestImage(BufferedImage src, ColorModel dstCM) {
-            if (dstCM == null) dstCM = src.getColorModel();
-            return new BufferedImage(dstCM, dstCM.createCompatibleWritableRaster(src.getWidth(), src.getHeight()),
-                    dstCM.isAlphaPremultiplied(), null);
+    private static void displaceRowBilinear(@NotNull RasterChannel source, @NotNull RasterChannel result, int y,
+            int @NotNull [] displacementRow, int xShift, int yShift, double @NotNull [] xOffsets,
+            double @NotNull [] yOffsets) {
+        int[] dst = result.data();
+        int dp = result.offset() + y * result.scanlineStride();
+        for (int x = 0; x < displacementRow.length; x++) {
+            int displacement = displacementRow[x];
+            double xSrc = x + xOffsets[(displacement >> xShift) & 0xFF];
+            double ySrc = y + yOffsets[(displacement >> yShift) & 0xFF];
+            int x0 = (int) Math.floor(xSrc);
+            int y0 = (int) Math.floor(ySrc);
+            int fx = (int) ((xSrc - x0) * 256);
+            int fy = (int) ((ySrc - y0) * 256);
+            int p00 = sample(source, x0, y0);
+            int p10 = sample(source, x0 + 1, y0);
+            int p01 = sample(source, x0, y0 + 1);
+            int p11 = sample(source, x0 + 1, y0 + 1);
+            if ((p00 | p10 | p01 | p11) == 0) continue;
+            dst[dp + x] = interpolate(p00, p10, p01, p11, fx, fy);
         }
+    }
 
-        @Override
-        public Rectangle2D getBounds2D(@NotNull BufferedImage src) {
-            return new Rectangle(0, 0, src.getWidth(), src.getHeight());
-        }
+    private static int sample(@NotNull RasterChannel channel, int x, int y) {
+        if (x < 0 || y < 0 || x >= channel.width() || y >= channel.height()) return 0;
+        return channel.data()[channel.offset() + y * channel.scanlineStride() + x];
+    }
 
-        @Override
-        public Point2D getPoint2D(Point2D srcPt, Point2D dstPt) {
-            return (Point2D) srcPt.clone();
+    private static int interpolate(int p00, int p10, int p01, int p11, int fx, int fy) {
+        // Colors are premultiplied, hence the channels can be interpolated independently.
+        int result = 0;
+        for (int shift = 0; shift < 32; shift += 8) {
+            int c00 = (p00 >>> shift) & 0xFF;
+            int c10 = (p10 >>> shift) & 0xFF;
+            int c01 = (p01 >>> shift) & 0xFF;
+            int c11 = (p11 >>> shift) & 0xFF;
+            int top = c00 * (256 - fx) + c10 * fx;
+            int bottom = c01 * (256 - fx) + c11 * fx;
+            int c = (top * (256 - fy) + bottom * fy + (1 << 15)) >> 16;
+            result |= c << shift;
         }
+        return result;
+    }
 
-        @Override
-        public BufferedImage filter(BufferedImage src, BufferedImage dest) {
-            if (src == null) {
-                throw new NullPointerException("src image is null");
-            }
-            if (src == dest) {
-                throw new IllegalArgumentException("src image cannot be the " +
-                        "same as the dst image");
-            }
-
-            BufferedImage result = dest;
+    /**
+     * Provides the non-premultiplied pixels of the displacement map row by row.
+     */
+    private static final class DisplacementMap {
+        private final int @NotNull [] data;
+        private final int offset;
+        private final int scanlineStride;
+        private final int width;
+        private final int height;
+        private final boolean premultiplied;
+
+        private DisplacementMap(int @NotNull [] data, int offset, int scanlineStride, int width, int height,
+                boolean premultiplied) {
+            this.data = data;
+            this.offset = offset;
+            this.scanlineStride = scanlineStride;
+            this.width = width;
+            this.height = height;
+            this.premultiplied = premultiplied;
+        }
 
-            if (result == null) {
-                ColorSpace cs = ColorSpace.getInstance(ColorSpace.CS_sRGB);
-                ColorModel cm = new DirectColorModel(cs, 32, 0x00FF0000, 0x0000FF00, 0x000000FF, 0xFF000000,
-                        false, DataBuffer.TYPE_INT);
-                result = createCompatibleDestImage(src, cm);
+        private static @NotNull DisplacementMap of(@NotNull Channel channel, @NotNull RenderContext context) {
+            if (channel instanceof FeTurbulence.TurbulenceChannel) {
+                // Use the noise values as is. They are what the map represents in the linear color space of the
+                // filter.
+                FeTurbulence.TurbulenceChannel turbulence = (FeTurbulence.TurbulenceChannel) channel;
+                return new DisplacementMap(turbulence.noisePixels(), 0, turbulence.width(),
+                        turbulence.width(), turbulence.height(), false);
             }
+            RasterChannel raster = RasterChannel.of(channel, context);
+            return new DisplacementMap(raster.data(), raster.offset(), raster.scanlineStride(),
+                    raster.width(), raster.height(), true);
+        }
 
-            WritableRaster raster = result.getRaster();
-
-            final int w = raster.getWidth();
-            final int h = raster.getHeight();
-
-            final double scaleX = sourceBounds.getWidth() / w;
-            final double scaleY = sourceBounds.getHeight() / h;
-
-            final double startX = sourceBounds.getX();
-            final double startY = sourceBounds.getY();
-
-            Raster sourceRaster = src.getRaster();
-            Rectangle sourceRasterBounds = sourceRaster.getBounds();
-
-            final int[] destPixels = ImageUtil.getINT_RGBA_DataBank(raster);
-            final int dstAdjust = ImageUtil.getINT_RGBA_DataAdjust(raster);
-            int dp = ImageUtil.getINT_RGBA_DataOffset(raster);
-
-            double point_0, point_1 = startY;
-            int x, y = 0;
-            for (int i = 0; i < h; i++) {
-                x = 0;
-                point_0 = startX;
-                for (int end = dp + w; dp < end; dp++) {
-                    int displacementRGB = displacementChannel.pixelAt(point_0, point_1);
-                    double xDisplacement = xChannelSelector.value(displacementRGB) / 255.0 - 0.5f;
-                    double yDisplacement = yChannelSelector.value(displacementRGB) / 255.0 - 0.5f;
-                    int xDest = (int) (x + displacementScaleX * xDisplacement / scaleX);
-                    int yDest = (int) (y + displacementScaleY * yDisplacement / scaleY);
-                    if (sourceRasterBounds.contains(xDest, yDest)) {
-                        destPixels[dp] = src.getRGB(xDest, yDest);
-                    } else {
-                        destPixels[dp] = 0;
+        private void row(int y, int @NotNull [] row) {
+            int count = Math.min(row.length, width);
+            if (y >= height) count = 0;
+            int sp = offset + y * scanlineStride;
+            if (premultiplied) {
+                int lastIn = 0;
+                int lastOut = 0;
+                for (int x = 0; x < count; x++) {
+                    int argbPre = data[sp + x];
+                    if (argbPre != lastIn) {
+                        lastIn = argbPre;
+                        lastOut = ColorUtil.unpremultiply(argbPre);
                     }
-                    point_0 += scaleX;
-                    x++;
+                    row[x] = lastOut;
                 }
-                point_1 += scaleY;
-                dp += dstAdjust;
-                y++;
+            } else {
+                System.arraycopy(data, sp, row, 0, count);
             }
-
-            return result;
-        }
-
-        @Override
-        public RenderingHints getRenderingHints() {
-            return null;
+            Arrays.fill(row, count, row.length, 0);
         }
     }
 }
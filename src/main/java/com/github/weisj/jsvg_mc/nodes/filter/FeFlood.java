@@ -22,7 +22,6 @@
 package com.github.weisj.jsvg_mc.nodes.filter;
 
 import java.awt.*;
-import java.awt.image.BufferedImage;
 
 import org.jetbrains.annotations.NotNull;
 
@@ -41,7 +40,6 @@ import com.github.weisj.jsvg_mc.nodes.prototype.spec.ElementCategories;
 import com.github.weisj.jsvg_mc.nodes.prototype.spec.PermittedContent;
 import com.github.weisj.jsvg_mc.parser.AttributeNode;
 import com.github.weisj.jsvg_mc.renderer.Graphics2DOutput;
-import com.github.weisj.jsvg_mc.renderer.GraphicsUtil;
 import com.github.weisj.jsvg_mc.renderer.RenderContext;
 
 @ElementCategories(Category.FilterPrimitive)
@@ -81,16 +79,16 @@ public final class FeFlood extends AbstractFilterPrimitive {
         // Todo: We should be able to optimize this heavily by implementing a custom image producer.
         // and even then filters like feBlend could benefit from knowing that this is a constant color.
         Filter.FilterInfo info = filterContext.info();
-        BufferedImage img = new BufferedImage(info.imageWidth, info.imageHeight, BufferedImage.TYPE_INT_ARGB);
+        RasterChannel result = RasterChannel.create(info.imageWidth, info.imageHeight);
         float opacity = floodOpacity.get(context.measureContext());
         if (opacity != 0) {
-            Graphics2D graphics = GraphicsUtil.createGraphics(img);
+            Graphics2D graphics = result.createGraphics();
             graphics.setComposite(AlphaComposite.Src.derive(opacity));
-            Rectangle rect = new Rectangle(0, 0, img.getWidth(), img.getHeight());
+            Rectangle rect = new Rectangle(0, 0, result.width(), result.height());
             floodColor.fillShape(new Graphics2DOutput(graphics), context, rect, rect);
             graphics.dispose();
         }
-        impl().saveResult(new ImageProducerChannel(img.getSource()), filterContext);
+        impl().saveResult(result, filterContext);
     }
 
 }
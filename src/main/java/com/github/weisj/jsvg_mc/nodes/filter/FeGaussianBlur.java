@@ -22,9 +22,7 @@
 package com.github.weisj.jsvg_mc.nodes.filter;
 
 
-import java.awt.*;
 import java.awt.geom.AffineTransform;
-import java.awt.image.*;
 
 import org.jetbrains.annotations.ApiStatus;
 import org.jetbrains.annotations.NotNull;
@@ -56,10 +54,6 @@ public final class FeGaussianBlur extends AbstractFilterPrimitive {
     private float[] stdDeviation;
     private EdgeMode edgeMode;
 
-    private double xCurrent;
-    private double yCurrent;
-    private Kernel xBlur;
-    private Kernel yBlur;
     private boolean onlyAlpha;
 
     @Override
@@ -115,49 +109,29 @@ public final class FeGaussianBlur extends AbstractFilterPrimitive {
             return;
         }
 
-        Channel inputChannel = impl().inputChannel(filterContext);
-        if (onlyAlpha) {
-            inputChannel = inputChannel.alphaChannel();
-        }
-        ImageProducer input = inputChannel.producer();
-
-        Kernel xBlurKernel = null;
-        Kernel yBlurKernel = null;
-        int dX = kernelDiameterForStandardDeviation(xSigma);
-        int dY = kernelDiameterForStandardDeviation(ySigma);
-
-        if (xSigma > 0 && xSigma < BOX_BLUR_APPROXIMATION_THRESHOLD) {
-            xBlurKernel = createConvolveKernel(dX, xSigma, true);
-        }
-        if (ySigma > 0 && ySigma < BOX_BLUR_APPROXIMATION_THRESHOLD) {
-            yBlurKernel = createConvolveKernel(dX, ySigma, false);
+        GaussianBlurFilter.Axis horizontal = axisForStandardDeviation(xSigma);
+        GaussianBlurFilter.Axis vertical = axisForStandardDeviation(ySigma);
+        if (!onlyAlpha && filterContext.storesLinearRGB(colorInterpolation(filterContext))) {
+            LinearRGBChannel input = impl().linearRGBInputChannel(filterContext, context);
+            impl().saveResult(GaussianBlurFilter.blur(input, horizontal, vertical, edgeMode,
+                    filterContext.executor()), filterContext);
+            return;
         }
 
-        ImageProducer output = edgeMode.convolve(context, filterContext, input,
-                new MixedQualityConvolveOperation(xBlurKernel, yBlurKernel, dX, dY));
-        impl().saveResult(new ImageProducerChannel(output), filterContext);
+        // For alpha-only blurs the color components of the input are never read.
+        RasterChannel input = RasterChannel.of(impl().inputChannel(filterContext), context);
+        RasterChannel output = GaussianBlurFilter.blur(input, horizontal, vertical,
+                edgeMode, onlyAlpha, filterContext.executor());
+        impl().saveResult(output, filterContext);
     }
 
-
-    private @NotNull Kernel createConvolveKernel(int diameter, double sigma, boolean horizontal) {
-        if (horizontal && xBlur != null && xCurrent == sigma) return xBlur;
-        if (!horizontal && yBlur != null && yCurrent == sigma) return yBlur;
-
-        if (horizontal) {
-            xCurrent = sigma;
-        } else {
-            yCurrent = sigma;
+    private static @NotNull GaussianBlurFilter.Axis axisForStandardDeviation(double sigma) {
+        if (sigma <= 0) return GaussianBlurFilter.Axis.identity();
+        int diameter = kernelDiameterForStandardDeviation(sigma);
+        if (sigma < BOX_BLUR_APPROXIMATION_THRESHOLD) {
+            return GaussianBlurFilter.Axis.kernel(computeGaussianKernelData(diameter, sigma));
         }
-
-        float[] data = computeGaussianKernelData(diameter, sigma);
-
-        if (horizontal) {
-            xBlur = new Kernel(diameter, 1, data);
-        } else {
-            yBlur = new Kernel(1, diameter, data);
-        }
-
-        return horizontal ? xBlur : yBlur;
+        return GaussianBlurFilter.Axis.boxApproximation(diameter);
     }
 
     private static float normalConvolve(float x, double standardDeviation) {
@@ -198,82 +172,4 @@ public final class FeGaussianBlur extends AbstractFilterPrimitive {
             return (int) Math.floor(THREE_QUARTER_SQRT_2_PI * standardDeviation + 0.5f);
         }
     }
-
-
-    private static final class MixedQualityConvolveOperation implements EdgeMode.ConvolveOperation {
-
-        private final @Nullable Kernel xKernel;
-        private final @Nullable Kernel yKernel;
-
-        private final int dX;
-        private final int dY;
-
-        private MixedQualityConvolveOperation(@Nullable Kernel xKernel, @Nullable Kernel yKernel, int dX, int dY) {
-            this.xKernel = xKernel;
-            this.yKernel = yKernel;
-            this.dX = dX;
-            this.dY = dY;
-        }
-
-
-        @Override
-        public @NotNull Dimension maximumKernelSize() {
-            return new Dimension(
-                    xKernel != null ? xKernel.getXOrigin() : dX,
-                    yKernel != null ? yKernel.getXOrigin() : dY);
-        }
-
-        @Override
-        public @NotNull ImageProducer convolve(@NotNull BufferedImage image, @Nullable RenderingHints hints,
-                int awtEdgeMode) {
-            WritableRaster raster = image.getRaster();
-            if (!image.getColorModel().isAlphaPremultiplied()) {
-                throw new IllegalStateException("Image should be premultiplied");
-            }
-
-            if (xKernel != null && yKernel != null) {
-                BufferedImageOp op = new MultiConvolveOp(new ConvolveOp[] {
-                        new ConvolveOp(xKernel, awtEdgeMode, hints),
-                        new ConvolveOp(yKernel, awtEdgeMode, hints)
-                });
-                return new FilteredImageSource(image.getSource(), new BufferedImageFilter(op));
-            } else if (xKernel != null) {
-                verticalBoxBlur(raster);
-                return new FilteredImageSource(image.getSource(), new BufferedImageFilter(
-                        new ConvolveOp(xKernel, awtEdgeMode, hints)));
-            } else if (yKernel != null) {
-                horizontalBoxBlur(raster);
-                return new FilteredImageSource(image.getSource(), new BufferedImageFilter(
-                        new ConvolveOp(yKernel, awtEdgeMode, hints)));
-            } else {
-                horizontalBoxBlur(raster);
-                verticalBoxBlur(raster);
-                return image.getSource();
-            }
-        }
-
-        private void horizontalBoxBlur(@NotNull WritableRaster raster) {
-            if ((dX & 0x01) == 0) {
-                InplaceBoxBlurFilter.horizontalPass(raster, raster, 0, 0, dX, dX / 2);
-                InplaceBoxBlurFilter.horizontalPass(raster, raster, 0, 0, dX, dX / 2 - 1);
-                InplaceBoxBlurFilter.horizontalPass(raster, raster, 0, 0, dX + 1, dX / 2);
-            } else {
-                InplaceBoxBlurFilter.horizontalPass(raster, raster, 0, 0, dX, dX / 2);
-                InplaceBoxBlurFilter.horizontalPass(raster, raster, 0, 0, dX, dX / 2);
-                InplaceBoxBlurFilter.horizontalPass(raster, raster, 0, 0, dX, dX / 2);
-            }
-        }
-
-        private void verticalBoxBlur(@NotNull WritableRaster raster) {
-            if ((dY & 0x01) == 0) {
-                InplaceBoxBlurFilter.verticalPass(raster, raster, 0, 0, dY, dY / 2);
-                InplaceBoxBlurFilter.verticalPass(raster, raster, 0, 0, dY, dY / 2 - 1);
-                InplaceBoxBlurFilter.verticalPass(raster, raster, 0, 0, dY + 1, dY / 2);
-            } else {
-                InplaceBoxBlurFilter.verticalPass(raster, raster, 0, 0, dY, dY / 2);
-                InplaceBoxBlurFilter.verticalPass(raster, raster, 0, 0, dY, dY / 2);
-                InplaceBoxBlurFilter.verticalPass(raster, raster, 0, 0, dY, dY / 2);
-            }
-        }
-    }
 }
@@ -22,10 +22,11 @@
 package com.github.weisj.jsvg_mc.nodes.filter;
 
 import java.awt.*;
-import java.awt.image.BufferedImage;
 import java.util.List;
+import java.util.Objects;
 
 import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
 
 import com.github.weisj.jsvg_mc.attributes.ColorInterpolation;
 import com.github.weisj.jsvg_mc.attributes.filter.DefaultFilterChannel;
@@ -37,7 +38,6 @@ import com.github.weisj.jsvg_mc.nodes.prototype.spec.Category;
 import com.github.weisj.jsvg_mc.nodes.prototype.spec.ElementCategories;
 import com.github.weisj.jsvg_mc.nodes.prototype.spec.PermittedContent;
 import com.github.weisj.jsvg_mc.parser.AttributeNode;
-import com.github.weisj.jsvg_mc.renderer.GraphicsUtil;
 import com.github.weisj.jsvg_mc.renderer.RenderContext;
 
 @ElementCategories(Category.FilterPrimitive)
@@ -118,21 +118,47 @@ public final class FeMerge extends ContainerNode implements FilterPrimitive {
                     filterContext);
             return;
         }
+        if (inputChannels.length > 1
+                && filterContext.storesLinearRGB(filterPrimitiveBase.colorInterpolation(filterContext))) {
+            LinearRGBChannel merged = mergeLinearRGB(context, filterContext);
+            if (merged != null) {
+                filterPrimitiveBase.saveResult(merged, filterContext);
+                return;
+            }
+        }
         Channel in = filterPrimitiveBase.channel(inputChannels[0], filterContext);
         Channel result = in;
         if (inputChannels.length > 1) {
-            BufferedImage dst = in.toBufferedImageNonAliased(context);
-            Graphics2D imgGraphics = GraphicsUtil.createGraphics(dst);
+            RasterChannel dst = RasterChannel.writableCopyOf(in, context);
+            Graphics2D imgGraphics = dst.createGraphics();
             for (int i = 1; i < inputChannels.length; i++) {
                 Channel channel = filterPrimitiveBase.channel(inputChannels[i], filterContext);
-                imgGraphics.drawImage(context.platformSupport().createImage(channel.producer()),
-                        null, context.platformSupport().imageObserver());
+                imgGraphics.drawImage(channel.toImage(context), null, context.platformSupport().imageObserver());
             }
-            result = new ImageProducerChannel(dst.getSource());
+            imgGraphics.dispose();
+            result = dst;
         }
         filterPrimitiveBase.saveResult(result, filterContext);
     }
 
+    private @Nullable LinearRGBChannel mergeLinearRGB(@NotNull RenderContext context,
+            @NotNull FilterContext filterContext) {
+        LinearRGBChannel[] channels = new LinearRGBChannel[inputChannels.length];
+        for (int i = 0; i < channels.length; i++) {
+            channels[i] = filterPrimitiveBase.linearRGBChannel(inputChannels[i], filterContext, context);
+            if (channels[i].width() != channels[0].width() || channels[i].height() != channels[0].height()) {
+                return null;
+            }
+        }
+        LinearRGBChannel.Blender srcOver =
+                Objects.requireNonNull(LinearRGBChannel.alphaCompositeBlender(AlphaComposite.SrcOver));
+        LinearRGBChannel dst = channels[0].copy();
+        for (int i = 1; i < channels.length; i++) {
+            dst.blend(channels[i], srcOver, filterContext.executor());
+        }
+        return dst;
+    }
+
     @Override
     public ColorInterpolation colorInterpolation(@NotNull FilterContext filterContext) {
         return filterPrimitiveBase.colorInterpolation(filterContext);
@@ -25,7 +25,6 @@ import java.awt.geom.AffineTransform;
 import java.awt.geom.Point2D;
 import java.awt.geom.Rectangle2D;
 import java.awt.image.AffineTransformOp;
-import java.awt.image.BufferedImageFilter;
 
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
@@ -94,10 +93,22 @@ public final class FeOffset extends AbstractFilterPrimitive {
         if (dx != 0 || dy != 0) {
             AffineTransform at = filterContext.info().output().transform();
             Point2D.Double off = offset(at, filterContext.primitiveUnits(), filterContext.info().elementBounds());
-            AffineTransform transform = AffineTransform.getTranslateInstance(off.x, off.y);
+            boolean integerOffset = off.x == Math.rint(off.x) && off.y == Math.rint(off.y);
+            if (integerOffset && in instanceof LinearRGBChannel) {
+                impl().saveResult(((LinearRGBChannel) in).translate((int) off.x, (int) off.y), filterContext);
+                return;
+            }
+            RasterChannel input = RasterChannel.of(in, context);
 
-            AffineTransformOp op = new AffineTransformOp(transform, filterContext.renderingHints());
-            result = in.applyFilter(new BufferedImageFilter(op));
+            if (integerOffset) {
+                result = input.translate((int) off.x, (int) off.y);
+            } else {
+                AffineTransform transform = AffineTransform.getTranslateInstance(off.x, off.y);
+                AffineTransformOp op = new AffineTransformOp(transform, filterContext.renderingHints());
+                RasterChannel dst = RasterChannel.create(input.width(), input.height());
+                op.filter(input.image(), dst.image());
+                result = dst;
+            }
         }
 
         impl().saveResult(result, filterContext);
@@ -21,11 +21,17 @@
  */
 package com.github.weisj.jsvg_mc.nodes.filter;
 
+import java.awt.*;
 import java.awt.color.ColorSpace;
 import java.awt.geom.Rectangle2D;
 import java.awt.image.*;
+import java.lang.ref.SoftReference;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
 
 import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
 
 import com.github.weisj.jsvg_mc.attributes.filter.LayoutBounds;
 import com.github.weisj.jsvg_mc.geometry.noise.PerlinTurbulence;
@@ -56,6 +62,7 @@ public final class FeTurbulence extends AbstractFilterPrimitive {
     private int numOctaves;
 
     private Type type;
+    private boolean stitchTiles;
 
     @Override
     public @NotNull String tagName() {
@@ -78,6 +85,7 @@ public final class FeTurbulence extends AbstractFilterPrimitive {
         numOctaves = Math.min(numOctaves, 8);
 
         type = attributeNode.getEnum("type", Type.fractalNoise);
+        stitchTiles = "stitch".equals(attributeNode.getValue("stitchTiles"));
     }
 
     @Override
@@ -94,65 +102,137 @@ public final class FeTurbulence extends AbstractFilterPrimitive {
         Filter.FilterInfo info = filterContext.info();
         Channel turbulenceChannel =
                 new TurbulenceChannel(info.imageBounds(), info.imageWidth, info.imageHeight, seed, numOctaves,
-                        baseFrequency[0], baseFrequency.length > 1 ? baseFrequency[1] : baseFrequency[0], type);
+                        baseFrequency[0], baseFrequency.length > 1 ? baseFrequency[1] : baseFrequency[0], type,
+                        stitchTiles, filterContext.executor());
         impl().saveResult(turbulenceChannel, filterContext);
     }
 
     public static final class TurbulenceChannel implements Channel, PixelProvider {
+        private static final int MAX_CACHED_NOISE = 16;
+        private static final Map<CacheKey, SoftReference<Noise>> NOISE_CACHE = new ConcurrentHashMap<>();
+        private static final DirectColorModel LINEAR_RGB_MODEL = new DirectColorModel(
+                ColorSpace.getInstance(ColorSpace.CS_LINEAR_RGB), 32,
+                0x00FF0000, 0x0000FF00, 0x000000FF, 0xFF000000, false, DataBuffer.TYPE_INT);
+        private static final int[] LINEAR_TO_SRGB = createLinearToSRGBTable();
 
         private final PerlinTurbulence perlinTurbulence;
+        private final PerlinTurbulence.@Nullable StitchInfo stitchInfo;
         private final double[] channels = new double[4];
+        private final double[] scratch = new double[4];
         private final int imageWidth;
         private final int imageHeight;
         private final Type type;
         private final Rectangle2D tileBounds;
-        private BufferedImage bufferedImage;
+        private final @NotNull CacheKey cacheKey;
+        private final @NotNull TiledFilterExecutor executor;
+        private Noise noise;
 
         public TurbulenceChannel(@NotNull Rectangle2D tileBounds, int imageWidth, int imageHeight,
                 float seed, int octaves, double xFrequency, double yFrequency, Type type) {
+            this(tileBounds, imageWidth, imageHeight, seed, octaves, xFrequency, yFrequency, type, false,
+                    TiledFilterExecutor.serial());
+        }
+
+        public TurbulenceChannel(@NotNull Rectangle2D tileBounds, int imageWidth, int imageHeight,
+                float seed, int octaves, double xFrequency, double yFrequency, Type type, boolean stitchTiles,
+                @NotNull TiledFilterExecutor executor) {
+            this.executor = executor;
             this.tileBounds = tileBounds;
             this.imageWidth = imageWidth;
             this.imageHeight = imageHeight;
             this.type = type;
             this.perlinTurbulence = new PerlinTurbulence((int) seed, octaves, xFrequency, yFrequency);
+            this.stitchInfo = stitchTiles ? perlinTurbulence.stitchInfo(tileBounds) : null;
+            this.cacheKey = new CacheKey((int) seed, octaves, xFrequency, yFrequency, type, stitchTiles,
+                    tileBounds, imageWidth, imageHeight);
+        }
+
+        private static int @NotNull [] createLinearToSRGBTable() {
+            int[] table = new int[256];
+            for (int i = 0; i < 256; i++) {
+                table[i] = LINEAR_RGB_MODEL.getRed(0xFF000000 | (i << 16));
+            }
+            return table;
+        }
+
+        private @NotNull Noise noise() {
+            if (noise == null) {
+                SoftReference<Noise> cached = NOISE_CACHE.get(cacheKey);
+                Noise n = cached != null ? cached.get() : null;
+                if (n == null) {
+                    n = new Noise(computeNoisePixels(), imageWidth, imageHeight);
+                    if (NOISE_CACHE.size() >= MAX_CACHED_NOISE) NOISE_CACHE.clear();
+                    NOISE_CACHE.put(cacheKey, new SoftReference<>(n));
+                }
+                noise = n;
+            }
+            return noise;
+        }
+
+        /**
+         * Returns the raw turbulence values sampled at the pixel grid of the channel. Pixels are stored row by row
+         * as non-premultiplied argb values, without any color space conversion. The array is shared and must not be
+         * modified.
+         *
+         * @return the pixels of the turbulence.
+         */
+        public int @NotNull [] noisePixels() {
+            return noise().pixels;
+        }
+
+        public int width() {
+            return imageWidth;
+        }
+
+        public int height() {
+            return imageHeight;
         }
 
         private @NotNull BufferedImage ensureImageBackingStore() {
-            if (bufferedImage == null) {
-                ColorSpace cs = ColorSpace.getInstance(ColorSpace.CS_LINEAR_RGB);
-                ColorModel cm = new DirectColorModel(cs, 32, 0x00FF0000, 0x0000FF00, 0x000000FF, 0xFF000000,
-                        false, DataBuffer.TYPE_INT);
-                WritableRaster dest = cm.createCompatibleWritableRaster(imageWidth, imageHeight);
-                bufferedImage = new BufferedImage(cm, dest, false, null);
-
-                final int w = dest.getWidth();
-                final int h = dest.getHeight();
-
-                final double scaleX = tileBounds.getWidth() / (double) w;
-                final double scaleY = tileBounds.getHeight() / (double) h;
-
-                final double startX = tileBounds.getX();
-                final double startY = tileBounds.getY();
-
-                boolean fractalNoise = type == Type.fractalNoise;
-
-                final int[] destPixels = ImageUtil.getINT_RGBA_DataBank(dest);
-                final int dstAdjust = ImageUtil.getINT_RGBA_DataAdjust(dest);
-                int dp = ImageUtil.getINT_RGBA_DataOffset(dest);
-
-                double point_1 = startY;
-                for (int i = 0; i < h; i++) {
-                    double point_0 = startX;
-                    for (int end = dp + w; dp < end; dp++) {
-                        perlinTurbulence.turbulence(channels, point_0, point_1, fractalNoise, null, null);
-                        destPixels[dp] = cm.getRGB(channelsToRGB(channels));
-                        point_0 += scaleX;
+            return noise().image();
+        }
+
+        private int @NotNull [] computeNoisePixels() {
+            final int w = imageWidth;
+            final int h = imageHeight;
+
+            final double scaleX = tileBounds.getWidth() / (double) w;
+            final double scaleY = tileBounds.getHeight() / (double) h;
+
+            final double startX = tileBounds.getX();
+            final double startY = tileBounds.getY();
+
+            boolean fractalNoise = type == Type.fractalNoise;
+
+            final int[] pixels = new int[w * h];
+            final double[] xs = new double[w];
+            double point_0 = startX;
+            for (int i = 0; i < w; i++) {
+                xs[i] = point_0;
+                point_0 += scaleX;
+            }
+
+            // Rows are independent of each other. Each band needs its own scratch buffer.
+            executor.forEachBand(h, w, (startRow, endRow) -> {
+                double[] rgba = new double[4 * w];
+                double point_1 = startY + startRow * scaleY;
+                for (int i = startRow; i < endRow; i++) {
+                    perlinTurbulence.turbulenceRow(xs, w, point_1, fractalNoise, stitchInfo, rgba);
+                    int dp = i * w;
+                    for (int x = 0; x < w; x++) {
+                        pixels[dp + x] = channelsToRGB(rgba, 4 * x);
                     }
                     point_1 += scaleY;
-                    dp += dstAdjust;
                 }
-            }
-            return bufferedImage;
+            });
+            return pixels;
+        }
+
+        private static int toSRGB(int rgb) {
+            return (rgb & 0xFF000000)
+                    | (LINEAR_TO_SRGB[(rgb >> 16) & 0xFF] << 16)
+                    | (LINEAR_TO_SRGB[(rgb >> 8) & 0xFF] << 8)
+                    | LINEAR_TO_SRGB[rgb & 0xFF];
         }
 
         @Override
@@ -160,6 +240,11 @@ public final class FeTurbulence extends AbstractFilterPrimitive {
             return ensureImageBackingStore().getSource();
         }
 
+        @Override
+        public @NotNull Image toImage(@NotNull RenderContext context) {
+            return ensureImageBackingStore();
+        }
+
         @Override
         public @NotNull BufferedImage toBufferedImageNonAliased(@NotNull RenderContext context) {
             BufferedImage img = ensureImageBackingStore();
@@ -180,34 +265,34 @@ public final class FeTurbulence extends AbstractFilterPrimitive {
 
         @Override
         public int pixelAt(double x, double y) {
-            perlinTurbulence.turbulence(channels, x, y, type == Type.fractalNoise, null, null);
-            return channelsToRGB(channels);
+            perlinTurbulence.turbulence(channels, scratch, x, y, type == Type.fractalNoise, stitchInfo);
+            return channelsToRGB(channels, 0);
         }
 
-        private static int channelsToRGB(double[] channels) {
+        private static int channelsToRGB(double[] channels, int offset) {
             int j;
-            int i = (int) channels[0];
+            int i = (int) channels[offset];
             if ((i & 0xFFFFFF00) == 0) {
                 j = i << 16;
             } else {
                 j = ((i & 0x80000000) != 0) ? 0 : 0xFF0000;
             }
 
-            i = (int) channels[1];
+            i = (int) channels[offset + 1];
             if ((i & 0xFFFFFF00) == 0) {
                 j |= i << 8;
             } else {
                 j |= ((i & 0x80000000) != 0) ? 0 : 0xFF00;
             }
 
-            i = (int) channels[2];
+            i = (int) channels[offset + 2];
             if ((i & 0xFFFFFF00) == 0) {
                 j |= i;
             } else {
                 j |= ((i & 0x80000000) != 0) ? 0 : 0xFF;
             }
 
-            i = (int) channels[3];
+            i = (int) channels[offset + 3];
             if ((i & 0xFFFFFF00) == 0) {
                 j |= i << 24;
             } else {
@@ -216,5 +301,85 @@ public final class FeTurbulence extends AbstractFilterPrimitive {
 
             return j;
         }
+
+        private static final class Noise {
+            private final int @NotNull [] pixels;
+            private final int width;
+            private final int height;
+            private @Nullable BufferedImage image;
+
+            private Noise(int @NotNull [] pixels, int width, int height) {
+                this.pixels = pixels;
+                this.width = width;
+                this.height = height;
+            }
+
+            private synchronized @NotNull BufferedImage image() {
+                // The image is shared between renders and must not be modified once created.
+                if (image == null) {
+                    WritableRaster dest = LINEAR_RGB_MODEL.createCompatibleWritableRaster(width, height);
+                    int[] destPixels = ImageUtil.getINT_RGBA_DataBank(dest);
+                    int scanlineStride = ImageUtil.getINT_RGBA_ScanlineStride(dest);
+                    int dataOffset = ImageUtil.getINT_RGBA_DataOffset(dest);
+                    for (int y = 0; y < height; y++) {
+                        int sp = y * width;
+                        int dp = dataOffset + y * scanlineStride;
+                        for (int x = 0; x < width; x++) {
+                            destPixels[dp + x] = toSRGB(pixels[sp + x]);
+                        }
+                    }
+                    image = new BufferedImage(LINEAR_RGB_MODEL, dest, false, null);
+                }
+                return image;
+            }
+        }
+
+        private static final class CacheKey {
+            private final int seed;
+            private final int octaves;
+            private final double xFrequency;
+            private final double yFrequency;
+            private final @NotNull Type type;
+            private final boolean stitchTiles;
+            private final @NotNull Rectangle2D tileBounds;
+            private final int imageWidth;
+            private final int imageHeight;
+
+            private CacheKey(int seed, int octaves, double xFrequency, double yFrequency, @NotNull Type type,
+                    boolean stitchTiles, @NotNull Rectangle2D tileBounds, int imageWidth, int imageHeight) {
+                this.seed = seed;
+                this.octaves = octaves;
+                this.xFrequency = xFrequency;
+                this.yFrequency = yFrequency;
+                this.type = type;
+                this.stitchTiles = stitchTiles;
+                this.tileBounds = new Rectangle2D.Double(tileBounds.getX(), tileBounds.getY(),
+                        tileBounds.getWidth(), tileBounds.getHeight());
+                this.imageWidth = imageWidth;
+                this.imageHeight = imageHeight;
+            }
+
+            @Override
+            public boolean equals(Object o) {
+                if (this == o) return true;
+                if (!(o instanceof CacheKey)) return false;
+                CacheKey that = (CacheKey) o;
+                return seed == that.seed
+                        && octaves == that.octaves
+                        && Double.compare(xFrequency, that.xFrequency) == 0
+                        && Double.compare(yFrequency, that.yFrequency) == 0
+                        && type == that.type
+                        && stitchTiles == that.stitchTiles
+                        && imageWidth == that.imageWidth
+                        && imageHeight == that.imageHeight
+                        && tileBounds.equals(that.tileBounds);
+            }
+
+            @Override
+            public int hashCode() {
+                return Objects.hash(seed, octaves, xFrequency, yFrequency, type, stitchTiles, tileBounds,
+                        imageWidth, imageHeight);
+            }
+        }
     }
 }
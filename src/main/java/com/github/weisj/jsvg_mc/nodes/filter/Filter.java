@@ -22,7 +22,7 @@
 package com.github.weisj.jsvg_mc.nodes.filter;
 
 import java.awt.geom.Rectangle2D;
-import java.awt.image.*;
+import java.awt.image.BufferedImage;
 import java.util.Objects;
 import java.util.logging.Level;
 import java.util.logging.Logger;
@@ -166,16 +166,13 @@ public final class Filter extends ContainerNode {
 
     public @NotNull BufferedImage applyFilter(@NotNull Output output, @NotNull RenderContext context,
             @NotNull FilterInfo filterInfo) {
-        ImageProducer producer = filterInfo.blittableImage.image().getSource();
-
         FilterContext filterContext =
                 new FilterContext(filterInfo, filterPrimitiveUnits, colorInterpolation, output.renderingHints());
 
-        Channel sourceChannel = new ImageProducerChannel(producer);
+        Channel sourceChannel = RasterChannel.wrap(filterInfo.blittableImage.image());
         filterContext.resultChannels().addResult(DefaultFilterChannel.SourceGraphic, sourceChannel);
         filterContext.resultChannels().addResult(DefaultFilterChannel.LastResult, sourceChannel);
-        filterContext.resultChannels().addResult(DefaultFilterChannel.SourceAlpha,
-                () -> new SourceAlphaChannel(sourceChannel.alphaChannel().producer()));
+        filterContext.resultChannels().addResult(DefaultFilterChannel.SourceAlpha, sourceChannel::alphaChannel);
 
         for (SVGNode child : children()) {
             try {
@@ -189,7 +186,11 @@ public final class Filter extends ContainerNode {
         }
 
         Channel result = Objects.requireNonNull(filterContext.getChannel(DefaultFilterChannel.LastResult));
-        return result.toBufferedImageNonAliased(context);
+        if (result instanceof LinearRGBChannel) {
+            result = ((LinearRGBChannel) result).toSRGB(filterContext.executor());
+        }
+        // The result is only blitted to the output, hence there is no need to copy the backing image.
+        return RasterChannel.of(result, context).image();
     }
 
     @Override
@@ -266,11 +267,4 @@ public final class Filter extends ContainerNode {
                     imageBounds.getHeight());
         }
     }
-
-    private static final class SourceAlphaChannel extends ImageProducerChannel {
-        public SourceAlphaChannel(@NotNull ImageProducer producer) {
-            super(producer);
-        }
-
-    }
 }
@@ -22,13 +22,17 @@
 package com.github.weisj.jsvg_mc.nodes.filter;
 
 import java.awt.*;
+import java.util.IdentityHashMap;
+import java.util.Map;
 
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
+import com.github.weisj.jsvg_mc.SVGRenderingHints;
 import com.github.weisj.jsvg_mc.attributes.ColorInterpolation;
 import com.github.weisj.jsvg_mc.attributes.UnitType;
 import com.github.weisj.jsvg_mc.attributes.filter.FilterChannelKey;
+import com.github.weisj.jsvg_mc.renderer.RenderContext;
 
 public final class FilterContext {
 
@@ -37,6 +41,9 @@ public final class FilterContext {
     private final @NotNull UnitType primitiveUnits;
     private final @Nullable ColorInterpolation colorInterpolation;
     private final @Nullable RenderingHints renderingHints;
+    private final @NotNull TiledFilterExecutor executor;
+    private final boolean linearWorkingSpace;
+    private final @NotNull Map<Channel, LinearRGBChannel> linearRGBChannels = new IdentityHashMap<>();
 
     public FilterContext(@NotNull Filter.FilterInfo info, @NotNull UnitType primitiveUnits,
             @Nullable ColorInterpolation colorInterpolation, @Nullable RenderingHints renderingHints) {
@@ -44,6 +51,10 @@ public final class FilterContext {
         this.primitiveUnits = primitiveUnits;
         this.colorInterpolation = colorInterpolation;
         this.renderingHints = renderingHints;
+        this.executor = TiledFilterExecutor.fromRenderingHints(renderingHints);
+        this.linearWorkingSpace = renderingHints != null
+                && renderingHints.get(SVGRenderingHints.KEY_FILTER_LINEAR_WORKING_SPACE)
+                        == SVGRenderingHints.VALUE_FILTER_LINEAR_WORKING_SPACE_ON;
     }
 
     public @NotNull Filter.FilterInfo info() {
@@ -58,6 +69,10 @@ public final class FilterContext {
         return renderingHints;
     }
 
+    public @NotNull TiledFilterExecutor executor() {
+        return executor;
+    }
+
     public @NotNull ChannelStorage<Channel> resultChannels() {
         return resultChannels;
     }
@@ -72,4 +87,30 @@ public final class FilterContext {
         }
         return this.colorInterpolation;
     }
+
+    /**
+     * Returns whether a primitive operating in the given color space receives its inputs as and stores its result
+     * in a {@link LinearRGBChannel}. Unless a linear working space is enabled all channels are stored as sRGB and
+     * primitives convert to linearRGB on their own.
+     *
+     * @param colorInterpolation the color space the primitive operates in.
+     * @return true if the primitive should operate on {@link LinearRGBChannel}s.
+     */
+    public boolean storesLinearRGB(@NotNull ColorInterpolation colorInterpolation) {
+        return linearWorkingSpace && colorInterpolation == ColorInterpolation.LinearRGB;
+    }
+
+    /**
+     * Returns the content of the channel in linearRGB. Conversions are remembered, hence a channel used by multiple
+     * primitives is only converted once.
+     *
+     * @param channel the channel.
+     * @param context the current render context.
+     * @return the channel in linearRGB.
+     */
+    public @NotNull LinearRGBChannel linearRGBChannel(@NotNull Channel channel, @NotNull RenderContext context) {
+        if (channel instanceof LinearRGBChannel) return (LinearRGBChannel) channel;
+        return linearRGBChannels.computeIfAbsent(channel,
+                c -> LinearRGBChannel.fromSRGB(RasterChannel.of(c, context), executor));
+    }
 }
@@ -32,6 +32,7 @@ import com.github.weisj.jsvg_mc.attributes.value.PercentageDimension;
 import com.github.weisj.jsvg_mc.geometry.size.Length;
 import com.github.weisj.jsvg_mc.geometry.size.Unit;
 import com.github.weisj.jsvg_mc.parser.AttributeNode;
+import com.github.weisj.jsvg_mc.renderer.RenderContext;
 
 public final class FilterPrimitiveBase {
 
@@ -68,6 +69,16 @@ public final class FilterPrimitiveBase {
         return channel(inputChannel, context);
     }
 
+    public @NotNull LinearRGBChannel linearRGBChannel(@NotNull FilterChannelKey key, @NotNull FilterContext context,
+            @NotNull RenderContext renderContext) {
+        return context.linearRGBChannel(channel(key, context), renderContext);
+    }
+
+    public @NotNull LinearRGBChannel linearRGBInputChannel(@NotNull FilterContext context,
+            @NotNull RenderContext renderContext) {
+        return linearRGBChannel(inputChannel, context, renderContext);
+    }
+
     public @NotNull LayoutBounds layoutInput(@NotNull FilterLayoutContext context) {
         return context.resultChannels().get(inputChannel);
     }
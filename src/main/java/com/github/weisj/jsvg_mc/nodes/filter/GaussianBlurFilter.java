@@ -0,0 +1,412 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2025 Jannis Weis
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and
+ * associated documentation files (the "Software"), to deal in the Software without restriction,
+ * including without limitation the rights to use, copy, modify, merge, publish, distribute,
+ * sublicense, and/or sell copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or
+ * substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT
+ * NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ *
+ */
+package com.github.weisj.jsvg_mc.nodes.filter;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import com.github.weisj.jsvg_mc.attributes.filter.EdgeMode;
+
+/**
+ * Separable blur operating directly on premultiplied int rasters or {@link LinearRGBChannel}s.
+ * <p>
+ * Both passes run along contiguous rows: The horizontal pass writes its result transposed, such that the
+ * vertical pass can process columns as rows and transposes them back into the destination.
+ * Pixels outside the image are resolved according to the {@link EdgeMode} while loading a row, hence no padded
+ * copy of the image is needed.
+ */
+final class GaussianBlurFilter {
+    private static final int ALPHA = 0;
+    private static final int WEIGHT_BITS = 16;
+
+    private GaussianBlurFilter() {}
+
+    static @NotNull RasterChannel blur(@NotNull RasterChannel input, @NotNull Axis horizontal,
+            @NotNull Axis vertical, @NotNull EdgeMode edgeMode, boolean onlyAlpha,
+            @NotNull TiledFilterExecutor executor) {
+        int width = input.width();
+        int height = input.height();
+        RasterChannel output = RasterChannel.create(width, height);
+        if (width == 0 || height == 0) return output;
+
+        int planes = onlyAlpha ? 1 : 4;
+        int[] transposed = new int[width * height];
+
+        int[] src = input.data();
+        int srcOffset = input.offset();
+        int srcStride = input.scanlineStride();
+        executor.forEachBand(height, width, (start, end) -> {
+            RowBuffer buffer = new RowBuffer(planes, width, horizontal);
+            for (int y = start; y < end; y++) {
+                buffer.load(src, srcOffset + y * srcStride, width, edgeMode);
+                buffer.store(horizontal.apply(buffer), transposed, y, height);
+            }
+        });
+
+        int[] dst = output.data();
+        int dstOffset = output.offset();
+        int dstStride = output.scanlineStride();
+        executor.forEachBand(width, height, (start, end) -> {
+            RowBuffer buffer = new RowBuffer(planes, height, vertical);
+            for (int x = start; x < end; x++) {
+                buffer.load(transposed, x * height, height, edgeMode);
+                buffer.store(vertical.apply(buffer), dst, dstOffset + x, dstStride);
+            }
+        });
+        return output;
+    }
+
+    static @NotNull LinearRGBChannel blur(@NotNull LinearRGBChannel input, @NotNull Axis horizontal,
+            @NotNull Axis vertical, @NotNull EdgeMode edgeMode, @NotNull TiledFilterExecutor executor) {
+        int width = input.width();
+        int height = input.height();
+        LinearRGBChannel output = LinearRGBChannel.create(width, height);
+        float[] transposed = new float[LinearRGBChannel.COMPONENTS * width * height];
+
+        float[] src = input.data();
+        executor.forEachBand(height, width, (start, end) -> {
+            FloatRowBuffer buffer = new FloatRowBuffer(width, horizontal);
+            for (int y = start; y < end; y++) {
+                buffer.load(src, y * width, width, edgeMode);
+                buffer.store(horizontal.apply(buffer), transposed, y, height);
+            }
+        });
+
+        float[] dst = output.data();
+        executor.forEachBand(width, height, (start, end) -> {
+            FloatRowBuffer buffer = new FloatRowBuffer(height, vertical);
+            for (int x = start; x < end; x++) {
+                buffer.load(transposed, x * height, height, edgeMode);
+                buffer.store(vertical.apply(buffer), dst, x, width);
+            }
+        });
+        return output;
+    }
+
+    static final class Axis {
+        private static final Axis IDENTITY = new Axis(null, null, new int[0], new int[0]);
+
+        private final int @Nullable [] weights;
+        private final float @Nullable [] floatWeights;
+        private final int[] boxSizes;
+        private final int leading;
+        private final int trailing;
+
+        private Axis(int @Nullable [] weights, float @Nullable [] floatWeights, int @NotNull [] boxSizes,
+                int @NotNull [] boxOffsets) {
+            this.weights = weights;
+            this.floatWeights = floatWeights;
+            this.boxSizes = boxSizes;
+            int lead = 0;
+            int trail = 0;
+            if (weights != null) {
+                lead = weights.length / 2;
+                trail = weights.length - 1 - lead;
+            }
+            for (int i = 0; i < boxSizes.length; i++) {
+                lead += boxOffsets[i];
+                trail += boxSizes[i] - 1 - boxOffsets[i];
+            }
+            this.leading = lead;
+            this.trailing = trail;
+        }
+
+        static @NotNull Axis identity() {
+            return IDENTITY;
+        }
+
+        /**
+         * Creates an axis convolving with the given normalized kernel, which has to be symmetric and of odd size.
+         */
+        static @NotNull Axis kernel(float @NotNull [] weights) {
+            if (weights.length <= 1) return IDENTITY;
+            int[] fixedPointWeights = new int[weights.length];
+            for (int i = 0; i < weights.length; i++) {
+                fixedPointWeights[i] = Math.round(weights[i] * (1 << WEIGHT_BITS));
+            }
+            return new Axis(fixedPointWeights, weights.clone(), new int[0], new int[0]);
+        }
+
+        /**
+         * Approximates a gaussian by three successive box blurs as described in the specification.
+         */
+        static @NotNull Axis boxApproximation(int diameter) {
+            if (diameter <= 1) return IDENTITY;
+            int half = diameter / 2;
+            if ((diameter & 0x01) == 0) {
+                return new Axis(null, null,
+                        new int[] {diameter, diameter, diameter + 1},
+                        new int[] {half, half - 1, half});
+            }
+            return new Axis(null, null,
+                    new int[] {diameter, diameter, diameter},
+                    new int[] {half, half, half});
+        }
+
+        private int @NotNull [] @NotNull [] apply(@NotNull RowBuffer buffer) {
+            int[][] in = buffer.front;
+            int[][] out = buffer.back;
+            int length = buffer.length + leading + trailing;
+            if (weights != null) {
+                length -= weights.length - 1;
+                for (int p = 0; p < in.length; p++) {
+                    convolve(in[p], out[p], length, weights);
+                }
+                int[][] tmp = in;
+                in = out;
+                out = tmp;
+            }
+            for (int size : boxSizes) {
+                length -= size - 1;
+                for (int p = 0; p < in.length; p++) {
+                    boxPass(in[p], out[p], length, size);
+                }
+                int[][] tmp = in;
+                in = out;
+                out = tmp;
+            }
+            return in;
+        }
+
+        private float @NotNull [] @NotNull [] apply(@NotNull FloatRowBuffer buffer) {
+            float[][] in = buffer.front;
+            float[][] out = buffer.back;
+            int length = buffer.length + leading + trailing;
+            if (floatWeights != null) {
+                length -= floatWeights.length - 1;
+                for (int p = 0; p < in.length; p++) {
+                    convolve(in[p], out[p], length, floatWeights);
+                }
+                float[][] tmp = in;
+                in = out;
+                out = tmp;
+            }
+            for (int size : boxSizes) {
+                length -= size - 1;
+                for (int p = 0; p < in.length; p++) {
+                    boxPass(in[p], out[p], length, size);
+                }
+                float[][] tmp = in;
+                in = out;
+                out = tmp;
+            }
+            return in;
+        }
+    }
+
+    private static void convolve(int @NotNull [] in, int @NotNull [] out, int length, int @NotNull [] weights) {
+        // The kernel is symmetric and has odd size. Accumulate pairs of taps over the whole row at once,
+        // such that the inner loops are simple enough to be vectorized.
+        int center = weights.length / 2;
+        int wc = weights[center];
+        for (int i = 0; i < length; i++) {
+            out[i] = wc * in[i + center];
+        }
+        for (int k = 0; k < center; k++) {
+            int w = weights[k];
+            int mirror = weights.length - 1 - k;
+            for (int i = 0; i < length; i++) {
+                out[i] += w * (in[i + k] + in[i + mirror]);
+            }
+        }
+        int round = 1 << (WEIGHT_BITS - 1);
+        for (int i = 0; i < length; i++) {
+            out[i] = Math.min(255, (out[i] + round) >> WEIGHT_BITS);
+        }
+    }
+
+    private static void boxPass(int @NotNull [] in, int @NotNull [] out, int length, int size) {
+        int scale = (1 << 24) / size;
+        int sum = 0;
+        for (int i = 0; i < size - 1; i++) {
+            sum += in[i];
+        }
+        for (int i = 0; i < length; i++) {
+            sum += in[i + size - 1];
+            // Products may exceed Integer.MAX_VALUE, but always fit into 32 unsigned bits.
+            out[i] = (sum * scale + (1 << 23)) >>> 24;
+            sum -= in[i];
+        }
+    }
+
+    private static void convolve(float @NotNull [] in, float @NotNull [] out, int length,
+            float @NotNull [] weights) {
+        int center = weights.length / 2;
+        float wc = weights[center];
+        for (int i = 0; i < length; i++) {
+            out[i] = wc * in[i + center];
+        }
+        for (int k = 0; k < center; k++) {
+            float w = weights[k];
+            int mirror = weights.length - 1 - k;
+            for (int i = 0; i < length; i++) {
+                out[i] += w * (in[i + k] + in[i + mirror]);
+            }
+        }
+    }
+
+    private static void boxPass(float @NotNull [] in, float @NotNull [] out, int length, int size) {
+        double scale = 1.0 / size;
+        // Accumulate in double precision, such that the running sum doesn't drift over long rows.
+        double sum = 0;
+        for (int i = 0; i < size - 1; i++) {
+            sum += in[i];
+        }
+        for (int i = 0; i < length; i++) {
+            sum += in[i + size - 1];
+            out[i] = (float) (sum * scale);
+            sum -= in[i];
+        }
+    }
+
+    private static final class RowBuffer {
+        private final int length;
+        private final int leading;
+        private final int[][] front;
+        private final int[][] back;
+
+        private RowBuffer(int planes, int length, @NotNull Axis axis) {
+            this.length = length;
+            this.leading = axis.leading;
+            int extendedLength = length + axis.leading + axis.trailing;
+            front = new int[planes][extendedLength];
+            back = new int[planes][extendedLength];
+        }
+
+        private void load(int @NotNull [] data, int offset, int rowLength, @NotNull EdgeMode edgeMode) {
+            int extendedLength = front[ALPHA].length;
+            for (int i = 0; i < leading; i++) {
+                setPixel(i, edgePixel(data, offset, rowLength, i - leading, edgeMode));
+            }
+            int[] a = front[ALPHA];
+            if (front.length == 1) {
+                for (int i = 0; i < rowLength; i++) {
+                    a[leading + i] = data[offset + i] >>> 24;
+                }
+            } else {
+                int[] r = front[1];
+                int[] g = front[2];
+                int[] b = front[3];
+                for (int i = 0; i < rowLength; i++) {
+                    int pixel = data[offset + i];
+                    a[leading + i] = pixel >>> 24;
+                    r[leading + i] = (pixel >> 16) & 0xFF;
+                    g[leading + i] = (pixel >> 8) & 0xFF;
+                    b[leading + i] = pixel & 0xFF;
+                }
+            }
+            for (int i = leading + rowLength; i < extendedLength; i++) {
+                setPixel(i, edgePixel(data, offset, rowLength, i - leading, edgeMode));
+            }
+        }
+
+        private void setPixel(int index, int pixel) {
+            front[ALPHA][index] = pixel >>> 24;
+            if (front.length > 1) {
+                front[1][index] = (pixel >> 16) & 0xFF;
+                front[2][index] = (pixel >> 8) & 0xFF;
+                front[3][index] = pixel & 0xFF;
+            }
+        }
+
+        private static int edgePixel(int @NotNull [] data, int offset, int rowLength, int index,
+                @NotNull EdgeMode edgeMode) {
+            switch (edgeMode) {
+                case Duplicate:
+                    return data[offset + Math.max(0, Math.min(rowLength - 1, index))];
+                case Wrap:
+                    return data[offset + Math.floorMod(index, rowLength)];
+                default:
+                    return 0;
+            }
+        }
+
+        private void store(int @NotNull [] @NotNull [] planes, int @NotNull [] data, int offset, int stride) {
+            int[] a = planes[ALPHA];
+            if (planes.length == 1) {
+                for (int i = 0; i < length; i++) {
+                    data[offset + i * stride] = a[i] << 24;
+                }
+            } else {
+                int[] r = planes[1];
+                int[] g = planes[2];
+                int[] b = planes[3];
+                for (int i = 0; i < length; i++) {
+                    data[offset + i * stride] = (a[i] << 24) | (r[i] << 16) | (g[i] << 8) | b[i];
+                }
+            }
+        }
+    }
+
+    /**
+     * Row buffer for {@link LinearRGBChannel}s. Offsets and strides are given in pixels.
+     */
+    private static final class FloatRowBuffer {
+        private final int length;
+        private final int leading;
+        private final float[][] front;
+        private final float[][] back;
+
+        private FloatRowBuffer(int length, @NotNull Axis axis) {
+            this.length = length;
+            this.leading = axis.leading;
+            int extendedLength = length + axis.leading + axis.trailing;
+            front = new float[LinearRGBChannel.COMPONENTS][extendedLength];
+            back = new float[LinearRGBChannel.COMPONENTS][extendedLength];
+        }
+
+        private void load(float @NotNull [] data, int offset, int rowLength, @NotNull EdgeMode edgeMode) {
+            int extendedLength = front[0].length;
+            for (int i = 0; i < extendedLength; i++) {
+                int index = i - leading;
+                if (index < 0 || index >= rowLength) {
+                    switch (edgeMode) {
+                        case Duplicate:
+                            index = Math.max(0, Math.min(rowLength - 1, index));
+                            break;
+                        case Wrap:
+                            index = Math.floorMod(index, rowLength);
+                            break;
+                        default:
+                            for (int c = 0; c < LinearRGBChannel.COMPONENTS; c++) {
+                                front[c][i] = 0;
+                            }
+                            continue;
+                    }
+                }
+                int p = (offset + index) * LinearRGBChannel.COMPONENTS;
+                for (int c = 0; c < LinearRGBChannel.COMPONENTS; c++) {
+                    front[c][i] = data[p + c];
+                }
+            }
+        }
+
+        private void store(float @NotNull [] @NotNull [] planes, float @NotNull [] data, int offset, int stride) {
+            for (int i = 0; i < length; i++) {
+                int p = (offset + i * stride) * LinearRGBChannel.COMPONENTS;
+                for (int c = 0; c < LinearRGBChannel.COMPONENTS; c++) {
+                    data[p + c] = planes[c][i];
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,338 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2025 Jannis Weis
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and
+ * associated documentation files (the "Software"), to deal in the Software without restriction,
+ * including without limitation the rights to use, copy, modify, merge, publish, distribute,
+ * sublicense, and/or sell copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or
+ * substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT
+ * NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ *
+ */
+package com.github.weisj.jsvg_mc.nodes.filter;
+
+import java.awt.*;
+import java.awt.image.BufferedImage;
+import java.awt.image.ImageFilter;
+import java.awt.image.ImageProducer;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import com.github.weisj.jsvg_mc.renderer.RenderContext;
+import com.github.weisj.jsvg_mc.util.ColorUtil;
+
+/**
+ * A {@link Channel} holding premultiplied linearRGB colors as floats in the order red, green, blue, alpha.
+ * <p>
+ * Dark colors take up only a few of the 256 values of an 8-bit linearRGB component, hence the content is kept as
+ * floats and only quantized when converting back to sRGB. Consumers which don't know about this channel receive
+ * its sRGB representation. As with {@link RasterChannel} a channel is never modified once it has been saved as a
+ * result.
+ */
+public final class LinearRGBChannel implements Channel {
+    static final int R = 0;
+    static final int G = 1;
+    static final int B = 2;
+    static final int A = 3;
+    static final int COMPONENTS = 4;
+
+    private static final float[] SRGB_TO_LINEAR_RGB = new float[256];
+    // Fine enough that converting an 8-bit sRGB value to linearRGB and back always yields the same value.
+    private static final byte[] LINEAR_RGB_TO_SRGB = new byte[(1 << 16) + 1];
+
+    static {
+        for (int i = 0; i < SRGB_TO_LINEAR_RGB.length; i++) {
+            double c = i / 255.0;
+            SRGB_TO_LINEAR_RGB[i] = (float) (c <= 0.04045 ? c / 12.92 : Math.pow((c + 0.055) / 1.055, 2.4));
+        }
+        int last = LINEAR_RGB_TO_SRGB.length - 1;
+        for (int i = 0; i <= last; i++) {
+            double c = i / (double) last;
+            double s = c <= 0.0031308 ? c * 12.92 : 1.055 * Math.pow(c, 1 / 2.4) - 0.055;
+            LINEAR_RGB_TO_SRGB[i] = (byte) Math.round(s * 255);
+        }
+    }
+
+    private final float @NotNull [] data;
+    private final int width;
+    private final int height;
+    private @Nullable RasterChannel sRGB;
+
+    private LinearRGBChannel(float @NotNull [] data, int width, int height, @Nullable RasterChannel sRGB) {
+        this.data = data;
+        this.width = width;
+        this.height = height;
+        this.sRGB = sRGB;
+    }
+
+    static @NotNull LinearRGBChannel create(int width, int height) {
+        return new LinearRGBChannel(new float[COMPONENTS * width * height], width, height, null);
+    }
+
+    /**
+     * Converts the premultiplied sRGB content of the given channel. Converting the result back to sRGB yields the
+     * given channel.
+     *
+     * @param channel the channel to convert.
+     * @param executor the executor used to process the rows.
+     * @return a channel with the content in linearRGB.
+     */
+    static @NotNull LinearRGBChannel fromSRGB(@NotNull RasterChannel channel, @NotNull TiledFilterExecutor executor) {
+        int width = channel.width();
+        int height = channel.height();
+        LinearRGBChannel result = new LinearRGBChannel(new float[COMPONENTS * width * height], width, height, channel);
+        int[] src = channel.data();
+        float[] dst = result.data;
+        executor.forEachBand(height, width, (startY, endY) -> {
+            for (int y = startY; y < endY; y++) {
+                int sp = channel.offset() + y * channel.scanlineStride();
+                int dp = y * width * COMPONENTS;
+                for (int x = 0; x < width; x++, sp++, dp += COMPONENTS) {
+                    int argb = ColorUtil.unpremultiply(src[sp]);
+                    float a = (argb >>> 24) / 255f;
+                    dst[dp + R] = a * SRGB_TO_LINEAR_RGB[(argb >> 16) & 0xFF];
+                    dst[dp + G] = a * SRGB_TO_LINEAR_RGB[(argb >> 8) & 0xFF];
+                    dst[dp + B] = a * SRGB_TO_LINEAR_RGB[argb & 0xFF];
+                    dst[dp + A] = a;
+                }
+            }
+        });
+        return result;
+    }
+
+    /**
+     * Returns the content as premultiplied sRGB. The conversion only happens once.
+     *
+     * @param executor the executor used to process the rows.
+     * @return the converted channel.
+     */
+    @NotNull RasterChannel toSRGB(@NotNull TiledFilterExecutor executor) {
+        RasterChannel result = sRGB;
+        if (result != null) return result;
+        RasterChannel converted = RasterChannel.create(width, height);
+        int[] dst = converted.data();
+        executor.forEachBand(height, width, (startY, endY) -> {
+            for (int y = startY; y < endY; y++) {
+                int sp = y * width * COMPONENTS;
+                int dp = converted.offset() + y * converted.scanlineStride();
+                for (int x = 0; x < width; x++, sp += COMPONENTS, dp++) {
+                    float a = Math.min(1f, data[sp + A]);
+                    int alpha = Math.round(a * 255);
+                    if (alpha <= 0) continue;
+                    dst[dp] = ColorUtil.premultiply((alpha << 24)
+                            | (toSRGBComponent(data[sp + R] / a) << 16)
+                            | (toSRGBComponent(data[sp + G] / a) << 8)
+                            | toSRGBComponent(data[sp + B] / a));
+                }
+            }
+        });
+        sRGB = converted;
+        return converted;
+    }
+
+    private static int toSRGBComponent(float c) {
+        int last = LINEAR_RGB_TO_SRGB.length - 1;
+        int index = Math.round(c * last);
+        return LINEAR_RGB_TO_SRGB[Math.max(0, Math.min(last, index))] & 0xFF;
+    }
+
+    float @NotNull [] data() {
+        return data;
+    }
+
+    public int width() {
+        return width;
+    }
+
+    public int height() {
+        return height;
+    }
+
+    public @NotNull LinearRGBChannel copy() {
+        return new LinearRGBChannel(data.clone(), width, height, null);
+    }
+
+    /**
+     * Copies the channel moving the content by the given integer offset. Pixels which aren't covered by the
+     * original content are transparent.
+     *
+     * @param dx the horizontal offset.
+     * @param dy the vertical offset.
+     * @return the translated channel.
+     */
+    public @NotNull LinearRGBChannel translate(int dx, int dy) {
+        LinearRGBChannel result = create(width, height);
+        int xStart = Math.max(0, dx);
+        int xEnd = Math.min(width, width + dx);
+        int yStart = Math.max(0, dy);
+        int yEnd = Math.min(height, height + dy);
+        int rowWidth = xEnd - xStart;
+        if (rowWidth <= 0) return result;
+        for (int y = yStart; y < yEnd; y++) {
+            System.arraycopy(data, ((y - dy) * width + xStart - dx) * COMPONENTS,
+                    result.data, (y * width + xStart) * COMPONENTS, rowWidth * COMPONENTS);
+        }
+        return result;
+    }
+
+    /**
+     * Applies the filter to every pixel. The filter receives and returns non-premultiplied components, which are
+     * clamped to the range {@code [0, 1]} afterwards.
+     *
+     * @param filter the filter to apply.
+     * @param executor the executor used to process the rows.
+     * @return the filtered channel.
+     */
+    public @NotNull LinearRGBChannel filterColors(@NotNull ColorFilter filter,
+            @NotNull TiledFilterExecutor executor) {
+        LinearRGBChannel result = create(width, height);
+        float[] dst = result.data;
+        executor.forEachBand(height, width, (startY, endY) -> {
+            float[] rgba = new float[COMPONENTS];
+            float[] last = new float[COMPONENTS];
+            float[] lastResult = null;
+            for (int i = startY * width * COMPONENTS, end = endY * width * COMPONENTS; i < end; i += COMPONENTS) {
+                if (lastResult != null && data[i + R] == last[R] && data[i + G] == last[G]
+                        && data[i + B] == last[B] && data[i + A] == last[A]) {
+                    System.arraycopy(lastResult, 0, dst, i, COMPONENTS);
+                    continue;
+                }
+                System.arraycopy(data, i, last, 0, COMPONENTS);
+                float a = data[i + A];
+                float scale = a > 0 ? 1 / a : 0;
+                rgba[R] = data[i + R] * scale;
+                rgba[G] = data[i + G] * scale;
+                rgba[B] = data[i + B] * scale;
+                rgba[A] = a;
+                filter.filter(rgba);
+                float na = clamp(rgba[A]);
+                dst[i + R] = na * clamp(rgba[R]);
+                dst[i + G] = na * clamp(rgba[G]);
+                dst[i + B] = na * clamp(rgba[B]);
+                dst[i + A] = na;
+                if (lastResult == null) lastResult = new float[COMPONENTS];
+                System.arraycopy(dst, i, lastResult, 0, COMPONENTS);
+            }
+        });
+        return result;
+    }
+
+    private static float clamp(float value) {
+        return Math.max(0, Math.min(1, value));
+    }
+
+    /**
+     * Blends {@code src} onto this channel in place. Both channels need to have the same size.
+     *
+     * @param src the source channel.
+     * @param blender the blender.
+     * @param executor the executor used to process the rows.
+     */
+    public void blend(@NotNull LinearRGBChannel src, @NotNull Blender blender,
+            @NotNull TiledFilterExecutor executor) {
+        if (src.width != width || src.height != height) {
+            throw new IllegalArgumentException("Channels have different sizes");
+        }
+        executor.forEachBand(height, width, (startY, endY) ->
+                blender.blend(src.data, data, startY * width * COMPONENTS, (endY - startY) * width));
+    }
+
+    /**
+     * Returns a blender for the Porter-Duff rule of the given composite or {@code null} if the rule isn't supported.
+     *
+     * @param composite the composite.
+     * @return the blender.
+     */
+    public static @Nullable Blender alphaCompositeBlender(@NotNull AlphaComposite composite) {
+        if (composite.getAlpha() != 1) return null;
+        int rule = composite.getRule();
+        switch (rule) {
+            case AlphaComposite.SRC_OVER:
+            case AlphaComposite.SRC_IN:
+            case AlphaComposite.SRC_OUT:
+            case AlphaComposite.SRC_ATOP:
+            case AlphaComposite.XOR:
+                break;
+            default:
+                return null;
+        }
+        boolean srcByDstAlpha = rule == AlphaComposite.SRC_IN || rule == AlphaComposite.SRC_ATOP;
+        boolean srcByDstInverseAlpha = rule == AlphaComposite.SRC_OUT || rule == AlphaComposite.XOR;
+        boolean keepDst = rule != AlphaComposite.SRC_IN && rule != AlphaComposite.SRC_OUT;
+        return (src, dst, offset, length) -> {
+            for (int i = offset, end = offset + length * COMPONENTS; i < end; i += COMPONENTS) {
+                float srcA = src[i + A];
+                float dstA = dst[i + A];
+                float fs = srcByDstAlpha ? dstA : srcByDstInverseAlpha ? 1 - dstA : 1;
+                float fd = keepDst ? 1 - srcA : 0;
+                for (int c = 0; c < COMPONENTS; c++) {
+                    dst[i + c] = fs * src[i + c] + fd * dst[i + c];
+                }
+            }
+        };
+    }
+
+    @Override
+    public @NotNull ImageProducer producer() {
+        return toSRGB(TiledFilterExecutor.serial()).producer();
+    }
+
+    @Override
+    public @NotNull Image toImage(@NotNull RenderContext context) {
+        return toSRGB(TiledFilterExecutor.serial()).image();
+    }
+
+    @Override
+    public @NotNull BufferedImage toBufferedImageNonAliased(@NotNull RenderContext context) {
+        return toSRGB(TiledFilterExecutor.serial()).toBufferedImageNonAliased(context);
+    }
+
+    @Override
+    public @NotNull Channel applyFilter(@NotNull ImageFilter filter) {
+        return toSRGB(TiledFilterExecutor.serial()).applyFilter(filter);
+    }
+
+    @Override
+    public @NotNull PixelProvider pixels(@NotNull RenderContext context) {
+        return toSRGB(TiledFilterExecutor.serial());
+    }
+
+    @Override
+    public @NotNull Channel alphaChannel() {
+        return toSRGB(TiledFilterExecutor.serial()).alphaChannel();
+    }
+
+    /**
+     * Filters the non-premultiplied components of a single pixel.
+     */
+    @FunctionalInterface
+    public interface ColorFilter {
+        /**
+         * Filters the components, given in the order red, green, blue, alpha, in place.
+         */
+        void filter(float @NotNull [] rgba);
+    }
+
+    /**
+     * Blends rows of premultiplied pixels.
+     */
+    @FunctionalInterface
+    public interface Blender {
+        /**
+         * Blends {@code length} pixels of {@code src} onto the pixels of {@code dst}, both starting at the
+         * component index {@code offset}. The result is stored in {@code dst}.
+         */
+        void blend(float @NotNull [] src, float @NotNull [] dst, int offset, int length);
+    }
+}
@@ -0,0 +1,246 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2025 Jannis Weis
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and
+ * associated documentation files (the "Software"), to deal in the Software without restriction,
+ * including without limitation the rights to use, copy, modify, merge, publish, distribute,
+ * sublicense, and/or sell copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or
+ * substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT
+ * NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ *
+ */
+package com.github.weisj.jsvg_mc.nodes.filter;
+
+import java.awt.*;
+import java.awt.image.*;
+
+import org.jetbrains.annotations.NotNull;
+
+import com.github.weisj.jsvg_mc.renderer.GraphicsUtil;
+import com.github.weisj.jsvg_mc.renderer.RenderContext;
+import com.github.weisj.jsvg_mc.util.ColorUtil;
+import com.github.weisj.jsvg_mc.util.ImageUtil;
+
+/**
+ * A {@link Channel} backed by a premultiplied {@code int} raster.
+ * <p>
+ * Built-in primitives read and write the pixel data of this channel directly. The {@link ImageProducer}
+ * protocol is only used if a channel is handed to code which doesn't know about raster channels.
+ * A channel is never modified once it has been saved as a result. Primitives which want to write
+ * in place have to operate on a {@link #copy()} or a freshly {@link #create(int, int) created} channel.
+ */
+public final class RasterChannel implements Channel, PixelProvider {
+
+    private final @NotNull BufferedImage image;
+    private final int @NotNull [] data;
+    private final int offset;
+    private final int scanlineStride;
+    private final int width;
+    private final int height;
+
+    private RasterChannel(@NotNull BufferedImage image) {
+        WritableRaster raster = image.getRaster();
+        this.image = image;
+        this.data = ImageUtil.getINT_RGBA_DataBank(raster);
+        this.offset = ImageUtil.getINT_RGBA_DataOffset(raster);
+        this.scanlineStride = ImageUtil.getINT_RGBA_ScanlineStride(raster);
+        this.width = raster.getWidth();
+        this.height = raster.getHeight();
+    }
+
+    public static @NotNull RasterChannel create(int width, int height) {
+        return new RasterChannel(ImageUtil.createCompatibleTransparentImage(
+                Math.max(1, width), Math.max(1, height), ImageUtil.Premultiplied.Yes));
+    }
+
+    /**
+     * Wraps the given image. If the image isn't stored as premultiplied packed ints it is converted first.
+     *
+     * @param image the image.
+     * @return a channel backed by the image data.
+     */
+    public static @NotNull RasterChannel wrap(@NotNull BufferedImage image) {
+        if (image.getType() == BufferedImage.TYPE_INT_ARGB_PRE) return new RasterChannel(image);
+        return new RasterChannel(ImageUtil.toBufferedImage(image, ImageUtil.Premultiplied.Yes));
+    }
+
+    public static @NotNull RasterChannel of(@NotNull Channel channel, @NotNull RenderContext context) {
+        if (channel instanceof RasterChannel) return (RasterChannel) channel;
+        Image img = channel.toImage(context);
+        if (img instanceof BufferedImage) return wrap((BufferedImage) img);
+        return new RasterChannel(ImageUtil.toBufferedImage(img, ImageUtil.Premultiplied.Yes));
+    }
+
+    /**
+     * Creates a channel with the content of the given channel which can safely be modified.
+     *
+     * @param channel the channel to copy.
+     * @param context the current render context.
+     * @return a writable raster channel.
+     */
+    public static @NotNull RasterChannel writableCopyOf(@NotNull Channel channel, @NotNull RenderContext context) {
+        if (channel instanceof RasterChannel) return ((RasterChannel) channel).copy();
+        return new RasterChannel(ImageUtil.toBufferedImage(channel.toImage(context), ImageUtil.Premultiplied.Yes));
+    }
+
+    public @NotNull RasterChannel copy() {
+        RasterChannel copy = create(width, height);
+        for (int y = 0; y < height; y++) {
+            System.arraycopy(data, offset + y * scanlineStride,
+                    copy.data, copy.offset + y * copy.scanlineStride, width);
+        }
+        return copy;
+    }
+
+    public @NotNull BufferedImage image() {
+        return image;
+    }
+
+    public int width() {
+        return width;
+    }
+
+    public int height() {
+        return height;
+    }
+
+    public int @NotNull [] data() {
+        return data;
+    }
+
+    public int offset() {
+        return offset;
+    }
+
+    public int scanlineStride() {
+        return scanlineStride;
+    }
+
+    public @NotNull Graphics2D createGraphics() {
+        return GraphicsUtil.createGraphics(image);
+    }
+
+    @Override
+    public @NotNull ImageProducer producer() {
+        return image.getSource();
+    }
+
+    @Override
+    public @NotNull Image toImage(@NotNull RenderContext context) {
+        return image;
+    }
+
+    @Override
+    public @NotNull BufferedImage toBufferedImageNonAliased(@NotNull RenderContext context) {
+        return copy().image;
+    }
+
+    @Override
+    public @NotNull Channel applyFilter(@NotNull ImageFilter filter) {
+        if (filter instanceof RGBImageFilter) {
+            return filterRGB((RGBImageFilter) filter);
+        }
+        return new ImageProducerChannel(new FilteredImageSource(producer(), filter));
+    }
+
+    public @NotNull RasterChannel filterRGB(@NotNull RGBImageFilter filter) {
+        return filterRGB(filter, TiledFilterExecutor.serial());
+    }
+
+    /**
+     * Applies the filter to every pixel. As with the {@link ImageProducer} based pipeline the filter
+     * receives and returns non-premultiplied sRGB values. If the executor runs in parallel each band uses its
+     * own {@link RGBImageFilter#clone() copy} of the filter.
+     *
+     * @param filter the filter to apply.
+     * @param executor the executor used to process the rows.
+     * @return the filtered channel.
+     */
+    public @NotNull RasterChannel filterRGB(@NotNull RGBImageFilter filter, @NotNull TiledFilterExecutor executor) {
+        RasterChannel result = create(width, height);
+        boolean parallel = executor.isParallel();
+        executor.forEachBand(height, width, (startY, endY) -> {
+            RGBImageFilter f = parallel ? (RGBImageFilter) filter.clone() : filter;
+            filterRGBRows(f, result, startY, endY);
+        });
+        return result;
+    }
+
+    private void filterRGBRows(@NotNull RGBImageFilter filter, @NotNull RasterChannel result, int startY, int endY) {
+        int[] dst = result.data;
+        for (int y = startY; y < endY; y++) {
+            int sp = offset + y * scanlineStride;
+            int dp = result.offset + y * result.scanlineStride;
+            int lastIn = 0;
+            int lastOut = ColorUtil.premultiply(filter.filterRGB(0, y, 0));
+            for (int x = 0; x < width; x++, sp++, dp++) {
+                int argbPre = data[sp];
+                if (argbPre != lastIn) {
+                    lastIn = argbPre;
+                    lastOut = ColorUtil.premultiply(filter.filterRGB(x, y, ColorUtil.unpremultiply(argbPre)));
+                }
+                dst[dp] = lastOut;
+            }
+        }
+    }
+
+    /**
+     * Copies the channel moving the content by the given integer offset. Pixels which aren't covered by the
+     * original content are transparent.
+     *
+     * @param dx the horizontal offset.
+     * @param dy the vertical offset.
+     * @return the translated channel.
+     */
+    public @NotNull RasterChannel translate(int dx, int dy) {
+        RasterChannel result = create(width, height);
+        int xStart = Math.max(0, dx);
+        int xEnd = Math.min(width, width + dx);
+        int yStart = Math.max(0, dy);
+        int yEnd = Math.min(height, height + dy);
+        int rowWidth = xEnd - xStart;
+        if (rowWidth <= 0) return result;
+        for (int y = yStart; y < yEnd; y++) {
+            System.arraycopy(data, offset + (y - dy) * scanlineStride + (xStart - dx),
+                    result.data, result.offset + y * result.scanlineStride + xStart, rowWidth);
+        }
+        return result;
+    }
+
+    @Override
+    public @NotNull Channel alphaChannel() {
+        RasterChannel result = create(width, height);
+        int[] dst = result.data;
+        for (int y = 0; y < height; y++) {
+            int sp = offset + y * scanlineStride;
+            int dp = result.offset + y * result.scanlineStride;
+            for (int end = dp + width; dp < end; sp++, dp++) {
+                dst[dp] = data[sp] & 0xFF000000;
+            }
+        }
+        return result;
+    }
+
+    @Override
+    public @NotNull PixelProvider pixels(@NotNull RenderContext context) {
+        return this;
+    }
+
+    @Override
+    public int pixelAt(double x, double y) {
+        int px = (int) x;
+        int py = (int) y;
+        if (px < 0 || py < 0 || px >= width || py >= height) return 0;
+        return ColorUtil.unpremultiply(data[offset + py * scanlineStride + px]);
+    }
+}
@@ -0,0 +1,168 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2025 Jannis Weis
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and
+ * associated documentation files (the "Software"), to deal in the Software without restriction,
+ * including without limitation the rights to use, copy, modify, merge, publish, distribute,
+ * sublicense, and/or sell copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or
+ * substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT
+ * NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ *
+ */
+package com.github.weisj.jsvg_mc.nodes.filter;
+
+import java.awt.*;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.TimeUnit;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import com.github.weisj.jsvg_mc.SVGRenderingHints;
+
+/**
+ * Executes the per-pixel work of filter primitives in bands.
+ * <p>
+ * Work is split along one axis of the filter region. Separable kernels are split orthogonal to the
+ * axis they operate on, hence a band never needs to read pixels of a neighbouring band.
+ * If parallel execution isn't enabled via {@link SVGRenderingHints#KEY_FILTER_EXECUTION} all bands
+ * are processed on the calling thread.
+ */
+public final class TiledFilterExecutor {
+    private static final TiledFilterExecutor SERIAL = new TiledFilterExecutor(null, 1);
+    private static final int MAX_CUSTOM_POOLS = 4;
+    private static final long POOL_KEEP_ALIVE_SECONDS = 30;
+    // Pools for explicitly requested parallelism. Their threads terminate when idle, hence pools which are evicted
+    // or no longer used don't keep any threads alive.
+    private static final Map<Integer, ForkJoinPool> POOLS =
+            new LinkedHashMap<Integer, ForkJoinPool>(MAX_CUSTOM_POOLS, 0.75f, true) {
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<Integer, ForkJoinPool> eldest) {
+                    return size() > MAX_CUSTOM_POOLS;
+                }
+            };
+
+    // Smaller tiles aren't worth the scheduling overhead.
+    private static final int MIN_TILE_PIXELS = 128 * 128;
+    private static final int MIN_BAND_SIZE = 8;
+    private static final int BANDS_PER_THREAD = 4;
+
+    @FunctionalInterface
+    public interface BandTask {
+        /**
+         * Process the band [start, end).
+         */
+        void apply(int start, int end);
+    }
+
+    private final @Nullable ForkJoinPool pool;
+    private final int parallelism;
+
+    private TiledFilterExecutor(@Nullable ForkJoinPool pool, int parallelism) {
+        this.pool = pool;
+        this.parallelism = parallelism;
+    }
+
+    public static @NotNull TiledFilterExecutor serial() {
+        return SERIAL;
+    }
+
+    public static @NotNull TiledFilterExecutor fromRenderingHints(@Nullable RenderingHints hints) {
+        if (hints == null) return SERIAL;
+        if (hints.get(SVGRenderingHints.KEY_FILTER_EXECUTION) != SVGRenderingHints.VALUE_FILTER_EXECUTION_PARALLEL) {
+            return SERIAL;
+        }
+        Object parallelismHint = hints.get(SVGRenderingHints.KEY_FILTER_PARALLELISM);
+        ForkJoinPool pool = ForkJoinPool.commonPool();
+        if (parallelismHint instanceof Integer && (Integer) parallelismHint > 0) {
+            int parallelism = (Integer) parallelismHint;
+            if (parallelism == 1) return SERIAL;
+            if (parallelism != pool.getParallelism()) pool = customPool(parallelism);
+        }
+        if (pool.getParallelism() <= 1) return SERIAL;
+        return new TiledFilterExecutor(pool, pool.getParallelism());
+    }
+
+    private static @NotNull ForkJoinPool customPool(int parallelism) {
+        synchronized (POOLS) {
+            return POOLS.computeIfAbsent(parallelism, p -> new ForkJoinPool(p,
+                    ForkJoinPool.defaultForkJoinWorkerThreadFactory, null, false,
+                    0, p, 1, null, POOL_KEEP_ALIVE_SECONDS, TimeUnit.SECONDS));
+        }
+    }
+
+    public boolean isParallel() {
+        return pool != null;
+    }
+
+    public int parallelism() {
+        return parallelism;
+    }
+
+    /**
+     * Splits the range [0, length) into bands and runs the task for each of them.
+     *
+     * @param length the extent of the axis which is split.
+     * @param breadth the extent of the other axis. Used to estimate the amount of work per band.
+     * @param task the task to execute.
+     */
+    public void forEachBand(int length, int breadth, @NotNull BandTask task) {
+        if (length <= 0) return;
+        int bandCount = bandCount(length, breadth);
+        if (pool == null || bandCount <= 1) {
+            task.apply(0, length);
+            return;
+        }
+        int bandSize = (length + bandCount - 1) / bandCount;
+        pool.invoke(new BandAction(task, 0, length, bandSize));
+    }
+
+    private int bandCount(int length, int breadth) {
+        if (pool == null) return 1;
+        long pixels = (long) length * Math.max(1, breadth);
+        long bands = Math.min(pixels / MIN_TILE_PIXELS, (long) parallelism * BANDS_PER_THREAD);
+        bands = Math.min(bands, length / MIN_BAND_SIZE);
+        return (int) Math.max(1, bands);
+    }
+
+    private static final class BandAction extends RecursiveAction {
+        private static final long serialVersionUID = 1L;
+
+        private final transient @NotNull BandTask task;
+        private final int start;
+        private final int end;
+        private final int bandSize;
+
+        private BandAction(@NotNull BandTask task, int start, int end, int bandSize) {
+            this.task = task;
+            this.start = start;
+            this.end = end;
+            this.bandSize = bandSize;
+        }
+
+        @Override
+        protected void compute() {
+            int size = end - start;
+            if (size <= bandSize) {
+                task.apply(start, end);
+                return;
+            }
+            int mid = start + (size / bandSize / 2) * bandSize;
+            if (mid == start) mid += bandSize;
+            invokeAll(new BandAction(task, start, mid, bandSize), new BandAction(task, mid, end, bandSize));
+        }
+    }
+}
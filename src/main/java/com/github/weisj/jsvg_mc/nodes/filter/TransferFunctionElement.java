@@ -56,6 +56,12 @@ public abstract class TransferFunctionElement extends AbstractSVGNode {
 
     private TransferFunctionType type;
     private byte[] lookupTable;
+    private float[] tableValues;
+    private float slope;
+    private float intercept;
+    private float amplitude;
+    private float exponent;
+    private float offset;
 
     private TransferFunctionElement(Channel channel) {
 
@@ -79,7 +85,13 @@ public abstract class TransferFunctionElement extends AbstractSVGNode {
     public void build(@NotNull AttributeNode attributeNode) {
         super.build(attributeNode);
         type = attributeNode.getEnum("type", TransferFunctionType.Identity);
-        byte[] table = createLookupTable(type, attributeNode);
+        tableValues = attributeNode.getFloatList("tableValues");
+        slope = attributeNode.getFloat("slope", 1);
+        intercept = attributeNode.getFloat("intercept", 0);
+        amplitude = attributeNode.getFloat("amplitude", 1);
+        exponent = attributeNode.getFloat("exponent", 1);
+        offset = attributeNode.getFloat("offset", 0);
+        byte[] table = createLookupTable();
 
         if (table == null) {
             type = TransferFunctionType.Identity;
@@ -89,27 +101,46 @@ public abstract class TransferFunctionElement extends AbstractSVGNode {
         }
     }
 
-    private static byte @Nullable [] createLookupTable(TransferFunctionType type,
-            @NotNull AttributeNode attributeNode) {
+    /**
+     * Evaluates the transfer function for a component in the range {@code [0, 1]}. Unlike the
+     * {@link #lookupTable()} the result isn't quantized.
+     *
+     * @param c the component value.
+     * @return the transferred value. It isn't clamped to the range {@code [0, 1]}.
+     */
+    public float transfer(float c) {
+        int n = tableValues.length;
         switch (type) {
             case Table:
+                if (n == 1) return tableValues[0];
+                float position = c * (n - 1);
+                int k = Math.max(0, Math.min(n - 2, (int) position));
+                return tableValues[k] + (position - k) * (tableValues[k + 1] - tableValues[k]);
             case Discrete:
-                float[] table = attributeNode.getFloatList("tableValues");
-                if (table.length == 0) return null;
-                int[] intTable = new int[table.length];
-                for (int i = 0; i < table.length; i++) {
-                    intTable[i] = (int) (255f * table[i]);
+                return tableValues[Math.max(0, Math.min(n - 1, (int) (c * n)))];
+            case Linear:
+                return slope * c + intercept;
+            case Gamma:
+                return (float) (amplitude * Math.pow(c, exponent) + offset);
+            default:
+                return c;
+        }
+    }
+
+    private byte @Nullable [] createLookupTable() {
+        switch (type) {
+            case Table:
+            case Discrete:
+                if (tableValues.length == 0) return null;
+                int[] intTable = new int[tableValues.length];
+                for (int i = 0; i < tableValues.length; i++) {
+                    intTable[i] = (int) (255f * tableValues[i]);
                 }
                 return createTableBasedLookupTable(type, intTable);
             case Linear:
-                float slope = attributeNode.getFloat("slope", 1);
-                float intercept = attributeNode.getFloat("intercept", 0);
                 if (slope == 1 && intercept == 0) return null;
                 return createLinearLookupTable(intercept, slope);
             case Gamma:
-                float amplitude = attributeNode.getFloat("amplitude", 1);
-                float exponent = attributeNode.getFloat("exponent", 1);
-                float offset = attributeNode.getFloat("offset", 0);
                 if (amplitude == 1 && exponent == 1 && offset == 0) return null;
                 return createGammaLookupTable(amplitude, exponent, offset);
             case Identity:
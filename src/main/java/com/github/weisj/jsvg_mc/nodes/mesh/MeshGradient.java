@@ -24,6 +24,8 @@ package com.github.weisj.jsvg_mc.nodes.mesh;
 import java.awt.*;
 import java.awt.geom.Point2D;
 import java.awt.geom.Rectangle2D;
+import java.util.ArrayList;
+import java.util.List;
 
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
@@ -82,10 +84,15 @@ public final class MeshGradient extends ContainerNode implements SVGPaint {
         // meshGraphics.translate(x.resolve(measure), y.resolve(measure));
 
         meshOutput.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_OFF);
+        List<MeshPatch> patches = new ArrayList<>();
         for (SVGNode child : children()) {
             MeshRow row = (MeshRow) child;
             for (SVGNode node : row.children()) {
-                MeshPatch patch = (MeshPatch) node;
+                patches.add((MeshPatch) node);
+            }
+        }
+        if (!meshOutput.supportsColors() || !MeshRasterizer.render(patches, meshOutput)) {
+            for (MeshPatch patch : patches) {
                 patch.renderPath(meshOutput);
             }
         }
@@ -0,0 +1,297 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2025 Jannis Weis
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and
+ * associated documentation files (the "Software"), to deal in the Software without restriction,
+ * including without limitation the rights to use, copy, modify, merge, publish, distribute,
+ * sublicense, and/or sell copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or
+ * substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT
+ * NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ *
+ */
+package com.github.weisj.jsvg_mc.nodes.mesh;
+
+import java.awt.*;
+import java.awt.geom.AffineTransform;
+import java.awt.geom.Point2D;
+import java.awt.geom.Rectangle2D;
+import java.awt.image.BufferedImage;
+import java.awt.image.DataBufferInt;
+import java.util.List;
+
+import org.jetbrains.annotations.NotNull;
+
+import com.github.weisj.jsvg_mc.geometry.mesh.Bezier;
+import com.github.weisj.jsvg_mc.geometry.mesh.CoonPatch;
+import com.github.weisj.jsvg_mc.renderer.Output;
+
+/**
+ * Rasterizes the patches of a mesh gradient into a single image in device space, which is then painted at once.
+ * <p>
+ * Each patch is tessellated into a grid of cells which are small in device space. The colors are evaluated at the
+ * grid points and interpolated linearly across the two triangles of each cell while scan converting them.
+ */
+final class MeshRasterizer {
+    private static final float CELL_SIZE = 4;
+    private static final int MAX_GRID_SIZE = 128;
+    private static final long MAX_RASTER_PIXELS = 4096L * 4096L;
+
+    private MeshRasterizer() {}
+
+    /**
+     * Renders the given patches.
+     *
+     * @param patches the patches in painting order.
+     * @param output the output to paint on.
+     * @return false if the mesh is too large to be rasterized. Nothing has been painted in this case.
+     */
+    static boolean render(@NotNull List<@NotNull MeshPatch> patches, @NotNull Output output) {
+        AffineTransform at = output.transform();
+        Grid[] grids = new Grid[patches.size()];
+        Rectangle2D bounds = null;
+        for (int i = 0; i < grids.length; i++) {
+            Grid grid = new Grid(patches.get(i), at);
+            grids[i] = grid;
+            if (bounds == null) {
+                bounds = grid.bounds();
+            } else {
+                bounds.add(grid.bounds());
+            }
+        }
+        if (bounds == null) return true;
+
+        Rectangle2D clip = output.clipBounds();
+        if (clip != null) {
+            Rectangle2D deviceClip = at.createTransformedShape(clip).getBounds2D();
+            if (Double.isFinite(deviceClip.getWidth()) && Double.isFinite(deviceClip.getHeight())) {
+                Rectangle2D.intersect(bounds, deviceClip, bounds);
+            }
+        }
+
+        int x0 = (int) Math.floor(bounds.getMinX());
+        int y0 = (int) Math.floor(bounds.getMinY());
+        int x1 = (int) Math.ceil(bounds.getMaxX());
+        int y1 = (int) Math.ceil(bounds.getMaxY());
+        if (x1 <= x0 || y1 <= y0) return true;
+        if ((long) (x1 - x0) * (y1 - y0) > MAX_RASTER_PIXELS) return false;
+
+        BufferedImage image = new BufferedImage(x1 - x0, y1 - y0, BufferedImage.TYPE_INT_ARGB_PRE);
+        int[] pixels = ((DataBufferInt) image.getRaster().getDataBuffer()).getData();
+        Target target = new Target(pixels, x0, y0, x1 - x0, y1 - y0);
+        for (Grid grid : grids) {
+            grid.rasterize(target);
+        }
+
+        Output.SafeState safeState = output.safeState();
+        output.setTransform(new AffineTransform());
+        output.translate(x0, y0);
+        output.drawImage(image);
+        safeState.restore();
+        return true;
+    }
+
+    private static final class Target {
+        private final int @NotNull [] pixels;
+        private final int x;
+        private final int y;
+        private final int width;
+        private final int height;
+
+        private Target(int @NotNull [] pixels, int x, int y, int width, int height) {
+            this.pixels = pixels;
+            this.x = x;
+            this.y = y;
+            this.width = width;
+            this.height = height;
+        }
+    }
+
+    private static final class Grid {
+        private final int size;
+        // Device space positions and non-premultiplied rgba colors of the grid points. Row major ordered with v as row.
+        private final float @NotNull [] xs;
+        private final float @NotNull [] ys;
+        private final float @NotNull [] colors;
+
+        private Grid(@NotNull MeshPatch patch, @NotNull AffineTransform at) {
+            CoonPatch coonPatch = patch.coonPatch;
+            float length = Math.max(
+                    Math.max(deviceLength(coonPatch.north, at), deviceLength(coonPatch.east, at)),
+                    Math.max(deviceLength(coonPatch.south, at), deviceLength(coonPatch.west, at)));
+            size = Math.max(1, Math.min(MAX_GRID_SIZE, (int) Math.ceil(length / CELL_SIZE)));
+
+            int count = (size + 1) * (size + 1);
+            xs = new float[count];
+            ys = new float[count];
+            colors = new float[4 * count];
+            float[] nw = patch.north.getComponents(null);
+            float[] ne = patch.east.getComponents(null);
+            float[] se = patch.south.getComponents(null);
+            float[] sw = patch.west.getComponents(null);
+
+            float[] point = new float[2];
+            Point2D.Float p = new Point2D.Float();
+            for (int j = 0, i = 0; j <= size; j++) {
+                float v = j / (float) size;
+                for (int k = 0; k <= size; k++, i++) {
+                    float u = k / (float) size;
+                    coonPatch.evaluate(u, v, p);
+                    point[0] = p.x;
+                    point[1] = p.y;
+                    at.transform(point, 0, point, 0, 1);
+                    xs[i] = point[0];
+                    ys[i] = point[1];
+                    for (int c = 0; c < 4; c++) {
+                        float top = nw[c] + u * (ne[c] - nw[c]);
+                        float bottom = sw[c] + u * (se[c] - sw[c]);
+                        colors[4 * i + c] = 255 * (top + v * (bottom - top));
+                    }
+                }
+            }
+        }
+
+        private static float deviceLength(@NotNull Bezier bezier, @NotNull AffineTransform at) {
+            float[] pts = {bezier.a.x, bezier.a.y, bezier.b.x, bezier.b.y,
+                    bezier.c.x, bezier.c.y, bezier.d.x, bezier.d.y};
+            at.transform(pts, 0, pts, 0, 4);
+            float length = 0;
+            for (int i = 2; i < pts.length; i += 2) {
+                length += (float) Math.hypot(pts[i] - pts[i - 2], pts[i + 1] - pts[i - 1]);
+            }
+            return length;
+        }
+
+        private @NotNull Rectangle2D bounds() {
+            float minX = Float.POSITIVE_INFINITY;
+            float minY = Float.POSITIVE_INFINITY;
+            float maxX = Float.NEGATIVE_INFINITY;
+            float maxY = Float.NEGATIVE_INFINITY;
+            for (int i = 0; i < xs.length; i++) {
+                minX = Math.min(minX, xs[i]);
+                minY = Math.min(minY, ys[i]);
+                maxX = Math.max(maxX, xs[i]);
+                maxY = Math.max(maxY, ys[i]);
+            }
+            return new Rectangle2D.Float(minX, minY, maxX - minX, maxY - minY);
+        }
+
+        private void rasterize(@NotNull Target target) {
+            int stride = size + 1;
+            for (int j = 0; j < size; j++) {
+                for (int k = 0; k < size; k++) {
+                    int i00 = j * stride + k;
+                    int i10 = i00 + 1;
+                    int i01 = i00 + stride;
+                    int i11 = i01 + 1;
+                    fillTriangle(target, i00, i10, i11);
+                    fillTriangle(target, i00, i11, i01);
+                }
+            }
+        }
+
+        private void fillTriangle(@NotNull Target target, int i0, int i1, int i2) {
+            // Sort the vertices by y. Shared edges are then evaluated identically for both adjacent triangles,
+            // which guarantees that there are neither gaps nor overlaps between them.
+            if (ys[i1] < ys[i0]) {
+                int t = i0;
+                i0 = i1;
+                i1 = t;
+            }
+            if (ys[i2] < ys[i1]) {
+                int t = i1;
+                i1 = i2;
+                i2 = t;
+                if (ys[i1] < ys[i0]) {
+                    t = i0;
+                    i0 = i1;
+                    i1 = t;
+                }
+            }
+            float ax = xs[i0] - target.x;
+            float ay = ys[i0] - target.y;
+            float bx = xs[i1] - target.x;
+            float by = ys[i1] - target.y;
+            float cx = xs[i2] - target.x;
+            float cy = ys[i2] - target.y;
+
+            float det = (bx - ax) * (cy - ay) - (cx - ax) * (by - ay);
+            if (Math.abs(det) < 1e-6f) return;
+
+            int yStart = Math.max(0, (int) Math.ceil(ay - 0.5f));
+            int yEnd = Math.min(target.height, (int) Math.ceil(cy - 0.5f));
+            if (yStart >= yEnd) return;
+
+            // Plane equations of the color channels: value = base + dx * (x - ax) + dy * (y - ay).
+            float[] dx = new float[4];
+            float[] dy = new float[4];
+            float[] base = new float[4];
+            for (int c = 0; c < 4; c++) {
+                float f0 = colors[4 * i0 + c];
+                float f1 = colors[4 * i1 + c] - f0;
+                float f2 = colors[4 * i2 + c] - f0;
+                dx[c] = (f1 * (cy - ay) - f2 * (by - ay)) / det;
+                dy[c] = ((bx - ax) * f2 - (cx - ax) * f1) / det;
+                base[c] = f0;
+            }
+
+            int[] pixels = target.pixels;
+            for (int y = yStart; y < yEnd; y++) {
+                float py = y + 0.5f;
+                float longX = edgeX(ax, ay, cx, cy, py);
+                float shortX = py < by ? edgeX(ax, ay, bx, by, py) : edgeX(bx, by, cx, cy, py);
+                int xStart = Math.max(0, (int) Math.ceil(Math.min(longX, shortX) - 0.5f));
+                int xEnd = Math.min(target.width, (int) Math.ceil(Math.max(longX, shortX) - 0.5f));
+                if (xStart >= xEnd) continue;
+
+                float px = xStart + 0.5f;
+                float r = base[0] + dx[0] * (px - ax) + dy[0] * (py - ay);
+                float g = base[1] + dx[1] * (px - ax) + dy[1] * (py - ay);
+                float b = base[2] + dx[2] * (px - ax) + dy[2] * (py - ay);
+                float a = base[3] + dx[3] * (px - ax) + dy[3] * (py - ay);
+                int offset = y * target.width;
+                for (int x = xStart; x < xEnd; x++) {
+                    int index = offset + x;
+                    pixels[index] = blend(pixels[index], r, g, b, a);
+                    r += dx[0];
+                    g += dx[1];
+                    b += dx[2];
+                    a += dx[3];
+                }
+            }
+        }
+
+        private static float edgeX(float x0, float y0, float x1, float y1, float y) {
+            return x0 + (y - y0) * (x1 - x0) / (y1 - y0);
+        }
+
+        private static int blend(int dst, float r, float g, float b, float a) {
+            int sa = clamp(a);
+            if (sa == 0) return dst;
+            float alpha = sa / 255f;
+            int sr = clamp(r * alpha);
+            int sg = clamp(g * alpha);
+            int sb = clamp(b * alpha);
+            if (sa == 255 || dst == 0) return (sa << 24) | (sr << 16) | (sg << 8) | sb;
+            int inv = 255 - sa;
+            int da = (dst >>> 24) * inv / 255;
+            int dr = ((dst >> 16) & 0xFF) * inv / 255;
+            int dg = ((dst >> 8) & 0xFF) * inv / 255;
+            int db = (dst & 0xFF) * inv / 255;
+            return ((sa + da) << 24) | ((sr + dr) << 16) | ((sg + dg) << 8) | (sb + db);
+        }
+
+        private static int clamp(float v) {
+            return Math.max(0, Math.min(255, (int) (v + 0.5f)));
+        }
+    }
+}
@@ -54,7 +54,9 @@ public interface ShapedContainer<E> extends Container<E>, HasShape {
             Rectangle2D childBounds = ((HasShape) child).elementBounds(childContext, box);
             if (!GeometryUtil.isValidRect(childBounds) || childBounds.isEmpty()) continue;
             if (bounds == null) {
-                bounds = childBounds;
+                // Child bounds may be cached by the child. Don't modify them in place.
+                bounds = new Rectangle2D.Double();
+                bounds.setRect(childBounds);
             } else {
                 Rectangle2D.union(bounds, childBounds, bounds);
             }
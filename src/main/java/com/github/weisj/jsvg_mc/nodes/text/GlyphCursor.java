@@ -23,6 +23,8 @@ package com.github.weisj.jsvg_mc.nodes.text;
 
 import java.awt.geom.AffineTransform;
 import java.awt.geom.Point2D;
+import java.util.IdentityHashMap;
+import java.util.Map;
 
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
@@ -33,6 +35,9 @@ import com.github.weisj.jsvg_mc.geometry.size.MeasureContext;
 class GlyphCursor {
 
     public final @NotNull AbstractGlyphRun.Metrics completeGlyphRunMetrics;
+    // Shared between all cursors of a text element. Keeps the layout of the current render off the segments,
+    // which may be rendered concurrently.
+    final @NotNull Map<StringTextSegment, GlyphRenderer.PreparedGlyphRun> preparedGlyphRuns;
     protected @NotNull GlyphAdvancement advancement = GlyphAdvancement.defaultAdvancement();
 
     protected float x;
@@ -56,20 +61,22 @@ class GlyphCursor {
     protected int rotOff;
 
     GlyphCursor(float x, float y, @NotNull AffineTransform transform) {
-        this(x, y, transform, AbstractGlyphRun.Metrics.createDefault());
+        this(x, y, transform, AbstractGlyphRun.Metrics.createDefault(), new IdentityHashMap<>());
     }
 
     private GlyphCursor(float x, float y, @NotNull AffineTransform transform,
-            @NotNull AbstractGlyphRun.Metrics metrics) {
+            @NotNull AbstractGlyphRun.Metrics metrics,
+            @NotNull Map<StringTextSegment, GlyphRenderer.PreparedGlyphRun> preparedGlyphRuns) {
         this.x = x;
         this.y = y;
         this.transform = transform;
         this.completeGlyphRunMetrics = metrics;
+        this.preparedGlyphRuns = preparedGlyphRuns;
         this.glyphOffset = 0;
     }
 
     GlyphCursor(@NotNull GlyphCursor c) {
-        this(c.x, c.y, c.transform, c.completeGlyphRunMetrics);
+        this(c.x, c.y, c.transform, c.completeGlyphRunMetrics, c.preparedGlyphRuns);
         this.advancement = c.advancement;
         this.glyphOffset = 0;
         this.xLocations = c.xLocations;
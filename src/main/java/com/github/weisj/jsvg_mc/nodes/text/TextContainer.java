@@ -262,7 +262,7 @@ abstract class TextContainer extends BaseContainerNode<TextSegment>
         forEachSegment(context,
                 (segment, ctx) -> {
                     if (!isVisible(ctx)) return;
-                    GlyphRenderer.renderGlyphRun(output, context.paintOrder(), vectorEffects(), segment);
+                    GlyphRenderer.renderGlyphRun(output, context.paintOrder(), vectorEffects(), segment, cursor);
                 },
                 (segment, ctx) -> segment.renderSegmentWithoutLayout(cursor, ctx, output));
     }
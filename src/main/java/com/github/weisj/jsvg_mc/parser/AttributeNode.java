@@ -150,7 +150,13 @@ public final class AttributeNode {
 
     private <T> @Nullable T getElementByUrl(@NotNull Class<T> type, @Nullable String value) {
         if (value == null) return null;
-        return loadHelper.elementLoader().loadElement(type, value, document(), loadHelper.attributeParser());
+        T result = loadHelper.elementLoader().loadElement(type, value, document(), loadHelper.attributeParser());
+        if (result != null && type != ParsedElement.class) {
+            ParsedElement referencedElement = loadHelper.elementLoader().loadElement(
+                    ParsedElement.class, value, document(), loadHelper.attributeParser());
+            if (referencedElement != null) element().addReference(referencedElement);
+        }
+        return result;
     }
 
     private <T> T recordIndirectChild(T child, String value, ElementRelation relation) {
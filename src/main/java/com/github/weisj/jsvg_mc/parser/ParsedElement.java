@@ -29,14 +29,29 @@ import java.util.Map;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
+import com.github.weisj.jsvg_mc.nodes.Image;
+import com.github.weisj.jsvg_mc.nodes.Marker;
 import com.github.weisj.jsvg_mc.nodes.SVGNode;
+import com.github.weisj.jsvg_mc.nodes.Use;
 import com.github.weisj.jsvg_mc.nodes.animation.BaseAnimationNode;
+import com.github.weisj.jsvg_mc.nodes.filter.Filter;
 import com.github.weisj.jsvg_mc.nodes.prototype.Container;
 import com.github.weisj.jsvg_mc.nodes.prototype.spec.Category;
 import com.github.weisj.jsvg_mc.nodes.prototype.spec.PermittedContent;
 
 public final class ParsedElement {
 
+    /**
+     * The element or any element it depends on is animated.
+     */
+    static final int CONTENT_ANIMATED = 1;
+    /**
+     * The element or any element it depends on may paint outside the stroke box of the element.
+     */
+    static final int CONTENT_EXCEEDS_GEOMETRY = 2;
+    private static final int CONTENT_FLAGS_UNKNOWN = -1;
+    private static final int CONTENT_FLAGS_IN_PROGRESS = -2;
+
     private enum BuildStatus {
         NOT_BUILT,
         IN_PROGRESS,
@@ -51,10 +66,12 @@ public final class ParsedElement {
 
     private final @NotNull List<@NotNull ParsedElement> children = new ArrayList<>();
     private final @NotNull List<@NotNull ParsedElement> indirectChildren = new ArrayList<>();
+    private final @NotNull List<@NotNull ParsedElement> references = new ArrayList<>();
     private final @NotNull Map<String, @NotNull List<@NotNull ParsedElement>> animationElements = new HashMap<>();
     final CharacterDataParser characterDataParser;
     private @NotNull BuildStatus buildStatus = BuildStatus.NOT_BUILT;
     private int outgoingPaths = -1;
+    private int contentFlags = CONTENT_FLAGS_UNKNOWN;
 
     ParsedElement(@Nullable String id, @NotNull ParsedDocument document,
             @Nullable ParsedElement parent, @NotNull AttributeNode element,
@@ -131,6 +148,47 @@ public final class ParsedElement {
         indirectChildren.add(parsedElement);
     }
 
+    void addReference(@NotNull ParsedElement parsedElement) {
+        references.add(parsedElement);
+    }
+
+    /*
+     * Whether the attributes of this element may change over time, either by being animated directly or by
+     * referencing animated elements e.g. paint servers.
+     */
+    boolean hasAnimatedAttributes() {
+        if (!animationElements.isEmpty()) return true;
+        for (ParsedElement reference : references) {
+            if ((reference.contentFlags() & CONTENT_ANIMATED) != 0) return true;
+        }
+        return false;
+    }
+
+    /*
+     * Returns the content flags of this element, which are inherited from its children and all referenced elements.
+     * Only valid after the element has been built.
+     */
+    int contentFlags() {
+        // Cyclic references are rejected while building. Guard against them nonetheless.
+        if (contentFlags == CONTENT_FLAGS_IN_PROGRESS) return 0;
+        if (contentFlags == CONTENT_FLAGS_UNKNOWN) {
+            contentFlags = CONTENT_FLAGS_IN_PROGRESS;
+            int flags = 0;
+            if (!animationElements.isEmpty()) flags |= CONTENT_ANIMATED;
+            if (node instanceof Use || node instanceof Image || node instanceof Marker || node instanceof Filter) {
+                flags |= CONTENT_EXCEEDS_GEOMETRY;
+            }
+            for (ParsedElement child : children) {
+                flags |= child.contentFlags();
+            }
+            for (ParsedElement reference : references) {
+                flags |= reference.contentFlags();
+            }
+            contentFlags = flags;
+        }
+        return contentFlags;
+    }
+
     void build(int depth) {
         if (buildStatus == BuildStatus.FINISHED) return;
         if (buildStatus == BuildStatus.IN_PROGRESS) {
@@ -0,0 +1,281 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2025 Jannis Weis
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and
+ * associated documentation files (the "Software"), to deal in the Software without restriction,
+ * including without limitation the rights to use, copy, modify, merge, publish, distribute,
+ * sublicense, and/or sell copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or
+ * substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT
+ * NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ *
+ */
+package com.github.weisj.jsvg_mc.parser;
+
+import java.io.InputStream;
+import java.net.MalformedURLException;
+import java.net.URI;
+import java.net.URL;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.Function;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import com.github.weisj.jsvg_mc.SVGDocument;
+import com.github.weisj.jsvg_mc.attributes.paint.PaintParser;
+import com.github.weisj.jsvg_mc.parser.css.CssParser;
+import com.github.weisj.jsvg_mc.parser.css.StyleSheet;
+
+/**
+ * Loads many svg documents concurrently on an {@link Executor}.
+ * <p>
+ * All documents share the node supplier and xml factory of this loader. The paint parser and the parsed style sheets
+ * are shared between all documents loaded with the same {@link ParserProvider}. Identical {@code <style>} elements,
+ * as commonly found in icon sets, are hence only parsed once.
+ * <p>
+ * This class is thread safe.
+ */
+public final class SVGBatchLoader {
+    private static final Logger LOGGER = Logger.getLogger(SVGBatchLoader.class.getName());
+    private static final int MAX_SHARED_STYLE_SHEETS = 256;
+
+    private final @NotNull StaxSVGLoader loader = new StaxSVGLoader(SVGLoader.NODE_SUPPLIER);
+    private final @NotNull Executor executor;
+    private final @NotNull Map<ParserProvider, SharedParserProvider> parserProviders = new ConcurrentHashMap<>();
+
+    public SVGBatchLoader() {
+        this(ForkJoinPool.commonPool());
+    }
+
+    public SVGBatchLoader(@NotNull Executor executor) {
+        this.executor = executor;
+    }
+
+    public @NotNull CompletableFuture<@NotNull Result> load(@NotNull URL url, @NotNull LoaderContext loaderContext) {
+        return CompletableFuture.supplyAsync(() -> loadNow(url, loaderContext), executor);
+    }
+
+    public @NotNull List<@NotNull CompletableFuture<@NotNull Result>> loadAll(@NotNull Collection<@NotNull URL> urls,
+            @NotNull LoaderContext loaderContext) {
+        return loadAll(urls, url -> loaderContext);
+    }
+
+    /**
+     * Starts loading all documents.
+     *
+     * @param urls the documents to load.
+     * @param loaderContexts provides the loader context for each document.
+     * @return the results in the order of the given urls. Futures complete as soon as their document is loaded.
+     */
+    public @NotNull List<@NotNull CompletableFuture<@NotNull Result>> loadAll(@NotNull Collection<@NotNull URL> urls,
+            @NotNull Function<@NotNull URL, @NotNull LoaderContext> loaderContexts) {
+        List<CompletableFuture<Result>> results = new ArrayList<>(urls.size());
+        for (URL url : urls) {
+            results.add(load(url, loaderContexts.apply(url)));
+        }
+        return results;
+    }
+
+    public @NotNull List<@NotNull CompletableFuture<@NotNull Result>> loadAllPaths(
+            @NotNull Collection<@NotNull Path> paths, @NotNull LoaderContext loaderContext) {
+        List<URL> urls = new ArrayList<>(paths.size());
+        for (Path path : paths) {
+            try {
+                urls.add(path.toUri().toURL());
+            } catch (MalformedURLException e) {
+                throw new IllegalArgumentException("Invalid path " + path, e);
+            }
+        }
+        return loadAll(urls, loaderContext);
+    }
+
+    private @NotNull Result loadNow(@NotNull URL url, @NotNull LoaderContext loaderContext) {
+        long start = System.nanoTime();
+        long parsed = start;
+        SVGDocument document = null;
+        Throwable error = null;
+        try {
+            URI uri = url.toURI();
+            InputStream inputStream = SVGLoader.createDocumentInputStream(url.openStream());
+            SVGDocumentBuilder builder = loader.parse(inputStream, uri, shareParsers(loaderContext));
+            parsed = System.nanoTime();
+            if (builder != null) document = builder.build();
+        } catch (Throwable e) {
+            LOGGER.log(Level.WARNING, "Could not load " + url, e);
+            error = e;
+            if (parsed == start) parsed = System.nanoTime();
+        }
+        return new Result(url, document, error, parsed - start, System.nanoTime() - parsed);
+    }
+
+    private @NotNull LoaderContext shareParsers(@NotNull LoaderContext loaderContext) {
+        ParserProvider parserProvider = loaderContext.parserProvider();
+        SharedParserProvider shared = parserProviders.get(parserProvider);
+        if (shared == null) {
+            shared = parserProviders.computeIfAbsent(parserProvider, SharedParserProvider::new);
+        }
+        return new SharedParserLoaderContext(loaderContext, shared);
+    }
+
+    public static final class Result {
+        private final @NotNull URL url;
+        private final @Nullable SVGDocument document;
+        private final @Nullable Throwable error;
+        private final long parseTimeNanos;
+        private final long buildTimeNanos;
+
+        private Result(@NotNull URL url, @Nullable SVGDocument document, @Nullable Throwable error,
+                long parseTimeNanos, long buildTimeNanos) {
+            this.url = url;
+            this.document = document;
+            this.error = error;
+            this.parseTimeNanos = parseTimeNanos;
+            this.buildTimeNanos = buildTimeNanos;
+        }
+
+        public @NotNull URL url() {
+            return url;
+        }
+
+        /**
+         * @return the loaded document or null if it couldn't be loaded.
+         */
+        public @Nullable SVGDocument document() {
+            return document;
+        }
+
+        /**
+         * @return the exception which prevented the document from being loaded, if any.
+         */
+        public @Nullable Throwable error() {
+            return error;
+        }
+
+        /**
+         * @return the time spent reading and parsing the xml in nanoseconds.
+         */
+        public long parseTimeNanos() {
+            return parseTimeNanos;
+        }
+
+        /**
+         * @return the time spent building the document from the parsed elements in nanoseconds.
+         */
+        public long buildTimeNanos() {
+            return buildTimeNanos;
+        }
+
+        @Override
+        public String toString() {
+            return "Result{" +
+                    "url=" + url +
+                    ", loaded=" + (document != null) +
+                    ", parseTimeNanos=" + parseTimeNanos +
+                    ", buildTimeNanos=" + buildTimeNanos +
+                    '}';
+        }
+    }
+
+    private static final class SharedParserProvider implements ParserProvider {
+        private final @NotNull ParserProvider delegate;
+        private final @NotNull PaintParser paintParser;
+        private final @NotNull Map<String, StyleSheet> styleSheets = new ConcurrentHashMap<>();
+
+        private SharedParserProvider(@NotNull ParserProvider delegate) {
+            this.delegate = delegate;
+            this.paintParser = delegate.createPaintParser();
+        }
+
+        @Override
+        public @NotNull PaintParser createPaintParser() {
+            return paintParser;
+        }
+
+        @Override
+        public @NotNull CssParser createCssParser() {
+            CssParser cssParser = delegate.createCssParser();
+            return input -> {
+                StringBuilder key = new StringBuilder();
+                for (char[] chars : input) {
+                    key.append(chars);
+                }
+                String source = key.toString();
+                StyleSheet styleSheet = styleSheets.get(source);
+                if (styleSheet != null) return styleSheet;
+                styleSheet = cssParser.parse(input);
+                if (styleSheets.size() < MAX_SHARED_STYLE_SHEETS) styleSheets.putIfAbsent(source, styleSheet);
+                return styleSheet;
+            };
+        }
+
+        @Override
+        public @Nullable DomProcessor createPreProcessor() {
+            return delegate.createPreProcessor();
+        }
+
+        @Override
+        public @Nullable DomProcessor createPreProcessor(@Nullable URI documentUri) {
+            return delegate.createPreProcessor(documentUri);
+        }
+
+        @Override
+        public @Nullable DomProcessor createPostProcessor() {
+            return delegate.createPostProcessor();
+        }
+    }
+
+    private static final class SharedParserLoaderContext implements LoaderContext {
+        private final @NotNull LoaderContext delegate;
+        private final @NotNull ParserProvider parserProvider;
+
+        private SharedParserLoaderContext(@NotNull LoaderContext delegate, @NotNull ParserProvider parserProvider) {
+            this.delegate = delegate;
+            this.parserProvider = parserProvider;
+        }
+
+        @Override
+        public @NotNull ParserProvider parserProvider() {
+            return parserProvider;
+        }
+
+        @Override
+        public @NotNull ResourceLoader resourceLoader() {
+            return delegate.resourceLoader();
+        }
+
+        @Override
+        public @NotNull ElementLoader elementLoader() {
+            return delegate.elementLoader();
+        }
+
+        @Override
+        public @NotNull ResourcePolicy externalResourcePolicy() {
+            return delegate.externalResourcePolicy();
+        }
+
+        @Override
+        public @NotNull DocumentLimits documentLimits() {
+            return delegate.documentLimits();
+        }
+    }
+}
@@ -34,6 +34,8 @@ import com.github.weisj.jsvg_mc.nodes.*;
 import com.github.weisj.jsvg_mc.nodes.container.CommonRenderableContainerNode;
 import com.github.weisj.jsvg_mc.parser.css.CssParser;
 import com.github.weisj.jsvg_mc.parser.css.StyleSheet;
+import com.github.weisj.jsvg_mc.renderer.AnimatedNodes;
+import com.github.weisj.jsvg_mc.renderer.RasterCache;
 
 public final class SVGDocumentBuilder {
     private final @NotNull ParsedDocument parsedDocument;
@@ -173,7 +175,43 @@ public final class SVGDocumentBuilder {
         postProcess();
         validatePathCount();
         validateUseElementsDepth();
-        return new SVGDocument((SVG) rootNode.node());
+        AnimatedNodes animatedNodes = findAnimatedNodes();
+        return new SVGDocument((SVG) rootNode.node(), animatedNodes, createRasterCache(animatedNodes));
+    }
+
+    private @NotNull AnimatedNodes findAnimatedNodes() {
+        Set<SVGNode> animatedAttributes = Collections.newSetFromMap(new IdentityHashMap<>());
+        Set<SVGNode> animatedContent = Collections.newSetFromMap(new IdentityHashMap<>());
+        Deque<ParsedElement> elements = new ArrayDeque<>();
+        elements.push(rootNode);
+        while (!elements.isEmpty()) {
+            ParsedElement element = elements.pop();
+            SVGNode node = element.node();
+            if (element.hasAnimatedAttributes()) animatedAttributes.add(node);
+            if ((element.contentFlags() & ParsedElement.CONTENT_ANIMATED) != 0) animatedContent.add(node);
+            for (ParsedElement child : element.children()) {
+                elements.push(child);
+            }
+        }
+        return new AnimatedNodes(animatedAttributes, animatedContent);
+    }
+
+    private @NotNull RasterCache createRasterCache(@NotNull AnimatedNodes animatedNodes) {
+        Map<SVGNode, Boolean> cacheableNodes = new IdentityHashMap<>();
+        Deque<ParsedElement> elements = new ArrayDeque<>();
+        elements.push(rootNode);
+        while (!elements.isEmpty()) {
+            ParsedElement element = elements.pop();
+            SVGNode node = element.node();
+            if ((node instanceof Group || node instanceof Anchor || node instanceof Use)
+                    && !animatedNodes.hasAnimatedContent(node)) {
+                cacheableNodes.put(node, (element.contentFlags() & ParsedElement.CONTENT_EXCEEDS_GEOMETRY) == 0);
+            }
+            for (ParsedElement child : element.children()) {
+                elements.push(child);
+            }
+        }
+        return new RasterCache(animatedNodes, cacheableNodes);
     }
 
     private void processStyleSheets() {
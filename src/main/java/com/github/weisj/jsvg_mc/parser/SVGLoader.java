@@ -38,11 +38,12 @@ import com.github.weisj.jsvg_mc.SVGDocument;
 /**
  * Class for loading svg files as an {@link SVGDocument}.
  * Note that this class isn't guaranteed to be thread safe and hence shouldn't be used across multiple threads.
+ * Use {@link SVGBatchLoader} to load many documents concurrently.
  */
 public final class SVGLoader {
 
     static final Logger LOGGER = Logger.getLogger(SVGLoader.class.getName());
-    private static final @NotNull NodeSupplier NODE_SUPPLIER = new NodeSupplier();
+    static final @NotNull NodeSupplier NODE_SUPPLIER = new NodeSupplier();
     private final StaxSVGLoader loader = new StaxSVGLoader(NODE_SUPPLIER);
 
     public @Nullable SVGDocument load(@NotNull URL xmlBase) {
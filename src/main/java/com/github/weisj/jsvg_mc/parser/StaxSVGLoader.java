@@ -25,20 +25,16 @@ import java.io.IOException;
 import java.io.InputStream;
 import java.net.URI;
 import java.util.HashMap;
-import java.util.Iterator;
 import java.util.Locale;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
-import javax.xml.namespace.QName;
-import javax.xml.stream.XMLEventReader;
 import javax.xml.stream.XMLInputFactory;
 import javax.xml.stream.XMLStreamConstants;
 import javax.xml.stream.XMLStreamException;
-import javax.xml.stream.events.Attribute;
-import javax.xml.stream.events.StartElement;
-import javax.xml.stream.events.XMLEvent;
+import javax.xml.stream.XMLStreamReader;
 
 import org.jetbrains.annotations.ApiStatus;
 import org.jetbrains.annotations.NotNull;
@@ -71,11 +67,14 @@ public final class StaxSVGLoader {
         this.xmlInputFactory = factory;
     }
 
-    private @Nullable XMLEventReader createReader(@Nullable InputStream inputStream) {
+    private @Nullable XMLStreamReader createReader(@Nullable InputStream inputStream) {
         try {
-            return xmlInputFactory.createXMLEventReader(inputStream);
+            // Factories aren't required to be thread safe. Only creating the reader touches shared state.
+            synchronized (xmlInputFactory) {
+                return xmlInputFactory.createXMLStreamReader(inputStream);
+            }
         } catch (XMLStreamException e) {
-            LOGGER.log(Level.SEVERE, "Error while creating XMLEventReader.", e);
+            LOGGER.log(Level.SEVERE, "Error while creating XMLStreamReader.", e);
             return null;
         }
     }
@@ -101,48 +100,48 @@ public final class StaxSVGLoader {
             @Nullable URI xmlBase,
             @NotNull LoaderContext loaderContext) throws IOException, XMLStreamException {
         if (inputStream == null) return null;
-        XMLEventReader reader = createReader(inputStream);
+        XMLStreamReader reader = createReader(inputStream);
         if (reader == null) return null;
         try {
             SVGDocumentBuilder builder = new SVGDocumentBuilder(xmlBase, loaderContext, nodeSupplier);
+            NameTable names = new NameTable();
+            char[] textBuffer = new char[0];
+            builder.startDocument();
             while (reader.hasNext()) {
-                XMLEvent event = reader.nextEvent();
-                switch (event.getEventType()) {
-                    case XMLStreamConstants.START_DOCUMENT:
-                        builder.startDocument();
-                        break;
+                switch (reader.next()) {
                     case XMLStreamConstants.END_DOCUMENT:
                         builder.endDocument();
                         break;
 
                     case XMLStreamConstants.START_ELEMENT:
-                        StartElement element = event.asStartElement();
-                        String uri = element.getName().getNamespaceURI();
+                        String uri = reader.getNamespaceURI();
                         if (uri != null && !uri.isEmpty() && !SVG_NAMESPACE_URI.equals(uri)) {
                             skipElement(reader);
                             break;
                         }
-                        Map<String, String> attributes = new HashMap<>();
-                        Iterator<Attribute> attrs = element.getAttributes();
-                        while (attrs.hasNext()) {
-                            Attribute attr = attrs.next();
-                            attributes.put(
-                                    qualifiedName(attr.getName()),
-                                    attr.getValue().trim());
+                        int attributeCount = reader.getAttributeCount();
+                        // The map is retained by the parsed element, hence it is sized to fit exactly.
+                        Map<String, String> attributes = new HashMap<>(Math.max(2, (attributeCount * 4 + 2) / 3));
+                        for (int i = 0; i < attributeCount; i++) {
+                            attributes.put(names.attributeName(reader, i), reader.getAttributeValue(i).trim());
                         }
-                        if (!builder.startElement(qualifiedName(element.getName(), MakeLowerCase.YES), attributes)) {
+                        if (!builder.startElement(names.elementName(reader), attributes)) {
                             skipElement(reader);
                         }
                         break;
 
                     case XMLStreamConstants.END_ELEMENT:
-                        builder.endElement(qualifiedName(event.asEndElement().getName(), MakeLowerCase.YES));
+                        builder.endElement(names.elementName(reader));
                         break;
 
                     case XMLStreamConstants.CDATA:
                     case XMLStreamConstants.CHARACTERS:
-                        char[] data = event.asCharacters().getData().toCharArray();
-                        builder.addTextContent(data, 0, data.length);
+                        // The text is modified while being appended. Copy it into a buffer owned by us
+                        // instead of handing out the internal buffer of the reader.
+                        int length = reader.getTextLength();
+                        if (textBuffer.length < length) textBuffer = new char[Math.max(length, 2 * textBuffer.length)];
+                        reader.getTextCharacters(0, textBuffer, 0, length);
+                        builder.addTextContent(textBuffer, 0, length);
                         break;
 
                     case XMLStreamConstants.SPACE:
@@ -178,41 +177,86 @@ public final class StaxSVGLoader {
         return builder.build();
     }
 
-    private static void skipElement(@NotNull XMLEventReader reader) throws XMLStreamException {
+    private static void skipElement(@NotNull XMLStreamReader reader) throws XMLStreamException {
         int elementCount = 1;
         while (reader.hasNext()) {
-            XMLEvent event = reader.nextEvent();
-            if (event.isStartElement()) {
+            int event = reader.next();
+            if (event == XMLStreamConstants.START_ELEMENT) {
                 elementCount++;
-            } else if (event.isEndElement()) {
+            } else if (event == XMLStreamConstants.END_ELEMENT) {
                 elementCount--;
             }
             if (elementCount == 0) return;
         }
     }
 
-    private enum MakeLowerCase {
-        YES,
-        NO
-    }
+    /*
+     * Resolves the qualified names of the current element and its attributes without allocating for names which
+     * have been seen before. Names are shared across documents, such that parsed documents don't each hold their
+     * own copy.
+     */
+    private static final class NameTable {
+        // Documents are untrusted input, hence only a bounded number of names is shared.
+        private static final int MAX_SHARED_NAMES = 4096;
+        private static final Map<String, String> SHARED_NAMES = new ConcurrentHashMap<>();
 
-    private static @NotNull String qualifiedName(@NotNull QName name, MakeLowerCase makeLowerCase) {
-        String qName = qualifiedNameImpl(name);
-        if (makeLowerCase == MakeLowerCase.YES) return qName.toLowerCase(Locale.ROOT);
-        return qName;
-    }
+        private final Map<String, String> elementNames = new HashMap<>();
+        private final Map<String, String> attributeNames = new HashMap<>();
+        private final Map<String, String> xlinkAttributeNames = new HashMap<>();
+
+        private @NotNull String elementName(@NotNull XMLStreamReader reader) {
+            String localName = reader.getLocalName();
+            if (!isUnqualified(reader.getPrefix(), reader.getNamespaceURI())) {
+                return qualifiedName(reader.getPrefix(), localName, reader.getNamespaceURI())
+                        .toLowerCase(Locale.ROOT);
+            }
+            String name = elementNames.get(localName);
+            if (name == null) {
+                name = share(localName.toLowerCase(Locale.ROOT));
+                elementNames.put(localName, name);
+            }
+            return name;
+        }
+
+        private @NotNull String attributeName(@NotNull XMLStreamReader reader, int index) {
+            String prefix = reader.getAttributePrefix(index);
+            String namespaceURI = reader.getAttributeNamespace(index);
+            String localName = reader.getAttributeLocalName(index);
+            Map<String, String> names;
+            if (isUnqualified(prefix, namespaceURI)) {
+                names = attributeNames;
+            } else if (XLINK_NAMESPACE_URI.equals(namespaceURI)) {
+                names = xlinkAttributeNames;
+            } else {
+                return qualifiedName(prefix, localName, namespaceURI);
+            }
+            String name = names.get(localName);
+            if (name == null) {
+                name = share(qualifiedName(prefix, localName, namespaceURI));
+                names.put(localName, name);
+            }
+            return name;
+        }
+
+        private static boolean isUnqualified(@Nullable String prefix, @Nullable String namespaceURI) {
+            return prefix == null || prefix.isEmpty() || SVG_NAMESPACE_URI.equals(namespaceURI);
+        }
 
-    private static @NotNull String qualifiedName(@NotNull QName name) {
-        return qualifiedName(name, MakeLowerCase.NO);
+        private static @NotNull String share(@NotNull String name) {
+            String shared = SHARED_NAMES.get(name);
+            if (shared != null) return shared;
+            if (SHARED_NAMES.size() >= MAX_SHARED_NAMES) return name;
+            shared = SHARED_NAMES.putIfAbsent(name, name);
+            return shared != null ? shared : name;
+        }
     }
 
-    private static @NotNull String qualifiedNameImpl(@NotNull QName name) {
-        String prefix = name.getPrefix();
-        String localName = name.getLocalPart();
+    private static @NotNull String qualifiedName(@Nullable String prefix, @NotNull String localName,
+            @Nullable String namespaceURI) {
         if (prefix == null) return localName;
         if (prefix.isEmpty()) return localName;
-        if (SVG_NAMESPACE_URI.equals(name.getNamespaceURI())) return localName;
-        if (XLINK_NAMESPACE_URI.equals(name.getNamespaceURI())) return "xlink:" + localName;
+        if (SVG_NAMESPACE_URI.equals(namespaceURI)) return localName;
+        if (XLINK_NAMESPACE_URI.equals(namespaceURI)) return "xlink:" + localName;
         return prefix + ":" + localName;
     }
 }
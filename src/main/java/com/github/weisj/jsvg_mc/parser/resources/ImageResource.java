@@ -24,23 +24,38 @@ package com.github.weisj.jsvg_mc.parser.resources;
 import java.awt.*;
 import java.awt.geom.AffineTransform;
 import java.awt.image.BufferedImage;
+import java.lang.ref.SoftReference;
 
 import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
 
 import com.github.weisj.jsvg_mc.SVGRenderingHints;
 import com.github.weisj.jsvg_mc.geometry.size.FloatSize;
+import com.github.weisj.jsvg_mc.geometry.util.GeometryUtil;
 import com.github.weisj.jsvg_mc.renderer.Output;
 import com.github.weisj.jsvg_mc.renderer.RenderContext;
+import com.github.weisj.jsvg_mc.util.ImageCache;
 
 public class ImageResource implements RenderableResource {
-    private final @NotNull BufferedImage image;
+    private final @Nullable BufferedImage image;
+    private final @Nullable ImageCache.CachedImage cachedImage;
+
+    private @Nullable SoftReference<MipChain> mipChain;
 
     public ImageResource(@NotNull BufferedImage image) {
         this.image = image;
+        this.cachedImage = null;
+    }
+
+    public ImageResource(@NotNull ImageCache.CachedImage cachedImage) {
+        this.image = null;
+        this.cachedImage = cachedImage;
     }
 
     @Override
     public @NotNull FloatSize intrinsicSize(@NotNull RenderContext context) {
+        if (cachedImage != null) return new FloatSize(cachedImage.width(), cachedImage.height());
+        assert image != null;
         return new FloatSize(
                 image.getWidth(context.platformSupport().imageObserver()),
                 image.getHeight(context.platformSupport().imageObserver()));
@@ -48,18 +63,55 @@ public class ImageResource implements RenderableResource {
 
     @Override
     public void render(@NotNull Output output, @NotNull RenderContext context, @NotNull AffineTransform imgTransform) {
-        int imgWidth = image.getWidth();
-        int imgHeight = image.getHeight();
+        BufferedImage img = image;
+        int width;
+        int height;
+        AffineTransform deviceTransform = output.transform();
+        deviceTransform.concatenate(imgTransform);
+        double scaleX = GeometryUtil.scaleXOfTransform(deviceTransform);
+        double scaleY = GeometryUtil.scaleYOfTransform(deviceTransform);
+        if (cachedImage != null) {
+            width = cachedImage.width();
+            height = cachedImage.height();
+            // Only decode the image at the resolution it is painted at.
+            img = cachedImage.image((int) Math.ceil(width * scaleX), (int) Math.ceil(height * scaleY));
+        } else {
+            assert img != null;
+            width = img.getWidth();
+            height = img.getHeight();
+        }
+        assert img != null;
+        img = mipChain(img).levelForScale(img, Math.max(
+                scaleX * width / img.getWidth(),
+                scaleY * height / img.getHeight()));
+
+        AffineTransform transform = imgTransform;
+        if (img.getWidth() != width || img.getHeight() != height) {
+            transform = new AffineTransform(imgTransform);
+            transform.scale(width / (double) img.getWidth(), height / (double) img.getHeight());
+        }
+        int imgWidth = img.getWidth();
+        int imgHeight = img.getHeight();
 
         Object imageAntialiasing = output.renderingHint(SVGRenderingHints.KEY_IMAGE_ANTIALIASING);
         if (imageAntialiasing == SVGRenderingHints.VALUE_IMAGE_ANTIALIASING_OFF) {
-            output.drawImage(image, imgTransform, context.platformSupport().imageObserver());
+            output.drawImage(img, transform, context.platformSupport().imageObserver());
         } else {
-            output.applyTransform(imgTransform);
+            output.applyTransform(transform);
             Rectangle imgRect = new Rectangle(0, 0, imgWidth, imgHeight);
             // Painting using a TexturePaint allows for anti-aliased edges with a nontrivial transform
-            output.setPaint(new TexturePaint(image, imgRect));
+            output.setPaint(new TexturePaint(img, imgRect));
             output.fillShape(imgRect);
         }
     }
+
+    private synchronized @NotNull MipChain mipChain(@NotNull BufferedImage img) {
+        // The chain is softly referenced, so it is discarded under memory pressure and rebuilt on demand.
+        MipChain chain = mipChain != null ? mipChain.get() : null;
+        if (chain == null || !chain.isBuiltFrom(img)) {
+            chain = new MipChain(img);
+            mipChain = new SoftReference<>(chain);
+        }
+        return chain;
+    }
 }
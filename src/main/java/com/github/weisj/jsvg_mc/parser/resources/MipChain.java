@@ -0,0 +1,111 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2025 Jannis Weis
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and
+ * associated documentation files (the "Software"), to deal in the Software without restriction,
+ * including without limitation the rights to use, copy, modify, merge, publish, distribute,
+ * sublicense, and/or sell copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or
+ * substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT
+ * NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ *
+ */
+package com.github.weisj.jsvg_mc.parser.resources;
+
+import java.awt.*;
+import java.awt.image.BufferedImage;
+import java.awt.image.DataBufferInt;
+import java.lang.ref.WeakReference;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * Successively halved versions of an image, which are used to paint it at a fraction of its size without aliasing
+ * and without resampling the full resolution image. Levels are computed on demand using a box filter.
+ */
+final class MipChain {
+    // The base image is owned by whoever created the chain. Holding it weakly keeps it from outliving its owner.
+    private final @NotNull WeakReference<BufferedImage> base;
+    private final @NotNull List<@NotNull BufferedImage> levels = new ArrayList<>();
+
+    MipChain(@NotNull BufferedImage base) {
+        this.base = new WeakReference<>(base);
+    }
+
+    boolean isBuiltFrom(@NotNull BufferedImage image) {
+        return base.get() == image;
+    }
+
+    /**
+     * Returns the smallest level which is at least as large as the base image painted at the given scale.
+     *
+     * @param base the image this chain was built from.
+     * @param scale the scale the base image is painted at.
+     * @return the image to paint.
+     */
+    synchronized @NotNull BufferedImage levelForScale(@NotNull BufferedImage base, double scale) {
+        if (!(scale > 0) || scale >= 0.5) return base;
+        int level = Math.getExponent(1 / scale);
+        while (levels.size() < level) {
+            BufferedImage previous = levels.isEmpty() ? base : levels.get(levels.size() - 1);
+            if (previous.getWidth() == 1 && previous.getHeight() == 1) return previous;
+            levels.add(downsample(previous));
+        }
+        return levels.get(level - 1);
+    }
+
+    private static @NotNull BufferedImage downsample(@NotNull BufferedImage image) {
+        BufferedImage src = toIntArgbPre(image);
+        int srcWidth = src.getWidth();
+        int srcHeight = src.getHeight();
+        int width = (srcWidth + 1) / 2;
+        int height = (srcHeight + 1) / 2;
+        BufferedImage dst = new BufferedImage(width, height, BufferedImage.TYPE_INT_ARGB_PRE);
+        int[] srcPixels = ((DataBufferInt) src.getRaster().getDataBuffer()).getData();
+        int[] dstPixels = ((DataBufferInt) dst.getRaster().getDataBuffer()).getData();
+        for (int y = 0; y < height; y++) {
+            int row0 = 2 * y * srcWidth;
+            // Odd sizes duplicate the last row and column.
+            int row1 = Math.min(2 * y + 1, srcHeight - 1) * srcWidth;
+            for (int x = 0; x < width; x++) {
+                int x0 = 2 * x;
+                int x1 = Math.min(x0 + 1, srcWidth - 1);
+                dstPixels[y * width + x] = average(
+                        srcPixels[row0 + x0], srcPixels[row0 + x1],
+                        srcPixels[row1 + x0], srcPixels[row1 + x1]);
+            }
+        }
+        return dst;
+    }
+
+    private static int average(int p0, int p1, int p2, int p3) {
+        int a = ((p0 >>> 24) + (p1 >>> 24) + (p2 >>> 24) + (p3 >>> 24) + 2) >> 2;
+        int r = (((p0 >> 16) & 0xFF) + ((p1 >> 16) & 0xFF) + ((p2 >> 16) & 0xFF) + ((p3 >> 16) & 0xFF) + 2) >> 2;
+        int g = (((p0 >> 8) & 0xFF) + ((p1 >> 8) & 0xFF) + ((p2 >> 8) & 0xFF) + ((p3 >> 8) & 0xFF) + 2) >> 2;
+        int b = ((p0 & 0xFF) + (p1 & 0xFF) + (p2 & 0xFF) + (p3 & 0xFF) + 2) >> 2;
+        return (a << 24) | (r << 16) | (g << 8) | b;
+    }
+
+    private static @NotNull BufferedImage toIntArgbPre(@NotNull BufferedImage image) {
+        if (image.getType() == BufferedImage.TYPE_INT_ARGB_PRE) return image;
+        // Filtering has to happen on premultiplied colors to avoid transparent pixels bleeding into the result.
+        BufferedImage converted = new BufferedImage(image.getWidth(), image.getHeight(),
+                BufferedImage.TYPE_INT_ARGB_PRE);
+        Graphics2D g = converted.createGraphics();
+        g.setComposite(AlphaComposite.Src);
+        g.drawImage(image, 0, 0, null);
+        g.dispose();
+        return converted;
+    }
+}
@@ -0,0 +1,66 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2025 Jannis Weis
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and
+ * associated documentation files (the "Software"), to deal in the Software without restriction,
+ * including without limitation the rights to use, copy, modify, merge, publish, distribute,
+ * sublicense, and/or sell copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or
+ * substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT
+ * NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ *
+ */
+package com.github.weisj.jsvg_mc.renderer;
+
+import java.util.Set;
+
+import org.jetbrains.annotations.ApiStatus;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import com.github.weisj.jsvg_mc.nodes.SVGNode;
+
+/**
+ * The nodes of a document whose rendering depends on the animation state.
+ */
+@ApiStatus.Internal
+public final class AnimatedNodes {
+    private static final AnimatedNodes UNKNOWN = new AnimatedNodes(null, null);
+
+    private final @Nullable Set<@NotNull SVGNode> animatedAttributes;
+    private final @Nullable Set<@NotNull SVGNode> animatedContent;
+
+    /**
+     * @param animatedAttributes nodes which are animated themselves or reference animated elements.
+     * @param animatedContent nodes which have animated attributes or contain such nodes.
+     */
+    public AnimatedNodes(@Nullable Set<@NotNull SVGNode> animatedAttributes,
+            @Nullable Set<@NotNull SVGNode> animatedContent) {
+        this.animatedAttributes = animatedAttributes;
+        this.animatedContent = animatedContent;
+    }
+
+    /**
+     * For documents which haven't been analysed every node is considered animated.
+     */
+    public static @NotNull AnimatedNodes unknown() {
+        return UNKNOWN;
+    }
+
+    public boolean hasAnimatedAttributes(@NotNull SVGNode node) {
+        return animatedAttributes == null || animatedAttributes.contains(node);
+    }
+
+    public boolean hasAnimatedContent(@NotNull SVGNode node) {
+        return animatedContent == null || animatedContent.contains(node);
+    }
+}
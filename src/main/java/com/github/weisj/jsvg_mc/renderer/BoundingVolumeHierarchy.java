@@ -0,0 +1,204 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2025 Jannis Weis
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and
+ * associated documentation files (the "Software"), to deal in the Software without restriction,
+ * including without limitation the rights to use, copy, modify, merge, publish, distribute,
+ * sublicense, and/or sell copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or
+ * substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT
+ * NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ *
+ */
+package com.github.weisj.jsvg_mc.renderer;
+
+import java.awt.geom.Rectangle2D;
+import java.util.Arrays;
+import java.util.BitSet;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * Static bounding volume hierarchy over a list of rectangles.
+ * <p>
+ * The hierarchy is built by recursively splitting at the median center along the longer axis and is stored
+ * in flat arrays in depth first order.
+ */
+final class BoundingVolumeHierarchy {
+    private static final int LEAF_SIZE = 4;
+
+    // The left child of an inner node directly follows it.
+    private final double[] nodeBounds;
+    private final int[] rightChild;
+    private final int[] leafStart;
+    private final int[] leafEnd;
+    private final int[] items;
+
+    /**
+     * @param bounds the bounds of the items. Items with null bounds are never reported.
+     */
+    BoundingVolumeHierarchy(@Nullable Rectangle2D @NotNull [] bounds) {
+        int[] indices = new int[bounds.length];
+        int count = 0;
+        for (int i = 0; i < bounds.length; i++) {
+            if (bounds[i] != null) indices[count++] = i;
+        }
+        Builder builder = new Builder(bounds, Arrays.copyOf(indices, count));
+        if (count > 0) builder.build(0, count);
+        nodeBounds = Arrays.copyOf(builder.nodeBounds, 4 * builder.nodeCount);
+        rightChild = Arrays.copyOf(builder.rightChild, builder.nodeCount);
+        leafStart = Arrays.copyOf(builder.leafStart, builder.nodeCount);
+        leafEnd = Arrays.copyOf(builder.leafEnd, builder.nodeCount);
+        items = builder.items;
+    }
+
+    /**
+     * Sets the indices of all items whose bounds intersect the given region. Bounds touching the region count as
+     * intersecting.
+     */
+    void query(double minX, double minY, double maxX, double maxY, @NotNull BitSet result) {
+        if (nodeBounds.length == 0) return;
+        int[] stack = new int[32];
+        int top = 0;
+        stack[top++] = 0;
+        while (top > 0) {
+            int node = stack[--top];
+            int b = 4 * node;
+            if (nodeBounds[b] > maxX || nodeBounds[b + 1] > maxY
+                    || nodeBounds[b + 2] < minX || nodeBounds[b + 3] < minY) {
+                continue;
+            }
+            int right = rightChild[node];
+            if (right < 0) {
+                for (int i = leafStart[node]; i < leafEnd[node]; i++) {
+                    result.set(items[i]);
+                }
+            } else {
+                if (top + 2 > stack.length) stack = Arrays.copyOf(stack, 2 * stack.length);
+                stack[top++] = right;
+                stack[top++] = node + 1;
+            }
+        }
+    }
+
+    private static final class Builder {
+        private final @Nullable Rectangle2D @NotNull [] bounds;
+        private final int[] items;
+        private double[] nodeBounds;
+        private int[] rightChild;
+        private int[] leafStart;
+        private int[] leafEnd;
+        private int nodeCount;
+
+        private Builder(@Nullable Rectangle2D @NotNull [] bounds, int[] items) {
+            this.bounds = bounds;
+            this.items = items;
+            int capacity = Math.max(1, 2 * (items.length / LEAF_SIZE + 1));
+            nodeBounds = new double[4 * capacity];
+            rightChild = new int[capacity];
+            leafStart = new int[capacity];
+            leafEnd = new int[capacity];
+        }
+
+        private void build(int start, int end) {
+            int node = allocate();
+            double minX = Double.POSITIVE_INFINITY;
+            double minY = Double.POSITIVE_INFINITY;
+            double maxX = Double.NEGATIVE_INFINITY;
+            double maxY = Double.NEGATIVE_INFINITY;
+            double minCenterX = Double.POSITIVE_INFINITY;
+            double minCenterY = Double.POSITIVE_INFINITY;
+            double maxCenterX = Double.NEGATIVE_INFINITY;
+            double maxCenterY = Double.NEGATIVE_INFINITY;
+            for (int i = start; i < end; i++) {
+                Rectangle2D b = bounds(i);
+                minX = Math.min(minX, b.getMinX());
+                minY = Math.min(minY, b.getMinY());
+                maxX = Math.max(maxX, b.getMaxX());
+                maxY = Math.max(maxY, b.getMaxY());
+                minCenterX = Math.min(minCenterX, b.getCenterX());
+                minCenterY = Math.min(minCenterY, b.getCenterY());
+                maxCenterX = Math.max(maxCenterX, b.getCenterX());
+                maxCenterY = Math.max(maxCenterY, b.getCenterY());
+            }
+            nodeBounds[4 * node] = minX;
+            nodeBounds[4 * node + 1] = minY;
+            nodeBounds[4 * node + 2] = maxX;
+            nodeBounds[4 * node + 3] = maxY;
+            leafStart[node] = start;
+            leafEnd[node] = end;
+            rightChild[node] = -1;
+            if (end - start <= LEAF_SIZE) return;
+
+            boolean splitX = maxCenterX - minCenterX >= maxCenterY - minCenterY;
+            int mid = (start + end) >>> 1;
+            select(start, end, mid, splitX);
+            build(start, mid);
+            rightChild[node] = nodeCount;
+            build(mid, end);
+        }
+
+        private int allocate() {
+            if (nodeCount == rightChild.length) {
+                int capacity = 2 * nodeCount;
+                nodeBounds = Arrays.copyOf(nodeBounds, 4 * capacity);
+                rightChild = Arrays.copyOf(rightChild, capacity);
+                leafStart = Arrays.copyOf(leafStart, capacity);
+                leafEnd = Arrays.copyOf(leafEnd, capacity);
+            }
+            return nodeCount++;
+        }
+
+        private @NotNull Rectangle2D bounds(int index) {
+            Rectangle2D b = bounds[items[index]];
+            assert b != null;
+            return b;
+        }
+
+        private double center(int index, boolean x) {
+            Rectangle2D b = bounds(index);
+            return x ? b.getCenterX() : b.getCenterY();
+        }
+
+        /*
+         * Partially orders items[start, end) such that the element at index k is at its sorted position.
+         */
+        private void select(int start, int end, int k, boolean x) {
+            int lo = start;
+            int hi = end - 1;
+            while (lo < hi) {
+                double pivot = center((lo + hi) >>> 1, x);
+                int i = lo;
+                int j = hi;
+                while (i <= j) {
+                    while (center(i, x) < pivot) i++;
+                    while (center(j, x) > pivot) j--;
+                    if (i <= j) {
+                        int tmp = items[i];
+                        items[i] = items[j];
+                        items[j] = tmp;
+                        i++;
+                        j--;
+                    }
+                }
+                if (k <= j) {
+                    hi = j;
+                } else if (k >= i) {
+                    lo = i;
+                } else {
+                    return;
+                }
+            }
+        }
+    }
+}
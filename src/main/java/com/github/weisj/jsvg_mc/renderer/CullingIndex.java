@@ -0,0 +1,250 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2025 Jannis Weis
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and
+ * associated documentation files (the "Software"), to deal in the Software without restriction,
+ * including without limitation the rights to use, copy, modify, merge, publish, distribute,
+ * sublicense, and/or sell copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or
+ * substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT
+ * NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ *
+ */
+package com.github.weisj.jsvg_mc.renderer;
+
+import java.awt.geom.AffineTransform;
+import java.awt.geom.NoninvertibleTransformException;
+import java.awt.geom.Rectangle2D;
+import java.util.BitSet;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.jetbrains.annotations.ApiStatus;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import com.github.weisj.jsvg_mc.SVGRenderingHints;
+import com.github.weisj.jsvg_mc.attributes.VectorEffect;
+import com.github.weisj.jsvg_mc.attributes.stroke.LineJoin;
+import com.github.weisj.jsvg_mc.attributes.value.LengthValue;
+import com.github.weisj.jsvg_mc.geometry.size.MeasureContext;
+import com.github.weisj.jsvg_mc.geometry.util.GeometryUtil;
+import com.github.weisj.jsvg_mc.nodes.Anchor;
+import com.github.weisj.jsvg_mc.nodes.Group;
+import com.github.weisj.jsvg_mc.nodes.SVGNode;
+import com.github.weisj.jsvg_mc.nodes.ShapeNode;
+import com.github.weisj.jsvg_mc.nodes.container.CommonRenderableContainerNode;
+import com.github.weisj.jsvg_mc.nodes.filter.Filter;
+import com.github.weisj.jsvg_mc.nodes.prototype.HasFilter;
+import com.github.weisj.jsvg_mc.nodes.prototype.HasShape;
+import com.github.weisj.jsvg_mc.nodes.prototype.Renderable;
+import com.github.weisj.jsvg_mc.nodes.prototype.Transformable;
+
+/**
+ * Bounding volume hierarchy over the children of the containers of a document.
+ * <p>
+ * For every container a hierarchy of the bounds of its children in user space is built the first time it is
+ * rendered with a clip. Children which lie completely outside the clip are skipped without setting up their
+ * context. The bounds of a nested group are the bounds of its own hierarchy, hence whole subtrees are skipped at
+ * once. See {@link SVGRenderingHints#KEY_CULLING}.
+ * <p>
+ * Children whose painted area can't be bounded cheaply, e.g. text, {@code <use>} elements or shapes with markers,
+ * are always rendered. As with the {@link RasterCache} only nodes reached without passing an animated or
+ * instantiated node are culled, as only then their context is the same for every render.
+ */
+public final class CullingIndex {
+    private static final double SQRT_2 = Math.sqrt(2);
+
+    private final @NotNull AnimatedNodes animatedNodes;
+    private final Map<@NotNull SVGNode, @NotNull Hierarchy> hierarchies = new ConcurrentHashMap<>();
+
+    @ApiStatus.Internal
+    public CullingIndex(@NotNull AnimatedNodes animatedNodes) {
+        this.animatedNodes = animatedNodes;
+    }
+
+    boolean hasAnimatedAttributes(@NotNull SVGNode node) {
+        return animatedNodes.hasAnimatedAttributes(node);
+    }
+
+    /**
+     * Determines the children of the container which may paint inside the current clip of the output.
+     *
+     * @return the indices of the children which have to be rendered or null if all have to be rendered.
+     */
+    @Nullable
+    BitSet visibleChildren(@NotNull SVGNode parent, @NotNull List<? extends @NotNull SVGNode> children,
+            @NotNull RenderContext context, @NotNull Output output) {
+        @Nullable Rectangle2D clip = output.clipBounds();
+        if (clip == null || children.isEmpty()) return null;
+        AffineTransform inverse;
+        try {
+            inverse = output.transform().createInverse();
+        } catch (NoninvertibleTransformException e) {
+            return null;
+        }
+        // Clip bounds are only accurate up to a device pixel.
+        double pixelSize = Math.max(
+                Math.hypot(inverse.getScaleX(), inverse.getShearY()),
+                Math.hypot(inverse.getShearX(), inverse.getScaleY()));
+        return hierarchy(parent, children, context).query(GeometryUtil.grow(clip, pixelSize));
+    }
+
+    private @NotNull Hierarchy hierarchy(@NotNull SVGNode parent, @NotNull List<? extends @NotNull SVGNode> children,
+            @NotNull RenderContext context) {
+        MeasureContext measureContext = context.measureContext();
+        Hierarchy hierarchy = hierarchies.get(parent);
+        if (hierarchy == null || !hierarchy.matches(measureContext, children.size())) {
+            hierarchy = Hierarchy.build(measureContext, childBounds(children, context));
+            hierarchies.put(parent, hierarchy);
+        }
+        return hierarchy;
+    }
+
+    private @Nullable Rectangle2D @NotNull [] childBounds(@NotNull List<? extends @NotNull SVGNode> children,
+            @NotNull RenderContext context) {
+        Rectangle2D[] bounds = new Rectangle2D[children.size()];
+        for (int i = 0; i < bounds.length; i++) {
+            SVGNode child = children.get(i);
+            if (!(child instanceof Renderable) || ((Renderable) child).requiresInstantiation()) {
+                // Never painted without an instantiating element.
+                bounds[i] = Hierarchy.NOTHING;
+            } else {
+                bounds[i] = paintedBounds(child, context);
+            }
+        }
+        return bounds;
+    }
+
+    /*
+     * Returns the area the node may paint to in the user space of its parent or null if it isn't known.
+     */
+    private @Nullable Rectangle2D paintedBounds(@NotNull SVGNode node, @NotNull RenderContext context) {
+        if (animatedNodes.hasAnimatedContent(node)) return null;
+        RenderContext childContext = NodeRenderer.createChildContext((Renderable) node, context, null);
+
+        Rectangle2D bounds;
+        if (node instanceof ShapeNode) {
+            bounds = shapeBounds((ShapeNode) node, childContext);
+        } else if (node instanceof Group || node instanceof Anchor) {
+            CommonRenderableContainerNode container = (CommonRenderableContainerNode) node;
+            bounds = hierarchy(container, container.children(), childContext).bounds;
+        } else {
+            return null;
+        }
+        if (bounds == null || (bounds != Hierarchy.NOTHING && !GeometryUtil.isValidRect(bounds))) return null;
+
+        ElementBounds elementBounds = new ElementBounds(node, childContext);
+        Filter filter = node instanceof HasFilter ? ((HasFilter) node).filter() : null;
+        if (filter != null && filter.hasEffect()) {
+            Filter.FilterBounds filterBounds = filter.createFilterBounds(null, childContext, elementBounds);
+            if (filterBounds != null) {
+                Rectangle2D filterRegion = filterBounds.filterRegion();
+                bounds = bounds == Hierarchy.NOTHING ? filterRegion : bounds.createUnion(filterRegion);
+            }
+        }
+        if (bounds == Hierarchy.NOTHING) return bounds;
+
+        if (node instanceof Transformable && ((Transformable) node).shouldTransform()) {
+            bounds = ((Transformable) node).transformShape(bounds, childContext, elementBounds).getBounds2D();
+        }
+        return bounds;
+    }
+
+    private static @Nullable Rectangle2D shapeBounds(@NotNull ShapeNode node, @NotNull RenderContext context) {
+        if (node.hasMarkers()) return null;
+        for (VectorEffect effect : node.vectorEffects()) {
+            if (effect != VectorEffect.None) return null;
+        }
+        Rectangle2D bounds = node.untransformedElementBounds(context, HasShape.Box.BoundingBox);
+        StrokeContext strokeContext = context.strokeContext();
+        LengthValue strokeWidth = strokeContext.strokeWidth;
+        if (strokeWidth == null) return bounds;
+        double halfWidth = strokeWidth.resolve(context.measureContext()) / 2;
+        if (!(halfWidth > 0)) return bounds;
+        // Square caps extend by the half diagonal, miter joins by at most half the miter length.
+        double extent = SQRT_2;
+        if (strokeContext.lineJoin == null || strokeContext.lineJoin == LineJoin.Miter) {
+            extent = Math.max(extent, strokeContext.miterLimit);
+        }
+        return GeometryUtil.grow(bounds, halfWidth * extent);
+    }
+
+    private static final class Hierarchy {
+        private static final Rectangle2D NOTHING = new Rectangle2D.Double();
+
+        private final float viewWidth;
+        private final float viewHeight;
+        private final float em;
+        private final float ex;
+        private final float rem;
+        private final int childCount;
+
+        // Union of the bounds of all children, null if some child is unbounded.
+        private final @Nullable Rectangle2D bounds;
+        private final @NotNull BitSet unbounded;
+        private final @NotNull BoundingVolumeHierarchy hierarchy;
+
+        private Hierarchy(@NotNull MeasureContext measureContext, int childCount, @Nullable Rectangle2D bounds,
+                @NotNull BitSet unbounded, @NotNull BoundingVolumeHierarchy hierarchy) {
+            this.viewWidth = measureContext.viewWidth();
+            this.viewHeight = measureContext.viewHeight();
+            this.em = measureContext.em();
+            this.ex = measureContext.ex();
+            this.rem = measureContext.rem();
+            this.childCount = childCount;
+            this.bounds = bounds;
+            this.unbounded = unbounded;
+            this.hierarchy = hierarchy;
+        }
+
+        private static @NotNull Hierarchy build(@NotNull MeasureContext measureContext,
+                @Nullable Rectangle2D @NotNull [] childBounds) {
+            BitSet unbounded = new BitSet(childBounds.length);
+            Rectangle2D[] bounded = new Rectangle2D[childBounds.length];
+            Rectangle2D union = null;
+            for (int i = 0; i < childBounds.length; i++) {
+                Rectangle2D b = childBounds[i];
+                if (b == null) {
+                    unbounded.set(i);
+                } else if (b != NOTHING) {
+                    bounded[i] = b;
+                    if (union == null) {
+                        union = new Rectangle2D.Double();
+                        union.setRect(b);
+                    } else {
+                        Rectangle2D.union(union, b, union);
+                    }
+                }
+            }
+            if (union == null) union = NOTHING;
+            return new Hierarchy(measureContext, childBounds.length, unbounded.isEmpty() ? union : null,
+                    unbounded, new BoundingVolumeHierarchy(bounded));
+        }
+
+        private boolean matches(@NotNull MeasureContext measureContext, int count) {
+            return childCount == count
+                    && Float.compare(viewWidth, measureContext.viewWidth()) == 0
+                    && Float.compare(viewHeight, measureContext.viewHeight()) == 0
+                    && Float.compare(em, measureContext.em()) == 0
+                    && Float.compare(ex, measureContext.ex()) == 0
+                    && Float.compare(rem, measureContext.rem()) == 0;
+        }
+
+        private @NotNull BitSet query(@NotNull Rectangle2D clip) {
+            BitSet visible = (BitSet) unbounded.clone();
+            hierarchy.query(clip.getMinX(), clip.getMinY(), clip.getMaxX(), clip.getMaxY(), visible);
+            return visible;
+        }
+    }
+}
@@ -0,0 +1,249 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2025 Jannis Weis
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and
+ * associated documentation files (the "Software"), to deal in the Software without restriction,
+ * including without limitation the rights to use, copy, modify, merge, publish, distribute,
+ * sublicense, and/or sell copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or
+ * substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT
+ * NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ *
+ */
+package com.github.weisj.jsvg_mc.renderer;
+
+import java.awt.*;
+import java.awt.geom.Area;
+import java.awt.geom.Point2D;
+import java.awt.geom.Rectangle2D;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+
+import org.jetbrains.annotations.ApiStatus;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import com.github.weisj.jsvg_mc.attributes.PointerEvents;
+import com.github.weisj.jsvg_mc.nodes.SVGNode;
+
+/**
+ * Index of the geometry painted by the elements of a document, which allows to query the elements at a point
+ * or inside a region.
+ * <p>
+ * The index is created by rendering the document once, recording the painted fill and stroke areas together with
+ * the active clip of every element in the coordinate system the document is rendered in. Hence transforms,
+ * fill rules, stroke widths, visibility and clip paths are respected as they are during painting. Which parts of an
+ * element can be hit is controlled by the {@code pointer-events} property. Masks, filters and opacity are ignored.
+ * <p>
+ * Queries only test the elements whose bounds contain the query location and are independent of the size of the
+ * document. The index is immutable and can be queried concurrently.
+ */
+public final class ElementIndex {
+    private final @NotNull Entry @NotNull [] entries;
+    private final @NotNull BoundingVolumeHierarchy hierarchy;
+
+    private ElementIndex(@NotNull List<@NotNull Entry> entries) {
+        this.entries = entries.toArray(new Entry[0]);
+        Rectangle2D[] bounds = new Rectangle2D[this.entries.length];
+        for (int i = 0; i < bounds.length; i++) {
+            bounds[i] = this.entries[i].bounds;
+        }
+        this.hierarchy = new BoundingVolumeHierarchy(bounds);
+    }
+
+    @ApiStatus.Internal
+    public static @NotNull ElementIndex record(@NotNull Consumer<@NotNull Output> renderer) {
+        Recorder recorder = new Recorder();
+        HitTestOutput output = new HitTestOutput(recorder);
+        renderer.accept(output);
+        output.dispose();
+        return new ElementIndex(recorder.entries);
+    }
+
+    /**
+     * Returns the topmost element at the given location.
+     *
+     * @param point the location in the coordinate system the document was rendered in.
+     * @return the topmost hit or null if no element is at the given location.
+     */
+    public @Nullable Hit hitTest(@NotNull Point2D point) {
+        BitSet candidates = candidates(point.getX(), point.getY(), point.getX(), point.getY());
+        for (int i = candidates.previousSetBit(entries.length); i >= 0; i = candidates.previousSetBit(i - 1)) {
+            Entry entry = entries[i];
+            if (entry.contains(point)) return entry.frame.hit();
+        }
+        return null;
+    }
+
+    /**
+     * Returns all elements at the given location ordered from top to bottom.
+     *
+     * @param point the location in the coordinate system the document was rendered in.
+     * @return the hit elements.
+     */
+    public @NotNull List<@NotNull Hit> hitTestAll(@NotNull Point2D point) {
+        BitSet candidates = candidates(point.getX(), point.getY(), point.getX(), point.getY());
+        return collectHits(candidates, entry -> entry.contains(point));
+    }
+
+    /**
+     * Returns all elements which paint inside the given region ordered from top to bottom.
+     *
+     * @param region the region in the coordinate system the document was rendered in.
+     * @return the hit elements.
+     */
+    public @NotNull List<@NotNull Hit> hitTestAll(@NotNull Rectangle2D region) {
+        BitSet candidates = candidates(region.getMinX(), region.getMinY(), region.getMaxX(), region.getMaxY());
+        return collectHits(candidates, entry -> entry.intersects(region));
+    }
+
+    private @NotNull BitSet candidates(double minX, double minY, double maxX, double maxY) {
+        BitSet candidates = new BitSet(entries.length);
+        hierarchy.query(minX, minY, maxX, maxY, candidates);
+        return candidates;
+    }
+
+    private @NotNull List<@NotNull Hit> collectHits(@NotNull BitSet candidates, @NotNull EntryTest test) {
+        if (candidates.isEmpty()) return Collections.emptyList();
+        Map<Frame, Boolean> seen = new IdentityHashMap<>();
+        List<Hit> hits = new ArrayList<>();
+        for (int i = candidates.previousSetBit(entries.length); i >= 0; i = candidates.previousSetBit(i - 1)) {
+            Entry entry = entries[i];
+            if (seen.containsKey(entry.frame) || !test.test(entry)) continue;
+            seen.put(entry.frame, Boolean.TRUE);
+            hits.add(entry.frame.hit());
+        }
+        return hits;
+    }
+
+    private interface EntryTest {
+        boolean test(@NotNull Entry entry);
+    }
+
+    /**
+     * An element hit by a query.
+     */
+    public static final class Hit {
+        private final @NotNull SVGNode node;
+        private final @NotNull List<@NotNull SVGNode> path;
+
+        private Hit(@NotNull SVGNode node, @NotNull List<@NotNull SVGNode> path) {
+            this.node = node;
+            this.path = path;
+        }
+
+        /**
+         * @return the element which painted the hit geometry.
+         */
+        public @NotNull SVGNode node() {
+            return node;
+        }
+
+        /**
+         * The rendered elements leading to the node, starting with the outermost one and ending with the node itself.
+         * For content instantiated by a {@code <use>} element the path includes the {@code <use>} element.
+         *
+         * @return the path to the node.
+         */
+        public @NotNull List<@NotNull SVGNode> path() {
+            return path;
+        }
+
+        @Override
+        public String toString() {
+            return "Hit{" +
+                    "node=" + node +
+                    ", path=" + path +
+                    '}';
+        }
+    }
+
+    static final class Recorder {
+        private final @NotNull List<@NotNull Entry> entries = new ArrayList<>();
+        private @Nullable Frame current;
+
+        void enterNode(@NotNull SVGNode node, @NotNull RenderContext context) {
+            current = new Frame(node, context.pointerEvents(), current);
+        }
+
+        void exitNode() {
+            assert current != null;
+            current = current.parent;
+        }
+
+        void record(@NotNull Shape shape, @Nullable Shape clip) {
+            Frame frame = current;
+            if (frame == null || frame.pointerEvents == PointerEvents.None) return;
+            Rectangle2D bounds = shape.getBounds2D();
+            if (clip != null) bounds = bounds.createIntersection(clip.getBounds2D());
+            if (bounds.getWidth() < 0 || bounds.getHeight() < 0) return;
+            entries.add(new Entry(frame, shape, clip, bounds));
+        }
+    }
+
+    private static final class Frame {
+        private final @NotNull SVGNode node;
+        private final @NotNull PointerEvents pointerEvents;
+        private final @Nullable Frame parent;
+        private @Nullable Hit hit;
+
+        private Frame(@NotNull SVGNode node, @NotNull PointerEvents pointerEvents, @Nullable Frame parent) {
+            this.node = node;
+            this.pointerEvents = pointerEvents;
+            this.parent = parent;
+        }
+
+        private synchronized @NotNull Hit hit() {
+            if (hit == null) {
+                int depth = 0;
+                for (Frame f = this; f != null; f = f.parent) depth++;
+                SVGNode[] path = new SVGNode[depth];
+                for (Frame f = this; f != null; f = f.parent) path[--depth] = f.node;
+                hit = new Hit(node, Collections.unmodifiableList(Arrays.asList(path)));
+            }
+            return hit;
+        }
+    }
+
+    private static final class Entry {
+        private final @NotNull Frame frame;
+        private final @NotNull Shape shape;
+        private final @Nullable Shape clip;
+        private final @NotNull Rectangle2D bounds;
+
+        private Entry(@NotNull Frame frame, @NotNull Shape shape, @Nullable Shape clip, @NotNull Rectangle2D bounds) {
+            this.frame = frame;
+            this.shape = shape;
+            this.clip = clip;
+            this.bounds = bounds;
+        }
+
+        private boolean contains(@NotNull Point2D point) {
+            return (clip == null || clip.contains(point)) && shape.contains(point);
+        }
+
+        private boolean intersects(@NotNull Rectangle2D region) {
+            if (!shape.intersects(region)) return false;
+            if (clip == null) return true;
+            Area area = new Area(region);
+            area.intersect(new Area(clip));
+            area.intersect(new Area(shape));
+            return !area.isEmpty();
+        }
+    }
+}
@@ -26,6 +26,8 @@ import java.awt.geom.AffineTransform;
 import java.awt.geom.Rectangle2D;
 import java.awt.image.BufferedImage;
 import java.awt.image.ImageObserver;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Optional;
 import java.util.function.Consumer;
 
@@ -33,49 +35,150 @@ import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
 import com.github.weisj.jsvg_mc.geometry.util.GeometryUtil;
-import com.github.weisj.jsvg_mc.util.GraphicsResetHelper;
 import com.github.weisj.jsvg_mc.util.Provider;
 
+/**
+ * An {@link Output} which draws to a {@link Graphics2D}.
+ * <p>
+ * Children created by {@link #createChild()} draw to the same graphics instance. Each child records the values of
+ * the state it modifies the first time it modifies them and restores them when disposed. Children which don't modify
+ * anything therefore don't need to copy any state. If an output is used while one of its children is still alive,
+ * the child is moved to a copy of the graphics first, as if it had been created using {@link Graphics2D#create()}.
+ */
 public class Graphics2DOutput implements Output {
-    private final Graphics2D g;
+    private static final AffineTransform IDENTITY = new AffineTransform();
+
+    private @NotNull Graphics2D g;
+    // Outputs currently drawing to g. The last one is the only one whose state g currently reflects.
+    private @Nullable List<Graphics2DOutput> stack;
+    private final @Nullable SavedState saved;
 
+    /**
+     * Returns the underlying graphics. The graphics is exclusively owned by this output afterward, hence it may
+     * be modified freely.
+     */
     public @NotNull Graphics2D graphics() {
-        return g;
+        if (saved != null && !saved.detached) detach();
+        return activeGraphics();
     }
 
     public Graphics2DOutput(@NotNull Graphics2D g) {
         this.g = g;
+        this.saved = null;
         GraphicsUtil.preparePaint(g.getPaint());
     }
 
+    private Graphics2DOutput(@NotNull Graphics2D g, @NotNull List<Graphics2DOutput> stack) {
+        this.g = g;
+        this.stack = stack;
+        this.saved = new SavedState();
+    }
+
+    private @NotNull Graphics2D activeGraphics() {
+        List<Graphics2DOutput> outputs = stack;
+        if (outputs != null) {
+            int last = outputs.size() - 1;
+            while (outputs.get(last) != this) {
+                // The output is used out of order. Move the descendants to their own graphics.
+                outputs.get(last).detach();
+                last--;
+            }
+        }
+        return g;
+    }
+
+    private void detach() {
+        assert saved != null && stack != null;
+        Graphics2D parentGraphics = activeGraphics();
+        g = (Graphics2D) parentGraphics.create();
+        saved.restore(parentGraphics);
+        stack.remove(stack.size() - 1);
+        stack = null;
+        // Disposing the output now disposes the copy.
+        saved.detached = true;
+    }
+
+    private @NotNull Graphics2D modifyTransform() {
+        Graphics2D graphics = activeGraphics();
+        if (saved != null && !saved.detached && saved.transform == null) {
+            saved.transform = graphics.getTransform();
+        }
+        return graphics;
+    }
+
+    private @NotNull Graphics2D modifyClip() {
+        Graphics2D graphics = modifyTransform();
+        if (saved != null && !saved.detached && !saved.clipSaved) {
+            // Store the clip in device space to restore it exactly. Restoring it also requires the transform.
+            AffineTransform at = graphics.getTransform();
+            graphics.setTransform(IDENTITY);
+            saved.clip = graphics.getClip();
+            graphics.setTransform(at);
+            saved.clipSaved = true;
+        }
+        return graphics;
+    }
+
+    private @NotNull Graphics2D modifyPaint() {
+        Graphics2D graphics = activeGraphics();
+        if (saved != null && !saved.detached && saved.paint == null) {
+            saved.paint = graphics.getPaint();
+        }
+        return graphics;
+    }
+
+    private @NotNull Graphics2D modifyStroke() {
+        Graphics2D graphics = activeGraphics();
+        if (saved != null && !saved.detached && saved.stroke == null) {
+            saved.stroke = graphics.getStroke();
+        }
+        return graphics;
+    }
+
+    private @NotNull Graphics2D modifyComposite() {
+        Graphics2D graphics = activeGraphics();
+        if (saved != null && !saved.detached && saved.composite == null) {
+            saved.composite = graphics.getComposite();
+        }
+        return graphics;
+    }
+
+    private @NotNull Graphics2D modifyRenderingHints() {
+        Graphics2D graphics = activeGraphics();
+        if (saved != null && !saved.detached && saved.hints == null) {
+            saved.hints = graphics.getRenderingHints();
+        }
+        return graphics;
+    }
+
     @Override
     public void fillShape(@NotNull Shape shape) {
-        g.fill(shape);
+        activeGraphics().fill(shape);
     }
 
     @Override
     public void drawShape(@NotNull Shape shape) {
-        g.draw(shape);
+        activeGraphics().draw(shape);
     }
 
     @Override
     public void drawImage(@NotNull BufferedImage image) {
-        g.drawImage(image, 0, 0, image.getWidth(), image.getHeight(), null, null);
+        activeGraphics().drawImage(image, 0, 0, image.getWidth(), image.getHeight(), null, null);
     }
 
     @Override
     public void drawImage(@NotNull Image image, @Nullable ImageObserver observer) {
-        GraphicsUtil.safelyDrawImage(this, g, image, observer);
+        GraphicsUtil.safelyDrawImage(this, activeGraphics(), image, observer);
     }
 
     @Override
     public void drawImage(@NotNull Image image, @NotNull AffineTransform at, @Nullable ImageObserver observer) {
-        g.drawImage(image, at, observer);
+        activeGraphics().drawImage(image, at, observer);
     }
 
     @Override
     public void setPaint(@NotNull Paint paint) {
-        GraphicsUtil.safelySetPaint(this, g, paint);
+        GraphicsUtil.safelySetPaint(this, modifyPaint(), paint);
     }
 
     @Override
@@ -85,102 +188,122 @@ public class Graphics2DOutput implements Output {
 
     @Override
     public void setStroke(@NotNull Stroke stroke) {
-        g.setStroke(stroke);
+        modifyStroke().setStroke(stroke);
     }
 
     @Override
     public @NotNull Stroke stroke() {
-        return g.getStroke();
+        return activeGraphics().getStroke();
     }
 
     @Override
     public void applyClip(@NotNull Shape clipShape) {
-        g.clip(clipShape);
+        modifyClip().clip(clipShape);
     }
 
     @Override
     public void setClip(@Nullable Shape shape) {
-        g.setClip(shape);
+        modifyClip().setClip(shape);
     }
 
     @Override
     public Optional<Float> contextFontSize() {
-        Font f = g.getFont();
+        Font f = activeGraphics().getFont();
         if (f != null) return Optional.of(f.getSize2D());
         return Optional.empty();
     }
 
     @Override
     public @NotNull Output createChild() {
-        return new Graphics2DOutput((Graphics2D) g.create());
+        Graphics2D graphics = activeGraphics();
+        List<Graphics2DOutput> outputs = stack;
+        if (outputs == null) {
+            outputs = new ArrayList<>();
+            outputs.add(this);
+            stack = outputs;
+        }
+        Graphics2DOutput child = new Graphics2DOutput(graphics, outputs);
+        outputs.add(child);
+        return child;
     }
 
     @Override
     public void dispose() {
-        GraphicsUtil.cleanupPaint(this, g.getPaint());
-        g.dispose();
+        // Already disposed while drawing to the graphics of its parent.
+        if (saved != null && !saved.detached && stack == null) return;
+        Graphics2D graphics = activeGraphics();
+        GraphicsUtil.cleanupPaint(this, graphics.getPaint());
+        if (saved != null && !saved.detached) {
+            saved.restore(graphics);
+            assert stack != null;
+            stack.remove(stack.size() - 1);
+            stack = null;
+        } else {
+            if (stack != null) stack.clear();
+            graphics.dispose();
+        }
     }
 
     @Override
     public void debugPaint(@NotNull Consumer<Graphics2D> painter) {
-        Graphics2D debugGraphics = (Graphics2D) g.create();
+        Graphics2D debugGraphics = (Graphics2D) activeGraphics().create();
         painter.accept(debugGraphics);
         debugGraphics.dispose();
     }
 
     @Override
     public @NotNull Rectangle2D clipBounds() {
-        return g.getClipBounds();
+        return activeGraphics().getClipBounds();
     }
 
     @Override
     public @NotNull RenderingHints renderingHints() {
-        return g.getRenderingHints();
+        return activeGraphics().getRenderingHints();
     }
 
     @Override
     public @Nullable Object renderingHint(RenderingHints.@NotNull Key key) {
-        return g.getRenderingHint(key);
+        return activeGraphics().getRenderingHint(key);
     }
 
     @Override
     public void setRenderingHint(RenderingHints.@NotNull Key key, @Nullable Object value) {
-        g.setRenderingHint(key, value);
+        modifyRenderingHints().setRenderingHint(key, value);
     }
 
     @Override
     public @NotNull AffineTransform transform() {
-        return g.getTransform();
+        return activeGraphics().getTransform();
     }
 
     @Override
     public void setTransform(@NotNull AffineTransform affineTransform) {
-        g.setTransform(affineTransform);
+        modifyTransform().setTransform(affineTransform);
     }
 
     @Override
     public void applyTransform(@NotNull AffineTransform transform) {
-        g.transform(transform);
+        modifyTransform().transform(transform);
     }
 
     @Override
     public void rotate(double angle) {
-        g.rotate(angle);
+        modifyTransform().rotate(angle);
     }
 
     @Override
     public void scale(double sx, double sy) {
-        g.scale(sx, sy);
+        modifyTransform().scale(sx, sy);
     }
 
     @Override
     public void translate(double dx, double dy) {
-        g.translate(dx, dy);
+        modifyTransform().translate(dx, dy);
     }
 
     @Override
     public float currentOpacity() {
-        Composite composite = g.getComposite();
+        Composite composite = activeGraphics().getComposite();
         if (composite instanceof AlphaComposite) {
             return ((AlphaComposite) composite).getAlpha();
         }
@@ -190,17 +313,28 @@ public class Graphics2DOutput implements Output {
     @Override
     public void applyOpacity(float opacity) {
         if (GeometryUtil.approximatelyEqual(opacity, 1)) return;
-        g.setComposite(GraphicsUtil.deriveComposite(g, opacity));
+        Graphics2D graphics = modifyComposite();
+        graphics.setComposite(GraphicsUtil.deriveComposite(graphics, opacity));
     }
 
     @Override
     public boolean hasMaskedPaint() {
-        return g.getPaint() instanceof MaskedPaint;
+        return activeGraphics().getPaint() instanceof MaskedPaint;
     }
 
     @Override
     public @NotNull SafeState safeState() {
-        return new GraphicsResetHelper(g);
+        Graphics2D graphics = activeGraphics();
+        Composite composite = graphics.getComposite();
+        Paint paint = graphics.getPaint();
+        Stroke stroke = graphics.getStroke();
+        AffineTransform transform = graphics.getTransform();
+        return () -> {
+            modifyComposite().setComposite(composite);
+            modifyPaint().setPaint(paint);
+            modifyStroke().setStroke(stroke);
+            modifyTransform().setTransform(transform);
+        };
     }
 
     @Override
@@ -212,4 +346,27 @@ public class Graphics2DOutput implements Output {
     public boolean supportsColors() {
         return true;
     }
+
+    private static final class SavedState {
+        private @Nullable AffineTransform transform;
+        private @Nullable Shape clip;
+        private boolean clipSaved;
+        private @Nullable Paint paint;
+        private @Nullable Stroke stroke;
+        private @Nullable Composite composite;
+        private @Nullable RenderingHints hints;
+        private boolean detached;
+
+        private void restore(@NotNull Graphics2D g) {
+            if (hints != null) g.setRenderingHints(hints);
+            if (composite != null) g.setComposite(composite);
+            if (stroke != null) g.setStroke(stroke);
+            if (paint != null) g.setPaint(paint);
+            if (clipSaved) {
+                g.setTransform(IDENTITY);
+                g.setClip(clip);
+            }
+            if (transform != null) g.setTransform(transform);
+        }
+    }
 }
@@ -102,8 +102,12 @@ class Info implements AutoCloseable {
 
             RenderContext imageContext = context.deriveForSurface();
 
+            // Filters operate on premultiplied rasters. Rendering into one directly avoids an additional copy.
+            BlittableImage.BufferSurfaceSupplier surfaceSupplier = filterBounds != null
+                    ? (at, w, h) -> ImageUtil.createCompatibleTransparentImage(at, w, h, ImageUtil.Premultiplied.Yes)
+                    : ImageUtil::createCompatibleTransparentImage;
             BlittableImage blitImage = BlittableImage.create(
-                    ImageUtil::createCompatibleTransparentImage, context, clipBounds,
+                    surfaceSupplier, context, clipBounds,
                     bounds, elementBounds.boundingBox(), UnitType.UserSpaceOnUse, imageContext);
             if (blitImage == null) return null;
 
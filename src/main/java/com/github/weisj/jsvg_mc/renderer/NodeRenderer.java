@@ -23,6 +23,8 @@ package com.github.weisj.jsvg_mc.renderer;
 
 import java.awt.geom.AffineTransform;
 import java.awt.geom.Rectangle2D;
+import java.util.BitSet;
+import java.util.List;
 
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
@@ -50,8 +52,35 @@ public final class NodeRenderer {
 
     public static void renderNode(@NotNull SVGNode node, @NotNull RenderContext context, @NotNull Output output,
             @Nullable Instantiator instantiator) {
+        if (output instanceof RecordingOutput
+                && ((RecordingOutput) output).recordDeferredNode(node, context, instantiator)) {
+            return;
+        }
+        RasterCache rasterCache = context.rasterCache();
+        if (rasterCache != null && instantiator == null && rasterCache.renderCached(node, context, output)) return;
         try (Info info = createRenderInfo(node, context, output, instantiator)) {
-            if (info != null) info.renderable().render(info.context(), info.output());
+            if (info == null) return;
+            ElementIndex.Recorder hitRecorder = output instanceof HitTestOutput
+                    ? ((HitTestOutput) output).recorder()
+                    : null;
+            if (hitRecorder != null) hitRecorder.enterNode(node, info.context());
+            try {
+                info.renderable().render(info.context(), info.output());
+            } finally {
+                if (hitRecorder != null) hitRecorder.exitNode();
+            }
+        }
+    }
+
+    public static void renderChildren(@NotNull SVGNode parent, @NotNull List<? extends @NotNull SVGNode> children,
+            @NotNull RenderContext context, @NotNull Output output) {
+        CullingIndex cullingIndex = context.cullingIndex();
+        // Recorded plans may be replayed with a different clip.
+        BitSet visible = cullingIndex != null && !(output instanceof RecordingOutput)
+                ? cullingIndex.visibleChildren(parent, children, context, output)
+                : null;
+        for (int i = 0, count = children.size(); i < count; i++) {
+            if (visible == null || visible.get(i)) renderNode(children.get(i), context, output);
         }
     }
 
@@ -79,6 +108,11 @@ public final class NodeRenderer {
         if (!renderable.isVisible(context)) return null;
 
         RenderContext childContext = createChildContext(renderable, context, instantiator);
+        if (instantiator != null || hasAnimatedAttributes(node, childContext)) {
+            // The context of instantiated nodes depends on the instantiating element and animated attributes are
+            // inherited. In both cases the descendants can't be cached.
+            childContext = childContext.deriveWithoutDocumentCaches();
+        }
         Output childOutput = output.createChild();
         ElementBounds elementBounds = new ElementBounds(node, childContext);
 
@@ -110,6 +144,13 @@ public final class NodeRenderer {
         return new Info(renderable, childContext, childOutput);
     }
 
+    private static boolean hasAnimatedAttributes(@NotNull SVGNode node, @NotNull RenderContext context) {
+        RasterCache rasterCache = context.rasterCache();
+        if (rasterCache != null) return rasterCache.hasAnimatedAttributes(node);
+        CullingIndex cullingIndex = context.cullingIndex();
+        return cullingIndex != null && cullingIndex.hasAnimatedAttributes(node);
+    }
+
     private static void applyTransform(@NotNull Renderable renderable, @NotNull Output childOutput,
             @NotNull RenderContext childContext, @NotNull ElementBounds elementBounds) {
         if (renderable instanceof Transformable && ((Transformable) renderable).shouldTransform()) {
@@ -202,7 +243,9 @@ public final class NodeRenderer {
                     newMeasure,
                     FontRenderContext.createDefault(),
                     MeasurableFontSpec.createDefault(),
-                    context.contextElementAttributes());
+                    context.contextElementAttributes(),
+                    context.rasterCache(),
+                    context.cullingIndex());
         }
     }
 }
@@ -32,6 +32,7 @@ import com.github.weisj.jsvg_mc.attributes.Animatable;
 import com.github.weisj.jsvg_mc.attributes.FillRule;
 import com.github.weisj.jsvg_mc.attributes.Inherited;
 import com.github.weisj.jsvg_mc.attributes.PaintOrder;
+import com.github.weisj.jsvg_mc.attributes.PointerEvents;
 import com.github.weisj.jsvg_mc.attributes.paint.AwtSVGPaint;
 import com.github.weisj.jsvg_mc.attributes.paint.PredefinedPaints;
 import com.github.weisj.jsvg_mc.attributes.paint.RGBColor;
@@ -55,11 +56,21 @@ public final class PaintContext implements Mutator<PaintContext> {
 
     public final @Nullable StrokeContext strokeContext;
     public final @Nullable FillRule fillRule;
+    public final @Nullable PointerEvents pointerEvents;
 
     public PaintContext(@Nullable SVGPaint color, @Nullable SVGPaint fillPaint, @Nullable PercentageValue fillOpacity,
             @Nullable SVGPaint strokePaint, @Nullable PercentageValue strokeOpacity, @NotNull PercentageValue opacity,
             @Nullable PaintOrder paintOrder,
             @Nullable StrokeContext strokeContext, @Nullable FillRule fillRule) {
+        this(color, fillPaint, fillOpacity, strokePaint, strokeOpacity, opacity, paintOrder, strokeContext, fillRule,
+                null);
+    }
+
+    public PaintContext(@Nullable SVGPaint color, @Nullable SVGPaint fillPaint, @Nullable PercentageValue fillOpacity,
+            @Nullable SVGPaint strokePaint, @Nullable PercentageValue strokeOpacity, @NotNull PercentageValue opacity,
+            @Nullable PaintOrder paintOrder,
+            @Nullable StrokeContext strokeContext, @Nullable FillRule fillRule,
+            @Nullable PointerEvents pointerEvents) {
         this.color = color;
         this.fillPaint = fillPaint;
         this.strokePaint = strokePaint;
@@ -70,6 +81,7 @@ public final class PaintContext implements Mutator<PaintContext> {
         // Avoid creating unnecessary intermediate contexts during painting.
         this.strokeContext = strokeContext == null || strokeContext.isTrivial() ? null : strokeContext;
         this.fillRule = fillRule;
+        this.pointerEvents = pointerEvents;
     }
 
     public static @NotNull PaintContext createDefault() {
@@ -79,7 +91,8 @@ public final class PaintContext implements Mutator<PaintContext> {
                 PredefinedPaints.NONE, Percentage.ONE, Percentage.ONE,
                 PaintOrder.NORMAL,
                 StrokeContext.createDefault(),
-                FillRule.Nonzero);
+                FillRule.Nonzero,
+                PointerEvents.VisiblePainted);
     }
 
     public static @NotNull PaintContext parse(@NotNull AttributeNode attributeNode) {
@@ -92,7 +105,8 @@ public final class PaintContext implements Mutator<PaintContext> {
                 attributeNode.getPercentage("opacity", Percentage.ONE, Inherited.NO, Animatable.YES),
                 PaintOrder.parse(attributeNode),
                 StrokeContext.parse(attributeNode),
-                FillRule.parse(attributeNode));
+                FillRule.parse(attributeNode),
+                PointerEvents.parse(attributeNode));
     }
 
     private static @Nullable SVGPaint parseColorAttribute(@NotNull AttributeNode attributeNode) {
@@ -117,7 +131,8 @@ public final class PaintContext implements Mutator<PaintContext> {
                         : context.strokeContext,
                 context.fillRule != null && context.fillRule != FillRule.Inherit
                         ? context.fillRule
-                        : this.fillRule);
+                        : this.fillRule,
+                context.pointerEvents != null ? context.pointerEvents : pointerEvents);
     }
 
     @Override
@@ -137,6 +152,7 @@ public final class PaintContext implements Mutator<PaintContext> {
                 ", strokeContext=" + strokeContext +
                 ", paintOrder=" + paintOrder +
                 ", fillRule=" + fillRule +
+                ", pointerEvents=" + pointerEvents +
                 '}';
     }
 }
@@ -0,0 +1,256 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2025 Jannis Weis
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and
+ * associated documentation files (the "Software"), to deal in the Software without restriction,
+ * including without limitation the rights to use, copy, modify, merge, publish, distribute,
+ * sublicense, and/or sell copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or
+ * substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT
+ * NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ *
+ */
+package com.github.weisj.jsvg_mc.renderer;
+
+import java.awt.*;
+import java.awt.geom.AffineTransform;
+import java.awt.geom.Rectangle2D;
+import java.awt.image.BufferedImage;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+
+import org.jetbrains.annotations.ApiStatus;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import com.github.weisj.jsvg_mc.SVGRenderingHints;
+import com.github.weisj.jsvg_mc.attributes.UnitType;
+import com.github.weisj.jsvg_mc.geometry.size.MeasureContext;
+import com.github.weisj.jsvg_mc.geometry.util.GeometryUtil;
+import com.github.weisj.jsvg_mc.nodes.SVGNode;
+import com.github.weisj.jsvg_mc.nodes.prototype.HasShape;
+import com.github.weisj.jsvg_mc.nodes.prototype.Renderable;
+import com.github.weisj.jsvg_mc.util.BlittableImage;
+import com.github.weisj.jsvg_mc.util.ImageUtil;
+
+/**
+ * Retained rasters of the static parts of a document.
+ * <p>
+ * Groups and {@code <use>} elements which neither are animated nor depend on animated elements are rendered into an
+ * offscreen image once and blitted on subsequent renders. See {@link SVGRenderingHints#KEY_RASTER_CACHE}.
+ * A raster is reused if the node is rendered with an equal measure context, transform up to integer translations,
+ * visible region and rendering hints.
+ * <p>
+ * Nodes are only cached when reached through the document tree without passing an animated node, as only then
+ * the inherited context is the same for every render.
+ */
+public final class RasterCache {
+    private static final RasterCache EMPTY = new RasterCache(AnimatedNodes.unknown(), Collections.emptyMap());
+    private static final long DEFAULT_MAXIMUM_BYTE_SIZE = 64L << 20;
+    // Larger regions are rendered directly as they would quickly evict everything else.
+    private static final long MAXIMUM_ENTRY_PIXELS = 2048L * 2048L;
+
+    private final @NotNull AnimatedNodes animatedNodes;
+    // Maps to true if the content of the node never paints outside its stroke box.
+    private final @NotNull Map<@NotNull SVGNode, @NotNull Boolean> cacheableNodes;
+
+    private final Object lock = new Object();
+    private final LinkedHashMap<Key, Entry> entries = new LinkedHashMap<>(16, 0.75f, true);
+    private long byteSize;
+    private long maximumByteSize = DEFAULT_MAXIMUM_BYTE_SIZE;
+
+    @ApiStatus.Internal
+    public RasterCache(@NotNull AnimatedNodes animatedNodes,
+            @NotNull Map<@NotNull SVGNode, @NotNull Boolean> cacheableNodes) {
+        this.animatedNodes = animatedNodes;
+        this.cacheableNodes = cacheableNodes;
+    }
+
+    public static @NotNull RasterCache empty() {
+        return EMPTY;
+    }
+
+    public void setMaximumByteSize(long maximumByteSize) {
+        if (maximumByteSize < 0) throw new IllegalArgumentException("Negative cache size " + maximumByteSize);
+        synchronized (lock) {
+            this.maximumByteSize = maximumByteSize;
+            evict();
+        }
+    }
+
+    public long byteSize() {
+        synchronized (lock) {
+            return byteSize;
+        }
+    }
+
+    public void clear() {
+        synchronized (lock) {
+            entries.clear();
+            byteSize = 0;
+        }
+    }
+
+    boolean hasAnimatedAttributes(@NotNull SVGNode node) {
+        return animatedNodes.hasAnimatedAttributes(node);
+    }
+
+    /**
+     * Renders the node from the cache if possible.
+     *
+     * @return true if the node has been rendered, false if it has to be rendered normally.
+     */
+    boolean renderCached(@NotNull SVGNode node, @NotNull RenderContext context, @NotNull Output output) {
+        Boolean boundedByGeometry = cacheableNodes.get(node);
+        if (boundedByGeometry == null) return false;
+        // The opacity of the parent output would be applied to the raster as a whole instead of each shape.
+        if (output.hasMaskedPaint() || output.currentOpacity() != 1) return false;
+
+        @Nullable Rectangle2D clipBounds = output.clipBounds();
+        Key key = new Key(node, context, output.renderingHints());
+        Entry entry;
+        synchronized (lock) {
+            entry = entries.get(key);
+        }
+
+        Rectangle2D bounds;
+        if (!boundedByGeometry) {
+            bounds = clipBounds;
+        } else if (entry != null) {
+            bounds = entry.bounds;
+        } else {
+            RenderContext childContext = NodeRenderer.createChildContext((Renderable) node, context, null);
+            bounds = ((HasShape) node).elementBounds(childContext, HasShape.Box.StrokeBox);
+        }
+        if (bounds == null || !GeometryUtil.isValidRect(bounds)) return false;
+
+        Rectangle2D deviceBounds = BlittableImage.imageBoundsInDeviceSpace(context, clipBounds, bounds);
+        if (deviceBounds == null) return false;
+        if ((long) deviceBounds.getWidth() * (long) deviceBounds.getHeight() > MAXIMUM_ENTRY_PIXELS) return false;
+
+        AffineTransform rootTransform = context.rootTransform();
+        Rectangle2D region = new Rectangle2D.Double(
+                deviceBounds.getX() - Math.floor(rootTransform.getTranslateX()),
+                deviceBounds.getY() - Math.floor(rootTransform.getTranslateY()),
+                deviceBounds.getWidth(), deviceBounds.getHeight());
+
+        BufferedImage image;
+        if (entry != null && entry.region.equals(region)) {
+            image = entry.image;
+        } else {
+            BlittableImage blittableImage = BlittableImage.create(ImageUtil::createCompatibleTransparentImage,
+                    context, clipBounds, bounds, bounds, UnitType.UserSpaceOnUse,
+                    context.deriveForSurface().deriveWithoutRasterCache());
+            if (blittableImage == null) return false;
+            blittableImage.render(output, (out, ctx) -> NodeRenderer.renderNode(node, ctx, out));
+            image = blittableImage.image();
+            put(key, new Entry(bounds, region, image));
+        }
+
+        Output blitOutput = output.createChild();
+        blitOutput.setTransform(AffineTransform.getTranslateInstance(deviceBounds.getX(), deviceBounds.getY()));
+        blitOutput.drawImage(image);
+        blitOutput.dispose();
+        return true;
+    }
+
+    private void put(@NotNull Key key, @NotNull Entry entry) {
+        synchronized (lock) {
+            Entry previous = entries.put(key, entry);
+            if (previous != null) byteSize -= previous.byteSize();
+            byteSize += entry.byteSize();
+            evict();
+        }
+    }
+
+    private void evict() {
+        Iterator<Entry> it = entries.values().iterator();
+        while (byteSize > maximumByteSize && it.hasNext()) {
+            byteSize -= it.next().byteSize();
+            it.remove();
+        }
+    }
+
+    private static final class Key {
+        private final @NotNull SVGNode node;
+        private final float viewWidth;
+        private final float viewHeight;
+        private final float em;
+        private final float ex;
+        private final float rem;
+        // The root transform with its translation reduced to the fractional part.
+        private final @NotNull AffineTransform rootTransform;
+        private final @NotNull AffineTransform userSpaceTransform;
+        private final @Nullable RenderingHints renderingHints;
+
+        private Key(@NotNull SVGNode node, @NotNull RenderContext context, @Nullable RenderingHints renderingHints) {
+            this.node = node;
+            MeasureContext measureContext = context.measureContext();
+            this.viewWidth = measureContext.viewWidth();
+            this.viewHeight = measureContext.viewHeight();
+            this.em = measureContext.em();
+            this.ex = measureContext.ex();
+            this.rem = measureContext.rem();
+            AffineTransform root = context.rootTransform();
+            double tx = root.getTranslateX();
+            double ty = root.getTranslateY();
+            this.rootTransform = new AffineTransform(root.getScaleX(), root.getShearY(), root.getShearX(),
+                    root.getScaleY(), tx - Math.floor(tx), ty - Math.floor(ty));
+            this.userSpaceTransform = new AffineTransform(context.userSpaceTransform());
+            this.renderingHints = renderingHints;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (!(o instanceof Key)) return false;
+            Key key = (Key) o;
+            return node == key.node
+                    && Float.compare(viewWidth, key.viewWidth) == 0
+                    && Float.compare(viewHeight, key.viewHeight) == 0
+                    && Float.compare(em, key.em) == 0
+                    && Float.compare(ex, key.ex) == 0
+                    && Float.compare(rem, key.rem) == 0
+                    && rootTransform.equals(key.rootTransform)
+                    && userSpaceTransform.equals(key.userSpaceTransform)
+                    && Objects.equals(renderingHints, key.renderingHints);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(System.identityHashCode(node), viewWidth, viewHeight, em, ex, rem,
+                    rootTransform, userSpaceTransform);
+        }
+    }
+
+    private static final class Entry {
+        // The bounds of the cached node in user space. For nodes which aren't bounded by their geometry this is the
+        // clip at the time the raster was created.
+        private final @NotNull Rectangle2D bounds;
+        // The pixel region covered by the image relative to the integer translation of the root transform.
+        private final @NotNull Rectangle2D region;
+        private final @NotNull BufferedImage image;
+
+        private Entry(@NotNull Rectangle2D bounds, @NotNull Rectangle2D region, @NotNull BufferedImage image) {
+            this.bounds = bounds;
+            this.region = region;
+            this.image = image;
+        }
+
+        private long byteSize() {
+            return 4L * image.getWidth() * image.getHeight();
+        }
+    }
+}
@@ -0,0 +1,399 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2025 Jannis Weis
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and
+ * associated documentation files (the "Software"), to deal in the Software without restriction,
+ * including without limitation the rights to use, copy, modify, merge, publish, distribute,
+ * sublicense, and/or sell copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or
+ * substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT
+ * NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ *
+ */
+package com.github.weisj.jsvg_mc.renderer;
+
+import java.awt.*;
+import java.awt.geom.AffineTransform;
+import java.awt.geom.NoninvertibleTransformException;
+import java.awt.geom.Rectangle2D;
+import java.awt.image.BufferedImage;
+import java.awt.image.ImageObserver;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.function.Consumer;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import com.github.weisj.jsvg_mc.SVGRenderingHints;
+import com.github.weisj.jsvg_mc.geometry.util.GeometryUtil;
+import com.github.weisj.jsvg_mc.nodes.Anchor;
+import com.github.weisj.jsvg_mc.nodes.Group;
+import com.github.weisj.jsvg_mc.nodes.SVGNode;
+import com.github.weisj.jsvg_mc.nodes.container.CommonInnerViewContainer;
+import com.github.weisj.jsvg_mc.nodes.prototype.HasClip;
+import com.github.weisj.jsvg_mc.nodes.prototype.HasFilter;
+import com.github.weisj.jsvg_mc.nodes.prototype.Instantiator;
+import com.github.weisj.jsvg_mc.nodes.prototype.Renderable;
+import com.github.weisj.jsvg_mc.util.Provider;
+import com.github.weisj.jsvg_mc.util.ShapeUtil;
+
+/**
+ * Records the operations issued to it as a {@link RenderPlan}.
+ * <p>
+ * The state of the output is tracked such that it can answer queries as the output the plan is compiled for would.
+ * Shapes, paints and images are retained as is. Nodes always create new shapes for each render, hence they are not
+ * modified after being painted.
+ */
+final class RecordingOutput implements Output {
+
+    private final @NotNull Recording recording;
+    private final int id;
+
+    private @NotNull AffineTransform transform;
+    // The clip in device space.
+    private @Nullable Shape clip;
+    private @NotNull Stroke stroke;
+    private boolean hasMaskedPaint;
+    private float opacity;
+    private final @NotNull RenderingHints renderingHints;
+    private final @NotNull Optional<Float> contextFontSize;
+
+    RecordingOutput(@NotNull Recording recording, @NotNull Output target) {
+        this.recording = recording;
+        this.id = recording.nextOutputId();
+        this.transform = target.transform();
+        this.clip = null;
+        this.stroke = target.stroke();
+        this.hasMaskedPaint = target.hasMaskedPaint();
+        this.opacity = target.currentOpacity();
+        RenderingHints hints = target.renderingHints();
+        this.renderingHints = hints != null ? (RenderingHints) hints.clone() : new RenderingHints(null);
+        this.contextFontSize = target.contextFontSize();
+    }
+
+    private RecordingOutput(@NotNull RecordingOutput parent) {
+        this.recording = parent.recording;
+        this.id = recording.nextOutputId();
+        this.transform = new AffineTransform(parent.transform);
+        this.clip = parent.clip;
+        this.stroke = parent.stroke;
+        this.hasMaskedPaint = parent.hasMaskedPaint;
+        this.opacity = parent.opacity;
+        this.renderingHints = (RenderingHints) parent.renderingHints.clone();
+        this.contextFontSize = parent.contextFontSize;
+    }
+
+    /**
+     * Records a slot for the node if it has to be rendered anew each time the plan is rendered.
+     *
+     * @return true if the node has been recorded and mustn't be rendered.
+     */
+    boolean recordDeferredNode(@NotNull SVGNode node, @NotNull RenderContext context,
+            @Nullable Instantiator instantiator) {
+        if (!isDeferred(node)) return false;
+        if (node == recording.root) {
+            recording.requiresFallback = true;
+            return true;
+        }
+        RenderContext snapshot = context.deriveForReplay(new AffineTransform(), AnimationState.NO_ANIMATION);
+        int outputId = id;
+        recording.add(r -> NodeRenderer.renderNode(node,
+                snapshot.deriveForReplay(r.deviceTransform(), r.animationState()), r.output(outputId), instantiator));
+        return true;
+    }
+
+    private boolean isDeferred(@NotNull SVGNode node) {
+        if (!(node instanceof Renderable)) return false;
+        AnimatedNodes animatedNodes = recording.animatedNodes;
+        if (animatedNodes.hasAnimatedAttributes(node)) return true;
+        boolean isolated = false;
+        if (node instanceof HasClip) {
+            HasClip hasClip = (HasClip) node;
+            // Masks and soft clips are painted with rasters which belong to the output they have been created for.
+            if (hasClip.mask() != null) return true;
+            if (hasClip.clipPath() != null) {
+                if (isSoftClippingEnabled()) return true;
+                isolated = renderingHint(SVGRenderingHints.KEY_MASK_CLIP_RENDERING)
+                        == SVGRenderingHints.VALUE_MASK_CLIP_RENDERING_ACCURACY;
+            }
+        }
+        if (!animatedNodes.hasAnimatedContent(node)) return false;
+        if (node instanceof HasFilter && ((HasFilter) node).filter() != null) isolated = true;
+        // Animated descendants can only be deferred themselves if they are painted to this output.
+        return isolated || !(node instanceof Group || node instanceof Anchor || node instanceof CommonInnerViewContainer);
+    }
+
+    @Override
+    public void fillShape(@NotNull Shape shape) {
+        int outputId = id;
+        recording.add(r -> r.output(outputId).fillShape(shape));
+    }
+
+    @Override
+    public void drawShape(@NotNull Shape shape) {
+        int outputId = id;
+        recording.add(r -> r.output(outputId).drawShape(shape));
+    }
+
+    @Override
+    public void drawImage(@NotNull BufferedImage image) {
+        int outputId = id;
+        recording.add(r -> r.output(outputId).drawImage(image));
+    }
+
+    @Override
+    public void drawImage(@NotNull Image image, @Nullable ImageObserver observer) {
+        int outputId = id;
+        recording.add(r -> r.output(outputId).drawImage(image, observer));
+    }
+
+    @Override
+    public void drawImage(@NotNull Image image, @NotNull AffineTransform at, @Nullable ImageObserver observer) {
+        int outputId = id;
+        AffineTransform imageTransform = new AffineTransform(at);
+        recording.add(r -> r.output(outputId).drawImage(image, imageTransform, observer));
+    }
+
+    @Override
+    public void setPaint(@NotNull Paint paint) {
+        // Once masked, painting stays masked. See GraphicsUtil.safelySetPaint.
+        if (paint instanceof MaskedPaint) hasMaskedPaint = true;
+        int outputId = id;
+        recording.add(r -> r.output(outputId).setPaint(paint));
+    }
+
+    @Override
+    public void setPaint(@NotNull Provider<Paint> paintProvider) {
+        setPaint(paintProvider.get());
+    }
+
+    @Override
+    public void setStroke(@NotNull Stroke stroke) {
+        this.stroke = stroke;
+        int outputId = id;
+        recording.add(r -> r.output(outputId).setStroke(stroke));
+    }
+
+    @Override
+    public @NotNull Stroke stroke() {
+        return stroke;
+    }
+
+    @Override
+    public void applyClip(@NotNull Shape clipShape) {
+        Shape deviceClip = ShapeUtil.transformShape(clipShape, transform);
+        clip = clip != null ? ShapeUtil.intersect(clip, deviceClip, true, false) : deviceClip;
+        int outputId = id;
+        recording.add(r -> r.output(outputId).applyClip(clipShape));
+    }
+
+    @Override
+    public void setClip(@Nullable Shape shape) {
+        int outputId = id;
+        if (shape != null) {
+            clip = ShapeUtil.transformShape(shape, transform);
+            recording.add(r -> r.output(outputId).setClip(shape));
+        } else {
+            clip = null;
+            recording.add(r -> r.resetClip(outputId));
+        }
+    }
+
+    @Override
+    public Optional<Float> contextFontSize() {
+        return contextFontSize;
+    }
+
+    @Override
+    public @NotNull Output createChild() {
+        RecordingOutput child = new RecordingOutput(this);
+        int childId = child.id;
+        int outputId = id;
+        recording.add(r -> r.createOutput(childId, outputId));
+        return child;
+    }
+
+    @Override
+    public void dispose() {
+        int outputId = id;
+        recording.add(r -> r.disposeOutput(outputId));
+    }
+
+    @Override
+    public void debugPaint(@NotNull Consumer<Graphics2D> painter) {
+        // Not supported. Do nothing
+    }
+
+    @Override
+    public @NotNull Rectangle2D clipBounds() {
+        if (clip == null) {
+            float veryLargeNumber = Float.MAX_VALUE / 4;
+            return new Rectangle2D.Float(-veryLargeNumber, -veryLargeNumber, 2 * veryLargeNumber,
+                    2 * veryLargeNumber);
+        }
+        try {
+            return ShapeUtil.transformShape(clip, transform.createInverse()).getBounds2D();
+        } catch (NoninvertibleTransformException e) {
+            return new Rectangle2D.Float();
+        }
+    }
+
+    @Override
+    public @NotNull RenderingHints renderingHints() {
+        return (RenderingHints) renderingHints.clone();
+    }
+
+    @Override
+    public @Nullable Object renderingHint(RenderingHints.@NotNull Key key) {
+        return renderingHints.get(key);
+    }
+
+    @Override
+    public void setRenderingHint(RenderingHints.@NotNull Key key, @Nullable Object value) {
+        if (value != null) {
+            renderingHints.put(key, value);
+        } else {
+            renderingHints.remove(key);
+        }
+        int outputId = id;
+        recording.add(r -> r.output(outputId).setRenderingHint(key, value));
+    }
+
+    @Override
+    public @NotNull AffineTransform transform() {
+        return new AffineTransform(transform);
+    }
+
+    @Override
+    public void setTransform(@NotNull AffineTransform affineTransform) {
+        AffineTransform at = new AffineTransform(affineTransform);
+        transform = new AffineTransform(at);
+        int outputId = id;
+        recording.add(r -> r.output(outputId).setTransform(r.toDeviceSpace(at)));
+    }
+
+    @Override
+    public void applyTransform(@NotNull AffineTransform transform) {
+        AffineTransform at = new AffineTransform(transform);
+        this.transform.concatenate(at);
+        int outputId = id;
+        recording.add(r -> r.output(outputId).applyTransform(at));
+    }
+
+    @Override
+    public void rotate(double angle) {
+        transform.rotate(angle);
+        int outputId = id;
+        recording.add(r -> r.output(outputId).rotate(angle));
+    }
+
+    @Override
+    public void scale(double sx, double sy) {
+        transform.scale(sx, sy);
+        int outputId = id;
+        recording.add(r -> r.output(outputId).scale(sx, sy));
+    }
+
+    @Override
+    public void translate(double dx, double dy) {
+        transform.translate(dx, dy);
+        int outputId = id;
+        recording.add(r -> r.output(outputId).translate(dx, dy));
+    }
+
+    @Override
+    public float currentOpacity() {
+        return opacity;
+    }
+
+    @Override
+    public void applyOpacity(float opacity) {
+        if (GeometryUtil.approximatelyEqual(opacity, 1)) return;
+        this.opacity *= opacity;
+        int outputId = id;
+        recording.add(r -> r.output(outputId).applyOpacity(opacity));
+    }
+
+    @Override
+    public boolean hasMaskedPaint() {
+        return hasMaskedPaint;
+    }
+
+    @Override
+    public @NotNull SafeState safeState() {
+        int stateId = recording.safeStateCount++;
+        int outputId = id;
+        recording.add(r -> r.saveState(stateId, outputId));
+        AffineTransform savedTransform = new AffineTransform(transform);
+        Stroke savedStroke = stroke;
+        boolean savedHasMaskedPaint = hasMaskedPaint;
+        float savedOpacity = opacity;
+        return () -> {
+            transform = new AffineTransform(savedTransform);
+            stroke = savedStroke;
+            hasMaskedPaint = savedHasMaskedPaint;
+            opacity = savedOpacity;
+            recording.add(r -> r.restoreState(stateId));
+        };
+    }
+
+    @Override
+    public boolean supportsFilters() {
+        return true;
+    }
+
+    @Override
+    public boolean supportsColors() {
+        return true;
+    }
+
+    static final class Recording {
+        private final @NotNull SVGNode root;
+        private final @NotNull AnimatedNodes animatedNodes;
+        private final @NotNull List<RenderPlan.@NotNull Op> ops = new ArrayList<>();
+        private int outputCount;
+        private int safeStateCount;
+        private boolean requiresFallback;
+
+        Recording(@NotNull SVGNode root, @NotNull AnimatedNodes animatedNodes) {
+            this.root = root;
+            this.animatedNodes = animatedNodes;
+        }
+
+        private void add(@NotNull RenderPlan.Op op) {
+            ops.add(op);
+        }
+
+        private int nextOutputId() {
+            return outputCount++;
+        }
+
+        @NotNull
+        RenderPlan.Op @NotNull [] ops() {
+            return ops.toArray(new RenderPlan.Op[0]);
+        }
+
+        int outputCount() {
+            return outputCount;
+        }
+
+        int safeStateCount() {
+            return safeStateCount;
+        }
+
+        boolean requiresFallback() {
+            return requiresFallback;
+        }
+    }
+}
@@ -30,6 +30,7 @@ import org.jetbrains.annotations.Nullable;
 
 import com.github.weisj.jsvg_mc.attributes.FillRule;
 import com.github.weisj.jsvg_mc.attributes.PaintOrder;
+import com.github.weisj.jsvg_mc.attributes.PointerEvents;
 import com.github.weisj.jsvg_mc.attributes.ViewBox;
 import com.github.weisj.jsvg_mc.attributes.font.FontResolver;
 import com.github.weisj.jsvg_mc.attributes.font.MeasurableFontSpec;
@@ -56,9 +57,24 @@ public final class RenderContext {
     private final @NotNull AffineTransform rootTransform;
     private final @NotNull AffineTransform userSpaceTransform;
 
+    // Only present if the rendered content is fully determined by the document and the initial context.
+    private final @Nullable RasterCache rasterCache;
+    // Present under the same condition as the raster cache.
+    private final @Nullable CullingIndex cullingIndex;
 
     public static @NotNull RenderContext createInitial(@NotNull PlatformSupport awtSupport,
             @NotNull MeasureContext measureContext) {
+        return createInitial(awtSupport, measureContext, null);
+    }
+
+    public static @NotNull RenderContext createInitial(@NotNull PlatformSupport awtSupport,
+            @NotNull MeasureContext measureContext, @Nullable RasterCache rasterCache) {
+        return createInitial(awtSupport, measureContext, rasterCache, null);
+    }
+
+    public static @NotNull RenderContext createInitial(@NotNull PlatformSupport awtSupport,
+            @NotNull MeasureContext measureContext, @Nullable RasterCache rasterCache,
+            @Nullable CullingIndex cullingIndex) {
         return new RenderContext(awtSupport,
                 new AffineTransform(),
                 new AffineTransform(),
@@ -66,7 +82,9 @@ public final class RenderContext {
                 measureContext,
                 FontRenderContext.createDefault(),
                 MeasurableFontSpec.createDefault(),
-                null);
+                null,
+                rasterCache,
+                cullingIndex);
     }
 
     RenderContext(@NotNull PlatformSupport platformSupport,
@@ -76,7 +94,9 @@ public final class RenderContext {
             @NotNull MeasureContext measureContext,
             @NotNull FontRenderContext fontRenderContext,
             @NotNull MeasurableFontSpec fontSpec,
-            @Nullable ContextElementAttributes contextElementAttributes) {
+            @Nullable ContextElementAttributes contextElementAttributes,
+            @Nullable RasterCache rasterCache,
+            @Nullable CullingIndex cullingIndex) {
         this.awtSupport = platformSupport;
         this.rootTransform = rootTransform;
         this.userSpaceTransform = userSpaceTransform;
@@ -85,6 +105,8 @@ public final class RenderContext {
         this.fontRenderContext = fontRenderContext;
         this.fontSpec = fontSpec;
         this.contextElementAttributes = contextElementAttributes;
+        this.rasterCache = rasterCache;
+        this.cullingIndex = cullingIndex;
     }
 
     @NotNull
@@ -132,7 +154,8 @@ public final class RenderContext {
         AffineTransform newRootTransform = rootTransform != null ? rootTransform : this.rootTransform;
 
         return new RenderContext(awtSupport, newRootTransform, new AffineTransform(userSpaceTransform),
-                newPaintContext, newMeasureContext, effectiveFrc, newFontSpec, newContextAttributes);
+                newPaintContext, newMeasureContext, effectiveFrc, newFontSpec, newContextAttributes, rasterCache,
+                cullingIndex);
     }
 
     public @NotNull RenderContext deriveForChildGraphics() {
@@ -145,6 +168,49 @@ public final class RenderContext {
                 new AffineTransform(rootTransform), EstablishRootMeasure.No);
     }
 
+    /*
+     * Returns a context which shares all state including the transforms with this context, but doesn't allow
+     * the use of the raster cache.
+     */
+    @NotNull
+    RenderContext deriveWithoutRasterCache() {
+        if (rasterCache == null) return this;
+        return new RenderContext(awtSupport, rootTransform, userSpaceTransform, paintContext, measureContext,
+                fontRenderContext, fontSpec, contextElementAttributes, null, cullingIndex);
+    }
+
+    /*
+     * Like deriveWithoutRasterCache, but doesn't allow the use of any state retained by the document.
+     */
+    @NotNull
+    RenderContext deriveWithoutDocumentCaches() {
+        if (rasterCache == null && cullingIndex == null) return this;
+        return new RenderContext(awtSupport, rootTransform, userSpaceTransform, paintContext, measureContext,
+                fontRenderContext, fontSpec, contextElementAttributes, null, null);
+    }
+
+    /*
+     * Returns an independent copy of this context for rendering with the given animation state. The device space of
+     * the new render is related to the current one by the given transform.
+     */
+    @NotNull
+    RenderContext deriveForReplay(@NotNull AffineTransform deviceTransform, @NotNull AnimationState animationState) {
+        AffineTransform newRootTransform = new AffineTransform(deviceTransform);
+        newRootTransform.concatenate(rootTransform);
+        return new RenderContext(awtSupport, newRootTransform, new AffineTransform(userSpaceTransform), paintContext,
+                measureContext.derive(animationState), fontRenderContext, fontSpec, contextElementAttributes, null, null);
+    }
+
+    @Nullable
+    RasterCache rasterCache() {
+        return rasterCache;
+    }
+
+    @Nullable
+    CullingIndex cullingIndex() {
+        return cullingIndex;
+    }
+
     public @NotNull StrokeContext strokeContext() {
         // This will never be null for a RenderContext.
         // Our deriving mechanism together with non-null initial values prohibits this.
@@ -224,6 +290,11 @@ public final class RenderContext {
         return resolvePaint(paintContext.fillPaint);
     }
 
+    public @NotNull PointerEvents pointerEvents() {
+        PointerEvents pointerEvents = paintContext.pointerEvents;
+        return pointerEvents != null ? pointerEvents : PointerEvents.VisiblePainted;
+    }
+
     public @NotNull PaintOrder paintOrder() {
         PaintOrder paintOrder = paintContext.paintOrder;
         return paintOrder != null ? paintOrder : PaintOrder.NORMAL;
@@ -0,0 +1,197 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2025 Jannis Weis
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and
+ * associated documentation files (the "Software"), to deal in the Software without restriction,
+ * including without limitation the rights to use, copy, modify, merge, publish, distribute,
+ * sublicense, and/or sell copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or
+ * substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT
+ * NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ *
+ */
+package com.github.weisj.jsvg_mc.renderer;
+
+import java.awt.*;
+import java.awt.geom.AffineTransform;
+import java.awt.geom.Rectangle2D;
+import java.util.Map;
+import java.util.function.BiConsumer;
+import java.util.function.Consumer;
+
+import org.jetbrains.annotations.ApiStatus;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import com.github.weisj.jsvg_mc.geometry.util.GeometryUtil;
+import com.github.weisj.jsvg_mc.nodes.SVGNode;
+
+/**
+ * A document compiled into a flat list of drawing operations.
+ * <p>
+ * Compiling renders the document once and records the resolved shapes, paints, strokes, transforms and clips.
+ * Rendering the plan replays these operations without visiting the node tree again. Nodes whose appearance depends
+ * on the animation state or on the output they are painted to, i.e. animated nodes and masks, are recorded as slots
+ * which are rendered normally with the {@link AnimationState} passed to {@link #render(Output, AnimationState)}.
+ * <p>
+ * A plan is only valid for the viewport and font size it has been compiled for. It may be rendered with a different
+ * transform, but rasterized content like filter results is only pixel exact if the transform differs from the one
+ * used for compiling by an integer translation. Rendering a plan doesn't modify it, hence it can be rendered
+ * concurrently.
+ */
+public final class RenderPlan {
+    private final @NotNull Op @NotNull [] ops;
+    private final int outputCount;
+    private final int safeStateCount;
+    private final @NotNull AffineTransform deviceTransform;
+    private final @Nullable RenderingHints renderingHints;
+
+    @FunctionalInterface
+    interface Op {
+        void replay(@NotNull Replay replay);
+    }
+
+    private RenderPlan(@NotNull Op @NotNull [] ops, int outputCount, int safeStateCount,
+            @NotNull Output target) {
+        this.ops = ops;
+        this.outputCount = outputCount;
+        this.safeStateCount = safeStateCount;
+        this.deviceTransform = target.transform();
+        this.renderingHints = target.renderingHints();
+    }
+
+    /**
+     * Compiles a plan by recording the operations issued by the given renderer.
+     *
+     * @param target the output providing the initial state of the recording.
+     * @param root the root node of the recorded document.
+     * @param animatedNodes the animated nodes of the recorded document.
+     * @param renderer renders the document into the given output.
+     * @param fallback renders the document with an animation state. Used if the root of the document can't be
+     *        recorded.
+     * @return the compiled plan.
+     */
+    @ApiStatus.Internal
+    public static @NotNull RenderPlan compile(@NotNull Output target, @NotNull SVGNode root,
+            @NotNull AnimatedNodes animatedNodes, @NotNull Consumer<@NotNull Output> renderer,
+            @NotNull BiConsumer<@NotNull Output, @NotNull AnimationState> fallback) {
+        if (animatedNodes.hasAnimatedAttributes(root)) return deferred(target, fallback);
+        RecordingOutput.Recording recording = new RecordingOutput.Recording(root, animatedNodes);
+        RecordingOutput output = new RecordingOutput(recording, target);
+        renderer.accept(output);
+        if (recording.requiresFallback()) return deferred(target, fallback);
+        return new RenderPlan(recording.ops(), recording.outputCount(), recording.safeStateCount(), target);
+    }
+
+    /**
+     * Creates a plan which doesn't record anything and instead renders the document normally.
+     */
+    @ApiStatus.Internal
+    public static @NotNull RenderPlan deferred(@NotNull Output target,
+            @NotNull BiConsumer<@NotNull Output, @NotNull AnimationState> renderer) {
+        Op op = r -> renderer.accept(r.output(0), r.animationState());
+        return new RenderPlan(new Op[] {op}, 1, 0, target);
+    }
+
+    public void render(@NotNull Graphics2D g, @Nullable AnimationState animationState) {
+        Output output = new Graphics2DOutput((Graphics2D) g.create());
+        render(output, animationState);
+        output.dispose();
+    }
+
+    public void render(@NotNull Output output, @Nullable AnimationState animationState) {
+        Output root = output.createChild();
+        if (renderingHints != null) {
+            for (Map.Entry<Object, Object> hint : renderingHints.entrySet()) {
+                root.setRenderingHint((RenderingHints.Key) hint.getKey(), hint.getValue());
+            }
+        }
+        Replay replay = new Replay(this, root,
+                animationState != null ? animationState : AnimationState.NO_ANIMATION);
+        for (Op op : ops) {
+            op.replay(replay);
+        }
+        root.dispose();
+    }
+
+    static final class Replay {
+        private final Output[] outputs;
+        private final Output.SafeState[] safeStates;
+        private final @NotNull AnimationState animationState;
+        // Maps the device space of the recording to the device space of the output.
+        private final @NotNull AffineTransform deviceTransform;
+        private final @NotNull AffineTransform rootTransform;
+        private final @Nullable Rectangle2D rootClip;
+
+        private Replay(@NotNull RenderPlan plan, @NotNull Output root, @NotNull AnimationState animationState) {
+            this.outputs = new Output[plan.outputCount];
+            this.safeStates = new Output.SafeState[plan.safeStateCount];
+            this.animationState = animationState;
+            this.rootTransform = root.transform();
+            this.rootClip = root.clipBounds();
+            AffineTransform at = new AffineTransform(rootTransform);
+            at.concatenate(GeometryUtil.createInverse(plan.deviceTransform));
+            this.deviceTransform = at;
+            outputs[0] = root;
+        }
+
+        @NotNull
+        Output output(int id) {
+            return outputs[id];
+        }
+
+        void createOutput(int id, int parentId) {
+            outputs[id] = outputs[parentId].createChild();
+        }
+
+        void disposeOutput(int id) {
+            outputs[id].dispose();
+            outputs[id] = null;
+        }
+
+        void saveState(int id, int outputId) {
+            safeStates[id] = outputs[outputId].safeState();
+        }
+
+        void restoreState(int id) {
+            safeStates[id].restore();
+        }
+
+        @NotNull
+        AnimationState animationState() {
+            return animationState;
+        }
+
+        @NotNull
+        AffineTransform deviceTransform() {
+            return deviceTransform;
+        }
+
+        @NotNull
+        AffineTransform toDeviceSpace(@NotNull AffineTransform transform) {
+            AffineTransform at = new AffineTransform(deviceTransform);
+            at.concatenate(transform);
+            return at;
+        }
+
+        /*
+         * Removing the clip of an output may only reveal what the output the plan is rendered to allows.
+         */
+        void resetClip(int id) {
+            Output output = outputs[id];
+            AffineTransform transform = output.transform();
+            output.setTransform(rootTransform);
+            output.setClip(rootClip);
+            output.setTransform(transform);
+        }
+    }
+}
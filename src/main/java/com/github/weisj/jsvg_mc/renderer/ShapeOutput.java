@@ -24,6 +24,8 @@ package com.github.weisj.jsvg_mc.renderer;
 import java.awt.*;
 import java.awt.geom.AffineTransform;
 import java.awt.geom.Area;
+import java.awt.geom.Path2D;
+import java.awt.geom.PathIterator;
 import java.awt.geom.Rectangle2D;
 import java.awt.image.BufferedImage;
 import java.awt.image.ImageObserver;
@@ -39,31 +41,62 @@ import com.github.weisj.jsvg_mc.util.ShapeUtil;
 
 public class ShapeOutput implements Output {
 
-    private final @NotNull Area accumulatorShape;
+    private final @NotNull Accumulator accumulator;
     private @NotNull AffineTransform currentTransform;
     private @NotNull Stroke currentStroke;
     private @Nullable Shape currentClip;
 
+    /**
+     * Creates an output which adds every painted shape to the given area.
+     *
+     * @param area the area to accumulate into.
+     */
     public ShapeOutput(@NotNull Area area) {
-        accumulatorShape = area;
+        this(new AreaAccumulator(area));
+    }
+
+    /**
+     * Creates an output which appends the outlines of all painted shapes to the given path. The outlines are
+     * normalized such that the area of the path under the non-zero winding rule is the union of the painted shapes.
+     * Hence, the union can be computed in a single pass using {@code new Area(path)} once painting is done, which
+     * is considerably faster than accumulating into an area for documents with many elements.
+     *
+     * @param path the path to append to. Its winding rule is set to {@link Path2D#WIND_NON_ZERO}.
+     * @param flatness the maximum distance of the line segments approximating curves to the curves.
+     *        If {@code <= 0} curves are preserved.
+     */
+    public ShapeOutput(@NotNull Path2D path, double flatness) {
+        this(new PathAccumulator(path, flatness));
+    }
+
+    /**
+     * Creates an output which adds the bounds of all painted shapes to the given rectangle.
+     * If nothing is painted the rectangle is left unchanged.
+     *
+     * @param bounds the rectangle to accumulate into.
+     */
+    public ShapeOutput(@NotNull Rectangle2D bounds) {
+        this(new BoundsAccumulator(bounds));
+    }
+
+    private ShapeOutput(@NotNull Accumulator accumulator) {
+        this.accumulator = accumulator;
         currentStroke = new BasicStroke();
         currentTransform = new AffineTransform();
         currentClip = null;
     }
 
     private ShapeOutput(@NotNull ShapeOutput parent) {
-        accumulatorShape = parent.accumulatorShape;
+        accumulator = parent.accumulator;
         currentStroke = parent.currentStroke;
         currentTransform = new AffineTransform(parent.currentTransform);
-        currentClip = parent.currentClip != null ? new Area(parent.currentClip) : null;
+        // Clips are never modified in place, hence they can be shared.
+        currentClip = parent.currentClip;
     }
 
     private void addShape(@NotNull Shape shape) {
         // NOTE: ShapeUtil.transformShape always returns a new shape hence we can safely modify shape.
-        Shape s = currentClip != null
-                ? ShapeUtil.intersect(currentClip, shape, true, false)
-                : shape;
-        accumulatorShape.add(new Area(s));
+        accumulator.add(shape, currentClip);
     }
 
     private void append(@NotNull Shape shape, @NotNull AffineTransform transform) {
@@ -246,13 +279,13 @@ public class ShapeOutput implements Output {
         private final @NotNull ShapeOutput shapeOutput;
         private final @NotNull Stroke oldStroke;
         private final @NotNull AffineTransform oldTransform;
-        private final @Nullable Area oldClip;
+        private final @Nullable Shape oldClip;
 
         private ShapeOutputSafeState(@NotNull ShapeOutput shapeOutput) {
             this.shapeOutput = shapeOutput;
             this.oldStroke = shapeOutput.stroke();
             this.oldTransform = shapeOutput.transform();
-            this.oldClip = shapeOutput.currentClip != null ? new Area(shapeOutput.currentClip) : null;
+            this.oldClip = shapeOutput.currentClip;
         }
 
         @Override
@@ -262,4 +295,93 @@ public class ShapeOutput implements Output {
             shapeOutput.currentClip = oldClip;
         }
     }
+
+    private interface Accumulator {
+        void add(@NotNull Shape shape, @Nullable Shape clip);
+    }
+
+    private static final class AreaAccumulator implements Accumulator {
+        private final @NotNull Area area;
+
+        private AreaAccumulator(@NotNull Area area) {
+            this.area = area;
+        }
+
+        @Override
+        public void add(@NotNull Shape shape, @Nullable Shape clip) {
+            Shape s = clip != null
+                    ? ShapeUtil.intersect(clip, shape, true, false)
+                    : shape;
+            area.add(new Area(s));
+        }
+    }
+
+    private static final class PathAccumulator implements Accumulator {
+        private final @NotNull Path2D path;
+        private final double flatness;
+
+        private PathAccumulator(@NotNull Path2D path, double flatness) {
+            this.path = path;
+            this.flatness = flatness;
+            path.setWindingRule(Path2D.WIND_NON_ZERO);
+        }
+
+        @Override
+        public void add(@NotNull Shape shape, @Nullable Shape clip) {
+            Shape s = shape;
+            if (flatness > 0 && !(s instanceof Rectangle2D)) {
+                Path2D flattened = new Path2D.Double(Path2D.WIND_NON_ZERO);
+                PathIterator iterator = s.getPathIterator(null, flatness);
+                flattened.setWindingRule(iterator.getWindingRule());
+                flattened.append(iterator, false);
+                s = flattened;
+            }
+            if (clip != null && !containsBounds(clip, s)) {
+                s = ShapeUtil.intersect(clip, s, true, false);
+            }
+            // The outline of an area is free of self intersections and consistently oriented, which is
+            // required for the non-zero winding rule to produce the union of the appended outlines.
+            if (s instanceof Rectangle2D) {
+                appendRect((Rectangle2D) s);
+            } else {
+                path.append(s instanceof Area ? s : new Area(s), false);
+            }
+        }
+
+        private void appendRect(@NotNull Rectangle2D r) {
+            if (ShapeUtil.isInvalidArea(r)) return;
+            // Same orientation as the outline of an area.
+            path.moveTo(r.getMinX(), r.getMinY());
+            path.lineTo(r.getMinX(), r.getMaxY());
+            path.lineTo(r.getMaxX(), r.getMaxY());
+            path.lineTo(r.getMaxX(), r.getMinY());
+            path.closePath();
+        }
+
+        private static boolean containsBounds(@NotNull Shape clip, @NotNull Shape shape) {
+            return clip instanceof Rectangle2D && clip.contains(shape.getBounds2D());
+        }
+    }
+
+    private static final class BoundsAccumulator implements Accumulator {
+        private final @NotNull Rectangle2D bounds;
+        private boolean empty = true;
+
+        private BoundsAccumulator(@NotNull Rectangle2D bounds) {
+            this.bounds = bounds;
+        }
+
+        @Override
+        public void add(@NotNull Shape shape, @Nullable Shape clip) {
+            Rectangle2D b = shape.getBounds2D();
+            if (clip != null) Rectangle2D.intersect(b, clip.getBounds2D(), b);
+            if (ShapeUtil.isInvalidArea(b)) return;
+            if (empty) {
+                bounds.setRect(b);
+                empty = false;
+            } else {
+                bounds.add(b);
+            }
+        }
+    }
 }
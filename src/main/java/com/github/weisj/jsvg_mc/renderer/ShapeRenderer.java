@@ -30,6 +30,7 @@ import org.jetbrains.annotations.Nullable;
 
 import com.github.weisj.jsvg_mc.attributes.MarkerOrientation;
 import com.github.weisj.jsvg_mc.attributes.PaintOrder;
+import com.github.weisj.jsvg_mc.attributes.PointerEvents;
 import com.github.weisj.jsvg_mc.attributes.VectorEffect;
 import com.github.weisj.jsvg_mc.attributes.paint.SVGPaint;
 import com.github.weisj.jsvg_mc.geometry.size.FloatSize;
@@ -104,6 +105,10 @@ public final class ShapeRenderer {
         Set<VectorEffect> vectorEffects = shapePaintContext.vectorEffects;
         VectorEffect.applyEffects(shapePaintContext.vectorEffects, output,
                 shapePaintContext.context, shapePaintContext.transform);
+        if (output instanceof HitTestOutput) {
+            recordHitShape(output, canBeFilledHint, shapePaintContext, paintShape);
+            return;
+        }
         Output.SafeState safeState = output.safeState();
 
         // FIXME: Opacity should be uniform on fill and stroke. Fill shouldn't be visible beneath stroke.
@@ -136,6 +141,29 @@ public final class ShapeRenderer {
         }
     }
 
+    private static void recordHitShape(@NotNull Output output, boolean canBeFilledHint,
+            @NotNull ShapePaintContext shapePaintContext, @NotNull PaintShape paintShape) {
+        RenderContext context = shapePaintContext.context;
+        PointerEvents pointerEvents = context.pointerEvents();
+        if (pointerEvents == PointerEvents.BoundingBox) {
+            output.fillShape(paintShape.shape.getBounds2D());
+            return;
+        }
+        if (canBeFilledHint && pointerEvents.hitsFill(context.fillPaint().isVisible(context))) {
+            output.fillShape(paintShape.shape);
+        }
+        if (pointerEvents.hitsStroke(context.strokePaint().isVisible(context))) {
+            Shape strokeShape = paintShape.shape;
+            Set<VectorEffect> vectorEffects = shapePaintContext.vectorEffects;
+            if (vectorEffects.contains(VectorEffect.NonScalingStroke)
+                    && !vectorEffects.contains(VectorEffect.NonScalingSize)) {
+                strokeShape = VectorEffect.applyNonScalingStroke(output, context, strokeShape);
+            }
+            output.setStroke(shapePaintContext.stroke);
+            output.drawShape(strokeShape);
+        }
+    }
+
     private static void renderMarkers(@NotNull Output output, @NotNull RenderContext context,
             @NotNull PaintShape paintShape, @NotNull ShapeMarkerInfo markerInfo) {
         if (markerInfo.markerStart == null && markerInfo.markerMid == null && markerInfo.markerEnd == null) return;
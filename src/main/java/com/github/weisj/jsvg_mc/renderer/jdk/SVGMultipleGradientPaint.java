@@ -23,8 +23,6 @@ package com.github.weisj.jsvg_mc.renderer.jdk;
 
 import java.awt.*;
 import java.awt.geom.AffineTransform;
-import java.awt.image.ColorModel;
-import java.lang.ref.SoftReference;
 
 import org.jetbrains.annotations.NotNull;
 
@@ -80,16 +78,10 @@ public abstract class SVGMultipleGradientPaint implements Paint {
     final @NotNull MultipleGradientPaint.ColorSpaceType colorSpace;
 
     /**
-     * The following fields are used only by MultipleGradientPaintContext
-     * to cache certain values that remain constant and do not need to be
+     * The lookup data used by SVGMultipleGradientPaintContext, which remains constant and doesn't need to be
      * recalculated for each context created from this paint instance.
      */
-    ColorModel model;
-    float[] normalizedIntervals;
-    boolean isSimpleLookup;
-    SoftReference<int[][]> gradients;
-    SoftReference<int[]> gradient;
-    int fastGradientArraySize;
+    volatile SVGMultipleGradientPaintContext.LookupData lookup;
 
     /**
      * Package-private constructor.
@@ -27,84 +27,76 @@ import org.jetbrains.annotations.ApiStatus;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
+import com.github.weisj.jsvg_mc.animation.AnimationClock;
 import com.github.weisj.jsvg_mc.animation.AnimationPeriod;
 import com.github.weisj.jsvg_mc.renderer.AnimationState;
 
+/**
+ * Plays an animation on the event dispatch thread. Outside of Swing use {@link AnimationClock} directly.
+ */
 @ApiStatus.Experimental
 public class AnimationPlayer {
-    private static final AnimationPeriod NO_ANIMATION = new AnimationPeriod(0, 0, false);
+    private static final int FRAME_DELAY = 1000 / 60;
 
     @FunctionalInterface
     public interface FrameAction {
         void runFrame(long elapsedTime);
     }
 
-    private final Timer animationTimer = new Timer(1 / 60, e -> tick());
-    private final @NotNull FrameAction action;
-    private @NotNull AnimationPeriod animationPeriod;
-    private long startTime;
-    private long elapsedTime;
+    private final Timer animationTimer = new Timer(FRAME_DELAY, e -> tick());
+    private final @NotNull AnimationClock clock;
 
     public AnimationPlayer(@NotNull FrameAction action) {
-        this.animationPeriod = NO_ANIMATION;
-        this.action = action;
+        this.clock = new AnimationClock(action::runFrame);
 
         animationTimer.setCoalesce(true);
         animationTimer.setRepeats(true);
     }
 
+    public @NotNull AnimationClock clock() {
+        return clock;
+    }
+
     public void setAnimationPeriod(@Nullable AnimationPeriod animationPeriod) {
-        this.animationPeriod = animationPeriod != null
-                ? animationPeriod
-                : NO_ANIMATION;
-        animationTimer.setInitialDelay((int) this.animationPeriod.startTime());
+        clock.setAnimationPeriod(animationPeriod);
     }
 
     public @NotNull AnimationState animationState() {
-        return new AnimationState(0, elapsedTime());
+        return clock.animationState();
     }
 
-
     public boolean isRunning() {
         return animationTimer.isRunning();
     }
 
     public void start() {
-        elapsedTime = 0;
-        resume();
+        clock.start();
+        startTimer();
     }
 
     public void stop() {
-        pause();
-        elapsedTime = 0;
-
+        animationTimer.stop();
+        clock.stop();
     }
 
     public void pause() {
         animationTimer.stop();
-        elapsedTime = elapsedTime + (System.currentTimeMillis() - startTime);
-        action.runFrame(elapsedTime());
+        clock.pause();
     }
 
     public void resume() {
-        if (elapsedTime() >= animationPeriod.duration()) return;
-        startTime = System.currentTimeMillis();
-        animationTimer.start();
+        clock.resume();
+        startTimer();
     }
 
-    private long elapsedTime() {
-        if (!animationTimer.isRunning()) return elapsedTime;
-        long currentTime = System.currentTimeMillis();
-        return (currentTime - startTime) + elapsedTime;
+    private void startTimer() {
+        if (!clock.isRunning()) return;
+        animationTimer.start();
+        tick();
     }
 
     private void tick() {
-        long time = elapsedTime();
-        long maxTime = animationPeriod.endTime();
-        if (time >= maxTime) {
-            animationTimer.stop();
-            time = maxTime;
-        }
-        action.runFrame(time);
+        clock.tick();
+        if (!clock.isRunning()) animationTimer.stop();
     }
 }
@@ -76,18 +76,8 @@ public final class BlittableImage {
             @NotNull RenderContext context, @Nullable Rectangle2D clipBounds,
             @NotNull Rectangle2D bounds, @NotNull Rectangle2D objectBounds, @NotNull UnitType contentUnits,
             @NotNull RenderContext imageContext) {
-        Rectangle2D boundsInDeviceSpace = GeometryUtil.userBoundsToDeviceBounds(context, bounds);
-
-        if (clipBounds != null) {
-            Rectangle2D clipBoundsInDeviceSpace = GeometryUtil.userBoundsToDeviceBounds(context, clipBounds);
-            Rectangle2D.intersect(clipBoundsInDeviceSpace, boundsInDeviceSpace, boundsInDeviceSpace);
-        }
-
-        if (ShapeUtil.isInvalidArea(boundsInDeviceSpace)) return null;
-
-        // Convert to integer coordinates to ensure we don't cut off any pixels due to rounding errors.
-        // Increase size by 1 to ensure we don't cut off any pixels used for anti-aliasing.
-        GeometryUtil.adjustForAliasing(boundsInDeviceSpace);
+        Rectangle2D boundsInDeviceSpace = imageBoundsInDeviceSpace(context, clipBounds, bounds);
+        if (boundsInDeviceSpace == null) return null;
 
         Rectangle2D adjustedBoundsInRootSpace = GeometryUtil.convertBounds(context, boundsInDeviceSpace,
                 GeometryUtil.Space.DEVICE, GeometryUtil.Space.ROOT);
@@ -114,6 +104,27 @@ public final class BlittableImage {
         return new BlittableImage(img, imageContext, boundsInDeviceSpace, adjustedBoundsInRootSpace);
     }
 
+    /**
+     * Computes the bounds of the image {@link #create} would allocate for the given bounds.
+     *
+     * @return the pixel aligned bounds in device space or null if they are empty.
+     */
+    public static @Nullable Rectangle2D imageBoundsInDeviceSpace(@NotNull RenderContext context,
+            @Nullable Rectangle2D clipBounds, @NotNull Rectangle2D bounds) {
+        Rectangle2D boundsInDeviceSpace = GeometryUtil.userBoundsToDeviceBounds(context, bounds);
+
+        if (clipBounds != null) {
+            Rectangle2D clipBoundsInDeviceSpace = GeometryUtil.userBoundsToDeviceBounds(context, clipBounds);
+            Rectangle2D.intersect(clipBoundsInDeviceSpace, boundsInDeviceSpace, boundsInDeviceSpace);
+        }
+
+        if (ShapeUtil.isInvalidArea(boundsInDeviceSpace)) return null;
+
+        // Convert to integer coordinates to ensure we don't cut off any pixels due to rounding errors.
+        // Increase size by 1 to ensure we don't cut off any pixels used for anti-aliasing.
+        return GeometryUtil.adjustForAliasing(boundsInDeviceSpace);
+    }
+
     public @NotNull RenderContext context() {
         return context;
     }
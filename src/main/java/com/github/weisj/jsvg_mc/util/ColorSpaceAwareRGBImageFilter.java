@@ -25,7 +25,7 @@ import java.awt.image.RGBImageFilter;
 
 public abstract class ColorSpaceAwareRGBImageFilter extends RGBImageFilter {
 
-    private final int[] tmp = new int[4];
+    private int[] tmp = new int[4];
     private boolean convertToLinear;
 
     protected int[] getRGB(int rgb) {
@@ -48,4 +48,12 @@ public abstract class ColorSpaceAwareRGBImageFilter extends RGBImageFilter {
     public void setConvertToLinear(boolean convertToLinear) {
         this.convertToLinear = convertToLinear;
     }
+
+    @Override
+    public Object clone() {
+        ColorSpaceAwareRGBImageFilter filter = (ColorSpaceAwareRGBImageFilter) super.clone();
+        // The scratch buffer must not be shared between copies which may run on different threads.
+        filter.tmp = new int[4];
+        return filter;
+    }
 }
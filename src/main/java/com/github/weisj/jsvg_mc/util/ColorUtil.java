@@ -35,10 +35,34 @@ public final class ColorUtil {
         return (x + (x >> 8)) >> 8;
     }
 
+    public static int premultiply(int argb) {
+        int a = argb >>> 24;
+        if (a == 255) return argb;
+        if (a == 0) return 0;
+        int r = div255(((argb >> 16) & 0xFF) * a);
+        int g = div255(((argb >> 8) & 0xFF) * a);
+        int b = div255((argb & 0xFF) * a);
+        return (a << 24) | (r << 16) | (g << 8) | b;
+    }
+
+    public static int unpremultiply(int argbPre) {
+        int a = argbPre >>> 24;
+        if (a == 255 || a == 0) return argbPre;
+        int half = a >> 1;
+        int r = Math.min(255, (((argbPre >> 16) & 0xFF) * 255 + half) / a);
+        int g = Math.min(255, (((argbPre >> 8) & 0xFF) * 255 + half) / a);
+        int b = Math.min(255, ((argbPre & 0xFF) * 255 + half) / a);
+        return (a << 24) | (r << 16) | (g << 8) | b;
+    }
+
     public static int computeLuminance(int r, int g, int b) {
         return toRgbRange(0.2125 * r + 0.7164 * g + 0.0712 * b);
     }
 
+    public static float computeLuminance(float r, float g, float b) {
+        return 0.2125f * r + 0.7164f * g + 0.0712f * b;
+    }
+
     public static int toRgbRange(double value) {
         return (int) Math.max(Math.min(Math.round(value), 255), 0);
     }
@@ -64,10 +88,10 @@ public final class ColorUtil {
             b = 0;
         else if (b > 255) b = 255;
 
-        float componentR = r / (float) a;
-        float componentG = g / (float) a;
-        float componentB = b / (float) a;
+        RGBtoHSL(r / (float) a, g / (float) a, b / (float) a, hsl);
+    }
 
+    public static void RGBtoHSL(float componentR, float componentG, float componentB, float @NotNull [] hsl) {
         float minComponent;
         float maxComponent;
 
@@ -167,6 +191,23 @@ public final class ColorUtil {
         rgb[2] = b;
     }
 
+    public static void HSLtoRGB(float h, float s, float l, float @NotNull [] rgb) {
+        h = Math.max(0, Math.min(1, h));
+        s = Math.max(0, Math.min(1, s));
+        l = Math.max(0, Math.min(1, l));
+        if (s - 0.01f <= 0.0f) {
+            rgb[0] = l;
+            rgb[1] = l;
+            rgb[2] = l;
+            return;
+        }
+        float y = l < 0.5f ? l * (1 + s) : (l + s) - (s * l);
+        float x = 2 * l - y;
+        rgb[0] = hue2RGB(x, y, h + (1.0f / 3.0f));
+        rgb[1] = hue2RGB(x, y, h);
+        rgb[2] = hue2RGB(x, y, h - (1.0f / 3.0f));
+    }
+
     private static float hue2RGB(float v1, float v2, float vH) {
         if (vH < 0.0f) {
             vH += 1.0f;
@@ -243,6 +284,24 @@ public final class ColorUtil {
         argb[2] = table[argb[2]];
     }
 
+    public static int sRGBtoLinearRGBPre(int argbPre) {
+        int a = argbPre >>> 24;
+        int[] table = SRGBtoLinearRGBPre[a];
+        return (a << 24)
+                | ((table[(argbPre >> 16) & 0xFF] & 0xFF) << 16)
+                | ((table[(argbPre >> 8) & 0xFF] & 0xFF) << 8)
+                | (table[argbPre & 0xFF] & 0xFF);
+    }
+
+    public static int linearRGBtoSRGBPre(int argbPre) {
+        int a = argbPre >>> 24;
+        int[] table = LinearRGBtoSRGBPre[a];
+        return (a << 24)
+                | ((table[(argbPre >> 16) & 0xFF] & 0xFF) << 16)
+                | ((table[(argbPre >> 8) & 0xFF] & 0xFF) << 8)
+                | (table[argbPre & 0xFF] & 0xFF);
+    }
+
     public static int sRGBtoLinearRGBBand(int value) {
         return SRGBtoLinearRGB[value];
     }
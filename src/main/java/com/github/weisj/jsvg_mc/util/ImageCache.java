@@ -0,0 +1,362 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2025 Jannis Weis
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and
+ * associated documentation files (the "Software"), to deal in the Software without restriction,
+ * including without limitation the rights to use, copy, modify, merge, publish, distribute,
+ * sublicense, and/or sell copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or
+ * substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT
+ * NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ *
+ */
+package com.github.weisj.jsvg_mc.util;
+
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.lang.ref.WeakReference;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Base64;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import javax.imageio.ImageIO;
+import javax.imageio.ImageReadParam;
+import javax.imageio.ImageReader;
+import javax.imageio.stream.ImageInputStream;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * Process wide cache of the bitmap images referenced by documents.
+ * <p>
+ * Images are identified by their uri, or by a hash of their content for data uris. Hence, documents embedding the
+ * same image share a single entry. Entries keep the encoded image and decode it lazily, subsampled according to the
+ * largest size it has been requested at so far. If a larger size is requested later on the image is decoded again.
+ * <p>
+ * The memory used by the encoded and decoded images is bounded by {@link #maximumBytes()}. If the budget is exceeded
+ * the least recently used entries are evicted. Evicted entries still in use by a document release their decoded
+ * image. If they are needed again they are added back to the cache and decode the image again.
+ * <p>
+ * This class is thread safe.
+ */
+public final class ImageCache {
+    private static final Logger LOGGER = Logger.getLogger(ImageCache.class.getName());
+    private static final long DEFAULT_MAXIMUM_BYTES = 64L * 1024 * 1024;
+    private static final ImageCache SHARED = new ImageCache(DEFAULT_MAXIMUM_BYTES);
+
+    private final Object lock = new Object();
+    private final LinkedHashMap<String, CachedImage> entries = new LinkedHashMap<>(16, 0.75f, true);
+    // Evicted entries which may still be in use. Loading them again has to return the same instance.
+    private final HashMap<String, WeakReference<CachedImage>> evicted = new HashMap<>();
+    private long maximumBytes;
+    private long currentBytes;
+
+    public ImageCache(long maximumBytes) {
+        this.maximumBytes = maximumBytes;
+    }
+
+    public static @NotNull ImageCache shared() {
+        return SHARED;
+    }
+
+    /**
+     * Returns the cached image for the given uri, loading its encoded content if it isn't cached yet.
+     * The image itself is decoded on first use.
+     *
+     * @param uri the uri of the image. Either a data uri or a uri which can be converted to a {@link java.net.URL}.
+     * @return the cached image or null if the format isn't supported.
+     * @throws IOException if the content can't be read.
+     */
+    public @Nullable CachedImage load(@NotNull URI uri) throws IOException {
+        byte[] data = null;
+        String key;
+        if ("data".equals(uri.getScheme())) {
+            DataUri dataUri = DataUri.parse(uri.toString(), StandardCharsets.UTF_8);
+            if (!ResourceUtil.isSupportedMimeType(dataUri.mime())) {
+                throw new IOException("Unsupported Mime type " + dataUri.mime());
+            }
+            data = dataUri.data();
+            key = contentKey(data);
+        } else {
+            key = uri.toString();
+        }
+
+        CachedImage image;
+        synchronized (lock) {
+            image = lookup(key);
+        }
+        if (image != null) return image;
+
+        if (data == null) {
+            try (InputStream in = uri.toURL().openStream()) {
+                data = in.readAllBytes();
+            }
+        }
+        image = CachedImage.create(this, key, data);
+        if (image == null) return null;
+
+        synchronized (lock) {
+            // Another thread may have loaded the same image in the meantime.
+            CachedImage existing = lookup(key);
+            if (existing != null) return existing;
+            entries.put(key, image);
+            image.accountedBytes = image.data.length;
+            currentBytes += image.accountedBytes;
+            trimToSize();
+        }
+        return image;
+    }
+
+    private @Nullable CachedImage lookup(@NotNull String key) {
+        CachedImage image = entries.get(key);
+        if (image != null) return image;
+        WeakReference<CachedImage> ref = evicted.remove(key);
+        image = ref != null ? ref.get() : null;
+        if (image != null) {
+            entries.put(key, image);
+            image.accountedBytes = image.data.length;
+            currentBytes += image.accountedBytes;
+            trimToSize();
+        }
+        return image;
+    }
+
+    private static @NotNull String contentKey(byte @NotNull [] data) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return "sha256:" + Base64.getEncoder().encodeToString(digest.digest(data));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    public long maximumBytes() {
+        synchronized (lock) {
+            return maximumBytes;
+        }
+    }
+
+    public void setMaximumBytes(long maximumBytes) {
+        synchronized (lock) {
+            this.maximumBytes = maximumBytes;
+            trimToSize();
+        }
+    }
+
+    /**
+     * @return the number of bytes currently used by the encoded and decoded images of all entries.
+     */
+    public long currentBytes() {
+        synchronized (lock) {
+            return currentBytes;
+        }
+    }
+
+    public void clear() {
+        synchronized (lock) {
+            for (CachedImage image : entries.values()) {
+                evict(image);
+            }
+            entries.clear();
+            currentBytes = 0;
+        }
+    }
+
+    private void decodedSizeChanged(@NotNull CachedImage image) {
+        synchronized (lock) {
+            BufferedImage decoded;
+            synchronized (image) {
+                decoded = image.decoded;
+            }
+            // The image may have been evicted since it was decoded.
+            if (decoded == null) return;
+            if (entries.get(image.key) != image) {
+                // An evicted entry which is still in use decoded its image again.
+                evicted.remove(image.key);
+                entries.put(image.key, image);
+                image.accountedBytes = 0;
+            }
+            long bytes = image.data.length + CachedImage.decodedBytes(decoded);
+            currentBytes += bytes - image.accountedBytes;
+            image.accountedBytes = bytes;
+            trimToSize();
+        }
+    }
+
+    private void trimToSize() {
+        Iterator<CachedImage> it = entries.values().iterator();
+        boolean evictedAny = false;
+        // Always retain the most recently used entry even if it exceeds the budget on its own.
+        while (currentBytes > maximumBytes && entries.size() > 1 && it.hasNext()) {
+            CachedImage image = it.next();
+            it.remove();
+            currentBytes -= image.accountedBytes;
+            evict(image);
+            evictedAny = true;
+        }
+        if (evictedAny) evicted.values().removeIf(ref -> ref.get() == null);
+    }
+
+    private void evict(@NotNull CachedImage image) {
+        image.evict();
+        image.accountedBytes = 0;
+        evicted.put(image.key, new WeakReference<>(image));
+    }
+
+    /**
+     * A cached image, which can be decoded at different resolutions.
+     */
+    public static final class CachedImage {
+        private final @NotNull ImageCache cache;
+        private final @NotNull String key;
+        private final byte @NotNull [] data;
+        private final int width;
+        private final int height;
+        private @Nullable BufferedImage decoded;
+        private int subsampling;
+        // Guarded by the lock of the cache.
+        private long accountedBytes;
+
+        private CachedImage(@NotNull ImageCache cache, @NotNull String key, byte @NotNull [] data,
+                int width, int height) {
+            this.cache = cache;
+            this.key = key;
+            this.data = data;
+            this.width = width;
+            this.height = height;
+        }
+
+        private static @Nullable CachedImage create(@NotNull ImageCache cache, @NotNull String key,
+                byte @NotNull [] data) throws IOException {
+            ImageReader reader = createReader(data);
+            if (reader == null) return null;
+            try {
+                return new CachedImage(cache, key, data, reader.getWidth(0), reader.getHeight(0));
+            } finally {
+                reader.dispose();
+            }
+        }
+
+        /**
+         * @return the width of the image at its native resolution.
+         */
+        public int width() {
+            return width;
+        }
+
+        /**
+         * @return the height of the image at its native resolution.
+         */
+        public int height() {
+            return height;
+        }
+
+        /**
+         * Returns the image decoded at a resolution of at least twice the given size, but no larger than the native
+         * resolution of the image. The result may be larger than requested if the image has already been decoded
+         * at a larger size.
+         *
+         * @param minWidth the minimum width of the image.
+         * @param minHeight the minimum height of the image.
+         * @return the decoded image.
+         */
+        public @NotNull BufferedImage image(int minWidth, int minHeight) {
+            // Subsampling picks every n-th pixel. Keeping twice the requested resolution retains enough detail for
+            // the interpolation done when painting the image.
+            int requiredSubsampling = Math.max(1, Math.min(
+                    width / Math.max(1, 2 * minWidth),
+                    height / Math.max(1, 2 * minHeight)));
+            BufferedImage image;
+            synchronized (this) {
+                image = decoded;
+                if (image != null && subsampling <= requiredSubsampling) return image;
+                image = decode(requiredSubsampling);
+                decoded = image;
+                subsampling = requiredSubsampling;
+            }
+            // Must not be called while holding the lock of this image as the cache locks images while evicting.
+            cache.decodedSizeChanged(this);
+            return image;
+        }
+
+        /**
+         * @return the image decoded at its native resolution.
+         */
+        public @NotNull BufferedImage image() {
+            return image(width, height);
+        }
+
+        private synchronized void evict() {
+            decoded = null;
+            subsampling = 0;
+        }
+
+        private static long decodedBytes(@Nullable BufferedImage image) {
+            if (image == null) return 0;
+            return (long) image.getWidth() * image.getHeight()
+                    * Math.max(1, image.getColorModel().getPixelSize() / 8);
+        }
+
+        private @NotNull BufferedImage decode(int subsampling) {
+            ImageReader reader = null;
+            BufferedImage image = null;
+            try {
+                reader = createReader(data);
+                if (reader == null) throw new IllegalStateException("No reader for cached image " + key);
+                // Create destination image to hold possibly partially decoded result
+                ImageReadParam param = reader.getDefaultReadParam();
+                param.setSourceSubsampling(subsampling, subsampling, 0, 0);
+                image = reader.getImageTypes(0).next().createBufferedImage(
+                        (width + subsampling - 1) / subsampling,
+                        (height + subsampling - 1) / subsampling);
+                param.setDestination(image);
+                reader.read(0, param);
+            } catch (Exception e) {
+                // Ignore this exception or display a warning or similar, for exceptions happening during decoding
+                LOGGER.log(Level.SEVERE, e.getMessage(), e);
+            } finally {
+                if (reader != null) reader.dispose();
+            }
+            if (image == null) image = new BufferedImage(width, height, BufferedImage.TYPE_INT_ARGB);
+            return image;
+        }
+
+        private static @Nullable ImageReader createReader(byte @NotNull [] data) throws IOException {
+            ImageInputStream input = ImageIO.createImageInputStream(new ByteArrayInputStream(data));
+            Iterator<ImageReader> readers = ImageIO.getImageReaders(input);
+            if (!readers.hasNext()) return null;
+            ImageReader reader = readers.next();
+            reader.setInput(input);
+            return reader;
+        }
+
+        @Override
+        public String toString() {
+            return "CachedImage{" +
+                    "key='" + (key.length() > 80 ? key.substring(0, 80) + "..." : key) + '\'' +
+                    ", width=" + width +
+                    ", height=" + height +
+                    ", subsampling=" + subsampling +
+                    '}';
+        }
+    }
+}
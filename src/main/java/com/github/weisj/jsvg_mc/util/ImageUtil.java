@@ -62,9 +62,15 @@ public final class ImageUtil {
 
     public static @NotNull BufferedImage createCompatibleTransparentImage(@Nullable AffineTransform at, double width,
             double height) {
+        return createCompatibleTransparentImage(at, width, height, Premultiplied.No);
+    }
+
+    public static @NotNull BufferedImage createCompatibleTransparentImage(@Nullable AffineTransform at, double width,
+            double height, Premultiplied premultiplied) {
         return createCompatibleTransparentImage(
                 (int) Math.ceil(GeometryUtil.scaleXOfTransform(at) * width),
-                (int) Math.ceil(GeometryUtil.scaleYOfTransform(at) * height));
+                (int) Math.ceil(GeometryUtil.scaleYOfTransform(at) * height),
+                premultiplied);
     }
 
     public static @NotNull BufferedImage createLuminosityBuffer(@Nullable AffineTransform at, double width,
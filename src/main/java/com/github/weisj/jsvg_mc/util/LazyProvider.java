@@ -27,7 +27,7 @@ import org.jetbrains.annotations.NotNull;
 
 public final class LazyProvider<T> implements Provider<T> {
     private final @NotNull Supplier<@NotNull T> supplier;
-    private T t;
+    private volatile T t;
 
     public LazyProvider(@NotNull Supplier<@NotNull T> supplier) {
         this.supplier = supplier;
@@ -35,7 +35,11 @@ public final class LazyProvider<T> implements Provider<T> {
 
     @Override
     public @NotNull T get() {
-        if (t == null) t = supplier.get();
-        return t;
+        T value = t;
+        if (value == null) {
+            value = supplier.get();
+            t = value;
+        }
+        return value;
     }
 }
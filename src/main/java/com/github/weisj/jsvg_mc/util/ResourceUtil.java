@@ -21,21 +21,14 @@
  */
 package com.github.weisj.jsvg_mc.util;
 
-import java.awt.image.BufferedImage;
-import java.io.ByteArrayInputStream;
 import java.io.IOException;
-import java.io.InputStream;
 import java.net.URI;
-import java.nio.charset.StandardCharsets;
 import java.util.*;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 import java.util.stream.Collectors;
 
 import javax.imageio.ImageIO;
-import javax.imageio.ImageReadParam;
-import javax.imageio.ImageReader;
-import javax.imageio.stream.ImageInputStream;
 
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
@@ -78,50 +71,12 @@ public final class ResourceUtil {
             }
         }
 
-        BufferedImage img = loadToBufferedImage(uri);
+        ImageCache.CachedImage img = ImageCache.shared().load(uri);
         if (img == null) return null;
         return new ImageResource(img);
     }
 
-    private static @Nullable BufferedImage loadToBufferedImage(@NotNull URI uri) throws IOException {
-        String scheme = uri.getScheme();
-        if ("data".equals(scheme)) {
-            DataUri dataUri = DataUri.parse(uri.toString(), StandardCharsets.UTF_8);
-            if (!isSupportedMimeType(dataUri.mime())) throw new IOException("Unsupported Mime type " + dataUri.mime());
-            try (ByteArrayInputStream in = new ByteArrayInputStream(dataUri.data())) {
-                return readPossiblyCorruptedFile(in);
-            }
-        }
-        return ImageIO.read(uri.toURL());
-    }
-
-    private static boolean isSupportedMimeType(@NotNull String mimeType) {
+    static boolean isSupportedMimeType(@NotNull String mimeType) {
         return SUPPORTED_MIME_TYPES.contains(mimeType.toLowerCase(Locale.ENGLISH));
     }
-
-    private static @Nullable BufferedImage readPossiblyCorruptedFile(@NotNull InputStream inputStream)
-            throws IOException {
-        ImageInputStream input = ImageIO.createImageInputStream(inputStream);
-        Iterator<ImageReader> readers = ImageIO.getImageReaders(input);
-        if (!readers.hasNext()) return null;
-
-        ImageReader reader = readers.next();
-        reader.setInput(input);
-
-        // Create destination image to hold possibly partially decoded result
-        ImageReadParam param = reader.getDefaultReadParam();
-        BufferedImage image = reader.getImageTypes(0).next()
-                .createBufferedImage(reader.getWidth(0), reader.getHeight(0));
-        param.setDestination(image);
-
-        try {
-            image = reader.read(0, param);
-            // Don't really need the return value here, as it will always be same value
-            // as "image"
-        } catch (Exception e) {
-            // Ignore this exception or display a warning or similar, for exceptions happening during decoding
-            LOGGER.log(Level.SEVERE, e.getMessage(), e);
-        }
-        return image;
-    }
 }